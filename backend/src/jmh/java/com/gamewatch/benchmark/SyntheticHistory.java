@@ -0,0 +1,293 @@
+package com.gamewatch.benchmark;
+
+import com.gamewatch.dto.BackupDto;
+import com.gamewatch.entity.*;
+import com.gamewatch.repository.*;
+import com.gamewatch.service.GameMetadataDictionary;
+import com.gamewatch.service.RawgApiService;
+import com.gamewatch.service.UserStatisticsService;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Play history of one user over the last three years, generated from a fixed seed so every fork
+ * measures the same data. Session starts lean towards evenings, lengths towards an hour or two,
+ * and a few favourite games collect most of the playtime, roughly like real libraries.
+ */
+public final class SyntheticHistory {
+
+    private static final long USER_ID = 1L;
+    private static final int HISTORY_DAYS = 3 * 365;
+    private static final int[] START_HOUR_WEIGHTS = {
+        2, 1, 1, 0, 0, 0, 0, 1, 1, 1, 2, 2, 3, 3, 3, 3, 4, 5, 7, 8, 8, 7, 5, 3
+    };
+    private static final Map<MetadataKind, Integer> TERM_COUNTS = Map.of(
+        MetadataKind.GENRE, 19,
+        MetadataKind.PLATFORM, 12,
+        MetadataKind.DEVELOPER, 80,
+        MetadataKind.PUBLISHER, 50,
+        MetadataKind.TAG, 120);
+
+    private final User user;
+    private final List<Game> games = new ArrayList<>();
+    private final List<Playthrough> playthroughs = new ArrayList<>();
+    private final List<SessionHistory> sessions = new ArrayList<>();
+    private final List<MoodEntry> moodEntries = new ArrayList<>();
+    private final List<Object[]> metadataLinks = new ArrayList<>();
+
+    private SyntheticHistory(int sessionCount) {
+        Random random = new Random(sessionCount);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        user = User.builder().id(USER_ID).auth0UserId("auth0|benchmark").username("benchmark").age(28).build();
+
+        int gameCount = Math.max(5, Math.min(300, sessionCount / 40));
+        for (int i = 1; i <= gameCount; i++) {
+            Game game = Game.builder()
+                .id((long) i)
+                .externalId(1_000_000 + i)
+                .name("Game " + i)
+                .slug("game-" + i)
+                .bannerImageUrl("https://media.rawg.io/media/games/benchmark/" + i + ".jpg")
+                .rating(2.5 + random.nextInt(25) / 10.0)
+                .ratingsCount(random.nextInt(5000))
+                .platforms("PC, PlayStation 5, Nintendo Switch")
+                .genres("Action, RPG")
+                .build();
+            games.add(game);
+            linkTerms(game.getId(), random);
+
+            int playthroughsOfGame = random.nextInt(100) < 15 ? 2 : 1;
+            for (int p = 0; p < playthroughsOfGame; p++) {
+                playthroughs.add(Playthrough.builder()
+                    .id((long) playthroughs.size() + 1)
+                    .user(user)
+                    .game(game)
+                    .platform(random.nextBoolean() ? "PC" : "PlayStation 5")
+                    .isCompleted(random.nextInt(100) < 40)
+                    .build());
+            }
+        }
+
+        Map<Long, List<SessionHistory>> byPlaythrough = new HashMap<>();
+        for (int i = 0; i < sessionCount; i++) {
+            // Squaring skews towards the first playthroughs, the user's favourites
+            double skew = random.nextDouble();
+            Playthrough playthrough = playthroughs.get((int) (skew * skew * playthroughs.size()));
+            Instant startedAt = now.minus(Duration.ofDays(1 + random.nextInt(HISTORY_DAYS)))
+                .atZone(ZoneId.systemDefault()).withHour(startHour(random)).withMinute(random.nextInt(60))
+                .toInstant();
+            long durationSeconds = Math.min(8 * 3600, 15 * 60 + (long) (-Math.log(1 - random.nextDouble()) * 70 * 60));
+            SessionHistory session = SessionHistory.builder()
+                .id((long) i + 1)
+                .playthrough(playthrough)
+                .userId(USER_ID)
+                .durationSeconds(durationSeconds)
+                .pauseCount(random.nextInt(4))
+                .startedAt(startedAt)
+                .endedAt(startedAt.plusSeconds(durationSeconds))
+                .createdAt(startedAt.plusSeconds(durationSeconds))
+                .build();
+            byPlaythrough.computeIfAbsent(playthrough.getId(), id -> new ArrayList<>()).add(session);
+            if (random.nextInt(100) < 30) {
+                moodEntries.add(MoodEntry.builder()
+                    .id((long) moodEntries.size() + 1)
+                    .user(user)
+                    .sessionHistory(session)
+                    .moodRating(1 + random.nextInt(5))
+                    .recordedAt(session.getEndedAt())
+                    .build());
+            }
+        }
+
+        for (Playthrough playthrough : playthroughs) {
+            List<SessionHistory> ofPlaythrough = byPlaythrough.getOrDefault(playthrough.getId(), List.of());
+            ofPlaythrough.sort(Comparator.comparing(SessionHistory::getStartedAt));
+            for (int n = 0; n < ofPlaythrough.size(); n++) {
+                ofPlaythrough.get(n).setSessionNumber(n + 1);
+            }
+            sessions.addAll(ofPlaythrough);
+
+            Instant first = ofPlaythrough.isEmpty() ? now.minus(Duration.ofDays(HISTORY_DAYS)) : ofPlaythrough.get(0).getStartedAt();
+            Instant last = ofPlaythrough.isEmpty() ? first : ofPlaythrough.get(ofPlaythrough.size() - 1).getEndedAt();
+            playthrough.setStartedAt(first);
+            playthrough.setCreatedAt(first);
+            playthrough.setLastPlayedAt(last);
+            playthrough.setStartDate(first.atZone(ZoneId.systemDefault()).toLocalDate());
+            if (playthrough.getIsCompleted()) {
+                playthrough.setEndDate(last.atZone(ZoneId.systemDefault()).toLocalDate());
+            }
+            playthrough.setSessionCount(ofPlaythrough.size());
+            playthrough.setDurationSeconds(ofPlaythrough.stream().mapToLong(SessionHistory::getDurationSeconds).sum());
+        }
+        // The repository returns playthroughs newest first
+        playthroughs.sort(Comparator.comparing(Playthrough::getCreatedAt).reversed());
+    }
+
+    public static SyntheticHistory generate(int sessionCount) {
+        return new SyntheticHistory(sessionCount);
+    }
+
+    public User user() {
+        return user;
+    }
+
+    public List<Game> games() {
+        return games;
+    }
+
+    public List<Playthrough> playthroughs() {
+        return playthroughs;
+    }
+
+    public List<SessionHistory> sessions() {
+        return sessions;
+    }
+
+    /**
+     * Statistics service reading this history through repository stubs, so only the aggregation is
+     * measured. RAWG is only called for recommendations and may be {@code null} otherwise.
+     */
+    public UserStatisticsService userStatisticsService(RawgApiService rawgApiService) {
+        return new UserStatisticsService(
+            Stubs.of(PlaythroughRepository.class, Map.of("findWithGameByUserIdOrderByCreatedAtDesc", playthroughs)),
+            Stubs.of(SessionHistoryRepository.class, Map.of("findByPlaythroughIdsOrderByPlaythroughAndSession", sessions)),
+            Stubs.of(SessionDailySummaryRepository.class, Map.of("findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc", List.of())),
+            Stubs.of(UserGameRepository.class, Map.of("findGamesByUser", games)),
+            rawgApiService,
+            metadataDictionary(),
+            ObservationRegistry.NOOP);
+    }
+
+    public BackupDto toBackup() {
+        List<BackupDto.BackupGameDto> backupGames = games.stream()
+            .map(game -> BackupDto.BackupGameDto.builder()
+                .originalId(game.getId())
+                .externalId(game.getExternalId())
+                .name(game.getName())
+                .slug(game.getSlug())
+                .bannerImageUrl(game.getBannerImageUrl())
+                .rating(game.getRating())
+                .ratingsCount(game.getRatingsCount())
+                .platforms(game.getPlatforms())
+                .genres(game.getGenres())
+                .build())
+            .toList();
+        List<BackupDto.BackupPlaythroughDto> backupPlaythroughs = playthroughs.stream()
+            .map(playthrough -> BackupDto.BackupPlaythroughDto.builder()
+                .originalId(playthrough.getId())
+                .gameOriginalId(playthrough.getGame().getId())
+                .playthroughType(playthrough.getPlaythroughType())
+                .platform(playthrough.getPlatform())
+                .startedAt(playthrough.getStartedAt())
+                .durationSeconds(playthrough.getDurationSeconds())
+                .isActive(false)
+                .isCompleted(playthrough.getIsCompleted())
+                .isDropped(false)
+                .isPaused(false)
+                .startDate(String.valueOf(playthrough.getStartDate()))
+                .sessionCount(playthrough.getSessionCount())
+                .pauseCount(0)
+                .lastPlayedAt(playthrough.getLastPlayedAt())
+                .manualTimeSet(false)
+                .createdAt(playthrough.getCreatedAt())
+                .updatedAt(playthrough.getLastPlayedAt())
+                .build())
+            .toList();
+        List<BackupDto.BackupSessionDto> backupSessions = sessions.stream()
+            .map(session -> BackupDto.BackupSessionDto.builder()
+                .originalId(session.getId())
+                .playthroughOriginalId(session.getPlaythrough().getId())
+                .sessionNumber(session.getSessionNumber())
+                .durationSeconds(session.getDurationSeconds())
+                .pauseCount(session.getPauseCount())
+                .startedAt(session.getStartedAt())
+                .endedAt(session.getEndedAt())
+                .createdAt(session.getCreatedAt())
+                .build())
+            .toList();
+        List<BackupDto.BackupMoodEntryDto> backupMoodEntries = moodEntries.stream()
+            .map(entry -> BackupDto.BackupMoodEntryDto.builder()
+                .originalId(entry.getId())
+                .sessionHistoryOriginalId(entry.getSessionHistory().getId())
+                .moodRating(entry.getMoodRating())
+                .recordedAt(entry.getRecordedAt())
+                .createdAt(entry.getRecordedAt())
+                .build())
+            .toList();
+
+        return BackupDto.builder()
+            .version("1.0")
+            .timestamp(Instant.now())
+            .data(BackupDto.BackupDataDto.builder()
+                .games(backupGames)
+                .playthroughs(backupPlaythroughs)
+                .sessions(backupSessions)
+                .moodEntries(backupMoodEntries)
+                .metadata(BackupDto.BackupMetadataDto.builder()
+                    .totalGames(backupGames.size())
+                    .totalPlaythroughs(backupPlaythroughs.size())
+                    .totalSessions(backupSessions.size())
+                    .totalMoodEntries(backupMoodEntries.size())
+                    .totalPlaytimeSeconds(sessions.stream().mapToLong(SessionHistory::getDurationSeconds).sum())
+                    .build())
+                .build())
+            .build();
+    }
+
+    private void linkTerms(Long gameId, Random random) {
+        link(gameId, MetadataKind.GENRE, 1 + random.nextInt(3), random);
+        link(gameId, MetadataKind.PLATFORM, 1 + random.nextInt(4), random);
+        link(gameId, MetadataKind.DEVELOPER, 1, random);
+        link(gameId, MetadataKind.PUBLISHER, 1, random);
+        link(gameId, MetadataKind.TAG, 5 + random.nextInt(10), random);
+    }
+
+    private void link(Long gameId, MetadataKind kind, int count, Random random) {
+        Set<Integer> termIds = new HashSet<>();
+        while (termIds.size() < count) {
+            termIds.add(1 + random.nextInt(TERM_COUNTS.get(kind)));
+        }
+        termIds.forEach(termId -> metadataLinks.add(new Object[]{gameId, kind.name(), termId}));
+    }
+
+    private GameMetadataDictionary metadataDictionary() {
+        return new GameMetadataDictionary(
+            Stubs.of(GenreRepository.class, Map.of("findAll", terms(MetadataKind.GENRE, Genre::new))),
+            Stubs.of(PlatformRepository.class, Map.of("findAll", terms(MetadataKind.PLATFORM, Platform::new))),
+            Stubs.of(DeveloperRepository.class, Map.of("findAll", terms(MetadataKind.DEVELOPER, Developer::new))),
+            Stubs.of(PublisherRepository.class, Map.of("findAll", terms(MetadataKind.PUBLISHER, Publisher::new))),
+            Stubs.of(TagRepository.class, Map.of("findAll", terms(MetadataKind.TAG, Tag::new))),
+            Stubs.of(GameRepository.class, Map.of("findMetadataLinksByGameIds", metadataLinks)),
+            Stubs.of(EntityManager.class, Map.of()));
+    }
+
+    private static <T extends MetadataTerm> List<T> terms(MetadataKind kind, Supplier<T> factory) {
+        List<T> terms = new ArrayList<>();
+        for (int id = 1; id <= TERM_COUNTS.get(kind); id++) {
+            T term = factory.get();
+            term.setId(id);
+            term.setName(kind.name().charAt(0) + kind.name().substring(1).toLowerCase() + " " + id);
+            terms.add(term);
+        }
+        return terms;
+    }
+
+    private static int startHour(Random random) {
+        int total = Arrays.stream(START_HOUR_WEIGHTS).sum();
+        int pick = random.nextInt(total);
+        for (int hour = 0; hour < START_HOUR_WEIGHTS.length; hour++) {
+            pick -= START_HOUR_WEIGHTS[hour];
+            if (pick < 0) {
+                return hour;
+            }
+        }
+        return 20;
+    }
+}
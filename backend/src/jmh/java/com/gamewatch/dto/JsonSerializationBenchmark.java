@@ -0,0 +1,48 @@
+package com.gamewatch.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamewatch.benchmark.SyntheticHistory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the largest responses, the statistics page and a backup export, with an
+ * {@link ObjectMapper} configured like the one Spring Boot gives the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int sessions;
+
+    private ObjectMapper objectMapper;
+    private UserStatisticsDto statistics;
+    private BackupDto backup;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SyntheticHistory history = SyntheticHistory.generate(sessions);
+        // Statistics never call RAWG
+        statistics = history.userStatisticsService(null).getUserStatistics(history.user(), "all");
+        backup = history.toBackup();
+    }
+
+    @Benchmark
+    public byte[] serializeUserStatistics() throws IOException {
+        return objectMapper.writeValueAsBytes(statistics);
+    }
+
+    @Benchmark
+    public byte[] serializeBackup() throws IOException {
+        return objectMapper.writeValueAsBytes(backup);
+    }
+}
@@ -0,0 +1,46 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * {@link SessionHistory} as it was mapped before V35, with database-generated IDENTITY ids.
+ * Hibernate has to insert such rows one by one to read each id back, whatever the batch size.
+ */
+@Entity
+@Table(name = "identity_session_history")
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdentitySessionHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "playthrough_id", nullable = false)
+    private Playthrough playthrough;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "session_number", nullable = false)
+    private Integer sessionNumber;
+
+    @Column(name = "duration_seconds", nullable = false)
+    private Long durationSeconds;
+
+    @Column(name = "pause_count", nullable = false)
+    private Integer pauseCount;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "ended_at", nullable = false)
+    private Instant endedAt;
+}
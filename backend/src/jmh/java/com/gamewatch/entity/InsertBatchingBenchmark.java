@@ -0,0 +1,134 @@
+package com.gamewatch.entity;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Insert throughput of bulk session logging, as done by the timer event batch and backup import:
+ * {@code rows} sessions persisted in one transaction with the pooled sequence ids of V35 and the
+ * application's batch settings, against the same rows with IDENTITY ids
+ * ({@link IdentitySessionHistory}). Each invocation flushes its inserts and rolls them back, so the
+ * table does not grow between invocations.
+ * <p>
+ * Runs against in-memory H2 by default, where a statement costs no network round trip and the
+ * difference understates what PostgreSQL shows. Point {@code benchmark.jdbc.url} (with
+ * {@code benchmark.jdbc.username} and {@code benchmark.jdbc.password}) at a scratch PostgreSQL
+ * database to measure it there; the schema is created and dropped by Hibernate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBatchingBenchmark {
+
+    private static final List<Class<?>> ENTITIES = List.of(User.class, Game.class, Genre.class, Tag.class,
+        Platform.class, Developer.class, Publisher.class, Playthrough.class, SessionHistory.class,
+        IdentitySessionHistory.class);
+    private static final Instant BASE = Instant.parse("2024-01-01T18:00:00Z");
+
+    @Param({"20", "500"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private Playthrough playthrough;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert-benchmark"));
+        dataSource.setUsername(System.getProperty("benchmark.jdbc.username", "sa"));
+        dataSource.setPassword(System.getProperty("benchmark.jdbc.password", ""));
+
+        // The batching settings of application.yml
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DATASOURCE, dataSource)
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 20)
+            .applySetting(AvailableSettings.ORDER_INSERTS, true)
+            .applySetting(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ENTITIES.forEach(sources::addAnnotatedClass);
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        playthrough = sessionFactory.fromTransaction(session -> {
+            User user = User.builder().auth0UserId("auth0|benchmark").email("benchmark@example.com").username("benchmark").build();
+            Game game = Game.builder().name("Benchmark Game").externalId(1).build();
+            session.persist(user);
+            session.persist(game);
+            Playthrough created = Playthrough.builder().user(user).game(game).playthroughType("story").build();
+            session.persist(created);
+            return created;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void pooledSequenceIds() {
+        inRolledBackTransaction(session -> {
+            Playthrough owner = session.getReference(Playthrough.class, playthrough.getId());
+            for (int i = 0; i < rows; i++) {
+                Instant start = BASE.plus(i, ChronoUnit.HOURS);
+                session.persist(SessionHistory.builder()
+                    .playthrough(owner)
+                    .userId(playthrough.getUser().getId())
+                    .sessionNumber(i + 1)
+                    .durationSeconds(1800L)
+                    .pauseCount(0)
+                    .startedAt(start)
+                    .endedAt(start.plusSeconds(1800))
+                    .build());
+            }
+        });
+    }
+
+    @Benchmark
+    public void identityIds() {
+        inRolledBackTransaction(session -> {
+            Playthrough owner = session.getReference(Playthrough.class, playthrough.getId());
+            for (int i = 0; i < rows; i++) {
+                Instant start = BASE.plus(i, ChronoUnit.HOURS);
+                IdentitySessionHistory row = new IdentitySessionHistory();
+                row.setPlaythrough(owner);
+                row.setUserId(playthrough.getUser().getId());
+                row.setSessionNumber(i + 1);
+                row.setDurationSeconds(1800L);
+                row.setPauseCount(0);
+                row.setStartedAt(start);
+                row.setEndedAt(start.plusSeconds(1800));
+                session.persist(row);
+            }
+        });
+    }
+
+    private void inRolledBackTransaction(Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            work.accept(session);
+            session.flush();
+            transaction.rollback();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gamewatch.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ColorExtractionService#extractDominantColors} on JPEG covers at the sizes RAWG serves,
+ * read from a local file so decoding, resizing and k-means are measured without the network.
+ * The covers are drawn from a fixed seed at setup, since real artwork cannot be redistributed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColorExtractionBenchmark {
+
+    @Param({"600x400", "1280x720", "1920x1080"})
+    private String size;
+
+    private ColorExtractionService colorExtractionService;
+    private Path image;
+    private String imageUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        colorExtractionService = new ColorExtractionService(ObservationRegistry.NOOP);
+        String[] dimensions = size.split("x");
+        image = Files.createTempFile("cover-" + size + "-", ".jpg");
+        ImageIO.write(cover(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1])), "jpg", image.toFile());
+        imageUrl = image.toUri().toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(image);
+    }
+
+    @Benchmark
+    public String[] extractDominantColors() {
+        return colorExtractionService.extractDominantColors(imageUrl);
+    }
+
+    // A dark gradient sky, a few saturated shapes and grain, so k-means has several real clusters
+    private static BufferedImage cover(int width, int height) {
+        Random random = new Random(width * 31L + height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setPaint(new GradientPaint(0, 0, new Color(18, 24, 58), 0, height, new Color(196, 92, 44)));
+        graphics.fillRect(0, 0, width, height);
+        for (int i = 0; i < 12; i++) {
+            graphics.setColor(Color.getHSBColor(random.nextFloat(), 0.5f + random.nextFloat() / 2, 0.4f + random.nextFloat() / 2));
+            int w = width / 8 + random.nextInt(width / 3);
+            int h = height / 8 + random.nextInt(height / 3);
+            graphics.fillOval(random.nextInt(width - w), random.nextInt(height - h), w, h);
+        }
+        graphics.dispose();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int grain = random.nextInt(17) - 8;
+                int rgb = image.getRGB(x, y);
+                int r = clamp(((rgb >> 16) & 0xFF) + grain);
+                int g = clamp(((rgb >> 8) & 0xFF) + grain);
+                int b = clamp((rgb & 0xFF) + grain);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static int clamp(int channel) {
+        return Math.max(0, Math.min(255, channel));
+    }
+}
@@ -0,0 +1,71 @@
+package com.gamewatch.service;
+
+import com.gamewatch.benchmark.Stubs;
+import com.gamewatch.entity.DailyHealthMetrics;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.DailyHealthMetricsRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-session and per-day calculations of {@link HealthService#recalculateMetricsForDate}.
+ * Late-night minutes are counted minute by minute, so their cost grows with the session length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HealthCalculationBenchmark {
+
+    @Param({"30", "180", "720"})
+    private int sessionMinutes;
+
+    private HealthService healthService;
+    private User user;
+    private LocalDate date;
+    private Instant startedAt;
+    private Instant endedAt;
+
+    @Setup
+    public void setUp() {
+        user = User.builder().id(1L).age(16).build();
+        date = LocalDate.of(2026, 3, 14);
+
+        // Starts at 21:00, so every session crosses into the late-night window
+        startedAt = date.atTime(21, 0).atZone(ZoneId.systemDefault()).toInstant();
+        endedAt = startedAt.plus(Duration.ofMinutes(sessionMinutes));
+
+        List<DailyHealthMetrics> previousWeek = new ArrayList<>();
+        for (int day = 1; day <= 6; day++) {
+            previousWeek.add(DailyHealthMetrics.builder()
+                .user(user)
+                .metricDate(date.minusDays(day))
+                .totalHours(1.5 + day * 0.25)
+                .build());
+        }
+        healthService = new HealthService(null, null,
+            Stubs.of(DailyHealthMetricsRepository.class,
+                Map.of("findByUserIdAndMetricDateBetweenOrderByMetricDateDesc", previousWeek)),
+            null, null);
+    }
+
+    @Benchmark
+    public long calculateLateNightMinutes() {
+        return healthService.calculateLateNightMinutes(startedAt, endedAt);
+    }
+
+    @Benchmark
+    public Integer calculateHealthScore() {
+        return healthService.calculateHealthScore(user, sessionMinutes / 60.0, 3, 3.5, 90, 0.5, date);
+    }
+}
@@ -0,0 +1,137 @@
+package com.gamewatch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gamewatch.dto.GameSearchResultDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@code JsonNode} tree mapping that {@link RawgResponseParser} replaced, kept as the baseline
+ * of {@link RawgMappingBenchmark}: responses are read into a tree and every field looked up by name.
+ */
+final class JsonTreeRawgMapping {
+
+    private JsonTreeRawgMapping() {
+    }
+
+    static GameSearchResultDto mapToSearchResult(JsonNode node) {
+        String backgroundImage = node.has("background_image") ? node.get("background_image").asText() : null;
+
+        return GameSearchResultDto.builder()
+                .id(node.get("id").asInt())
+                .name(node.get("name").asText())
+                .bannerImageUrl(backgroundImage)
+                .releaseDate(node.has("released") ? node.get("released").asText() : null)
+                .rating(node.has("rating") ? node.get("rating").asDouble() : null)
+                .ratingTop(node.has("rating_top") ? node.get("rating_top").asInt() : null)
+                .ratingsCount(node.has("ratings_count") ? node.get("ratings_count").asInt() : null)
+                .genres(extractNames(node, "genres"))
+                .platforms(extractPlatformNames(node))
+                .description(node.has("description_raw") ? node.get("description_raw").asText() : 
+                           (node.has("description") ? stripHtml(node.get("description").asText()) : null))
+                .developers(extractNames(node, "developers"))
+                .publishers(extractNames(node, "publishers"))
+                .tags(extractNames(node, "tags"))
+                .genreIds(extractIds(node, "genres"))
+                .platformIds(extractPlatformIds(node))
+                .developerIds(extractIds(node, "developers"))
+                .publisherIds(extractIds(node, "publishers"))
+                .tagIds(extractIds(node, "tags"))
+                .nameOriginal(node.has("name_original") ? node.get("name_original").asText() : null)
+                .slug(node.has("slug") ? node.get("slug").asText() : null)
+                .tba(node.has("tba") ? node.get("tba").asBoolean() : null)
+                .updated(node.has("updated") ? node.get("updated").asText() : null)
+                .website(node.has("website") ? node.get("website").asText() : null)
+                .metacritic(node.has("metacritic") ? node.get("metacritic").asInt() : null)
+                .metacriticUrl(node.has("metacritic_url") ? node.get("metacritic_url").asText() : null)
+                .backgroundImageAdditional(node.has("background_image_additional") ? node.get("background_image_additional").asText() : null)
+                .playtime(node.has("playtime") ? node.get("playtime").asInt() : null)
+                .screenshotsCount(node.has("screenshots_count") ? node.get("screenshots_count").asInt() : null)
+                .moviesCount(node.has("movies_count") ? node.get("movies_count").asInt() : null)
+                .creatorsCount(node.has("creators_count") ? node.get("creators_count").asInt() : null)
+                .achievementsCount(node.has("achievements_count") ? node.get("achievements_count").asInt() : null)
+                .parentAchievementsCount(node.has("parent_achievements_count") ? node.get("parent_achievements_count").asText() : null)
+                .redditUrl(node.has("reddit_url") ? node.get("reddit_url").asText() : null)
+                .redditName(node.has("reddit_name") ? node.get("reddit_name").asText() : null)
+                .redditDescription(node.has("reddit_description") ? node.get("reddit_description").asText() : null)
+                .redditLogo(node.has("reddit_logo") ? node.get("reddit_logo").asText() : null)
+                .redditCount(node.has("reddit_count") ? node.get("reddit_count").asInt() : null)
+                .twitchCount(node.has("twitch_count") ? node.get("twitch_count").asText() : null)
+                .youtubeCount(node.has("youtube_count") ? node.get("youtube_count").asText() : null)
+                .added(node.has("added") ? node.get("added").asInt() : null)
+                .reviewsTextCount(node.has("reviews_text_count") ? node.get("reviews_text_count").asText() : null)
+                .suggestionsCount(node.has("suggestions_count") ? node.get("suggestions_count").asInt() : null)
+                .parentsCount(node.has("parents_count") ? node.get("parents_count").asInt() : null)
+                .additionsCount(node.has("additions_count") ? node.get("additions_count").asInt() : null)
+                .gameSeriesCount(node.has("game_series_count") ? node.get("game_series_count").asInt() : null)
+                .esrbRating(extractEsrbRating(node))
+                .alternativeNames(extractAlternativeNames(node))
+                .build();
+    }
+
+    private static String extractEsrbRating(JsonNode node) {
+        if (node.has("esrb_rating") && !node.get("esrb_rating").isNull()) {
+            JsonNode esrb = node.get("esrb_rating");
+            return esrb.has("name") ? esrb.get("name").asText() : null;
+        }
+        return null;
+    }
+
+    private static String extractAlternativeNames(JsonNode node) {
+        if (node.has("alternative_names")) {
+            return StreamSupport.stream(node.get("alternative_names").spliterator(), false)
+                    .map(JsonNode::asText)
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private static String extractNames(JsonNode node, String fieldName) {
+        if (node.has(fieldName)) {
+            return StreamSupport.stream(node.get(fieldName).spliterator(), false)
+                    .map(item -> item.get("name").asText())
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private static String extractPlatformNames(JsonNode node) {
+        if (node.has("platforms")) {
+            return StreamSupport.stream(node.get("platforms").spliterator(), false)
+                    .map(item -> item.get("platform").get("name").asText())
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private static List<Integer> extractIds(JsonNode node, String fieldName) {
+        List<Integer> ids = new ArrayList<>();
+        if (node.has(fieldName)) {
+            for (JsonNode item : node.get(fieldName)) {
+                ids.add(item.has("id") ? item.get("id").asInt() : null);
+            }
+        }
+        return ids;
+    }
+
+    private static List<Integer> extractPlatformIds(JsonNode node) {
+        List<Integer> ids = new ArrayList<>();
+        if (node.has("platforms")) {
+            for (JsonNode item : node.get("platforms")) {
+                JsonNode platform = item.get("platform");
+                ids.add(platform != null && platform.has("id") ? platform.get("id").asInt() : null);
+            }
+        }
+        return ids;
+    }
+
+    private static String stripHtml(String html) {
+        if (html == null) {
+            return null;
+        }
+        return html.replaceAll("<[^>]*>", "");
+    }
+}
@@ -0,0 +1,67 @@
+package com.gamewatch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamewatch.dto.GameSearchResultDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping the recorded response bodies of a page of 20 search results and of a game's details,
+ * from bytes to DTOs: {@link RawgResponseParser} against the {@code JsonNode} tree mapping it
+ * replaced ({@link JsonTreeRawgMapping}), and the features recommendations read from details. Run
+ * with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RawgMappingBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private RawgResponseParser parser;
+    private byte[] gamesPage;
+    private byte[] gameDetails;
+
+    @Setup
+    public void setUp() {
+        RecordedRawgApiService rawgApiService = new RecordedRawgApiService();
+        parser = new RawgResponseParser();
+        gamesPage = rawgApiService.gamesPage();
+        gameDetails = rawgApiService.gameDetails();
+    }
+
+    @Benchmark
+    public List<GameSearchResultDto> streamSearchPage() {
+        return parser.gamesPage(gamesPage);
+    }
+
+    @Benchmark
+    public void treeSearchPage(Blackhole blackhole) throws IOException {
+        for (JsonNode node : JSON.readTree(gamesPage).get("results")) {
+            blackhole.consume(JsonTreeRawgMapping.mapToSearchResult(node));
+        }
+    }
+
+    @Benchmark
+    public GameSearchResultDto streamGameDetails() {
+        return parser.gameDetails(gameDetails);
+    }
+
+    @Benchmark
+    public GameSearchResultDto treeGameDetails() throws IOException {
+        return JsonTreeRawgMapping.mapToSearchResult(JSON.readTree(gameDetails));
+    }
+
+    @Benchmark
+    public RawgGameFeatures streamGameFeatures() {
+        return parser.gameFeatures(gameDetails);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gamewatch.service;
+
+import com.gamewatch.benchmark.SyntheticHistory;
+import com.gamewatch.dto.GameRecommendationDto;
+import com.gamewatch.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserStatisticsService#getGameRecommendations}: weighting the features of the most played
+ * games and scoring the candidates, with RAWG answering from recorded responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationBenchmark {
+
+    @Param({"1000", "50000"})
+    private int sessions;
+
+    private UserStatisticsService userStatisticsService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        SyntheticHistory history = SyntheticHistory.generate(sessions);
+        userStatisticsService = history.userStatisticsService(new RecordedRawgApiService());
+        user = history.user();
+    }
+
+    @Benchmark
+    public List<GameRecommendationDto> getGameRecommendations() {
+        return userStatisticsService.getGameRecommendations(user, 5).block();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.GameSearchResultDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * RAWG client answering from the JSON fixtures in {@code src/jmh/resources/rawg} instead of the
+ * network: every search returns the recorded games page and every details request the recorded
+ * game. Responses are still parsed by {@link RawgResponseParser}, details once per request.
+ */
+class RecordedRawgApiService extends RawgApiService {
+
+    private final RawgResponseParser parser = new RawgResponseParser();
+    private final byte[] gamesPage = read("rawg/games-page.json");
+    private final byte[] gameDetails = read("rawg/game-details.json");
+    private final List<GameSearchResultDto> searchResults;
+
+    RecordedRawgApiService() {
+        super(WebClient.builder(), "benchmark", "http://localhost", new RawgClientMetrics(new SimpleMeterRegistry()),
+            new RawgResilience(CircuitBreakerRegistry.ofDefaults(), Bulkhead.ofDefaults("rawg"), null,
+                new SimpleMeterRegistry(), 0, Duration.ZERO, Clock.systemUTC()));
+        searchResults = parser.gamesPage(gamesPage);
+    }
+
+    byte[] gamesPage() {
+        return gamesPage;
+    }
+
+    byte[] gameDetails() {
+        return gameDetails;
+    }
+
+    @Override
+    public Mono<List<RawgGameFeatures>> getMultipleGameFeatures(List<Integer> gameIds) {
+        return Mono.just(gameIds.stream()
+            .map(id -> parser.gameFeatures(gameDetails))
+            .toList());
+    }
+
+    @Override
+    public Mono<List<GameSearchResultDto>> searchGamesByDeveloperId(Integer developerId, int pageSize) {
+        return Mono.just(searchResults);
+    }
+
+    @Override
+    public Mono<List<GameSearchResultDto>> searchGamesByPublisherId(Integer publisherId, int pageSize) {
+        return Mono.just(searchResults);
+    }
+
+    @Override
+    public Mono<List<GameSearchResultDto>> searchGamesByMultipleGenres(List<Integer> genreIds, int pageSize) {
+        return Mono.just(searchResults);
+    }
+
+    @Override
+    public Mono<List<GameSearchResultDto>> searchGamesByMultipleTags(List<Integer> tagIds, int pageSize) {
+        return Mono.just(searchResults);
+    }
+
+    private static byte[] read(String resource) {
+        try (InputStream in = RecordedRawgApiService.class.getClassLoader().getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.gamewatch.service;
+
+import com.gamewatch.benchmark.SyntheticHistory;
+import com.gamewatch.dto.UserStatisticsDto;
+import com.gamewatch.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserStatisticsService#getUserStatistics} on histories of 100 to 50,000 sessions, with the
+ * repositories answering from memory so only the aggregation stages are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserStatisticsBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int sessions;
+
+    @Param({"all", "year"})
+    private String interval;
+
+    private UserStatisticsService userStatisticsService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        SyntheticHistory history = SyntheticHistory.generate(sessions);
+        userStatisticsService = history.userStatisticsService(null);
+        user = history.user();
+    }
+
+    @Benchmark
+    public UserStatisticsDto getUserStatistics() {
+        return userStatisticsService.getUserStatistics(user, interval);
+    }
+}
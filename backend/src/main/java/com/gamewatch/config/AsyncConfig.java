@@ -0,0 +1,13 @@
+package com.gamewatch.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} listeners; they run on Boot's auto-configured task executor
+ * (spring.task.execution.*).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,76 @@
+package com.gamewatch.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Reports committed updates and deletes of cached entities to the {@link CacheInvalidationPublisher}.
+ * Inserts need no invalidation: no other node can have cached a row that did not exist.
+ */
+public class CacheInvalidationEventListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final CacheInvalidationPublisher publisher;
+
+    public CacheInvalidationEventListener(CacheInvalidationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void entityChanged(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            publisher.entityChanged(persister.getCacheAccessStrategy().getRegion().getName(),
+                persister.getEntityName(), id);
+        }
+    }
+
+    /** Registers the listener with each session factory Hibernate builds. */
+    public Integrator integrator() {
+        return new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, CacheInvalidationEventListener.this);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, CacheInvalidationEventListener.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.gamewatch.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * One NOTIFY payload sent by node {@code node}: second-level cache regions to clear, single
+ * entities (ids by entity name) to evict, and table spaces whose cached query results are stale.
+ */
+public record CacheInvalidationMessage(String node, Set<String> regions, Map<String, Set<Object>> entities,
+                                       Set<String> spaces) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    public CacheInvalidationMessage {
+        // Absent from payloads of nodes that predate query space invalidation
+        spaces = spaces == null ? Set.of() : spaces;
+    }
+
+    public String toJson() {
+        try {
+            return MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cache invalidation", e);
+        }
+    }
+
+    public static CacheInvalidationMessage fromJson(String json) {
+        try {
+            return MAPPER.readValue(json, CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed cache invalidation payload", e);
+        }
+    }
+
+    /**
+     * Splits the invalidations of one batch into payloads that each fit a NOTIFY. Entities are
+     * keyed by entity name, regions by region name, spaces by table name.
+     */
+    public static List<String> encode(String node, Set<String> regions, Map<String, Set<Object>> entities,
+                                      Set<String> spaces) {
+        Payloads payloads = new Payloads(node);
+        regions.forEach(region -> payloads.add(pending -> pending.regions.add(region),
+            pending -> pending.regions.remove(region)));
+        spaces.forEach(space -> payloads.add(pending -> pending.spaces.add(space),
+            pending -> pending.spaces.remove(space)));
+        entities.forEach((entityName, ids) -> ids.forEach(id -> payloads.add(
+            pending -> pending.entities.computeIfAbsent(entityName, k -> new LinkedHashSet<>()).add(id),
+            pending -> {
+                Set<Object> pendingIds = pending.entities.get(entityName);
+                pendingIds.remove(id);
+                if (pendingIds.isEmpty()) {
+                    pending.entities.remove(entityName);
+                }
+            })));
+        return payloads.finish();
+    }
+
+    /** Fills one payload at a time and starts the next when an addition would overflow it. */
+    private static final class Payloads {
+
+        private final String node;
+        private final List<String> payloads = new ArrayList<>();
+        private Set<String> regions = new LinkedHashSet<>();
+        private Map<String, Set<Object>> entities = new LinkedHashMap<>();
+        private Set<String> spaces = new LinkedHashSet<>();
+
+        Payloads(String node) {
+            this.node = node;
+        }
+
+        void add(Consumer<Payloads> addition, Consumer<Payloads> undo) {
+            addition.accept(this);
+            if (pending().toJson().getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                undo.accept(this);
+                payloads.add(pending().toJson());
+                regions = new LinkedHashSet<>();
+                entities = new LinkedHashMap<>();
+                spaces = new LinkedHashSet<>();
+                addition.accept(this);
+            }
+        }
+
+        List<String> finish() {
+            if (!regions.isEmpty() || !entities.isEmpty() || !spaces.isEmpty()) {
+                payloads.add(pending().toJson());
+            }
+            return payloads;
+        }
+
+        private CacheInvalidationMessage pending() {
+            return new CacheInvalidationMessage(node, regions, entities, spaces);
+        }
+    }
+}
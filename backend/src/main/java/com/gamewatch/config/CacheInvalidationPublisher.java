@@ -0,0 +1,127 @@
+package com.gamewatch.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collects second-level cache invalidations made on this node and broadcasts them to the other
+ * nodes with PostgreSQL NOTIFY. Invalidations are buffered and sent together every flush
+ * interval, so a write burst costs a few notifications rather than one per row; a region with more
+ * than {@code maxEntitiesPerRegion} changed entities in one batch is cleared as a whole instead.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "gamewatch_cache_invalidation";
+
+    // Invalidations applied on behalf of another node must not be broadcast back
+    private static final ThreadLocal<Boolean> APPLYING_REMOTE = ThreadLocal.withInitial(() -> false);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntitiesPerRegion;
+
+    private final Object lock = new Object();
+    private Set<String> pendingRegions = new LinkedHashSet<>();
+    // Entity name -> changed ids, and the region each entity name is cached in
+    private Map<String, Set<Object>> pendingEntities = new LinkedHashMap<>();
+    private final Map<String, String> regionOfEntity = new HashMap<>();
+    // Tables written on this node, whose cached query results peers must stop using
+    private Set<String> pendingSpaces = new LinkedHashSet<>();
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, int maxEntitiesPerRegion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntitiesPerRegion = maxEntitiesPerRegion;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void entityChanged(String regionName, String entityName, Object id) {
+        if (APPLYING_REMOTE.get()) {
+            return;
+        }
+        synchronized (lock) {
+            regionOfEntity.put(entityName, regionName);
+            if (pendingRegions.contains(regionName)) {
+                return;
+            }
+            Set<Object> ids = pendingEntities.computeIfAbsent(entityName, k -> new LinkedHashSet<>());
+            ids.add(id);
+            if (ids.size() > maxEntitiesPerRegion) {
+                pendingEntities.remove(entityName);
+                pendingRegions.add(regionName);
+            }
+        }
+    }
+
+    public void regionCleared(String regionName) {
+        if (APPLYING_REMOTE.get()) {
+            return;
+        }
+        synchronized (lock) {
+            pendingRegions.add(regionName);
+            pendingEntities.keySet().removeIf(entityName -> regionName.equals(regionOfEntity.get(entityName)));
+        }
+    }
+
+    public void spaceInvalidated(String space) {
+        if (APPLYING_REMOTE.get()) {
+            return;
+        }
+        synchronized (lock) {
+            pendingSpaces.add(space);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gamewatch.cache.cluster-invalidation.flush-interval-ms:50}")
+    @PreDestroy
+    public void flush() {
+        Set<String> regions;
+        Map<String, Set<Object>> entities;
+        Set<String> spaces;
+        synchronized (lock) {
+            if (pendingRegions.isEmpty() && pendingEntities.isEmpty() && pendingSpaces.isEmpty()) {
+                return;
+            }
+            regions = pendingRegions;
+            entities = pendingEntities;
+            spaces = pendingSpaces;
+            pendingRegions = new LinkedHashSet<>();
+            pendingEntities = new LinkedHashMap<>();
+            pendingSpaces = new LinkedHashSet<>();
+        }
+        List<String> payloads = CacheInvalidationMessage.encode(nodeId, regions, entities, spaces);
+        try {
+            for (String payload : payloads) {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, payload);
+            }
+            log.debug("Broadcast {} region, {} entity and {} query space invalidations in {} notifications",
+                regions.size(), entities.values().stream().mapToInt(Set::size).sum(), spaces.size(), payloads.size());
+        } catch (Exception e) {
+            // Peers fall back to their cache TTLs for these entries
+            log.warn("Failed to broadcast cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    /** Runs invalidations received from another node without broadcasting them again. */
+    public static void applyingRemote(Runnable action) {
+        APPLYING_REMOTE.set(true);
+        try {
+            action.run();
+        } finally {
+            APPLYING_REMOTE.set(false);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.gamewatch.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Holds a dedicated connection that LISTENs for cache invalidations broadcast by the other nodes,
+ * evicts the named regions and entities from this node's second-level cache and marks cached query
+ * results over the named tables stale. After losing the connection it reconnects and clears the
+ * whole cache, since invalidations may have been missed; a message it cannot apply, e.g. naming an
+ * entity only a peer on another version maps, clears the whole cache too.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher publisher;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CacheInvalidationSubscriber(DataSourceProperties dataSourceProperties,
+                                       EntityManagerFactory entityManagerFactory,
+                                       CacheInvalidationPublisher publisher) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CacheInvalidationPublisher.CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected; clearing second-level cache");
+                    CacheInvalidationPublisher.applyingRemote(() -> cache().evictAllRegions());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            applySafely(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // A failure must not end the thread, or this node would stop evicting peer writes for good
+    private void applySafely(String payload) {
+        try {
+            apply(payload);
+        } catch (RuntimeException e) {
+            log.error("Could not apply cache invalidation {}", payload, e);
+        }
+    }
+
+    void apply(String payload) {
+        CacheInvalidationMessage message;
+        try {
+            message = CacheInvalidationMessage.fromJson(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (publisher.getNodeId().equals(message.node())) {
+            return;
+        }
+        Cache cache = cache();
+        try {
+            CacheInvalidationPublisher.applyingRemote(() -> {
+                message.regions().forEach(cache::evictRegion);
+                message.entities().forEach((entityName, ids) -> evictEntities(cache, entityName, ids));
+                invalidateSpaces(message.spaces());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation from node {} could not be applied, clearing second-level cache: {}",
+                message.node(), e.getMessage());
+            CacheInvalidationPublisher.applyingRemote(cache::evictAllRegions);
+        }
+    }
+
+    // Stamping a table with this node's current time makes every query result cached here
+    // before the peer's write stale, just as a local write would
+    private void invalidateSpaces(Set<String> spaces) {
+        if (spaces.isEmpty()) {
+            return;
+        }
+        CacheImplementor cache = sessionFactory().getCache();
+        TimestampsRegion timestamps = cache.getTimestampsCache().getRegion();
+        if (timestamps == null) {
+            // Query cache disabled on this node
+            return;
+        }
+        long now = cache.getRegionFactory().nextTimestamp();
+        for (String space : spaces) {
+            timestamps.putIntoCache(space, now, null);
+        }
+    }
+
+    private void evictEntities(Cache cache, String entityName, Set<Object> ids) {
+        Class<?> idType = sessionFactory().getMappingMetamodel().getEntityDescriptor(entityName)
+            .getIdentifierType().getReturnedClass();
+        for (Object id : ids) {
+            cache.evictEntityData(entityName, toIdType(id, idType));
+        }
+    }
+
+    // JSON turns ids into Integer/Long/String; map them back onto the entity's id type
+    private static Object toIdType(Object id, Class<?> idType) {
+        if (id instanceof Number number) {
+            if (idType == Long.class) {
+                return number.longValue();
+            }
+            if (idType == Integer.class) {
+                return number.intValue();
+            }
+        }
+        return id;
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
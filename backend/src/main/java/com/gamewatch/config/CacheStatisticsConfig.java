@@ -0,0 +1,19 @@
+package com.gamewatch.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the second-level cache region statistics when the cache is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class CacheStatisticsConfig {
+
+    @Bean
+    public CacheStatisticsMonitor cacheStatisticsMonitor(EntityManagerFactory entityManagerFactory) {
+        return new CacheStatisticsMonitor(entityManagerFactory);
+    }
+}
@@ -0,0 +1,93 @@
+package com.gamewatch.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the per-region counters of the second-level cache (Ehcache publishes them as JCache
+ * statistics MBeans, see ehcache.xml) and logs them periodically, so region sizes and TTLs can be
+ * tuned against real traffic. Counters are cumulative since startup.
+ */
+@Slf4j
+public class CacheStatisticsMonitor {
+
+    public record RegionStatistics(String region, long hits, long misses, long puts, long evictions, long removals) {
+
+        public double hitRatio() {
+            long gets = hits + misses;
+            return gets == 0 ? 0 : (double) hits / gets;
+        }
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CacheStatisticsMonitor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<RegionStatistics> snapshot() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            // Second-level cache disabled
+            return List.of();
+        }
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        Set<String> regions = new HashSet<>();
+        cacheManager.getCacheNames().forEach(regions::add);
+        String manager = mBeanKeyValue(cacheManager.getURI().toString());
+
+        List<RegionStatistics> statistics = new ArrayList<>();
+        for (ObjectName name : mBeanServer.queryNames(statisticsPattern(), null)) {
+            String region = name.getKeyProperty("Cache");
+            if (!manager.equals(name.getKeyProperty("CacheManager")) || !regions.contains(region)) {
+                continue;
+            }
+            CacheStatisticsMXBean bean = JMX.newMXBeanProxy(mBeanServer, name, CacheStatisticsMXBean.class);
+            statistics.add(new RegionStatistics(region, bean.getCacheHits(), bean.getCacheMisses(),
+                bean.getCachePuts(), bean.getCacheEvictions(), bean.getCacheRemovals()));
+        }
+        statistics.sort(Comparator.comparing(RegionStatistics::region));
+        return statistics;
+    }
+
+    @Scheduled(fixedDelayString = "${gamewatch.cache.statistics-interval-ms:300000}")
+    public void logStatistics() {
+        for (RegionStatistics region : snapshot()) {
+            log.info("Cache region {}: {} hits, {} misses ({} hit ratio), {} puts, {} evictions",
+                region.region(), region.hits(), region.misses(), String.format("%.1f%%", region.hitRatio() * 100),
+                region.puts(), region.evictions());
+        }
+    }
+
+    private static ObjectName statisticsPattern() {
+        try {
+            return new ObjectName("javax.cache:type=CacheStatistics,*");
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Ehcache replaces the characters ObjectName reserves when it registers the MBeans
+    private static String mBeanKeyValue(String value) {
+        return value == null ? "" : value.replaceAll("[,:=\n]", ".");
+    }
+}
@@ -0,0 +1,137 @@
+package com.gamewatch.config;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * JCache region factory that reports whole-region clears of entity regions to the
+ * {@link CacheInvalidationPublisher}. Hibernate clears a region after a bulk HQL update or delete
+ * on its entity (the timer transitions are such updates); single-entity changes are reported by
+ * {@link CacheInvalidationEventListener} once their transaction commits. Writes to the update
+ * timestamps region, which mark the tables whose cached query results are stale, are reported as
+ * query spaces.
+ */
+public class ClusterAwareRegionFactory extends JCacheRegionFactory {
+
+    private final CacheInvalidationPublisher publisher;
+
+    public ClusterAwareRegionFactory(CacheInvalidationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        DomainDataStorageAccess storage = super.createDomainDataStorageAccess(regionConfig, buildingContext);
+        return new BroadcastingStorageAccess(storage, regionConfig.getRegionName(), publisher);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return new TimestampsBroadcastingAccess(super.createTimestampsRegionStorageAccess(regionName, sessionFactory),
+            publisher);
+    }
+
+    private record TimestampsBroadcastingAccess(StorageAccess delegate, CacheInvalidationPublisher publisher)
+            implements StorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        // Keys are table names; Hibernate writes one before flushing a change and again after commit
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putIntoCache(key, value, session);
+            publisher.spaceInvalidated(key.toString());
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+
+    private record BroadcastingStorageAccess(DomainDataStorageAccess delegate, String regionName,
+                                             CacheInvalidationPublisher publisher) implements DomainDataStorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putIntoCache(key, value, session);
+        }
+
+        @Override
+        public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putFromLoad(key, value, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+            publisher.regionCleared(regionName);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+            publisher.regionCleared(regionName);
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.gamewatch.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the second-level caches of several backend nodes coherent through PostgreSQL
+ * LISTEN/NOTIFY: each node broadcasts the cache entries its writes invalidate and evicts the
+ * entries invalidated by its peers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gamewatch.cache.cluster-invalidation.enabled", havingValue = "true")
+public class ClusterCacheConfig {
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            JdbcTemplate jdbcTemplate,
+            @Value("${gamewatch.cache.cluster-invalidation.max-entities-per-region:200}") int maxEntitiesPerRegion) {
+        return new CacheInvalidationPublisher(jdbcTemplate, maxEntitiesPerRegion);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer clusterCacheHibernateProperties(CacheInvalidationPublisher publisher) {
+        CacheInvalidationEventListener listener = new CacheInvalidationEventListener(publisher);
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new ClusterAwareRegionFactory(publisher));
+            properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(listener.integrator()));
+        };
+    }
+
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(DataSourceProperties dataSourceProperties,
+                                                                   EntityManagerFactory entityManagerFactory,
+                                                                   CacheInvalidationPublisher publisher) {
+        return new CacheInvalidationSubscriber(dataSourceProperties, entityManagerFactory, publisher);
+    }
+}
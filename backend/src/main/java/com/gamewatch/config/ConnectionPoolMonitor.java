@@ -0,0 +1,57 @@
+package com.gamewatch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Samples the routed connection pools and warns when one is saturated, i.e. callers are queueing
+ * for a connection.
+ */
+@Slf4j
+public class ConnectionPoolMonitor {
+
+    public record PoolUsage(String pool, int active, int idle, int total, int maximum, int waiting) {
+
+        public boolean saturated() {
+            return waiting > 0;
+        }
+    }
+
+    private final List<HikariDataSource> pools;
+
+    public ConnectionPoolMonitor(List<HikariDataSource> pools) {
+        this.pools = List.copyOf(pools);
+    }
+
+    public List<PoolUsage> snapshot() {
+        List<PoolUsage> usage = new ArrayList<>();
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            if (bean == null) {
+                // Pool not started yet: no connection has been requested from it
+                continue;
+            }
+            usage.add(new PoolUsage(pool.getPoolName(), bean.getActiveConnections(), bean.getIdleConnections(),
+                bean.getTotalConnections(), pool.getMaximumPoolSize(), bean.getThreadsAwaitingConnection()));
+        }
+        return usage;
+    }
+
+    @Scheduled(fixedDelayString = "${gamewatch.datasource.pool-monitor-interval-ms:10000}")
+    public void logSaturation() {
+        for (PoolUsage usage : snapshot()) {
+            if (usage.saturated()) {
+                log.warn("Connection pool {} saturated: {}/{} connections active, {} callers waiting",
+                    usage.pool(), usage.active(), usage.maximum(), usage.waiting());
+            } else {
+                log.debug("Connection pool {}: {}/{} active, {} idle",
+                    usage.pool(), usage.active(), usage.maximum(), usage.idle());
+            }
+        }
+    }
+}
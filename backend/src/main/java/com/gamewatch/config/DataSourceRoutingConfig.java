@@ -0,0 +1,133 @@
+package com.gamewatch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces Boot's single connection pool with a {@link RoutingDataSource} when workload pools
+ * ({@code gamewatch.datasource.workloads.enabled}) or a read replica
+ * ({@code gamewatch.datasource.replica.url}) are configured.
+ *
+ * With workload pools, the primary is reached through separate OLTP, analytics and bulk pools,
+ * each with its own size, timeouts and statement timeout; Flyway migrates through the bulk pool.
+ * Without them a single primary pool configured by {@code spring.datasource.hikari} serves every
+ * workload.
+ */
+@Configuration
+@ConditionalOnExpression(DataSourceRoutingConfig.ROUTING_ENABLED)
+public class DataSourceRoutingConfig {
+
+    static final String WORKLOADS_ENABLED = "gamewatch.datasource.workloads.enabled";
+    static final String REPLICA_CONFIGURED = "!'${gamewatch.datasource.replica.url:}'.isEmpty()";
+    static final String ROUTING_ENABLED = "'${" + WORKLOADS_ENABLED + ":false}' == 'true' or " + REPLICA_CONFIGURED;
+
+    @Bean("oltpDataSource")
+    @ConditionalOnProperty(name = WORKLOADS_ENABLED, havingValue = "false", matchIfMissing = true)
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return pool(properties, "primary");
+    }
+
+    @Bean("oltpDataSource")
+    @ConditionalOnProperty(name = WORKLOADS_ENABLED, havingValue = "true")
+    @ConfigurationProperties("gamewatch.datasource.workloads.oltp.hikari")
+    public HikariDataSource oltpWorkloadDataSource(DataSourceProperties properties) {
+        return pool(properties, "oltp");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = WORKLOADS_ENABLED, havingValue = "true")
+    @ConfigurationProperties("gamewatch.datasource.workloads.analytics.hikari")
+    public HikariDataSource analyticsDataSource(DataSourceProperties properties) {
+        return pool(properties, "analytics");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = WORKLOADS_ENABLED, havingValue = "true")
+    @FlywayDataSource
+    @ConfigurationProperties("gamewatch.datasource.workloads.bulk.hikari")
+    public HikariDataSource bulkDataSource(DataSourceProperties properties) {
+        return pool(properties, "bulk");
+    }
+
+    @Bean
+    @ConditionalOnExpression(REPLICA_CONFIGURED)
+    @ConfigurationProperties("gamewatch.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${gamewatch.datasource.replica.url}") String url,
+                                              @Value("${gamewatch.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${gamewatch.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public RoutingDataSource routingDataSource(
+            @Qualifier("oltpDataSource") DataSource oltp,
+            @Qualifier("analyticsDataSource") ObjectProvider<DataSource> analytics,
+            @Qualifier("bulkDataSource") ObjectProvider<DataSource> bulk,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+            @Value("${gamewatch.datasource.replica.sticky-window-ms:10000}") long stickyWindowMs) {
+        Map<WorkloadType, DataSource> pools = new EnumMap<>(WorkloadType.class);
+        pools.put(WorkloadType.OLTP, oltp);
+        analytics.ifAvailable(pool -> pools.put(WorkloadType.ANALYTICS, pool));
+        bulk.ifAvailable(pool -> pools.put(WorkloadType.BULK, pool));
+        return new RoutingDataSource(pools, replica.getIfAvailable(), Duration.ofMillis(stickyWindowMs));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // Set up front so the proxy does not open a connection at startup to discover them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(routingDataSource);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    @Bean
+    @ConditionalOnExpression(REPLICA_CONFIGURED)
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               RoutingDataSource routingDataSource,
+                                               @Value("${gamewatch.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        return new ReplicaLagMonitor(replica, routingDataSource, Duration.ofMillis(maxLagMs));
+    }
+
+    @Bean
+    public ConnectionPoolMonitor connectionPoolMonitor(List<HikariDataSource> pools) {
+        return new ConnectionPoolMonitor(pools);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
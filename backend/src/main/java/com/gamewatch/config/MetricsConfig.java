@@ -0,0 +1,37 @@
+package com.gamewatch.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics beyond Boot's defaults (HTTP, JVM, Hikari pools): Hibernate session factory
+ * statistics, including second-level cache hits and misses per region, and SQL statements per
+ * request. Services are timed through {@code @Observed}; the RAWG client through
+ * {@link com.gamewatch.service.RawgClientMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public RequestQueryCounter requestQueryCounter(MeterRegistry meterRegistry) {
+        return new RequestQueryCounter(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingHibernateProperties(RequestQueryCounter requestQueryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestQueryCounter);
+    }
+
+    // Reads the statistics enabled by hibernate.generate_statistics
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "default", Tags.empty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.gamewatch.config;
+
+import com.gamewatch.service.RawgRateBudget;
+import com.gamewatch.service.RawgResilience;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Circuit breakers, bulkhead and rate budget of the RAWG client (see {@link RawgResilience}). Their
+ * state is published as the {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*}
+ * meters.
+ */
+@Configuration
+public class RawgResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry rawgCircuitBreakers(
+            MeterRegistry meterRegistry,
+            @Value("${rawg.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${rawg.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${rawg.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${rawg.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitDurationInOpenState,
+            @Value("${rawg.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumNumberOfCalls)
+            .waitDurationInOpenState(waitDurationInOpenState)
+            .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+            .recordException(RawgResilience.RAWG_FAILURE)
+            .ignoreExceptions(RawgResilience.RawgThrottledException.class, BulkheadFullException.class)
+            .writableStackTraceEnabled(false)
+            .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public Bulkhead rawgBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${rawg.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls) {
+        // Sheds at once instead of queueing: a queued call would only hold its request longer
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .maxWaitDuration(Duration.ZERO)
+            .writableStackTraceEnabled(false)
+            .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead("rawg");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rawg.rate-limit.enabled", havingValue = "true")
+    public RawgRateBudget rawgRateBudget(
+            JdbcTemplate jdbcTemplate,
+            @Value("${rawg.rate-limit.capacity:50}") double capacity,
+            @Value("${rawg.rate-limit.requests-per-second:5}") double requestsPerSecond,
+            @Value("${rawg.rate-limit.lease-size:5}") int leaseSize) {
+        return new RawgRateBudget(jdbcTemplate, capacity, requestsPerSecond, leaseSize);
+    }
+
+    @Bean
+    public RawgResilience rawgResilience(
+            CircuitBreakerRegistry rawgCircuitBreakers,
+            Bulkhead rawgBulkhead,
+            ObjectProvider<RawgRateBudget> rawgRateBudget,
+            MeterRegistry meterRegistry,
+            @Value("${rawg.stale-cache.max-entries:500}") int staleMaxEntries,
+            @Value("${rawg.stale-cache.max-age:24h}") Duration staleMaxAge) {
+        return new RawgResilience(rawgCircuitBreakers, rawgBulkhead, rawgRateBudget.getIfAvailable(), meterRegistry,
+            staleMaxEntries, staleMaxAge, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,42 @@
+package com.gamewatch.config;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Observes {@code WebClient} exchanges like Spring's default convention, but masks the given query
+ * parameters in the {@code http.url} span attribute. RAWG takes its API key as the {@code key}
+ * query parameter, which would otherwise be exported with every client span.
+ */
+public class RedactingClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    static final String REDACTED = "REDACTED";
+
+    private final Set<String> redactedParameters;
+
+    public RedactingClientRequestObservationConvention(Set<String> redactedParameters) {
+        this.redactedParameters = redactedParameters;
+    }
+
+    @Override
+    protected KeyValue httpUrl(ClientRequestObservationContext context) {
+        KeyValue httpUrl = super.httpUrl(context);
+        if (context.getRequest() == null) {
+            return httpUrl;
+        }
+        URI url = context.getRequest().url();
+        MultiValueMap<String, String> parameters =
+            new LinkedMultiValueMap<>(UriComponentsBuilder.fromUri(url).build(true).getQueryParams());
+        parameters.replaceAll((name, values) -> redactedParameters.contains(name) ? List.of(REDACTED) : values);
+        String redacted = UriComponentsBuilder.fromUri(url).replaceQueryParams(parameters).build(true).toUriString();
+        return KeyValue.of(httpUrl.getKey(), redacted);
+    }
+}
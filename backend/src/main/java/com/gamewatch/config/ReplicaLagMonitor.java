@@ -0,0 +1,53 @@
+package com.gamewatch.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica's replay lag and takes it out of read rotation while the lag exceeds
+ * {@code maxLag} or the replica cannot be reached.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Zero when everything received has been replayed, so an idle primary does not read as lag
+    static final String LAG_QUERY = """
+        SELECT CASE
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+               END * 1000""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final RoutingDataSource routingDataSource;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(DataSource replica, RoutingDataSource routingDataSource, Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.routingDataSource = routingDataSource;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${gamewatch.datasource.replica.lag-check-interval-ms:5000}")
+    public void refresh() {
+        routingDataSource.purgeExpiredStickiness();
+        try {
+            Number lagMillis = replicaJdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+            recordLag(Duration.ofMillis(lagMillis != null ? lagMillis.longValue() : 0));
+        } catch (Exception e) {
+            log.warn("Replica lag check failed: {}", e.getMessage());
+            routingDataSource.setReplicaAvailable(false);
+        }
+    }
+
+    void recordLag(Duration lag) {
+        if (lag.compareTo(maxLag) > 0) {
+            log.debug("Replica lag {} ms exceeds {} ms", lag.toMillis(), maxLag.toMillis());
+        }
+        routingDataSource.setReplicaAvailable(lag.compareTo(maxLag) <= 0);
+    }
+}
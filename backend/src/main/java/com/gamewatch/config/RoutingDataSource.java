@@ -0,0 +1,120 @@
+package com.gamewatch.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the connection pool for each transaction.
+ *
+ * Read-write work goes to the primary pool of the thread's {@link WorkloadType} (see
+ * {@link Workload}). Read-only transactions go to the replica when one is configured, except while
+ * it is lagging or unreachable (see {@link ReplicaLagMonitor}) and for {@code stickyWindow} after
+ * the same user committed a read-write transaction, so a user always sees their own changes.
+ * That stickiness lives in this node's memory only: with several nodes sharing a replica, the load
+ * balancer has to keep a user on the same node for the sticky window, or a read served by another
+ * node can miss the user's own write.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before the read-only flag of the transaction is
+ * published.
+ */
+@Slf4j
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String REPLICA = "replica";
+
+    private final boolean hasReplica;
+    private final Duration stickyWindow;
+
+    // User -> System.nanoTime() until which their reads go to the primary; not shared between nodes
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaAvailable = true;
+
+    /**
+     * @param primaryPools primary pool per workload; workloads without their own pool use the OLTP pool
+     * @param replica      replica pool, or null to serve reads from the primary pools
+     */
+    public RoutingDataSource(Map<WorkloadType, ? extends DataSource> primaryPools, DataSource replica,
+                             Duration stickyWindow) {
+        DataSource oltp = primaryPools.get(WorkloadType.OLTP);
+        if (oltp == null) {
+            throw new IllegalArgumentException("An OLTP pool is required");
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (WorkloadType workload : WorkloadType.values()) {
+            DataSource pool = primaryPools.get(workload);
+            targets.put(workload, pool != null ? pool : oltp);
+        }
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        this.hasReplica = replica != null;
+        this.stickyWindow = stickyWindow;
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(oltp);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+        } else if (hasReplica && replicaAvailable && !isSticky(user)) {
+            return REPLICA;
+        }
+        return WorkloadContext.current();
+    }
+
+    public void setReplicaAvailable(boolean available) {
+        if (available != replicaAvailable) {
+            log.info("Read replica {}", available ? "back in rotation" : "taken out of rotation");
+        }
+        replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /** Forgets users whose stickiness window has passed. */
+    public void purgeExpiredStickiness() {
+        long now = System.nanoTime();
+        primaryUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private void rememberWriteOnCommit(String user) {
+        if (user == null || !hasReplica || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntil.put(user, System.nanoTime() + stickyWindow.toNanos());
+            }
+        });
+    }
+
+    private boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -1,8 +1,12 @@
 package com.gamewatch.config;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -14,10 +18,13 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Configuration
 @EnableWebSecurity
@@ -33,6 +40,23 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:5173}")
     private String[] allowedOrigins;
 
+    /**
+     * Actuator is served on its own management port, which listens on loopback unless
+     * {@code MANAGEMENT_ADDRESS} names an internal interface, so requests reaching that port
+     * need no token.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(SecurityConfig::isManagementRequest)
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -53,17 +77,26 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static boolean isManagementRequest(HttpServletRequest request) {
+        ApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return context != null && WebServerApplicationContext.hasServerNamespace(context, "management");
+    }
+
     @Bean
     public JwtDecoder jwtDecoder() {
         // Use lazy initialization to avoid DNS issues at startup
         // The decoder will be initialized on first use
         return new JwtDecoder() {
+            // Not synchronized: the first decode fetches the issuer's metadata over HTTP, and a
+            // virtual thread blocking inside a monitor pins its carrier thread
+            private final Lock initLock = new ReentrantLock();
             private volatile JwtDecoder delegate;
 
             @Override
             public Jwt decode(String token) throws JwtException {
                 if (delegate == null) {
-                    synchronized (this) {
+                    initLock.lock();
+                    try {
                         if (delegate == null) {
                             NimbusJwtDecoder jwtDecoder = JwtDecoders.fromIssuerLocation(issuerUri);
 
@@ -74,6 +107,8 @@ public class SecurityConfig {
                             jwtDecoder.setJwtValidator(withAudience);
                             delegate = jwtDecoder;
                         }
+                    } finally {
+                        initLock.unlock();
                     }
                 }
                 return delegate.decode(token);
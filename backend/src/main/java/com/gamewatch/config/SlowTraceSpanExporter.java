@@ -0,0 +1,120 @@
+package com.gamewatch.config;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tail sampling for traces that start in this JVM. Spans are held back per trace until the local
+ * root span (the server request, or work started outside of one) ends; the whole tree is then
+ * exported if the root took at least the slow threshold, any span failed, or the trace falls into
+ * the baseline ratio, and dropped otherwise. Spans ending after their root follow the decision
+ * taken for the trace.
+ *
+ * Head sampling has to record every trace for this to see complete trees; memory is bounded by
+ * the number of traces held back and the spans kept per trace.
+ */
+public class SlowTraceSpanExporter implements SpanExporter {
+
+    static final int MAX_SPANS_PER_TRACE = 1000;
+
+    private final SpanExporter delegate;
+    private final long slowThresholdNanos;
+    private final double baselineRatio;
+    private final int maxPendingTraces;
+
+    // Insertion ordered, so the longest waiting trace is dropped first when the limit is reached
+    private final Map<String, List<SpanData>> pending = new LinkedHashMap<>();
+    private final Map<String, Boolean> decisions;
+
+    public SlowTraceSpanExporter(SpanExporter delegate, Duration slowThreshold, double baselineRatio,
+                                 int maxPendingTraces) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.baselineRatio = baselineRatio;
+        this.maxPendingTraces = maxPendingTraces;
+        this.decisions = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxPendingTraces;
+            }
+        };
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> sampled = new ArrayList<>();
+        synchronized (this) {
+            for (SpanData span : spans) {
+                String traceId = span.getTraceId();
+                Boolean decision = decisions.get(traceId);
+                if (decision != null) {
+                    if (decision) {
+                        sampled.add(span);
+                    }
+                    continue;
+                }
+                List<SpanData> trace = pending.computeIfAbsent(traceId, id -> new ArrayList<>());
+                if (trace.size() < MAX_SPANS_PER_TRACE) {
+                    trace.add(span);
+                }
+                if (isLocalRoot(span)) {
+                    pending.remove(traceId);
+                    boolean keep = isSlow(span) || hasError(trace) || ThreadLocalRandom.current().nextDouble() < baselineRatio;
+                    decisions.put(traceId, keep);
+                    if (keep) {
+                        sampled.addAll(trace);
+                    }
+                }
+            }
+            Iterator<String> eldest = pending.keySet().iterator();
+            while (pending.size() > maxPendingTraces) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return sampled.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(sampled);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        synchronized (this) {
+            pending.clear();
+            decisions.clear();
+        }
+        return delegate.shutdown();
+    }
+
+    synchronized int pendingTraces() {
+        return pending.size();
+    }
+
+    private boolean isSlow(SpanData root) {
+        return root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean hasError(List<SpanData> trace) {
+        return trace.stream().anyMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR);
+    }
+}
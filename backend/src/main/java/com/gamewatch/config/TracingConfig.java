@@ -0,0 +1,96 @@
+package com.gamewatch.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.ConnectionTracingObservationHandler;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import net.ttddyy.observation.tracing.QueryTracingObservationHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ClientRequestObservationConvention;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Distributed tracing through Micrometer Observation bridged to OpenTelemetry. Besides Boot's
+ * server request and {@code WebClient} spans, every JDBC connection and statement gets a span,
+ * and the services add spans through {@code @Observed} and their own stages.
+ *
+ * Every trace is recorded and handed to {@link SlowTraceSpanExporter}, which only exports the
+ * complete trees of slow or failed requests to the OTLP collector
+ * ({@code management.otlp.tracing.endpoint}) and/or the application log.
+ */
+@Configuration
+@ConditionalOnProperty(name = "management.tracing.enabled", matchIfMissing = true)
+public class TracingConfig {
+
+    // Wraps only the primary DataSource: the routed pools behind it keep their Hikari type and
+    // every statement is observed once, whichever pool served it
+    @Bean
+    public static BeanPostProcessor jdbcObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                DataSourceObservationListener listener = new DataSourceObservationListener(observationRegistry::getObject);
+                // Result set spans would double the span count of every query without adding timing
+                listener.setSupportedTypes(EnumSet.of(JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+                return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(listener)
+                    .methodListener(listener)
+                    .build();
+            }
+        };
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ConnectionTracingObservationHandler connectionTracingObservationHandler(Tracer tracer) {
+        return new ConnectionTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public QueryTracingObservationHandler queryTracingObservationHandler(Tracer tracer) {
+        return new QueryTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    public ClientRequestObservationConvention clientRequestObservationConvention() {
+        return new RedactingClientRequestObservationConvention(Set.of("key"));
+    }
+
+    // Replaces Boot's list of exporters, so that every exporter only sees the sampled traces
+    @Bean
+    public SpanExporters spanExporters(ObjectProvider<SpanExporter> exporters,
+                                       @Value("${gamewatch.tracing.slow-threshold-ms:1000}") long slowThresholdMs,
+                                       @Value("${gamewatch.tracing.baseline-ratio:0.0}") double baselineRatio,
+                                       @Value("${gamewatch.tracing.max-pending-traces:2000}") int maxPendingTraces) {
+        SpanExporter delegate = SpanExporter.composite(exporters.orderedStream().toList());
+        return SpanExporters.of(new SlowTraceSpanExporter(delegate, Duration.ofMillis(slowThresholdMs),
+            baselineRatio, maxPendingTraces));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "gamewatch.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
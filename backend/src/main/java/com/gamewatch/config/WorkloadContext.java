@@ -0,0 +1,44 @@
+package com.gamewatch.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The workload of the current thread, read by {@link RoutingDataSource} when a transaction
+ * obtains its connection.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadType current() {
+        WorkloadType workload = CURRENT.get();
+        return workload != null ? workload : WorkloadType.OLTP;
+    }
+
+    public static <T> T callAs(WorkloadType workload, Supplier<T> action) {
+        WorkloadType previous = enter(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Switches the current thread to a workload; returns the previous one for {@link #restore}. */
+    public static WorkloadType enter(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadType previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
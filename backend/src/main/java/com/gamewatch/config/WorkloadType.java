@@ -0,0 +1,13 @@
+package com.gamewatch.config;
+
+/**
+ * Connection pools that database work is isolated into, so slow work cannot starve fast work.
+ */
+public enum WorkloadType {
+    /** Short interactive transactions: timer transitions, library edits. The default. */
+    OLTP,
+    /** Multi-second reads: statistics aggregation, recommendations, health dashboards. */
+    ANALYTICS,
+    /** Large batch work: backup import/export, projection rebuilds, archival. */
+    BULK
+}
@@ -50,8 +50,7 @@ public class BackupController {
         User user = userService.getOrCreateUser(authentication);
         
         try {
-            backupService.importBackup(user, backup);
-            return ResponseEntity.ok().build();
+            return ResponseEntity.ok(backupService.importBackup(user, backup));
         } catch (IllegalArgumentException e) {
             log.error("Invalid backup data: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,33 @@
+package com.gamewatch.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers a request from a {@link Mono} of non-blocking RAWG calls, releasing the servlet thread
+ * while they are in flight. Unlike returning the Mono itself, the subscription is also disposed
+ * when the client disconnects, not only on the spring.mvc.async.request-timeout, so abandoned
+ * requests stop calling RAWG.
+ */
+final class DeferredResponses {
+
+    private DeferredResponses() {
+    }
+
+    /**
+     * 200 with the Mono's value as the body, or with no body when it completes empty. Errors go to
+     * the exception handlers; a timeout answers 503.
+     */
+    static <T> DeferredResult<ResponseEntity<T>> ok(Mono<T> body) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>();
+        Disposable subscription = body
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.ok().build())
+            .subscribe(result::setResult, result::setErrorResult);
+        result.onTimeout(subscription::dispose);
+        result.onError(error -> subscription.dispose());
+        return result;
+    }
+}
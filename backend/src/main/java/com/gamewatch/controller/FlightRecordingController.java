@@ -0,0 +1,95 @@
+package com.gamewatch.controller;
+
+import com.gamewatch.dto.FlightRecordingDto;
+import com.gamewatch.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts, stops and downloads JDK Flight Recorder recordings of the running backend. Restricted to
+ * tokens carrying the {@code admin:diagnostics} permission.
+ */
+@RestController
+@RequestMapping("/admin/flight-recordings")
+@PreAuthorize("hasAuthority('admin:diagnostics')")
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @GetMapping
+    public ResponseEntity<List<FlightRecordingDto>> getRecordings() {
+        return ResponseEntity.ok(flightRecordingService.recordings());
+    }
+
+    @PostMapping
+    public ResponseEntity<?> startRecording(
+            @RequestParam(defaultValue = "profile") String settings,
+            @RequestParam(required = false) Long durationSeconds) {
+        try {
+            Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null;
+            return ResponseEntity.ok(flightRecordingService.start(settings, duration));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stopRecording() {
+        try {
+            return ResponseEntity.ok(flightRecordingService.stop());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<?> dumpRecording() {
+        Path file;
+        try {
+            file = flightRecordingService.dump();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("Error dumping flight recording", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Failed to dump flight recording: " + e.getMessage()));
+        }
+
+        String timestamp = ZonedDateTime.now(ZoneOffset.UTC)
+            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm"));
+        String filename = String.format("gamewatch_%s.jfr", timestamp);
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(body);
+    }
+}
@@ -1,9 +1,11 @@
 package com.gamewatch.controller;
 
 import com.gamewatch.dto.CreateGameRequest;
+import com.gamewatch.dto.CursorPageDto;
 import com.gamewatch.dto.GameDto;
 import com.gamewatch.dto.GameSearchResultDto;
 import com.gamewatch.dto.GameStatisticsDto;
+import com.gamewatch.dto.LibraryFilter;
 import com.gamewatch.entity.User;
 import com.gamewatch.service.GameService;
 import com.gamewatch.service.RawgApiService;
@@ -14,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 
@@ -27,17 +30,15 @@ public class GameController {
     private final RawgApiService rawgApiService;
 
     @GetMapping("/search")
-    public ResponseEntity<List<GameSearchResultDto>> searchGames(
+    public DeferredResult<ResponseEntity<List<GameSearchResultDto>>> searchGames(
             @RequestParam String query) {
-        List<GameSearchResultDto> results = rawgApiService.searchGames(query);
-        return ResponseEntity.ok(results);
+        return DeferredResponses.ok(rawgApiService.searchGames(query));
     }
 
     @GetMapping("/details/{externalId}")
-    public ResponseEntity<GameSearchResultDto> getGameDetails(
+    public DeferredResult<ResponseEntity<GameSearchResultDto>> getGameDetails(
             @PathVariable Integer externalId) {
-        GameSearchResultDto details = rawgApiService.getGameDetails(externalId);
-        return ResponseEntity.ok(details);
+        return DeferredResponses.ok(rawgApiService.getGameDetails(externalId));
     }
 
     @PostMapping
@@ -49,6 +50,17 @@ public class GameController {
         return ResponseEntity.status(HttpStatus.CREATED).body(game);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<GameDto>> getGamesPage(
+            Authentication authentication,
+            LibraryFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        User user = userService.getOrCreateUser(authentication);
+        CursorPageDto<GameDto> page = gameService.getGamesPage(user, filter, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping
     public ResponseEntity<List<GameDto>> getAllGames(Authentication authentication) {
         User user = userService.getOrCreateUser(authentication);
@@ -1,12 +1,17 @@
 package com.gamewatch.controller;
 
 import com.gamewatch.dto.CreatePlaythroughRequest;
+import com.gamewatch.dto.CursorPageDto;
+import com.gamewatch.dto.LibraryFilter;
 import com.gamewatch.dto.LogManualSessionRequest;
 import com.gamewatch.dto.PlaythroughDto;
+import com.gamewatch.dto.TimerEventBatchRequest;
+import com.gamewatch.dto.TimerEventBatchResultDto;
 import com.gamewatch.dto.UpdateDurationRequest;
 import com.gamewatch.dto.UpdatePlatformRequest;
 import com.gamewatch.dto.UpdateTitleRequest;
 import com.gamewatch.entity.User;
+import com.gamewatch.service.PlaythroughProjectionRebuilder;
 import com.gamewatch.service.PlaythroughService;
 import com.gamewatch.service.UserService;
 import jakarta.validation.Valid;
@@ -24,6 +29,7 @@ import java.util.List;
 public class PlaythroughController {
 
     private final PlaythroughService playthroughService;
+    private final PlaythroughProjectionRebuilder projectionRebuilder;
     private final UserService userService;
 
     @PostMapping
@@ -35,6 +41,17 @@ public class PlaythroughController {
         return ResponseEntity.status(HttpStatus.CREATED).body(playthrough);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<PlaythroughDto>> getUserPlaythroughsPage(
+            Authentication authentication,
+            LibraryFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        User user = userService.getOrCreateUser(authentication);
+        CursorPageDto<PlaythroughDto> page = playthroughService.getUserPlaythroughsPage(user, filter, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping
     public ResponseEntity<List<PlaythroughDto>> getUserPlaythroughs(Authentication authentication) {
         User user = userService.getOrCreateUser(authentication);
@@ -164,6 +181,25 @@ public class PlaythroughController {
         return ResponseEntity.ok(playthrough);
     }
 
+    @PostMapping("/events")
+    public ResponseEntity<TimerEventBatchResultDto> applyTimerEvents(
+            Authentication authentication,
+            @Valid @RequestBody TimerEventBatchRequest request) {
+        User user = userService.getOrCreateUser(authentication);
+        TimerEventBatchResultDto result = playthroughService.applyTimerEvents(user, request);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/{id}/rebuild")
+    public ResponseEntity<PlaythroughDto> rebuildPlaythrough(
+            Authentication authentication,
+            @PathVariable Long id) {
+        User user = userService.getOrCreateUser(authentication);
+        projectionRebuilder.rebuildPlaythrough(user, id);
+        PlaythroughDto playthrough = playthroughService.getPlaythroughById(user, id);
+        return ResponseEntity.ok(playthrough);
+    }
+
     @PostMapping("/{id}/import-sessions")
     public ResponseEntity<PlaythroughDto> importSessions(
             Authentication authentication,
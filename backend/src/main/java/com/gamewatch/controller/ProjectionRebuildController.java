@@ -0,0 +1,40 @@
+package com.gamewatch.controller;
+
+import com.gamewatch.service.PlaythroughProjectionRebuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Rebuilds projections of the playthrough event log for every user, e.g. after a bug corrupted
+ * them or a restore lost session rows. Restricted to tokens carrying the {@code admin:maintenance}
+ * permission. Both run synchronously in the bulk connection pool.
+ */
+@RestController
+@RequestMapping("/admin/projections")
+@PreAuthorize("hasAuthority('admin:maintenance')")
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectionRebuildController {
+
+    private final PlaythroughProjectionRebuilder projectionRebuilder;
+
+    @PostMapping("/playthroughs/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildPlaythroughs() {
+        int corrected = projectionRebuilder.rebuildAllPlaythroughs();
+        return ResponseEntity.ok(Map.of("corrected", corrected));
+    }
+
+    @PostMapping("/health-metrics/rebuild")
+    public ResponseEntity<?> rebuildHealthMetrics(@RequestParam Long userId) {
+        try {
+            return ResponseEntity.ok(Map.of("days", projectionRebuilder.rebuildHealthMetrics(userId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
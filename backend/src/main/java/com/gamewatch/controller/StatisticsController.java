@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 
@@ -30,11 +31,10 @@ public class StatisticsController {
     }
 
     @GetMapping("/recommendations")
-    public ResponseEntity<List<GameRecommendationDto>> getGameRecommendations(
+    public DeferredResult<ResponseEntity<List<GameRecommendationDto>>> getGameRecommendations(
             @RequestParam(defaultValue = "5") int limit,
             Authentication authentication) {
         User user = userService.getOrCreateUser(authentication);
-        List<GameRecommendationDto> recommendations = userStatisticsService.getGameRecommendations(user, limit);
-        return ResponseEntity.ok(recommendations);
+        return DeferredResponses.ok(userStatisticsService.getGameRecommendations(user, limit));
     }
 }
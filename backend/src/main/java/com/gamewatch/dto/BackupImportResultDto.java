@@ -0,0 +1,21 @@
+package com.gamewatch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupImportResultDto {
+    private int games;
+    private int playthroughs;
+    private int sessions;
+    private int moodEntries;
+    // Sessions left out because they overlap time already on record or lack their start or end
+    private int skippedSessions;
+    // Mood entries of skipped sessions, left out with them
+    private int skippedMoodEntries;
+}
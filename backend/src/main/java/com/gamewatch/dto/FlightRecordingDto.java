@@ -0,0 +1,23 @@
+package com.gamewatch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingDto {
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startTime;
+    private Instant stopTime;
+    private Long maxDurationSeconds;
+    private long sizeBytes;
+}
@@ -2,6 +2,8 @@ package com.gamewatch.dto;
 
 import lombok.*;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +23,11 @@ public class GameSearchResultDto {
     private String developers;
     private String publishers;
     private String tags;
+    private List<Integer> genreIds;
+    private List<Integer> platformIds;
+    private List<Integer> developerIds;
+    private List<Integer> publisherIds;
+    private List<Integer> tagIds;
     
     private String nameOriginal;
     private String slug;
@@ -42,5 +42,7 @@ public class GameStatisticsDto {
         private Integer pauseCount;
         private Instant startedAt;
         private Instant endedAt;
+        // Set on rows that stand for a day of archived sessions; sessionId is null then
+        private Integer archivedSessionCount;
     }
 }
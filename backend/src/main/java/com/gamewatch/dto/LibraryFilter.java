@@ -0,0 +1,14 @@
+package com.gamewatch.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LibraryFilter {
+    private String status;
+    private String platform;
+    private String genre;
+    private String name;
+}
@@ -0,0 +1,19 @@
+package com.gamewatch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerEventBatchRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Valid
+    private List<TimerEventDto> events;
+}
@@ -0,0 +1,17 @@
+package com.gamewatch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerEventBatchResultDto {
+    private int applied;
+    private List<PlaythroughDto> playthroughs;
+}
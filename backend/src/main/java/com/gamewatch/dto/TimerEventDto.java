@@ -0,0 +1,36 @@
+package com.gamewatch.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One timer action recorded by a client, possibly while offline. Timer transitions use
+ * {@code occurredAt}; manual sessions use {@code startedAt} and {@code endedAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerEventDto {
+
+    public enum Type {
+        START, PAUSE, END_SESSION, STOP, DROP, PICKUP, MANUAL_SESSION
+    }
+
+    @NotNull(message = "Playthrough ID is required")
+    private Long playthroughId;
+
+    @NotNull(message = "Event type is required")
+    private Type type;
+
+    private Instant occurredAt;
+
+    private Instant startedAt;
+
+    private Instant endedAt;
+}
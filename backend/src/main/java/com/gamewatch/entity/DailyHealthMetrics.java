@@ -19,7 +19,8 @@ import java.time.LocalDate;
 public class DailyHealthMetrics {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_health_metrics_seq")
+    @SequenceGenerator(name = "daily_health_metrics_seq", sequenceName = "daily_health_metrics_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
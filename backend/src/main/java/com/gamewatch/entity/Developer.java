@@ -0,0 +1,11 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "developers")
+@NoArgsConstructor
+public class Developer extends MetadataTerm {
+}
@@ -0,0 +1,35 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the 24 hourly buckets of a {@link SessionDailySummary} as a comma-separated list.
+ */
+@Converter
+public class HourlySecondsConverter implements AttributeConverter<long[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(long[] hourlySeconds) {
+        if (hourlySeconds == null) {
+            return null;
+        }
+        return Arrays.stream(hourlySeconds).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public long[] convertToEntityAttribute(String value) {
+        long[] hourlySeconds = new long[SessionDailySummary.HOURS_PER_DAY];
+        if (value == null || value.isBlank()) {
+            return hourlySeconds;
+        }
+        String[] parts = value.split(",");
+        for (int hour = 0; hour < Math.min(parts.length, hourlySeconds.length); hour++) {
+            hourlySeconds[hour] = Long.parseLong(parts[hour].trim());
+        }
+        return hourlySeconds;
+    }
+}
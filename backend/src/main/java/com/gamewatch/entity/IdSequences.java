@@ -0,0 +1,14 @@
+package com.gamewatch.entity;
+
+/**
+ * Shared settings of the id sequences. Hibernate reserves this many ids per sequence call
+ * (pooled-lo optimizer), which lets inserts be assigned ids up front and sent to the database
+ * in JDBC batches. Must match the INCREMENT BY of every entity sequence (see V35 migration).
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,9 @@
+package com.gamewatch.entity;
+
+public enum MetadataKind {
+    GENRE,
+    PLATFORM,
+    DEVELOPER,
+    PUBLISHER,
+    TAG
+}
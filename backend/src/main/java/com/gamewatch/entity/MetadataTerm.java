@@ -0,0 +1,27 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Common shape of the game metadata dictionaries (genres, platforms, developers,
+ * publishers, tags). Each term is stored once and referenced by its integer id.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class MetadataTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "rawg_id", unique = true)
+    private Integer rawgId;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -16,7 +16,8 @@ import java.time.Instant;
 public class MoodEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mood_entries_seq")
+    @SequenceGenerator(name = "mood_entries_seq", sequenceName = "mood_entries_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
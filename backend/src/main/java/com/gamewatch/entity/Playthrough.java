@@ -5,6 +5,7 @@ import lombok.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 @Table(name = "playthroughs")
 @Cacheable
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +24,8 @@ import java.time.LocalDate;
 public class Playthrough {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playthroughs_seq")
+    @SequenceGenerator(name = "playthroughs_seq", sequenceName = "playthroughs_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -117,6 +120,11 @@ public class Playthrough {
     @Column(name = "dominant_color_2", length = 7)
     private String dominantColor2;
 
+    // Timer transitions from two devices: the second write to a stale version is rejected
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -0,0 +1,58 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * One entry of the append-only timer log. Rows are never updated; the timer state of a
+ * playthrough can be rebuilt by folding its events over the latest snapshot.
+ * Only ids are stored so appending never has to load the owning entities.
+ */
+@Entity
+@Table(name = "playthrough_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlaythroughEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playthrough_events_seq")
+    @SequenceGenerator(name = "playthrough_events_seq", sequenceName = "playthrough_events_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "playthrough_id", nullable = false, updatable = false)
+    private Long playthroughId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false, length = 32)
+    private PlaythroughEventType type;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    // Session bounds for END_SESSION, MANUAL_SESSION and SESSION_DELETED
+    @Column(name = "started_at", updatable = false)
+    private Instant startedAt;
+
+    @Column(name = "ended_at", updatable = false)
+    private Instant endedAt;
+
+    // Duration for DURATION_SET, SESSION_DELETED and TIME_IMPORTED
+    @Column(name = "seconds", updatable = false)
+    private Long seconds;
+
+    // Serialized timer state for SNAPSHOT
+    @Column(name = "payload", updatable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private Instant recordedAt;
+}
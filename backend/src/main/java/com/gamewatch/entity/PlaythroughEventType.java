@@ -0,0 +1,15 @@
+package com.gamewatch.entity;
+
+public enum PlaythroughEventType {
+    SNAPSHOT,
+    START,
+    PAUSE,
+    END_SESSION,
+    STOP,
+    DROP,
+    PICKUP,
+    MANUAL_SESSION,
+    DURATION_SET,
+    SESSION_DELETED,
+    TIME_IMPORTED
+}
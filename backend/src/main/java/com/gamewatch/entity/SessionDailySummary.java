@@ -0,0 +1,60 @@
+package com.gamewatch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Roll-up of the archived sessions of one playthrough on one day (by session start, server time
+ * zone). Keeps what statistics need once the individual sessions are gone.
+ */
+@Entity
+@Table(name = "session_daily_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionDailySummary {
+
+    public static final int HOURS_PER_DAY = 24;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_daily_summaries_seq")
+    @SequenceGenerator(name = "session_daily_summaries_seq", sequenceName = "session_daily_summaries_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "playthrough_id", nullable = false)
+    private Long playthroughId;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "session_count", nullable = false)
+    private Integer sessionCount;
+
+    @Column(name = "duration_seconds", nullable = false)
+    private Long durationSeconds;
+
+    @Column(name = "longest_session_seconds", nullable = false)
+    private Long longestSessionSeconds;
+
+    @Column(name = "pause_count", nullable = false)
+    private Integer pauseCount;
+
+    @Column(name = "first_started_at", nullable = false)
+    private Instant firstStartedAt;
+
+    @Column(name = "last_ended_at", nullable = false)
+    private Instant lastEndedAt;
+
+    // Seconds played in each hour of the day, index 0 = 00:00-01:00
+    @Convert(converter = HourlySecondsConverter.class)
+    @Column(name = "hourly_seconds", nullable = false, length = 400)
+    private long[] hourlySeconds;
+}
@@ -7,7 +7,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "session_history")
+@Table(name = "session_history", indexes = {
+    @Index(name = "idx_session_history_user_started", columnList = "user_id, started_at"),
+    @Index(name = "idx_session_history_user_ended", columnList = "user_id, ended_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,13 +19,18 @@ import java.time.Instant;
 public class SessionHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_history_seq")
+    @SequenceGenerator(name = "session_history_seq", sequenceName = "session_history_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "playthrough_id", nullable = false)
     private Playthrough playthrough;
 
+    // Owner of the playthrough, copied here so per-user time range queries skip the join
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
     @Column(name = "session_number", nullable = false)
     private Integer sessionNumber;
 
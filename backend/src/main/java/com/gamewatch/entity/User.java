@@ -21,7 +21,8 @@ import java.time.Instant;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "auth0_user_id", nullable = false, unique = true)
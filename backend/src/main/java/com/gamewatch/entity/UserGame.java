@@ -16,7 +16,8 @@ import java.time.Instant;
 public class UserGame {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_games_seq")
+    @SequenceGenerator(name = "user_games_seq", sequenceName = "user_games_id_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,8 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Developer;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeveloperRepository extends MetadataTermRepository<Developer> {
+}
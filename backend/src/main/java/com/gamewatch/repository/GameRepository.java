@@ -3,8 +3,10 @@ package com.gamewatch.repository;
 import com.gamewatch.entity.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +20,16 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     
     @Query("SELECT g FROM Game g WHERE g.name = :name ORDER BY g.id LIMIT 1")
     Optional<Game> findFirstByName(String name);
+
+    /**
+     * Returns (game_id, kind, term_id) rows for every dictionary term linked to the given games,
+     * in a single round trip. Kind is the {@link com.gamewatch.entity.MetadataKind} name.
+     */
+    @Query(value = "SELECT game_id, 'GENRE', genre_id FROM game_genres WHERE game_id IN (:gameIds) " +
+           "UNION ALL SELECT game_id, 'PLATFORM', platform_id FROM game_platforms WHERE game_id IN (:gameIds) " +
+           "UNION ALL SELECT game_id, 'DEVELOPER', developer_id FROM game_developers WHERE game_id IN (:gameIds) " +
+           "UNION ALL SELECT game_id, 'PUBLISHER', publisher_id FROM game_publishers WHERE game_id IN (:gameIds) " +
+           "UNION ALL SELECT game_id, 'TAG', tag_id FROM game_tags WHERE game_id IN (:gameIds)",
+           nativeQuery = true)
+    List<Object[]> findMetadataLinksByGameIds(@Param("gameIds") Collection<Long> gameIds);
 }
@@ -0,0 +1,8 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Genre;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GenreRepository extends MetadataTermRepository<Genre> {
+}
@@ -1,12 +1,19 @@
 package com.gamewatch.repository;
 
 import com.gamewatch.entity.HealthSettings;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface HealthSettingsRepository extends JpaRepository<HealthSettings, Long> {
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.healthSettingsByUser")
+    })
     Optional<HealthSettings> findByUserId(Long userId);
 }
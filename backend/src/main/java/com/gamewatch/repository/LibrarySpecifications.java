@@ -0,0 +1,151 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.UserGame;
+import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria for the keyset-paginated library and playthrough listings. Only the filters that are
+ * actually set become predicates, so each combination gets a plan that can use its index.
+ */
+public final class LibrarySpecifications {
+
+    public static final List<String> STATUSES = List.of("active", "paused", "completed", "dropped");
+
+    private LibrarySpecifications() {
+    }
+
+    /**
+     * Playthroughs of a user ordered by (last_played_at DESC NULLS LAST, id DESC), starting after
+     * the given position. The game is fetched in the same statement.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Playthrough> playthroughPage(Long userId, String status, String platform,
+                                                             String genre, String namePrefix,
+                                                             Instant afterLastPlayedAt, Long afterId) {
+        return (root, query, cb) -> {
+            Join<Playthrough, Game> game = (Join<Playthrough, Game>) root.<Playthrough, Game>fetch("game");
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (status != null) {
+                predicates.add(cb.isTrue(root.get(statusAttribute(status))));
+            }
+            if (platform != null) {
+                predicates.add(cb.equal(root.get("platform"), platform));
+            }
+            addGameFilters(predicates, cb, game, genre, namePrefix);
+
+            if (afterId != null) {
+                Path<Instant> lastPlayedAt = root.get("lastPlayedAt");
+                Path<Long> id = root.get("id");
+                if (afterLastPlayedAt != null) {
+                    predicates.add(cb.or(
+                        cb.lessThan(lastPlayedAt, afterLastPlayedAt),
+                        cb.and(cb.equal(lastPlayedAt, afterLastPlayedAt), cb.lessThan(id, afterId)),
+                        cb.isNull(lastPlayedAt)));
+                } else {
+                    predicates.add(cb.and(cb.isNull(lastPlayedAt), cb.lessThan(id, afterId)));
+                }
+            }
+
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            query.orderBy(hcb.desc(root.get("lastPlayedAt"), false), cb.desc(root.get("id")));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Library entries of a user ordered by (created_at DESC, id DESC), starting after the given
+     * position. The game is fetched in the same statement; status matches games that have at
+     * least one playthrough in that state.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<UserGame> libraryPage(Long userId, String status, String platform,
+                                                      String genre, String namePrefix,
+                                                      Instant afterCreatedAt, Long afterId) {
+        return (root, query, cb) -> {
+            Join<UserGame, Game> game = (Join<UserGame, Game>) root.<UserGame, Game>fetch("game");
+            List<Predicate> predicates = new ArrayList<>();
+
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (status != null) {
+                Subquery<Long> playthroughs = query.subquery(Long.class);
+                Root<Playthrough> playthrough = playthroughs.from(Playthrough.class);
+                playthroughs.select(playthrough.get("id")).where(
+                    cb.equal(playthrough.get("user").get("id"), userId),
+                    cb.equal(playthrough.get("game"), game),
+                    cb.isTrue(playthrough.get(statusAttribute(status))));
+                predicates.add(cb.exists(playthroughs));
+            }
+            if (platform != null) {
+                predicates.add(cb.equal(game.join("platformTerms").get("name"), platform));
+            }
+            addGameFilters(predicates, cb, game, genre, namePrefix);
+
+            if (afterId != null && afterCreatedAt != null) {
+                Path<Instant> createdAt = root.get("createdAt");
+                predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(root.get("id"), afterId))));
+            }
+
+            query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Validates a status filter value; blank means no filter.
+     */
+    public static String normalizeStatus(String status) {
+        String value = trimToNull(status);
+        if (value == null) {
+            return null;
+        }
+        value = value.toLowerCase(Locale.ROOT);
+        if (!STATUSES.contains(value)) {
+            throw new IllegalArgumentException("status must be one of " + STATUSES);
+        }
+        return value;
+    }
+
+    public static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static void addGameFilters(List<Predicate> predicates, CriteriaBuilder cb, Join<?, Game> game,
+                                       String genre, String namePrefix) {
+        if (genre != null) {
+            predicates.add(cb.equal(game.join("genreTerms").get("name"), genre));
+        }
+        if (namePrefix != null) {
+            predicates.add(cb.like(cb.lower(game.get("name")), escapeLike(namePrefix.toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+    }
+
+    private static String statusAttribute(String status) {
+        return switch (status) {
+            case "active" -> "isActive";
+            case "paused" -> "isPaused";
+            case "completed" -> "isCompleted";
+            case "dropped" -> "isDropped";
+            default -> throw new IllegalArgumentException("Unknown status: " + status);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,12 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.MetadataTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+@NoRepositoryBean
+public interface MetadataTermRepository<T extends MetadataTerm> extends JpaRepository<T, Integer> {
+    Optional<T> findByName(String name);
+}
@@ -2,13 +2,14 @@ package com.gamewatch.repository;
 
 import com.gamewatch.entity.MoodEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
@@ -18,8 +19,6 @@ public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
     List<MoodEntry> findByUserIdAndRecordedAtBetweenOrderByRecordedAtDesc(
         Long userId, Instant startDate, Instant endDate);
     
-    Optional<MoodEntry> findBySessionHistoryId(Long sessionHistoryId);
-    
     @Query("SELECT AVG(m.moodRating) FROM MoodEntry m WHERE m.user.id = :userId " +
            "AND m.recordedAt BETWEEN :startDate AND :endDate")
     Double calculateAverageMood(@Param("userId") Long userId, 
@@ -27,4 +26,11 @@ public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
                                 @Param("endDate") Instant endDate);
     
     List<MoodEntry> findByUserId(Long userId);
+
+    /**
+     * Unlinks mood entries from sessions that are about to be removed; the entries themselves stay.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MoodEntry m SET m.sessionHistory = null WHERE m.sessionHistory.id IN :sessionIds")
+    int unlinkSessions(@Param("sessionIds") Collection<Long> sessionIds);
 }
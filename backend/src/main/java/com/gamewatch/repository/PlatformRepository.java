@@ -0,0 +1,8 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Platform;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlatformRepository extends MetadataTermRepository<Platform> {
+}
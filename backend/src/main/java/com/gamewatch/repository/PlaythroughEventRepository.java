@@ -0,0 +1,38 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlaythroughEventRepository extends JpaRepository<PlaythroughEvent, Long> {
+
+    /**
+     * Events of a playthrough from its latest snapshot on, in append order.
+     */
+    @Query("SELECT e FROM PlaythroughEvent e WHERE e.playthroughId = :playthroughId AND e.id >= " +
+           "(SELECT MAX(s.id) FROM PlaythroughEvent s WHERE s.playthroughId = :playthroughId " +
+           "AND s.type = com.gamewatch.entity.PlaythroughEventType.SNAPSHOT) ORDER BY e.id")
+    List<PlaythroughEvent> findSinceLatestSnapshot(@Param("playthroughId") Long playthroughId);
+
+    @Query("SELECT DISTINCT e.playthroughId FROM PlaythroughEvent e WHERE e.playthroughId > :afterId ORDER BY e.playthroughId")
+    List<Long> findPlaythroughIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM PlaythroughEvent e WHERE e.userId = :userId AND e.type IN :types")
+    List<PlaythroughEvent> findByUserIdAndTypeIn(@Param("userId") Long userId,
+                                                 @Param("types") Collection<PlaythroughEventType> types);
+
+    /**
+     * Session events of a playthrough over its whole log, in append order.
+     */
+    @Query("SELECT e FROM PlaythroughEvent e WHERE e.playthroughId = :playthroughId AND e.type IN :types ORDER BY e.id")
+    List<PlaythroughEvent> findByPlaythroughIdAndTypeIn(@Param("playthroughId") Long playthroughId,
+                                                        @Param("types") Collection<PlaythroughEventType> types);
+}
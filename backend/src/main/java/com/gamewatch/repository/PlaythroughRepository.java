@@ -1,18 +1,32 @@
 package com.gamewatch.repository;
 
 import com.gamewatch.entity.Playthrough;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PlaythroughRepository extends JpaRepository<Playthrough, Long> {
+public interface PlaythroughRepository extends JpaRepository<Playthrough, Long>, JpaSpecificationExecutor<Playthrough> {
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.playthroughsByUser")
+    })
     List<Playthrough> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    @Query("SELECT p FROM Playthrough p JOIN FETCH p.game WHERE p.user.id = :userId ORDER BY p.createdAt DESC")
+    List<Playthrough> findWithGameByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+    
     @Query("SELECT p FROM Playthrough p WHERE p.user.id = :userId AND p.game.id = :gameId ORDER BY p.createdAt DESC")
     List<Playthrough> findByUserIdAndGameIdOrderByCreatedAtDesc(
         @Param("userId") Long userId, 
@@ -25,4 +39,26 @@ public interface PlaythroughRepository extends JpaRepository<Playthrough, Long>
     
     Optional<Playthrough> findByIdAndUserId(Long id, Long userId);
     List<Playthrough> findByUserIdAndIsActiveTrue(Long userId);
+
+    /**
+     * Loads and row-locks a playthrough for the rest of the transaction. Ending and numbering
+     * sessions take this lock: session_history is partitioned and cannot enforce unique numbers
+     * itself, and a session must not be closed twice by two devices.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Playthrough p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Playthrough> findForUpdateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Row-locks a batch of playthroughs in id order, so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Playthrough p WHERE p.id IN :ids ORDER BY p.id")
+    List<Playthrough> findForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Playthrough p JOIN FETCH p.game WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Playthrough> findWithGameByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT p FROM Playthrough p JOIN FETCH p.game WHERE p.user.id = :userId AND p.id IN :ids")
+    List<Playthrough> findWithGameByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,8 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Publisher;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PublisherRepository extends MetadataTermRepository<Publisher> {
+}
@@ -0,0 +1,19 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.SessionDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SessionDailySummaryRepository extends JpaRepository<SessionDailySummary, Long> {
+
+    List<SessionDailySummary> findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(Collection<Long> playthroughIds);
+
+    @Query("SELECT COALESCE(SUM(s.sessionCount), 0) FROM SessionDailySummary s WHERE s.playthroughId = :playthroughId")
+    long countArchivedSessions(@Param("playthroughId") Long playthroughId);
+}
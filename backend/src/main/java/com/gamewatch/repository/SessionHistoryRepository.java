@@ -1,12 +1,15 @@
 package com.gamewatch.repository;
 
 import com.gamewatch.entity.SessionHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,7 +20,11 @@ public interface SessionHistoryRepository extends JpaRepository<SessionHistory,
     @Query("SELECT sh FROM SessionHistory sh WHERE sh.playthrough.id IN :playthroughIds ORDER BY sh.playthrough.id, sh.sessionNumber")
     List<SessionHistory> findByPlaythroughIdsOrderByPlaythroughAndSession(@Param("playthroughIds") List<Long> playthroughIds);
     
-    @Query("SELECT sh FROM SessionHistory sh WHERE sh.playthrough.user.id = :userId " +
+    /**
+     * Sessions of the user that share time with [startDate, endDate). Ranges on ended_at within the
+     * user's (user_id, ended_at) index, without joining playthroughs.
+     */
+    @Query("SELECT sh FROM SessionHistory sh WHERE sh.userId = :userId " +
            "AND sh.endedAt >= :startDate AND sh.startedAt < :endDate " +
            "ORDER BY sh.endedAt DESC")
     List<SessionHistory> findSessionsByUserAndDateRange(@Param("userId") Long userId,
@@ -25,4 +32,64 @@ public interface SessionHistoryRepository extends JpaRepository<SessionHistory,
                                                          @Param("endDate") Instant endDate);
     
     List<SessionHistory> findByPlaythroughIdIn(List<Long> playthroughIds);
+
+    /**
+     * Game name and mood rating (or null) of each of the given sessions as [session id, game name,
+     * mood rating], for listing sessions without loading their playthroughs one by one.
+     */
+    @Query("SELECT sh.id, g.name, m.moodRating FROM SessionHistory sh JOIN sh.playthrough p JOIN p.game g " +
+           "LEFT JOIN MoodEntry m ON m.sessionHistory = sh WHERE sh.id IN :sessionIds")
+    List<Object[]> findGameNamesAndMoodsByIdIn(@Param("sessionIds") Collection<Long> sessionIds);
+
+    /**
+     * Sessions of any of the user's playthroughs that share time with [startedAt, endedAt).
+     */
+    @Query("SELECT sh FROM SessionHistory sh WHERE sh.userId = :userId " +
+           "AND sh.startedAt < :endedAt AND sh.endedAt > :startedAt ORDER BY sh.startedAt")
+    List<SessionHistory> findOverlapping(@Param("userId") Long userId,
+                                         @Param("startedAt") Instant startedAt,
+                                         @Param("endedAt") Instant endedAt,
+                                         Limit limit);
+
+    @Query("SELECT sh.startedAt, sh.endedAt FROM SessionHistory sh WHERE sh.userId = :userId")
+    List<Object[]> findIntervalsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Playthroughs that still have sessions started before the cutoff, in id order after {@code afterId}.
+     */
+    @Query("SELECT DISTINCT sh.playthrough.id FROM SessionHistory sh " +
+           "WHERE sh.startedAt < :cutoff AND sh.playthrough.id > :afterId ORDER BY sh.playthrough.id")
+    List<Long> findPlaythroughIdsWithSessionsBefore(@Param("cutoff") Instant cutoff,
+                                                    @Param("afterId") Long afterId,
+                                                    Limit limit);
+
+    List<SessionHistory> findByPlaythroughIdInAndStartedAtBefore(Collection<Long> playthroughIds, Instant cutoff);
+
+    /**
+     * Highest number among the playthrough's sessions started at or before the given time, or null.
+     */
+    @Query("SELECT MAX(sh.sessionNumber) FROM SessionHistory sh " +
+           "WHERE sh.playthrough.id = :playthroughId AND sh.startedAt <= :startedAt")
+    Integer findLastSessionNumberStartedBy(@Param("playthroughId") Long playthroughId,
+                                           @Param("startedAt") Instant startedAt);
+
+    /**
+     * Lowest number among the playthrough's sessions started after the given time, or null.
+     */
+    @Query("SELECT MIN(sh.sessionNumber) FROM SessionHistory sh " +
+           "WHERE sh.playthrough.id = :playthroughId AND sh.startedAt > :startedAt")
+    Integer findFirstSessionNumberStartedAfter(@Param("playthroughId") Long playthroughId,
+                                               @Param("startedAt") Instant startedAt);
+
+    /**
+     * Shifts the numbers of all sessions at or after {@code fromSessionNumber} by {@code delta} in one
+     * statement. session_history is partitioned and cannot enforce unique numbers (V34), so callers
+     * hold the playthrough row lock.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SessionHistory sh SET sh.sessionNumber = sh.sessionNumber + :delta " +
+           "WHERE sh.playthrough.id = :playthroughId AND sh.sessionNumber >= :fromSessionNumber")
+    int shiftSessionNumbers(@Param("playthroughId") Long playthroughId,
+                            @Param("fromSessionNumber") int fromSessionNumber,
+                            @Param("delta") int delta);
 }
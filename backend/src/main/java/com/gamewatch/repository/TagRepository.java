@@ -0,0 +1,8 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Tag;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TagRepository extends MetadataTermRepository<Tag> {
+}
@@ -3,8 +3,12 @@ package com.gamewatch.repository;
 import com.gamewatch.entity.Game;
 import com.gamewatch.entity.User;
 import com.gamewatch.entity.UserGame;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,13 +16,26 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserGameRepository extends JpaRepository<UserGame, Long> {
+public interface UserGameRepository extends JpaRepository<UserGame, Long>, JpaSpecificationExecutor<UserGame> {
     
     Optional<UserGame> findByUserAndGame(User user, Game game);
     
     @Query("SELECT ug.game FROM UserGame ug WHERE ug.user = :user")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.gamesByUser")
+    })
     List<Game> findGamesByUser(@Param("user") User user);
     
+    /**
+     * Library listing in one statement: each row is {Game, Playthrough}, with a null playthrough
+     * for games the user has not started yet.
+     */
+    @Query("SELECT g, p FROM UserGame ug JOIN ug.game g " +
+           "LEFT JOIN Playthrough p ON p.game = g AND p.user = ug.user " +
+           "WHERE ug.user = :user ORDER BY ug.id, p.createdAt DESC")
+    List<Object[]> findGamesWithPlaythroughsByUser(@Param("user") User user);
+    
     boolean existsByUserAndGame(User user, Game game);
     
     @Query("SELECT COUNT(ug) > 0 FROM UserGame ug WHERE ug.user = :user AND ug.game.externalId = :externalId")
@@ -1,7 +1,11 @@
 package com.gamewatch.repository;
 
 import com.gamewatch.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +13,13 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByAuth0UserId(String auth0UserId);
+
+    /**
+     * Locks the user's row until commit. Serializes writes that check a rule across all of the
+     * user's playthroughs, such as manual sessions not overlapping any other session; take it
+     * before any playthrough row.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findForUpdateById(@Param("id") Long id);
 }
@@ -1,10 +1,17 @@
 package com.gamewatch.service;
 
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
 import com.gamewatch.dto.BackupDto;
+import com.gamewatch.dto.BackupImportResultDto;
 import com.gamewatch.entity.*;
 import com.gamewatch.repository.*;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,7 +20,9 @@ import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Workload(WorkloadType.BULK)
 @Service
+@Observed(name = "gamewatch.service")
 @RequiredArgsConstructor
 @Slf4j
 public class BackupService {
@@ -24,11 +33,27 @@ public class BackupService {
     private final PlaythroughRepository playthroughRepository;
     private final SessionHistoryRepository sessionHistoryRepository;
     private final UserGameRepository userGameRepository;
+    private final UserRepository userRepository;
     private final HealthSettingsRepository healthSettingsRepository;
     private final MoodEntryRepository moodEntryRepository;
+    private final GameMetadataDictionary metadataDictionary;
+    private final PlaythroughEventRepository eventRepository;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public BackupDto exportBackup(User user) {
+        FlightRecorderEvents.Backup event = new FlightRecorderEvents.Backup();
+        event.begin();
+        try {
+            return export(user, event);
+        } finally {
+            event.operation = "export";
+            event.userId = user.getId();
+            event.commit();
+        }
+    }
+
+    private BackupDto export(User user, FlightRecorderEvents.Backup event) {
         log.info("Starting backup export for user: {}", user.getId());
 
         // Get all user games
@@ -56,6 +81,8 @@ public class BackupService {
         // Get health settings
         HealthSettings healthSettings = healthSettingsRepository.findByUserId(user.getId()).orElse(null);
 
+        event.rows = userGames.size() + playthroughs.size() + sessions.size() + moodEntries.size();
+
         // Calculate total playtime
         long totalPlaytime = playthroughs.stream()
             .mapToLong(p -> p.getDurationSeconds() != null ? p.getDurationSeconds() : 0L)
@@ -85,8 +112,31 @@ public class BackupService {
         return backup;
     }
 
+    /**
+     * Imports a backup into the user's account. Sessions overlapping time the user already has on
+     * record are skipped, together with their mood entries, and left out of their playthrough's
+     * totals; the result reports how many.
+     */
     @Transactional
-    public void importBackup(User user, BackupDto backup) {
+    public BackupImportResultDto importBackup(User user, BackupDto backup) {
+        FlightRecorderEvents.Backup event = new FlightRecorderEvents.Backup();
+        JdbcBatchCounter batches = new JdbcBatchCounter();
+        entityManager.unwrap(SessionImplementor.class).getEventListenerManager().addListener(batches);
+        event.begin();
+        try {
+            BackupImportResultDto result = importData(user, backup, event);
+            // Flush now rather than at commit, so the event covers every insert batch
+            entityManager.flush();
+            event.batches = batches.count;
+            return result;
+        } finally {
+            event.operation = "import";
+            event.userId = user.getId();
+            event.commit();
+        }
+    }
+
+    private BackupImportResultDto importData(User user, BackupDto backup, FlightRecorderEvents.Backup event) {
         if (!BACKUP_VERSION.equals(backup.getVersion())) {
             throw new IllegalArgumentException("Incompatible backup version: " + backup.getVersion());
         }
@@ -144,21 +194,65 @@ public class BackupService {
             }
         }
 
-        // Import sessions
+        // Import sessions, skipping any that overlap time the user already has on record
+        // (typically the same backup imported twice)
+        int skippedSessions = 0;
+        Set<Long> skippedSessionIds = new HashSet<>();
         if (data.getSessions() != null) {
+            // Serializes with manual sessions logged meanwhile, which check overlap the same way
+            userRepository.findForUpdateById(user.getId());
+            SessionIntervals intervals = SessionIntervals.fromRows(
+                sessionHistoryRepository.findIntervalsByUserId(user.getId()));
             for (BackupDto.BackupSessionDto sessionDto : data.getSessions()) {
                 Playthrough playthrough = playthroughMap.get(sessionDto.getPlaythroughOriginalId());
-                if (playthrough != null) {
-                    SessionHistory session = importSession(sessionDto, playthrough);
-                    sessionMap.put(sessionDto.getOriginalId(), session);
+                if (playthrough == null) {
+                    continue;
+                }
+                Instant startedAt = sessionDto.getStartedAt();
+                Instant endedAt = sessionDto.getEndedAt();
+                // Sessions ended within the second they started cover no time to collide with
+                boolean skipped = startedAt == null || endedAt == null || endedAt.isBefore(startedAt)
+                    || (startedAt.isBefore(endedAt) && !intervals.add(startedAt, endedAt));
+                if (skipped) {
+                    skippedSessions++;
+                    skippedSessionIds.add(sessionDto.getOriginalId());
+                    excludeFromTotals(playthrough, sessionDto);
+                    continue;
                 }
+                SessionHistory session = importSession(sessionDto, playthrough);
+                sessionMap.put(sessionDto.getOriginalId(), session);
             }
         }
+        if (skippedSessions > 0) {
+            log.warn("Skipped {} overlapping or incomplete sessions during backup import for user {}",
+                skippedSessions, user.getId());
+        }
+
+        // Imported timer state becomes the starting point of each playthrough's event log,
+        // written once skipped sessions are out of the totals
+        Instant snapshotAt = Instant.now();
+        for (Playthrough playthrough : playthroughMap.values()) {
+            eventRepository.save(PlaythroughEvent.builder()
+                .playthroughId(playthrough.getId())
+                .userId(user.getId())
+                .type(PlaythroughEventType.SNAPSHOT)
+                .occurredAt(snapshotAt)
+                .payload(PlaythroughState.of(playthrough).toJson())
+                .build());
+        }
 
-        // Import mood entries
+        // Import mood entries; those of skipped sessions rated play that is already on record
+        int moodEntries = 0;
+        int skippedMoodEntries = 0;
         if (data.getMoodEntries() != null) {
             for (BackupDto.BackupMoodEntryDto moodDto : data.getMoodEntries()) {
+                if (moodDto.getSessionHistoryOriginalId() != null
+                        && skippedSessionIds.contains(moodDto.getSessionHistoryOriginalId())) {
+                    skippedMoodEntries++;
+                    continue;
+                }
                 importMoodEntry(user, moodDto, sessionMap);
+                moodEntries++;
             }
         }
 
@@ -167,9 +261,30 @@ public class BackupService {
             importHealthSettings(user, data.getHealthSettings());
         }
 
+        // Each playthrough also gets its snapshot event
+        event.rows = gameMap.size() + 2 * playthroughMap.size() + sessionMap.size() + moodEntries
+            + (data.getHealthSettings() != null ? 1 : 0);
         log.info("Backup import completed: {} games, {} playthroughs, {} sessions, {} mood entries", 
-                gameMap.size(), playthroughMap.size(), sessionMap.size(), 
-                data.getMoodEntries() != null ? data.getMoodEntries().size() : 0);
+                gameMap.size(), playthroughMap.size(), sessionMap.size(), moodEntries);
+
+        return BackupImportResultDto.builder()
+            .games(gameMap.size())
+            .playthroughs(playthroughMap.size())
+            .sessions(sessionMap.size())
+            .moodEntries(moodEntries)
+            .skippedSessions(skippedSessions)
+            .skippedMoodEntries(skippedMoodEntries)
+            .build();
+    }
+
+    // Keeps an imported playthrough's totals to the sessions actually imported for it
+    private static void excludeFromTotals(Playthrough playthrough, BackupDto.BackupSessionDto sessionDto) {
+        if (playthrough.getSessionCount() != null) {
+            playthrough.setSessionCount(Math.max(0, playthrough.getSessionCount() - 1));
+        }
+        if (playthrough.getDurationSeconds() != null && sessionDto.getDurationSeconds() != null) {
+            playthrough.setDurationSeconds(Math.max(0L, playthrough.getDurationSeconds() - sessionDto.getDurationSeconds()));
+        }
     }
 
     private List<BackupDto.BackupGameDto> mapGamesToBackupDto(List<Game> games) {
@@ -352,6 +467,7 @@ public class BackupService {
             .dominantColor2(gameDto.getDominantColor2())
             .build();
 
+        metadataDictionary.linkTerms(game);
         game = gameRepository.save(game);
         ensureUserGameAssociation(user, game);
         return game;
@@ -400,6 +516,7 @@ public class BackupService {
     private SessionHistory importSession(BackupDto.BackupSessionDto sessionDto, Playthrough playthrough) {
         SessionHistory session = SessionHistory.builder()
             .playthrough(playthrough)
+            .userId(playthrough.getUser().getId())
             .sessionNumber(sessionDto.getSessionNumber())
             .durationSeconds(sessionDto.getDurationSeconds())
             .pauseCount(sessionDto.getPauseCount())
@@ -455,4 +572,15 @@ public class BackupService {
 
         healthSettingsRepository.save(settings);
     }
+
+    /** Counts the JDBC batches Hibernate executes in the session it is added to. */
+    private static class JdbcBatchCounter implements SessionEventListener {
+
+        private int count;
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            count++;
+        }
+    }
 }
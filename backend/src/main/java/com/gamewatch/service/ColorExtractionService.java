@@ -1,5 +1,9 @@
 package com.gamewatch.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -10,24 +14,31 @@ import java.net.URL;
 import java.util.*;
 
 @Service
+@Observed(name = "gamewatch.service")
+@RequiredArgsConstructor
 @Slf4j
 public class ColorExtractionService {
 
+    private final ObservationRegistry observationRegistry;
+
     public String[] extractDominantColors(String imageUrl) {
         if (imageUrl == null || imageUrl.isEmpty()) {
             return null;
         }
 
+        FlightRecorderEvents.ColorExtraction event = new FlightRecorderEvents.ColorExtraction();
+        event.begin();
         try {
-            BufferedImage image = ImageIO.read(new URL(imageUrl));
+            // Separate spans tell a slow image host apart from the pixel work
+            BufferedImage image = stage("download").observeChecked(() -> ImageIO.read(new URL(imageUrl)));
             if (image == null) {
                 log.warn("Could not read image from URL: {}", imageUrl);
                 return null;
             }
+            event.imageWidth = image.getWidth();
+            event.imageHeight = image.getHeight();
 
-            BufferedImage resizedImage = resizeImage(image, 150);
-
-            List<ColorInfo> dominantColors = extractColors(resizedImage, 6);
+            List<ColorInfo> dominantColors = stage("palette").observe(() -> extractColors(resizeImage(image, 150), 6, event));
 
             if (dominantColors.size() >= 2) {
                 ColorPair bestPair = findMostDistinctColorPair(dominantColors);
@@ -46,9 +57,16 @@ public class ColorExtractionService {
         } catch (Exception e) {
             log.error("Unexpected error extracting colors from image: {}", imageUrl, e);
             return null;
+        } finally {
+            event.commit();
         }
     }
 
+    private Observation stage(String name) {
+        return Observation.createNotStarted("gamewatch.color-extraction.stage", observationRegistry)
+            .contextualName("color-extraction " + name)
+            .lowCardinalityKeyValue("stage", name);
+    }
 
     private ColorPair findMostDistinctColorPair(List<ColorInfo> colors) {
         ColorPair bestPair = null;
@@ -135,10 +153,11 @@ public class ColorExtractionService {
     }
 
 
-    private List<ColorInfo> extractColors(BufferedImage image, int numColors) {
+    private List<ColorInfo> extractColors(BufferedImage image, int numColors, FlightRecorderEvents.ColorExtraction event) {
         List<int[]> pixels = samplePixels(image, 1000);
+        event.sampledPixels = pixels.size();
 
-        List<ColorInfo> clusters = kMeansClustering(pixels, numColors, 10);
+        List<ColorInfo> clusters = kMeansClustering(pixels, numColors, 10, event);
 
         clusters.sort((a, b) -> Integer.compare(b.count, a.count));
 
@@ -169,7 +188,8 @@ public class ColorExtractionService {
         return pixels;
     }
 
-    private List<ColorInfo> kMeansClustering(List<int[]> pixels, int k, int maxIterations) {
+    private List<ColorInfo> kMeansClustering(List<int[]> pixels, int k, int maxIterations,
+                                             FlightRecorderEvents.ColorExtraction event) {
         if (pixels.isEmpty()) {
             return new ArrayList<>();
         }
@@ -182,6 +202,7 @@ public class ColorExtractionService {
         }
 
         for (int iter = 0; iter < maxIterations; iter++) {
+            event.kMeansIterations = iter + 1;
             int[] assignments = new int[pixels.size()];
             int[][] sums = new int[k][3];
             int[] counts = new int[k];
@@ -0,0 +1,119 @@
+package com.gamewatch.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the expensive GameWatch operations. They cost next to nothing
+ * unless a recording is running (see {@link FlightRecordingService}), and show up in JDK Mission
+ * Control under the GameWatch category, next to GC, allocation and lock events of the same
+ * threads. The duration of each event is the duration of the operation.
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    @Name("com.gamewatch.StatisticsComputation")
+    @Label("Statistics Computation")
+    @Category({"GameWatch", "Statistics"})
+    @StackTrace(false)
+    static class StatisticsComputation extends Event {
+
+        @Label("User Id")
+        long userId;
+
+        @Label("Interval")
+        String interval;
+
+        @Label("Playthroughs")
+        int playthroughCount;
+
+        @Label("Sessions")
+        @Description("Individual sessions plus sessions compacted into daily summaries")
+        int sessionCount;
+    }
+
+    @Name("com.gamewatch.HealthRecalculation")
+    @Label("Health Recalculation")
+    @Category({"GameWatch", "Health"})
+    @StackTrace(false)
+    static class HealthRecalculation extends Event {
+
+        @Label("User Id")
+        long userId;
+
+        @Label("Date")
+        String date;
+
+        @Label("Trigger")
+        String trigger;
+
+        @Label("Sessions")
+        int sessionCount;
+    }
+
+    @Name("com.gamewatch.RawgCall")
+    @Label("RAWG Call")
+    @Category({"GameWatch", "RAWG"})
+    @StackTrace(false)
+    static class RawgCall extends Event {
+
+        @Label("Endpoint")
+        String endpoint;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Error Status")
+        @Description("HTTP status of a failed call, or IO when no response arrived")
+        String errorStatus;
+
+        @Label("Response Size")
+        @DataAmount
+        long responseBytes;
+    }
+
+    @Name("com.gamewatch.ColorExtraction")
+    @Label("Color Extraction")
+    @Category({"GameWatch", "Images"})
+    @StackTrace(false)
+    static class ColorExtraction extends Event {
+
+        @Label("Image Width")
+        int imageWidth;
+
+        @Label("Image Height")
+        int imageHeight;
+
+        @Label("Sampled Pixels")
+        int sampledPixels;
+
+        @Label("K-Means Iterations")
+        int kMeansIterations;
+    }
+
+    @Name("com.gamewatch.Backup")
+    @Label("Backup")
+    @Category({"GameWatch", "Backup"})
+    @StackTrace(false)
+    static class Backup extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("User Id")
+        long userId;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("JDBC Batches")
+        int batches;
+    }
+}
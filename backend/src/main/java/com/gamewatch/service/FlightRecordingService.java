@@ -0,0 +1,181 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.FlightRecordingDto;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs JDK Flight Recorder inside the backend. A continuous recording with the low-overhead
+ * {@code default} settings keeps the last hour of JDK and {@link FlightRecorderEvents GameWatch}
+ * events, and an admin can start one on-demand recording at a time, typically with the
+ * {@code profile} settings (method sampling, allocation and lock profiling) while reproducing a
+ * problem. Either can be dumped to a {@code .jfr} file for JDK Mission Control.
+ */
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    static final String CONTINUOUS = "gamewatch-continuous";
+    static final String ON_DEMAND = "gamewatch-on-demand";
+    static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final long continuousMaxSizeBytes;
+    private final Duration maxOnDemandDuration;
+
+    private Recording continuous;
+    private Recording onDemand;
+    private String onDemandSettings;
+
+    public FlightRecordingService(
+            @Value("${gamewatch.diagnostics.flight-recorder.continuous-enabled:true}") boolean continuousEnabled,
+            @Value("${gamewatch.diagnostics.flight-recorder.max-age-ms:3600000}") long continuousMaxAgeMs,
+            @Value("${gamewatch.diagnostics.flight-recorder.max-size-bytes:104857600}") long continuousMaxSizeBytes,
+            @Value("${gamewatch.diagnostics.flight-recorder.max-on-demand-duration-ms:1800000}") long maxOnDemandDurationMs) {
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = Duration.ofMillis(continuousMaxAgeMs);
+        this.continuousMaxSizeBytes = continuousMaxSizeBytes;
+        this.maxOnDemandDuration = Duration.ofMillis(maxOnDemandDurationMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startContinuousRecording() {
+        if (!continuousEnabled || !FlightRecorder.isAvailable() || continuous != null) {
+            return;
+        }
+        continuous = new Recording(configuration("default"));
+        continuous.setName(CONTINUOUS);
+        continuous.setToDisk(true);
+        continuous.setMaxAge(continuousMaxAge);
+        continuous.setMaxSize(continuousMaxSizeBytes);
+        continuous.start();
+        log.info("Started continuous flight recording (max age {}, max size {} bytes)",
+            continuousMaxAge, continuousMaxSizeBytes);
+    }
+
+    /**
+     * Starts the on-demand recording, which stops by itself after {@code duration}, capped at the
+     * configured maximum so a forgotten recording cannot run indefinitely.
+     *
+     * @throws IllegalArgumentException for settings other than {@code default} and {@code profile}
+     * @throws IllegalStateException if an on-demand recording is already running
+     */
+    public synchronized FlightRecordingDto start(String settings, Duration duration) {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settings);
+        }
+        if (onDemand != null && onDemand.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        if (onDemand != null) {
+            onDemand.close();
+        }
+        Duration capped = duration == null || duration.compareTo(maxOnDemandDuration) > 0 ? maxOnDemandDuration : duration;
+        onDemand = new Recording(configuration(settings));
+        onDemand.setName(ON_DEMAND);
+        onDemand.setToDisk(true);
+        onDemand.setDuration(capped);
+        onDemand.start();
+        onDemandSettings = settings;
+        log.info("Started on-demand flight recording with {} settings for {}", settings, capped);
+        return toDto(onDemand, settings);
+    }
+
+    /**
+     * Stops the on-demand recording; its data stays available for {@link #dump()} until the next
+     * one starts.
+     *
+     * @throws IllegalStateException if no on-demand recording is running
+     */
+    public synchronized FlightRecordingDto stop() {
+        if (onDemand == null || onDemand.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        onDemand.stop();
+        log.info("Stopped on-demand flight recording");
+        return toDto(onDemand, onDemandSettings);
+    }
+
+    public synchronized List<FlightRecordingDto> recordings() {
+        List<FlightRecordingDto> recordings = new ArrayList<>();
+        if (continuous != null) {
+            recordings.add(toDto(continuous, "default"));
+        }
+        if (onDemand != null) {
+            recordings.add(toDto(onDemand, onDemandSettings));
+        }
+        return recordings;
+    }
+
+    /**
+     * Writes the on-demand recording, or the continuous one when none was started, to a temporary
+     * file the caller deletes once sent. A running recording is dumped up to now and keeps running.
+     *
+     * @throws IllegalStateException if there is nothing to dump
+     */
+    public synchronized Path dump() throws IOException {
+        Recording recording = onDemand != null ? onDemand : continuous;
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording to dump");
+        }
+        Path file = Files.createTempFile("gamewatch-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (onDemand != null) {
+            onDemand.close();
+            onDemand = null;
+        }
+        if (continuous != null) {
+            continuous.close();
+            continuous = null;
+        }
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR settings " + name + " are not available", e);
+        }
+    }
+
+    private static FlightRecordingDto toDto(Recording recording, String settings) {
+        return FlightRecordingDto.builder()
+            .id(recording.getId())
+            .name(recording.getName())
+            .state(recording.getState().name())
+            .settings(settings)
+            .startTime(recording.getStartTime())
+            .stopTime(recording.getStopTime())
+            .maxDurationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+            .sizeBytes(recording.getSize())
+            .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.gamewatch.service;
+
+import com.gamewatch.entity.*;
+import com.gamewatch.repository.*;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory dictionary for genre, platform, developer, publisher and tag terms.
+ * Each name is held once per process and mapped to its integer id, so the write path only
+ * hits the database for terms it has never seen and the read path can work on ids alone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameMetadataDictionary {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final GenreRepository genreRepository;
+    private final PlatformRepository platformRepository;
+    private final DeveloperRepository developerRepository;
+    private final PublisherRepository publisherRepository;
+    private final TagRepository tagRepository;
+    private final GameRepository gameRepository;
+    private final EntityManager entityManager;
+
+    private final Map<MetadataKind, TermCache> caches = createCaches();
+
+    /**
+     * Links a game to dictionary terms parsed from its comma-separated metadata columns.
+     */
+    @Transactional
+    public void linkTerms(Game game) {
+        game.setGenreTerms(resolve(MetadataKind.GENRE, game.getGenres(), genreRepository));
+        game.setPlatformTerms(resolve(MetadataKind.PLATFORM, game.getPlatforms(), platformRepository));
+        game.setDeveloperTerms(resolve(MetadataKind.DEVELOPER, game.getDevelopers(), developerRepository));
+        game.setPublisherTerms(resolve(MetadataKind.PUBLISHER, game.getPublishers(), publisherRepository));
+        game.setTagTerms(resolve(MetadataKind.TAG, game.getTags(), tagRepository));
+    }
+
+    @Transactional(readOnly = true)
+    public GameMetadataIndex indexGames(Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return GameMetadataIndex.empty();
+        }
+        return GameMetadataIndex.fromLinks(gameRepository.findMetadataLinksByGameIds(gameIds));
+    }
+
+    /**
+     * Resolves a term id back to its display name, loading the dictionary on first use.
+     */
+    @Transactional(readOnly = true)
+    public String nameOf(MetadataKind kind, int termId) {
+        TermCache cache = caches.get(kind);
+        String name = cache.namesById.get(termId);
+        if (name != null) {
+            return name;
+        }
+
+        if (!cache.loaded) {
+            repositoryFor(kind).findAll().forEach(cache::put);
+            cache.loaded = true;
+            name = cache.namesById.get(termId);
+        }
+
+        if (name == null) {
+            // Created by another instance after our initial load
+            name = repositoryFor(kind).findById(termId)
+                .map(term -> cache.put(term))
+                .orElse(null);
+        }
+        return name;
+    }
+
+    private <T extends MetadataTerm> Set<T> resolve(MetadataKind kind, String names,
+                                                   MetadataTermRepository<T> repository) {
+        Set<T> terms = new LinkedHashSet<>();
+        if (names == null || names.isBlank()) {
+            return terms;
+        }
+
+        Set<Integer> seenIds = new HashSet<>();
+        for (String part : names.split(",")) {
+            String name = normalize(part);
+            if (name.isEmpty()) {
+                continue;
+            }
+            T term = findOrCreate(kind, name, repository);
+            if (seenIds.add(term.getId())) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private <T extends MetadataTerm> T findOrCreate(MetadataKind kind, String name,
+                                                   MetadataTermRepository<T> repository) {
+        TermCache cache = caches.get(kind);
+        Integer cachedId = cache.idsByName.get(name);
+        if (cachedId != null) {
+            return repository.getReferenceById(cachedId);
+        }
+
+        T term = repository.findByName(name).orElseGet(() -> {
+            insertIfAbsent(kind, name);
+            return repository.findByName(name)
+                .orElseThrow(() -> new RuntimeException("Failed to add " + kind + " '" + name + "' to metadata dictionary"));
+        });
+        publishAfterCommit(cache, term);
+        return term;
+    }
+
+    /**
+     * Inserts a new term unless another transaction got there first. A concurrent insert of
+     * the same name waits on the unique index and then fails with a unique violation, which is
+     * rolled back to a savepoint so the surrounding game create carries on and re-reads the
+     * winner's row instead.
+     */
+    private void insertIfAbsent(MetadataKind kind, String name) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + tableFor(kind) + " (name) VALUES (?)")) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                log.debug("Added {} '{}' to metadata dictionary", kind, name);
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                log.debug("{} '{}' was added concurrently, reusing it", kind, name);
+            }
+        });
+    }
+
+    /**
+     * Caches a term once the surrounding write transaction commits, so ids of rolled back
+     * inserts (ours or ones we merely read) never end up in the shared dictionary.
+     */
+    private void publishAfterCommit(TermCache cache, MetadataTerm term) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(term);
+                }
+            });
+        } else {
+            cache.put(term);
+        }
+    }
+
+    private MetadataTermRepository<? extends MetadataTerm> repositoryFor(MetadataKind kind) {
+        return switch (kind) {
+            case GENRE -> genreRepository;
+            case PLATFORM -> platformRepository;
+            case DEVELOPER -> developerRepository;
+            case PUBLISHER -> publisherRepository;
+            case TAG -> tagRepository;
+        };
+    }
+
+    private static String tableFor(MetadataKind kind) {
+        return switch (kind) {
+            case GENRE -> "genres";
+            case PLATFORM -> "platforms";
+            case DEVELOPER -> "developers";
+            case PUBLISHER -> "publishers";
+            case TAG -> "tags";
+        };
+    }
+
+    private static String normalize(String name) {
+        String trimmed = name.trim();
+        return trimmed.length() > MAX_NAME_LENGTH ? trimmed.substring(0, MAX_NAME_LENGTH) : trimmed;
+    }
+
+    private static Map<MetadataKind, TermCache> createCaches() {
+        Map<MetadataKind, TermCache> caches = new EnumMap<>(MetadataKind.class);
+        for (MetadataKind kind : MetadataKind.values()) {
+            caches.put(kind, new TermCache());
+        }
+        return caches;
+    }
+
+    private static class TermCache {
+        private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+        private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        private String put(MetadataTerm term) {
+            String name = namesById.computeIfAbsent(term.getId(), id -> term.getName());
+            idsByName.putIfAbsent(name, term.getId());
+            return name;
+        }
+    }
+}
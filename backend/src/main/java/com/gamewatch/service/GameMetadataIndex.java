@@ -0,0 +1,75 @@
+package com.gamewatch.service;
+
+import com.gamewatch.entity.MetadataKind;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of the dictionary terms linked to a set of games, keyed by integer term ids.
+ * Built once per request from a single query so aggregations never touch the display strings.
+ */
+public class GameMetadataIndex {
+
+    private static final int[] NO_TERMS = new int[0];
+
+    private final Map<MetadataKind, Map<Long, int[]>> termsByGame;
+    private final Map<MetadataKind, Integer> maxTermIds;
+
+    private GameMetadataIndex(Map<MetadataKind, Map<Long, int[]>> termsByGame, Map<MetadataKind, Integer> maxTermIds) {
+        this.termsByGame = termsByGame;
+        this.maxTermIds = maxTermIds;
+    }
+
+    public static GameMetadataIndex empty() {
+        return new GameMetadataIndex(new EnumMap<>(MetadataKind.class), new EnumMap<>(MetadataKind.class));
+    }
+
+    /**
+     * Builds the index from (game_id, kind, term_id) rows as returned by
+     * {@link com.gamewatch.repository.GameRepository#findMetadataLinksByGameIds}.
+     */
+    public static GameMetadataIndex fromLinks(List<Object[]> links) {
+        Map<MetadataKind, Map<Long, List<Integer>>> grouped = new EnumMap<>(MetadataKind.class);
+        Map<MetadataKind, Integer> maxTermIds = new EnumMap<>(MetadataKind.class);
+
+        for (Object[] row : links) {
+            Long gameId = ((Number) row[0]).longValue();
+            MetadataKind kind = MetadataKind.valueOf(row[1].toString().trim());
+            int termId = ((Number) row[2]).intValue();
+
+            grouped.computeIfAbsent(kind, k -> new HashMap<>())
+                .computeIfAbsent(gameId, k -> new ArrayList<>())
+                .add(termId);
+            maxTermIds.merge(kind, termId, Math::max);
+        }
+
+        Map<MetadataKind, Map<Long, int[]>> termsByGame = new EnumMap<>(MetadataKind.class);
+        grouped.forEach((kind, byGame) -> {
+            Map<Long, int[]> arrays = new HashMap<>(byGame.size() * 2);
+            byGame.forEach((gameId, ids) -> arrays.put(gameId, ids.stream().mapToInt(Integer::intValue).toArray()));
+            termsByGame.put(kind, arrays);
+        });
+
+        return new GameMetadataIndex(termsByGame, maxTermIds);
+    }
+
+    public int[] termIds(MetadataKind kind, Long gameId) {
+        Map<Long, int[]> byGame = termsByGame.get(kind);
+        if (byGame == null) {
+            return NO_TERMS;
+        }
+        return byGame.getOrDefault(gameId, NO_TERMS);
+    }
+
+    /**
+     * Highest term id of the given kind present in this index, or 0 when there are none.
+     * Term ids are dense, so this can size plain arrays for per-term accumulation.
+     */
+    public int maxTermId(MetadataKind kind) {
+        return maxTermIds.getOrDefault(kind, 0);
+    }
+}
@@ -1,15 +1,22 @@
 package com.gamewatch.service;
 
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
 import com.gamewatch.dto.CreateGameRequest;
+import com.gamewatch.dto.CursorPageDto;
+import com.gamewatch.dto.LibraryFilter;
 import com.gamewatch.dto.GameDto;
 import com.gamewatch.dto.GameStatisticsDto;
 import com.gamewatch.entity.Game;
 import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionDailySummary;
 import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
 import com.gamewatch.entity.UserGame;
 import com.gamewatch.repository.GameRepository;
+import com.gamewatch.repository.LibrarySpecifications;
 import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
 import com.gamewatch.repository.SessionHistoryRepository;
 import com.gamewatch.repository.UserGameRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,20 +29,27 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GameRepository gameRepository;
     private final UserGameRepository userGameRepository;
     private final PlaythroughRepository playthroughRepository;
     private final SessionHistoryRepository sessionHistoryRepository;
+    private final SessionDailySummaryRepository summaryRepository;
+    private final GameMetadataDictionary metadataDictionary;
 
     @Transactional
     public GameDto createGame(CreateGameRequest request, User user) {
@@ -92,6 +106,7 @@ public class GameService {
             .dominantColor2(request.getDominantColor2())
             .build();
 
+        metadataDictionary.linkTerms(game);
         game = gameRepository.save(game);
         
         UserGame userGame = UserGame.builder()
@@ -107,22 +122,59 @@ public class GameService {
 
     @Transactional(readOnly = true)
     public List<GameDto> getAllGames(User user) {
-        List<Game> games = userGameRepository.findGamesByUser(user);
+        Map<Long, Game> games = new LinkedHashMap<>();
+        Map<Long, List<Playthrough>> playthroughsByGame = new HashMap<>();
+        
+        for (Object[] row : userGameRepository.findGamesWithPlaythroughsByUser(user)) {
+            Game game = (Game) row[0];
+            games.putIfAbsent(game.getId(), game);
+            List<Playthrough> playthroughs = playthroughsByGame.computeIfAbsent(game.getId(), id -> new ArrayList<>());
+            if (row[1] != null) {
+                playthroughs.add((Playthrough) row[1]);
+            }
+        }
         
-        if (games.isEmpty()) {
-            return List.of();
+        return games.values().stream()
+            .map(game -> mapToDtoWithStats(game, playthroughsByGame.get(game.getId())))
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<GameDto> getGamesPage(User user, LibraryFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
         
-        List<Long> gameIds = games.stream().map(Game::getId).collect(Collectors.toList());
-        List<Playthrough> allPlaythroughs = playthroughRepository
-            .findByUserIdAndGameIdIn(user.getId(), gameIds);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<UserGame> rows = userGameRepository.findBy(
+            LibrarySpecifications.libraryPage(
+                user.getId(),
+                LibrarySpecifications.normalizeStatus(filter.getStatus()),
+                LibrarySpecifications.trimToNull(filter.getPlatform()),
+                LibrarySpecifications.trimToNull(filter.getGenre()),
+                LibrarySpecifications.trimToNull(filter.getName()),
+                after != null ? after.sortValue() : null,
+                after != null ? after.id() : null),
+            query -> query.limit(limit + 1).all());
+        
+        boolean hasMore = rows.size() > limit;
+        List<UserGame> page = hasMore ? rows.subList(0, limit) : rows;
+        if (page.isEmpty()) {
+            return CursorPageDto.<GameDto>builder().items(List.of()).build();
+        }
         
-        Map<Long, List<Playthrough>> playthroughsByGame = allPlaythroughs.stream()
+        List<Long> gameIds = page.stream().map(ug -> ug.getGame().getId()).collect(Collectors.toList());
+        Map<Long, List<Playthrough>> playthroughsByGame = playthroughRepository
+            .findByUserIdAndGameIdIn(user.getId(), gameIds).stream()
             .collect(Collectors.groupingBy(p -> p.getGame().getId()));
         
-        return games.stream()
-            .map(game -> mapToDtoWithStats(game, playthroughsByGame.getOrDefault(game.getId(), List.of())))
-            .collect(Collectors.toList());
+        UserGame last = page.get(page.size() - 1);
+        return CursorPageDto.<GameDto>builder()
+            .items(page.stream()
+                .map(ug -> mapToDtoWithStats(ug.getGame(), playthroughsByGame.getOrDefault(ug.getGame().getId(), List.of())))
+                .collect(Collectors.toList()))
+            .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+            .build();
     }
 
     @Transactional(readOnly = true)
@@ -329,6 +381,7 @@ public class GameService {
         return null;
     }
     
+    @Workload(WorkloadType.ANALYTICS)
     @Transactional(readOnly = true)
     public GameStatisticsDto getGameStatistics(Long gameId, User user) {
         Game game = gameRepository.findById(gameId)
@@ -424,17 +477,24 @@ public class GameService {
             List<SessionHistory> sessionHistories = sessionHistoryRepository
                 .findByPlaythroughIdsOrderByPlaythroughAndSession(playthroughIds);
             
-            log.info("Found {} session history records for {} playthroughs", 
-                sessionHistories.size(), playthroughIds.size());
+            Map<Long, List<SessionDailySummary>> archivedDays = summaryRepository
+                .findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(playthroughIds).stream()
+                .collect(Collectors.groupingBy(SessionDailySummary::getPlaythroughId, LinkedHashMap::new, Collectors.toList()));
             
-            longestSessionSeconds = sessionHistories.stream()
-                .mapToLong(SessionHistory::getDurationSeconds)
+            log.info("Found {} session history records and {} archived days for {} playthroughs", 
+                sessionHistories.size(), archivedDays.values().stream().mapToInt(List::size).sum(), playthroughIds.size());
+            
+            longestSessionSeconds = LongStream.concat(
+                    sessionHistories.stream().mapToLong(SessionHistory::getDurationSeconds),
+                    archivedDays.values().stream().flatMap(List::stream).mapToLong(SessionDailySummary::getLongestSessionSeconds))
                 .max()
                 .orElse(0L);
             
             AtomicInteger sessionCounter = new AtomicInteger(1);
             for (SessionHistory sh : sessionHistories) {
                 Playthrough playthrough = sh.getPlaythrough();
+                // Archived days are older than any remaining session of their playthrough
+                addArchivedDays(sessionDetails, archivedDays.remove(playthrough.getId()), playthrough, sessionCounter);
                 sessionDetails.add(GameStatisticsDto.SessionDetail.builder()
                     .sessionId(sh.getId())
                     .playthroughId(playthrough.getId())
@@ -448,6 +508,11 @@ public class GameService {
                     .build());
             }
             
+            Map<Long, Playthrough> playthroughsById = playthroughs.stream()
+                .collect(Collectors.toMap(Playthrough::getId, p -> p));
+            archivedDays.forEach((playthroughId, summaries) ->
+                addArchivedDays(sessionDetails, summaries, playthroughsById.get(playthroughId), sessionCounter));
+            
             log.info("Built {} session details from history", sessionDetails.size());
         }
         
@@ -473,4 +538,24 @@ public class GameService {
         
         return result;
     }
+
+    private void addArchivedDays(List<GameStatisticsDto.SessionDetail> sessionDetails, List<SessionDailySummary> summaries,
+                                 Playthrough playthrough, AtomicInteger sessionCounter) {
+        if (summaries == null) {
+            return;
+        }
+        for (SessionDailySummary summary : summaries) {
+            sessionDetails.add(GameStatisticsDto.SessionDetail.builder()
+                .playthroughId(playthrough.getId())
+                .sessionNumber(sessionCounter.getAndAdd(summary.getSessionCount()))
+                .sessionDate(summary.getLastEndedAt())
+                .playthroughTitle(playthrough.getTitle() != null ? playthrough.getTitle() : playthrough.getPlaythroughType())
+                .sessionTimeSeconds(summary.getDurationSeconds())
+                .pauseCount(summary.getPauseCount())
+                .startedAt(summary.getFirstStartedAt())
+                .endedAt(summary.getLastEndedAt())
+                .archivedSessionCount(summary.getSessionCount())
+                .build());
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.gamewatch.service;
+
+import com.gamewatch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps daily health metrics in step with the timer log. Runs after the timer write has
+ * committed and off the request thread, so the write path only pays for its own rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HealthMetricsProjector {
+
+    private final HealthService healthService;
+    private final UserRepository userRepository;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivity(PlaythroughActivityEvent event) {
+        userRepository.findById(event.userId()).ifPresent(user -> {
+            for (LocalDate day : event.days()) {
+                try {
+                    healthService.recalculateMetricsForDate(user, day, HealthService.RecalculationTrigger.SESSION_ACTIVITY);
+                } catch (Exception e) {
+                    log.error("Failed to recalculate health metrics for user {} on {}", user.getId(), day, e);
+                }
+            }
+        });
+    }
+}
@@ -1,8 +1,11 @@
 package com.gamewatch.service;
 
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
 import com.gamewatch.dto.*;
 import com.gamewatch.entity.*;
 import com.gamewatch.repository.*;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +17,10 @@ import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "gamewatch.service")
 @RequiredArgsConstructor
 @Slf4j
 public class HealthService {
@@ -101,7 +106,7 @@ public class HealthService {
         log.info("Saved mood entry for user {}: rating={}", user.getId(), request.getMoodRating());
 
         // Recalculate today's metrics
-        recalculateMetricsForDate(user, LocalDate.now());
+        recalculateMetricsForDate(user, LocalDate.now(), RecalculationTrigger.MOOD_ENTRY);
 
         return mapToMoodEntryDto(moodEntry);
     }
@@ -116,13 +121,42 @@ public class HealthService {
         
         // Recalculate today's metrics
         LocalDate date = LocalDateTime.ofInstant(moodEntry.getRecordedAt(), ZoneId.systemDefault()).toLocalDate();
-        recalculateMetricsForDate(moodEntry.getUser(), date);
+        recalculateMetricsForDate(moodEntry.getUser(), date, RecalculationTrigger.MOOD_ENTRY);
         
         return moodEntry;
     }
 
+    /**
+     * Save mood entries without recalculating metrics; the caller recalculates the affected days once.
+     */
     @Transactional
-    public void recalculateMetricsForDate(User user, LocalDate date) {
+    public void saveMoodEntries(List<MoodEntry> moodEntries) {
+        if (!moodEntries.isEmpty()) {
+            moodEntryRepository.saveAll(moodEntries);
+            log.info("Saved {} mood entries", moodEntries.size());
+        }
+    }
+
+    /** What caused a day's health metrics to be recalculated, recorded in the JFR event. */
+    public enum RecalculationTrigger {
+        MOOD_ENTRY, SESSION_ACTIVITY, BACKFILL, REBUILD
+    }
+
+    @Transactional
+    public void recalculateMetricsForDate(User user, LocalDate date, RecalculationTrigger trigger) {
+        FlightRecorderEvents.HealthRecalculation event = new FlightRecorderEvents.HealthRecalculation();
+        event.begin();
+        try {
+            recalculateMetrics(user, date, event);
+        } finally {
+            event.userId = user.getId();
+            event.date = date.toString();
+            event.trigger = trigger.name();
+            event.commit();
+        }
+    }
+
+    private void recalculateMetrics(User user, LocalDate date, FlightRecorderEvents.HealthRecalculation event) {
         log.info("Recalculating health metrics for user {} on {}", user.getId(), date);
 
         // Get all sessions for this date
@@ -145,6 +179,7 @@ public class HealthService {
             .sum() / 3600.0;
 
         int sessionCount = sessions.size();
+        event.sessionCount = sessionCount;
 
         // Calculate average mood for the day
         Double averageMood = moodEntryRepository.calculateAverageMood(user.getId(), startInstant, endInstant);
@@ -230,7 +265,7 @@ public class HealthService {
             user.getId(), date, healthScore, totalHours, sessionCount);
     }
 
-    private long calculateLateNightMinutes(Instant startInstant, Instant endInstant) {
+    long calculateLateNightMinutes(Instant startInstant, Instant endInstant) {
         LocalDateTime start = LocalDateTime.ofInstant(startInstant, ZoneId.systemDefault());
         LocalDateTime end = LocalDateTime.ofInstant(endInstant, ZoneId.systemDefault());
         
@@ -262,6 +297,7 @@ public class HealthService {
     /**
      * Backfill missing health metrics for dates that have sessions but no metrics calculated
      */
+    @Workload(WorkloadType.BULK)
     @Transactional
     public void backfillMissingMetrics(User user, LocalDate startDate, LocalDate endDate) {
         log.debug("Checking for missing health metrics for user {} from {} to {}", user.getId(), startDate, endDate);
@@ -279,29 +315,48 @@ public class HealthService {
             log.debug("No sessions found for user {} in the period", user.getId());
             return;
         }
-        
-        // Group sessions by date
-        Map<LocalDate, List<SessionHistory>> sessionsByDate = sessions.stream()
-            .collect(Collectors.groupingBy(session -> 
-                LocalDateTime.ofInstant(session.getEndedAt(), ZoneOffset.UTC).toLocalDate()
-            ));
-        
-        // Check each date for missing metrics
-        for (LocalDate date : sessionsByDate.keySet()) {
-            boolean hasMetrics = dailyHealthMetricsRepository
-                .findByUserIdAndMetricDate(user.getId(), date)
-                .isPresent();
-            
-            if (!hasMetrics) {
+
+        Set<LocalDate> sessionDates = sessionDates(sessions);
+        List<DailyHealthMetrics> metrics = dailyHealthMetricsRepository
+            .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(
+                user.getId(), Collections.min(sessionDates), Collections.max(sessionDates));
+        backfillMissingMetrics(user, sessionDates, metrics);
+    }
+
+    /**
+     * Recalculates the metrics of the session dates that have none in {@code metrics}, which must
+     * cover all of them.
+     *
+     * @return whether any date was recalculated
+     */
+    private boolean backfillMissingMetrics(User user, Set<LocalDate> sessionDates, List<DailyHealthMetrics> metrics) {
+        Set<LocalDate> datesWithMetrics = metrics.stream()
+            .map(DailyHealthMetrics::getMetricDate)
+            .collect(Collectors.toSet());
+
+        boolean recalculated = false;
+        for (LocalDate date : sessionDates) {
+            if (!datesWithMetrics.contains(date)) {
                 log.info("Backfilling missing health metrics for user {} on {}", user.getId(), date);
-                recalculateMetricsForDate(user, date);
+                recalculateMetricsForDate(user, date, RecalculationTrigger.BACKFILL);
+                recalculated = true;
             }
         }
+        return recalculated;
     }
 
-    private Integer calculateHealthScore(User user, double totalHours, int sessionCount, 
-                                        Double averageMood, long lateNightMinutes, 
-                                        double breakComplianceRatio, LocalDate date) {
+    /**
+     * Dates the sessions count towards for backfilling, by the UTC date they ended on.
+     */
+    private static Set<LocalDate> sessionDates(List<SessionHistory> sessions) {
+        return sessions.stream()
+            .map(session -> LocalDateTime.ofInstant(session.getEndedAt(), ZoneOffset.UTC).toLocalDate())
+            .collect(Collectors.toSet());
+    }
+
+    Integer calculateHealthScore(User user, double totalHours, int sessionCount, 
+                                Double averageMood, long lateNightMinutes, 
+                                double breakComplianceRatio, LocalDate date) {
         
         // Get age-based limits
         AgeLimits limits = getAgeLimits(user.getAge());
@@ -378,6 +433,11 @@ public class HealthService {
         LocalTime lateNightStart;
     }
 
+    /**
+     * Polled by the dashboard page, so it reads the week's sessions and all metrics it shows with
+     * one query each, whatever the size of the history.
+     */
+    @Workload(WorkloadType.ANALYTICS)
     @Transactional
     public HealthDashboardDto getHealthDashboard(User user) {
         LocalDate today = LocalDate.now();
@@ -388,29 +448,48 @@ public class HealthService {
         // Calendar year: January 1st of current year
         LocalDate yearStart = LocalDate.of(today.getYear(), 1, 1);
 
+        Instant weekStartInstant = weekStart.atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
+        Instant weekEndInstant = today.plusDays(1).atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
+        List<SessionHistory> weekSessions = sessionHistoryRepository
+            .findSessionsByUserAndDateRange(user.getId(), weekStartInstant, weekEndInstant);
+
+        // Metrics of the year and week, widened to every date the backfill below checks
+        Set<LocalDate> sessionDates = sessionDates(weekSessions);
+        LocalDate metricsStart = Stream.concat(Stream.of(weekStart, yearStart), sessionDates.stream())
+            .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate metricsEnd = Stream.concat(Stream.of(today), sessionDates.stream())
+            .max(Comparator.naturalOrder()).orElseThrow();
+        List<DailyHealthMetrics> metrics = dailyHealthMetricsRepository
+            .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(user.getId(), metricsStart, metricsEnd);
+
         // Backfill missing metrics for recent dates
-        backfillMissingMetrics(user, weekStart, today);
+        if (backfillMissingMetrics(user, sessionDates, metrics)) {
+            metrics = dailyHealthMetricsRepository
+                .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(user.getId(), metricsStart, metricsEnd);
+        }
 
         // Get today's metrics
-        DailyHealthMetrics todayMetrics = dailyHealthMetricsRepository
-            .findByUserIdAndMetricDate(user.getId(), today)
+        DailyHealthMetrics todayMetrics = metrics.stream()
+            .filter(m -> m.getMetricDate().equals(today))
+            .findFirst()
             .orElse(null);
 
         // Get current week's data (Monday to today)
-        List<DailyHealthMetrics> weekData = dailyHealthMetricsRepository
-            .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(user.getId(), weekStart, today);
+        List<DailyHealthMetrics> weekData = metricsBetween(metrics, weekStart, today);
 
         List<Integer> weekScores = weekData.stream()
             .sorted(Comparator.comparing(DailyHealthMetrics::getMetricDate))
             .map(DailyHealthMetrics::getHealthScore)
             .collect(Collectors.toList());
 
-        Double weeklyAverageScore = dailyHealthMetricsRepository
-            .calculateAverageHealthScore(user.getId(), weekStart, today);
+        OptionalDouble weeklyAverage = weekData.stream()
+            .filter(m -> m.getHealthScore() != null)
+            .mapToInt(DailyHealthMetrics::getHealthScore)
+            .average();
+        Double weeklyAverageScore = weeklyAverage.isPresent() ? weeklyAverage.getAsDouble() : null;
 
         // Get yearly data for heatmap
-        List<DailyHealthMetrics> yearlyMetrics = dailyHealthMetricsRepository
-            .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(user.getId(), yearStart, today);
+        List<DailyHealthMetrics> yearlyMetrics = metricsBetween(metrics, yearStart, today);
 
         Map<LocalDate, Integer> yearlyHeatmap = yearlyMetrics.stream()
             .collect(Collectors.toMap(
@@ -422,7 +501,6 @@ public class HealthService {
         HealthDashboardDto.WeeklyMetricsDto weekMetrics = calculateWeeklyMetrics(weekData);
 
         // Get recent moods (current week)
-        Instant weekStartInstant = weekStart.atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
         List<MoodEntry> recentMoodEntries = moodEntryRepository
             .findByUserIdAndRecordedAtBetweenOrderByRecordedAtDesc(user.getId(), weekStartInstant, Instant.now());
         List<MoodEntryDto> recentMoods = recentMoodEntries.stream()
@@ -431,10 +509,10 @@ public class HealthService {
             .collect(Collectors.toList());
 
         // Get recent sessions with mood (current week)
-        List<HealthDashboardDto.SessionWithMoodDto> recentSessions = getRecentSessionsWithMood(user, weekStart, today);
+        List<HealthDashboardDto.SessionWithMoodDto> recentSessions = getRecentSessionsWithMood(weekSessions);
 
         // Get goal progress
-        HealthDashboardDto.GoalProgressDto goalProgress = calculateGoalProgress(user, today);
+        HealthDashboardDto.GoalProgressDto goalProgress = calculateGoalProgress(user, todayMetrics, weekData);
 
         return HealthDashboardDto.builder()
             .currentHealthScore(todayMetrics != null ? todayMetrics.getHealthScore() : null)
@@ -450,6 +528,12 @@ public class HealthService {
             .build();
     }
 
+    private static List<DailyHealthMetrics> metricsBetween(List<DailyHealthMetrics> metrics, LocalDate from, LocalDate to) {
+        return metrics.stream()
+            .filter(m -> !m.getMetricDate().isBefore(from) && !m.getMetricDate().isAfter(to))
+            .collect(Collectors.toList());
+    }
+
     private HealthDashboardDto.WeeklyMetricsDto calculateWeeklyMetrics(List<DailyHealthMetrics> weekData) {
         double totalHours = weekData.stream()
             .mapToDouble(m -> m.getTotalHours() != null ? m.getTotalHours() : 0.0)
@@ -484,47 +568,44 @@ public class HealthService {
             .build();
     }
 
-    private List<HealthDashboardDto.SessionWithMoodDto> getRecentSessionsWithMood(User user, LocalDate weekStart, LocalDate today) {
-        Instant startInstant = weekStart.atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
-        Instant endInstant = today.plusDays(1).atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
-        
-        List<SessionHistory> sessions = sessionHistoryRepository
-            .findSessionsByUserAndDateRange(user.getId(), startInstant, endInstant);
-
-        return sessions.stream()
+    private List<HealthDashboardDto.SessionWithMoodDto> getRecentSessionsWithMood(List<SessionHistory> sessions) {
+        List<SessionHistory> recent = sessions.stream()
             .sorted(Comparator.comparing(SessionHistory::getEndedAt).reversed())
             .limit(10)
-            .map(session -> {
-                // Find mood for this session
-                Integer mood = moodEntryRepository.findBySessionHistoryId(session.getId())
-                    .map(MoodEntry::getMoodRating)
-                    .orElse(null);
-
-                return HealthDashboardDto.SessionWithMoodDto.builder()
-                    .sessionId(session.getId())
-                    .playthroughId(session.getPlaythrough().getId())
-                    .gameName(session.getPlaythrough().getGame().getName())
-                    .durationSeconds(session.getDurationSeconds())
-                    .moodRating(mood)
-                    .endedAt(session.getEndedAt())
-                    .build();
-            })
+            .collect(Collectors.toList());
+        if (recent.isEmpty()) {
+            return List.of();
+        }
+
+        // Game names and moods of all of them at once, rather than loading each playthrough
+        Map<Long, String> gameNames = new HashMap<>();
+        Map<Long, Integer> moods = new HashMap<>();
+        for (Object[] row : sessionHistoryRepository.findGameNamesAndMoodsByIdIn(
+                recent.stream().map(SessionHistory::getId).collect(Collectors.toList()))) {
+            Long sessionId = (Long) row[0];
+            gameNames.put(sessionId, (String) row[1]);
+            if (row[2] != null) {
+                moods.putIfAbsent(sessionId, (Integer) row[2]);
+            }
+        }
+
+        return recent.stream()
+            .map(session -> HealthDashboardDto.SessionWithMoodDto.builder()
+                .sessionId(session.getId())
+                .playthroughId(session.getPlaythrough().getId())
+                .gameName(gameNames.get(session.getId()))
+                .durationSeconds(session.getDurationSeconds())
+                .moodRating(moods.get(session.getId()))
+                .endedAt(session.getEndedAt())
+                .build())
             .collect(Collectors.toList());
     }
 
-    private HealthDashboardDto.GoalProgressDto calculateGoalProgress(User user, LocalDate today) {
+    private HealthDashboardDto.GoalProgressDto calculateGoalProgress(User user, DailyHealthMetrics todayMetrics,
+                                                                     List<DailyHealthMetrics> weekMetrics) {
         HealthSettings settings = healthSettingsRepository.findByUserId(user.getId())
             .orElse(null);
 
-        DailyHealthMetrics todayMetrics = dailyHealthMetricsRepository
-            .findByUserIdAndMetricDate(user.getId(), today)
-            .orElse(null);
-
-        // Calendar week: Monday of current week
-        LocalDate weekStart = today.with(java.time.DayOfWeek.MONDAY);
-        List<DailyHealthMetrics> weekMetrics = dailyHealthMetricsRepository
-            .findByUserIdAndMetricDateBetweenOrderByMetricDateDesc(user.getId(), weekStart, today);
-
         double hoursToday = todayMetrics != null && todayMetrics.getTotalHours() != null 
             ? todayMetrics.getTotalHours() : 0.0;
         int sessionsToday = todayMetrics != null ? todayMetrics.getSessionCount() : 0;
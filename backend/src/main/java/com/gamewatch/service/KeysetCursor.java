@@ -0,0 +1,35 @@
+package com.gamewatch.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a (timestamp, id) ordered listing. The timestamp may be null for
+ * rows that sort after all dated rows (e.g. playthroughs that were never played).
+ */
+public record KeysetCursor(Instant sortValue, Long id) {
+
+    private static final String NULL_VALUE = "-";
+
+    public String encode() {
+        String raw = (sortValue != null ? sortValue.toString() : NULL_VALUE) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String value = raw.substring(0, separator);
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new KeysetCursor(NULL_VALUE.equals(value) ? null : Instant.parse(value), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gamewatch.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the yearly partitions of session_history and mood_entries (V34) ahead of the clock and,
+ * when archival is enabled, compacts sessions older than the configured number of years into
+ * daily summaries and drops the session partitions that leaves empty. PostgreSQL only.
+ */
+@Service
+@ConditionalOnProperty(name = "gamewatch.partitions.maintenance-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    // Partitioned table -> partition key column
+    private static final Map<String, String> PARTITIONED_TABLES = new LinkedHashMap<>();
+
+    static {
+        PARTITIONED_TABLES.put("session_history", "started_at");
+        PARTITIONED_TABLES.put("mood_entries", "recorded_at");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionArchiver sessionArchiver;
+
+    @Value("${gamewatch.partitions.years-ahead:1}")
+    private int yearsAhead;
+
+    @Value("${gamewatch.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${gamewatch.archive.after-years:3}")
+    private int archiveAfterYears;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${gamewatch.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        try {
+            int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+            ensurePartitions(currentYear, currentYear + yearsAhead);
+            if (archiveEnabled) {
+                archiveBefore(currentYear - archiveAfterYears);
+            }
+        } catch (RuntimeException e) {
+            log.error("Partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Creates any missing yearly partitions in the given range, inclusive.
+     */
+    public void ensurePartitions(int fromYear, int toYear) {
+        PARTITIONED_TABLES.forEach((table, column) -> {
+            for (int year = fromYear; year <= toYear; year++) {
+                Boolean created = jdbcTemplate.queryForObject(
+                    "SELECT ensure_yearly_partition(?, ?, ?)", Boolean.class, table, column, year);
+                if (Boolean.TRUE.equals(created)) {
+                    log.info("Created partition {}_y{}", table, year);
+                }
+            }
+        });
+    }
+
+    /**
+     * Archives sessions started before January 1st (UTC) of the given year, which lines the cutoff up
+     * with partition bounds, then drops the session partitions that are now empty.
+     */
+    public void archiveBefore(int cutoffYear) {
+        Instant cutoff = LocalDate.of(cutoffYear, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        int archived = sessionArchiver.archiveSessionsBefore(cutoff);
+        Integer dropped = jdbcTemplate.queryForObject(
+            "SELECT drop_empty_partitions_before(?, ?)", Integer.class, "session_history", cutoffYear);
+        log.info("Archived {} sessions before {} and dropped {} empty session partitions", archived, cutoffYear, dropped);
+    }
+}
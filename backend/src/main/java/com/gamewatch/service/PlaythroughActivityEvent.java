@@ -0,0 +1,11 @@
+package com.gamewatch.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published once per committed timer write with the days whose played time changed, so
+ * derived data can be refreshed after commit instead of on the request path.
+ */
+public record PlaythroughActivityEvent(Long userId, Set<LocalDate> days) {
+}
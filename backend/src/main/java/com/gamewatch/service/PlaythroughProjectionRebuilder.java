@@ -0,0 +1,198 @@
+package com.gamewatch.service;
+
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
+import com.gamewatch.entity.SessionDailySummary;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.PlaythroughEventRepository;
+import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
+import com.gamewatch.repository.SessionHistoryRepository;
+import com.gamewatch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds projections from the playthrough event log: the timer columns of playthroughs by
+ * replaying each log from its latest snapshot, their session history rows from the logged
+ * sessions, and daily health metrics for every day a logged session touched.
+ * <p>
+ * The log only holds what happened since it was introduced, so sessions recorded before then
+ * cannot be restored, and sessions on days compacted into a {@link SessionDailySummary} are left
+ * to the summary. Mood entries and the archive summaries themselves are not projections of the log.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlaythroughProjectionRebuilder {
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private static final Set<PlaythroughEventType> SESSION_EVENTS = EnumSet.of(
+        PlaythroughEventType.END_SESSION, PlaythroughEventType.MANUAL_SESSION, PlaythroughEventType.SESSION_DELETED);
+
+    private final PlaythroughRepository playthroughRepository;
+    private final PlaythroughEventRepository eventRepository;
+    private final SessionHistoryRepository sessionHistoryRepository;
+    private final SessionDailySummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+    private final HealthService healthService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Replays one of the user's playthroughs, restoring logged sessions missing from its session
+     * history and correcting its timer columns if they drifted.
+     *
+     * @return true if the row or its sessions were changed
+     */
+    @Transactional
+    public boolean rebuildPlaythrough(User user, Long playthroughId) {
+        Playthrough playthrough = playthroughRepository.findForUpdateByIdAndUserId(playthroughId, user.getId())
+            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+        return rebuild(playthrough);
+    }
+
+    /**
+     * Replays every logged playthrough in batches of {@value #REBUILD_BATCH_SIZE}, one
+     * transaction per batch.
+     *
+     * @return number of playthroughs whose row or sessions were corrected
+     */
+    @Workload(WorkloadType.BULK)
+    public int rebuildAllPlaythroughs() {
+        int corrected = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = eventRepository.findPlaythroughIdsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer changed = transactionTemplate.execute(status -> (int) playthroughRepository.findForUpdateByIdIn(ids).stream()
+                .filter(this::rebuild)
+                .count());
+            corrected += changed != null ? changed : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        log.info("Rebuilt playthrough projections from the event log, {} corrected", corrected);
+        return corrected;
+    }
+
+    /**
+     * Recalculates daily health metrics for every day a logged session of the user touched.
+     *
+     * @return number of days recalculated
+     * @throws IllegalArgumentException if there is no such user
+     */
+    @Workload(WorkloadType.BULK)
+    public int rebuildHealthMetrics(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Set<LocalDate> days = new TreeSet<>();
+        for (PlaythroughEvent event : eventRepository.findByUserIdAndTypeIn(userId, SESSION_EVENTS)) {
+            if (event.getStartedAt() != null) {
+                days.add(event.getStartedAt().atZone(ZoneId.systemDefault()).toLocalDate());
+            }
+            if (event.getEndedAt() != null) {
+                days.add(event.getEndedAt().atZone(ZoneId.systemDefault()).toLocalDate());
+            }
+        }
+        days.forEach(day -> healthService.recalculateMetricsForDate(user, day, HealthService.RecalculationTrigger.REBUILD));
+        return days.size();
+    }
+
+    // Restored sessions are numbered like new ones, under the row lock of the caller
+    private boolean rebuild(Playthrough playthrough) {
+        List<PlaythroughEvent> events = eventRepository.findSinceLatestSnapshot(playthrough.getId());
+        if (events.isEmpty()) {
+            log.warn("Playthrough {} has no snapshot in the event log, skipping", playthrough.getId());
+            return false;
+        }
+
+        boolean sessionsRestored = restoreSessions(playthrough) > 0;
+        PlaythroughState replayed = PlaythroughState.replay(events);
+        if (replayed.equals(PlaythroughState.of(playthrough))) {
+            return sessionsRestored;
+        }
+        log.warn("Playthrough {} drifted from its event log, restoring replayed state", playthrough.getId());
+        replayed.applyTo(playthrough);
+        playthroughRepository.save(playthrough);
+        return true;
+    }
+
+    /**
+     * Inserts the logged sessions of the playthrough that are missing from its session history.
+     * A session is logged by END_SESSION (when it had a start time) or MANUAL_SESSION and
+     * cancelled by a SESSION_DELETED with the same bounds. Pause counts are not logged, so
+     * restored sessions have none.
+     *
+     * @return number of sessions restored
+     */
+    private int restoreSessions(Playthrough playthrough) {
+        Map<SessionBounds, Long> logged = new LinkedHashMap<>();
+        for (PlaythroughEvent event : eventRepository.findByPlaythroughIdAndTypeIn(playthrough.getId(), SESSION_EVENTS)) {
+            if (event.getStartedAt() == null || event.getEndedAt() == null) {
+                continue;
+            }
+            SessionBounds bounds = new SessionBounds(event.getStartedAt(), event.getEndedAt());
+            if (event.getType() == PlaythroughEventType.SESSION_DELETED) {
+                logged.remove(bounds);
+            } else {
+                logged.put(bounds, event.getSeconds());
+            }
+        }
+        sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId())
+            .forEach(session -> logged.remove(new SessionBounds(session.getStartedAt(), session.getEndedAt())));
+        if (logged.isEmpty()) {
+            return 0;
+        }
+
+        Set<LocalDate> archivedDays = summaryRepository
+            .findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(List.of(playthrough.getId()))
+            .stream()
+            .map(SessionDailySummary::getSummaryDate)
+            .collect(Collectors.toSet());
+        List<SessionBounds> missing = logged.keySet().stream()
+            .filter(bounds -> !archivedDays.contains(bounds.startedAt().atZone(ZoneId.systemDefault()).toLocalDate()))
+            .sorted(Comparator.comparing(SessionBounds::startedAt))
+            .toList();
+        for (SessionBounds bounds : missing) {
+            int sessionNumber = SessionNumbering.makeRoom(
+                sessionHistoryRepository, summaryRepository, playthrough.getId(), bounds.startedAt());
+            sessionHistoryRepository.saveAndFlush(SessionHistory.builder()
+                .playthrough(playthrough)
+                .userId(playthrough.getUser().getId())
+                .sessionNumber(sessionNumber)
+                .durationSeconds(logged.get(bounds))
+                .pauseCount(0)
+                .startedAt(bounds.startedAt())
+                .endedAt(bounds.endedAt())
+                .build());
+        }
+        if (!missing.isEmpty()) {
+            log.warn("Playthrough {} was missing {} logged sessions, restored them", playthrough.getId(), missing.size());
+        }
+        return missing.size();
+    }
+
+    private record SessionBounds(Instant startedAt, Instant endedAt) {
+    }
+}
@@ -1,35 +1,67 @@
 package com.gamewatch.service;
 
 import com.gamewatch.dto.CreatePlaythroughRequest;
+import com.gamewatch.dto.CursorPageDto;
+import com.gamewatch.dto.LibraryFilter;
 import com.gamewatch.dto.PlaythroughDto;
+import com.gamewatch.dto.TimerEventBatchRequest;
+import com.gamewatch.dto.TimerEventBatchResultDto;
+import com.gamewatch.dto.TimerEventDto;
 import com.gamewatch.entity.Game;
 import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
 import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
 import com.gamewatch.entity.MoodEntry;
 import com.gamewatch.repository.GameRepository;
+import com.gamewatch.repository.LibrarySpecifications;
+import com.gamewatch.repository.PlaythroughEventRepository;
 import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
 import com.gamewatch.repository.SessionHistoryRepository;
+import com.gamewatch.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.PersistenceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "gamewatch.service")
 @RequiredArgsConstructor
 @Slf4j
 public class PlaythroughService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_EVENTS = 500;
+
     private final PlaythroughRepository playthroughRepository;
     private final GameRepository gameRepository;
     private final SessionHistoryRepository sessionHistoryRepository;
+    private final SessionDailySummaryRepository summaryRepository;
+    private final UserRepository userRepository;
     private final HealthService healthService;
+    private final PlaythroughEventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final ColorExtractionService colorExtractionService;
 
     @Transactional
@@ -67,6 +99,13 @@ public class PlaythroughService {
             .build();
 
         playthrough = playthroughRepository.save(playthrough);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthrough.getId())
+            .userId(user.getId())
+            .type(PlaythroughEventType.SNAPSHOT)
+            .occurredAt(Instant.now())
+            .payload(PlaythroughState.of(playthrough).toJson())
+            .build());
         log.info("Created playthrough for user {} and game {} with colors {} and {}", 
                  user.getId(), game.getId(), playthrough.getDominantColor1(), playthrough.getDominantColor2());
 
@@ -75,30 +114,7 @@ public class PlaythroughService {
 
     @Transactional
     public PlaythroughDto startPlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
-            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
-
-        if (playthrough.getIsActive()) {
-            throw new RuntimeException("Playthrough is already active");
-        }
-
-        if (playthrough.getIsDropped()) {
-            throw new RuntimeException("Cannot start a session on a dropped playthrough");
-        }
-
-        playthrough.setStartedAt(Instant.now());
-        playthrough.setIsActive(true);
-        
-        if (!playthrough.getIsPaused()) {
-            playthrough.setPauseCount(0);
-            playthrough.setSessionStartDurationSeconds(playthrough.getDurationSeconds());
-            playthrough.setSessionStartTime(Instant.now());
-        }
-        
-        playthrough.setIsPaused(false);
-        playthrough.setStoppedAt(null);
-
-        playthrough = playthroughRepository.save(playthrough);
+        Playthrough playthrough = start(user, playthroughId, Instant.now(), false);
         log.info("Started playthrough {}", playthroughId);
 
         return mapToDto(playthrough);
@@ -106,159 +122,229 @@ public class PlaythroughService {
 
     @Transactional
     public PlaythroughDto stopPlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
-            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+        Playthrough playthrough = complete(user, playthroughId, Instant.now(), false);
+        log.info("Stopped playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
 
-        if (!playthrough.getIsActive() && !playthrough.getIsPaused()) {
-            if (playthrough.getDurationSeconds() == 0) {
-                throw new RuntimeException("Playthrough has no recorded time");
-            }
-        }
+        return mapToDto(playthrough);
+    }
 
-        Instant stoppedAt = Instant.now();
-        playthrough.setStoppedAt(stoppedAt);
-        playthrough.setIsActive(false);
-        playthrough.setIsPaused(false);
-        playthrough.setIsCompleted(true);
-        playthrough.setIsDropped(false);
-        playthrough.setEndDate(stoppedAt.atZone(java.time.ZoneId.systemDefault()).toLocalDate());
-        playthrough.setLastPlayedAt(stoppedAt);
+    @Transactional
+    public PlaythroughDto dropPlaythrough(User user, Long playthroughId) {
+        Playthrough playthrough = drop(user, playthroughId, Instant.now(), false);
+        log.info("Dropped playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
 
-        if (playthrough.getIsActive() && playthrough.getStartedAt() != null) {
-            long elapsedSeconds = Duration.between(playthrough.getStartedAt(), stoppedAt).getSeconds();
-            playthrough.setDurationSeconds(playthrough.getDurationSeconds() + elapsedSeconds);
-        }
+        return mapToDto(playthrough);
+    }
 
-        playthrough.setStartedAt(null);
+    @Transactional
+    public PlaythroughDto pickupPlaythrough(User user, Long playthroughId) {
+        Playthrough playthrough = pickup(user, playthroughId, Instant.now(), false);
+        log.info("Picked up dropped playthrough {}", playthroughId);
 
-        playthrough = playthroughRepository.save(playthrough);
-        log.info("Stopped playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
+        return mapToDto(playthrough);
+    }
+
+    @Transactional
+    public PlaythroughDto pausePlaythrough(User user, Long playthroughId) {
+        Playthrough playthrough = pause(user, playthroughId, Instant.now(), false);
+        log.info("Paused playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
 
         return mapToDto(playthrough);
     }
 
     @Transactional
-    public PlaythroughDto dropPlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
-            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+    public PlaythroughDto endSessionPlaythrough(User user, Long playthroughId) {
+        Instant now = Instant.now();
+        SessionHistory sessionHistory = endSession(user, playthroughId, now, false);
+        publishActivity(user, sessionDays(sessionHistory, now));
 
-        if (!playthrough.getIsActive() && !playthrough.getIsPaused()) {
-            if (playthrough.getDurationSeconds() == 0) {
-                throw new RuntimeException("Playthrough has no recorded time");
-            }
+        PlaythroughDto dto = mapToDto(loadWithGame(user, playthroughId));
+        dto.setLastSessionHistoryId(sessionHistory != null ? sessionHistory.getId() : null);
+        return dto;
+    }
+
+    /*
+     * Timer transitions. Each one reads the row with its game, checks the transition is allowed
+     * at the given time and changes only the columns it touches; Playthrough is versioned, so a transition computed
+     * from a row another device has changed since fails on commit instead of overwriting it, and
+     * only this row is evicted from the second-level cache.
+     */
+
+    private Playthrough start(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = loadForTransition(user, playthroughId, at, replayed);
+        if (playthrough.getIsActive()) {
+            throw new RuntimeException("Playthrough is already active");
+        }
+        if (playthrough.getIsDropped()) {
+            throw new RuntimeException("Cannot start a session on a dropped playthrough");
         }
 
-        Instant droppedAt = Instant.now();
-        playthrough.setStoppedAt(droppedAt);
-        playthrough.setDroppedAt(droppedAt);
-        playthrough.setIsActive(false);
+        // Resuming from a pause continues the session; otherwise a new one starts here
+        if (!playthrough.getIsPaused()) {
+            playthrough.setSessionStartDurationSeconds(playthrough.getDurationSeconds());
+            playthrough.setSessionStartTime(at);
+            playthrough.setPauseCount(0);
+        }
+        playthrough.setStartedAt(at);
+        playthrough.setIsActive(true);
         playthrough.setIsPaused(false);
-        playthrough.setIsCompleted(false);
-        playthrough.setIsDropped(true);
-        playthrough.setEndDate(droppedAt.atZone(java.time.ZoneId.systemDefault()).toLocalDate());
-        playthrough.setLastPlayedAt(droppedAt);
+        playthrough.setStoppedAt(null);
+        return saveTransition(user, playthrough, PlaythroughEventType.START, at);
+    }
 
-        if (playthrough.getIsActive() && playthrough.getStartedAt() != null) {
-            long elapsedSeconds = Duration.between(playthrough.getStartedAt(), droppedAt).getSeconds();
-            playthrough.setDurationSeconds(playthrough.getDurationSeconds() + elapsedSeconds);
+    private Playthrough pause(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = loadForTransition(user, playthroughId, at, replayed);
+        if (!playthrough.getIsActive()) {
+            throw new RuntimeException("Playthrough is not active");
         }
 
+        addElapsedTime(playthrough, at);
+        playthrough.setIsActive(false);
+        playthrough.setIsPaused(true);
         playthrough.setStartedAt(null);
+        playthrough.setLastPlayedAt(at);
+        playthrough.setPauseCount(playthrough.getPauseCount() + 1);
+        return saveTransition(user, playthrough, PlaythroughEventType.PAUSE, at);
+    }
 
-        playthrough = playthroughRepository.save(playthrough);
-        log.info("Dropped playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
+    private Playthrough complete(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = finish(user, playthroughId, at, replayed);
+        playthrough.setIsCompleted(true);
+        playthrough.setIsDropped(false);
+        return saveTransition(user, playthrough, PlaythroughEventType.STOP, at);
+    }
 
-        return mapToDto(playthrough);
+    private Playthrough drop(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = finish(user, playthroughId, at, replayed);
+        playthrough.setIsCompleted(false);
+        playthrough.setIsDropped(true);
+        playthrough.setDroppedAt(at);
+        return saveTransition(user, playthrough, PlaythroughEventType.DROP, at);
     }
 
-    @Transactional
-    public PlaythroughDto pickupPlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
-            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+    // The part completing and dropping share: close the running segment and end the playthrough
+    private Playthrough finish(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = loadForTransition(user, playthroughId, at, replayed);
+        if (!playthrough.getIsActive() && !playthrough.getIsPaused() && playthrough.getDurationSeconds() == 0) {
+            throw new RuntimeException("Playthrough has no recorded time");
+        }
 
+        if (playthrough.getIsActive()) {
+            addElapsedTime(playthrough, at);
+        }
+        playthrough.setStoppedAt(at);
+        playthrough.setIsActive(false);
+        playthrough.setIsPaused(false);
+        playthrough.setEndDate(toLocalDate(at));
+        playthrough.setLastPlayedAt(at);
+        playthrough.setStartedAt(null);
+        return playthrough;
+    }
+
+    private Playthrough pickup(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = loadForTransition(user, playthroughId, at, replayed);
         if (!playthrough.getIsDropped()) {
             throw new RuntimeException("Only dropped playthroughs can be picked up");
         }
 
-        Instant pickedUpAt = Instant.now();
         playthrough.setIsDropped(false);
         playthrough.setIsPaused(false);
         playthrough.setIsActive(false);
         playthrough.setIsCompleted(false);
-        playthrough.setPickedUpAt(pickedUpAt);
+        playthrough.setPickedUpAt(at);
         playthrough.setEndDate(null);
         playthrough.setStoppedAt(null);
-
-        playthrough = playthroughRepository.save(playthrough);
-        log.info("Picked up dropped playthrough {}", playthroughId);
-
-        return mapToDto(playthrough);
+        return saveTransition(user, playthrough, PlaythroughEventType.PICKUP, at);
     }
 
-    @Transactional
-    public PlaythroughDto pausePlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
-            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
-
-        if (!playthrough.getIsActive()) {
-            throw new RuntimeException("Playthrough is not active");
+    // Replayed events are checked against the stored row; live clicks happen now by definition
+    private Playthrough loadForTransition(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = loadWithGame(user, playthroughId);
+        if (replayed) {
+            requireNotBeforeLastChange(playthrough, at);
         }
+        return playthrough;
+    }
 
-        Instant pausedAt = Instant.now();
-        
+    /**
+     * Rejects a replayed event dated before the last change the row records. Offline events are
+     * only ordered within their batch; one older than what another device has since written
+     * would count negative time or end a session before it started. Live clicks are not checked,
+     * since clock skew between nodes would reject them.
+     */
+    private static void requireNotBeforeLastChange(Playthrough playthrough, Instant at) {
+        Stream.of(playthrough.getStartedAt(), playthrough.getSessionStartTime(), playthrough.getStoppedAt(),
+                playthrough.getDroppedAt(), playthrough.getPickedUpAt(), playthrough.getLastPlayedAt())
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo)
+            .filter(lastChange -> lastChange.isAfter(at))
+            .ifPresent(lastChange -> {
+                throw new RuntimeException("Event at " + at + " is older than the playthrough's last change at " + lastChange);
+            });
+    }
+
+    // Adds the time of the running segment, from started_at up to the given time
+    private static void addElapsedTime(Playthrough playthrough, Instant at) {
         if (playthrough.getStartedAt() != null) {
-            long elapsedSeconds = Duration.between(playthrough.getStartedAt(), pausedAt).getSeconds();
+            long elapsedSeconds = Duration.between(playthrough.getStartedAt(), at).getSeconds();
             playthrough.setDurationSeconds(playthrough.getDurationSeconds() + elapsedSeconds);
         }
+    }
 
-        playthrough.setIsActive(false);
-        playthrough.setIsPaused(true);
-        playthrough.setStartedAt(null);
-        playthrough.setLastPlayedAt(pausedAt);
-        
-        playthrough.setPauseCount(playthrough.getPauseCount() + 1);
-
+    private Playthrough saveTransition(User user, Playthrough playthrough, PlaythroughEventType type, Instant at) {
         playthrough = playthroughRepository.save(playthrough);
-        log.info("Paused playthrough {} with duration {} seconds", playthroughId, playthrough.getDurationSeconds());
-
-        return mapToDto(playthrough);
+        appendEvent(user, playthrough.getId(), type, at);
+        return playthrough;
     }
 
-    @Transactional
-    public PlaythroughDto endSessionPlaythrough(User user, Long playthroughId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
+    /**
+     * Closes the current session at the given time and records it in the session history. The
+     * row stays locked until commit, so a second device ending or pausing the same session waits
+     * and then sees it closed.
+     *
+     * @param replayed whether the end comes from an offline batch and must not predate the stored state
+     * @return the recorded session, or null if the playthrough had no session start time
+     */
+    private SessionHistory endSession(User user, Long playthroughId, Instant at, boolean replayed) {
+        Playthrough playthrough = playthroughRepository.findForUpdateByIdAndUserId(playthroughId, user.getId())
             .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
 
         if (!playthrough.getIsActive() && !playthrough.getIsPaused()) {
             throw new RuntimeException("Playthrough is not active or paused");
         }
+        if (replayed) {
+            requireNotBeforeLastChange(playthrough, at);
+        }
 
         Instant sessionStartTime = playthrough.getSessionStartTime();
         long sessionStartDuration = playthrough.getSessionStartDurationSeconds();
         
-        if (playthrough.getIsActive() && playthrough.getStartedAt() != null) {
-            long elapsedSeconds = Duration.between(playthrough.getStartedAt(), Instant.now()).getSeconds();
-            playthrough.setDurationSeconds(playthrough.getDurationSeconds() + elapsedSeconds);
+        if (playthrough.getIsActive()) {
+            addElapsedTime(playthrough, at);
         }
 
+        long sessionDuration = playthrough.getDurationSeconds() - sessionStartDuration;
+
         Instant endedAt;
         if (playthrough.getManualTimeSet() && sessionStartTime != null) {
-            endedAt = sessionStartTime.plusSeconds(playthrough.getDurationSeconds());
+            // The session lasted what is left of it after the manual change, and never ends after now
+            Instant calculatedEnd = sessionStartTime.plusSeconds(Math.max(0L, sessionDuration));
+            endedAt = calculatedEnd.isBefore(at) ? calculatedEnd : at;
             log.info("Using calculated end time for playthrough {} (manual time set): {} + {} sec = {}", 
-                playthroughId, sessionStartTime, playthrough.getDurationSeconds(), endedAt);
+                playthroughId, sessionStartTime, sessionDuration, endedAt);
         } else {
-            endedAt = Instant.now();
+            endedAt = at;
         }
-
-        long sessionDuration = playthrough.getDurationSeconds() - sessionStartDuration;
         
-        int newSessionNumber = playthrough.getSessionCount() + 1;
-        playthrough.setSessionCount(newSessionNumber);
+        playthrough.setSessionCount(playthrough.getSessionCount() + 1);
         
-        Long lastSessionHistoryId = null;
+        SessionHistory sessionHistory = null;
         if (sessionStartTime != null) {
-            SessionHistory sessionHistory = SessionHistory.builder()
+            int newSessionNumber = SessionNumbering.makeRoom(
+                sessionHistoryRepository, summaryRepository, playthroughId, sessionStartTime);
+            sessionHistory = SessionHistory.builder()
                 .playthrough(playthrough)
+                .userId(playthrough.getUser().getId())
                 .sessionNumber(newSessionNumber)
                 .durationSeconds(sessionDuration)
                 .pauseCount(playthrough.getPauseCount())
@@ -266,7 +352,6 @@ public class PlaythroughService {
                 .endedAt(endedAt)
                 .build();
             sessionHistory = sessionHistoryRepository.save(sessionHistory);
-            lastSessionHistoryId = sessionHistory.getId();
             log.info("Saved session history for playthrough {}, session {}: duration={} sec, pauses={}", 
                 playthroughId, newSessionNumber, sessionDuration, playthrough.getPauseCount());
         }
@@ -281,19 +366,62 @@ public class PlaythroughService {
         
         playthrough.setManualTimeSet(false);
 
-        playthrough = playthroughRepository.save(playthrough);
+        playthroughRepository.save(playthrough);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthroughId)
+            .userId(user.getId())
+            .type(PlaythroughEventType.END_SESSION)
+            .occurredAt(at)
+            .startedAt(sessionStartTime)
+            .endedAt(endedAt)
+            .seconds(sessionDuration)
+            .build());
         log.info("Ended session for playthrough {}, session count: {}", playthroughId, playthrough.getSessionCount());
 
-        // Recalculate health metrics for today
-        try {
-            healthService.recalculateMetricsForDate(user, LocalDate.now());
-        } catch (Exception e) {
-            log.error("Failed to recalculate health metrics for user {}", user.getId(), e);
+        return sessionHistory;
+    }
+
+    private void lockUser(User user) {
+        userRepository.findForUpdateById(user.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private Playthrough loadWithGame(User user, Long playthroughId) {
+        return playthroughRepository.findWithGameByIdAndUserId(playthroughId, user.getId())
+            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+    }
+
+    private void appendEvent(User user, Long playthroughId, PlaythroughEventType type, Instant at) {
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthroughId)
+            .userId(user.getId())
+            .type(type)
+            .occurredAt(at)
+            .build());
+    }
+
+    private void publishActivity(User user, Set<LocalDate> days) {
+        if (!days.isEmpty()) {
+            eventPublisher.publishEvent(new PlaythroughActivityEvent(user.getId(), days));
         }
+    }
 
-        PlaythroughDto dto = mapToDto(playthrough);
-        dto.setLastSessionHistoryId(lastSessionHistoryId);
-        return dto;
+    // Days a session touches; falls back to the given time when no session was recorded
+    private static Set<LocalDate> sessionDays(SessionHistory session, Instant fallback) {
+        Set<LocalDate> days = new TreeSet<>();
+        if (session != null) {
+            Stream.of(session.getStartedAt(), session.getEndedAt())
+                .filter(Objects::nonNull)
+                .forEach(instant -> days.add(toLocalDate(instant)));
+        }
+        if (days.isEmpty() && fallback != null) {
+            days.add(toLocalDate(fallback));
+        }
+        return days;
+    }
+
+    private static LocalDate toLocalDate(Instant instant) {
+        return instant.atZone(java.time.ZoneId.systemDefault()).toLocalDate();
     }
 
     @Transactional
@@ -313,6 +441,13 @@ public class PlaythroughService {
         playthrough.setDurationSeconds(durationSeconds);
         playthrough.setManualTimeSet(true);
         playthrough = playthroughRepository.save(playthrough);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthroughId)
+            .userId(user.getId())
+            .type(PlaythroughEventType.DURATION_SET)
+            .occurredAt(Instant.now())
+            .seconds(durationSeconds)
+            .build());
         log.info("Updated duration for playthrough {} to {} seconds (manual)", playthroughId, durationSeconds);
 
         return mapToDto(playthrough);
@@ -344,12 +479,40 @@ public class PlaythroughService {
 
     @Transactional(readOnly = true)
     public List<PlaythroughDto> getUserPlaythroughs(User user) {
-        return playthroughRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
+        return playthroughRepository.findWithGameByUserIdOrderByCreatedAtDesc(user.getId())
             .stream()
             .map(this::mapToDto)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<PlaythroughDto> getUserPlaythroughsPage(User user, LibraryFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Playthrough> rows = playthroughRepository.findBy(
+            LibrarySpecifications.playthroughPage(
+                user.getId(),
+                LibrarySpecifications.normalizeStatus(filter.getStatus()),
+                LibrarySpecifications.trimToNull(filter.getPlatform()),
+                LibrarySpecifications.trimToNull(filter.getGenre()),
+                LibrarySpecifications.trimToNull(filter.getName()),
+                after != null ? after.sortValue() : null,
+                after != null ? after.id() : null),
+            query -> query.limit(limit + 1).all());
+        
+        boolean hasMore = rows.size() > limit;
+        List<Playthrough> page = hasMore ? rows.subList(0, limit) : rows;
+        Playthrough last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        return CursorPageDto.<PlaythroughDto>builder()
+            .items(page.stream().map(this::mapToDto).collect(Collectors.toList()))
+            .nextCursor(hasMore ? new KeysetCursor(last.getLastPlayedAt(), last.getId()).encode() : null)
+            .build();
+    }
+
     @Transactional(readOnly = true)
     public PlaythroughDto getPlaythroughById(User user, Long playthroughId) {
         Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
@@ -368,7 +531,7 @@ public class PlaythroughService {
 
     @Transactional
     public void deleteSession(User user, Long playthroughId, Long sessionId) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
+        Playthrough playthrough = playthroughRepository.findForUpdateByIdAndUserId(playthroughId, user.getId())
             .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
 
         SessionHistory session = sessionHistoryRepository.findById(sessionId)
@@ -382,19 +545,19 @@ public class PlaythroughService {
         long sessionDuration = session.getDurationSeconds();
         
         sessionHistoryRepository.delete(session);
+        sessionHistoryRepository.shiftSessionNumbers(playthroughId, deletedSessionNumber + 1, -1);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthroughId)
+            .userId(user.getId())
+            .type(PlaythroughEventType.SESSION_DELETED)
+            .occurredAt(Instant.now())
+            .startedAt(session.getStartedAt())
+            .endedAt(session.getEndedAt())
+            .seconds(sessionDuration)
+            .build());
+        publishActivity(user, sessionDays(session, null));
         log.info("Deleted session {} from playthrough {}", sessionId, playthroughId);
 
-        List<SessionHistory> laterSessions = sessionHistoryRepository
-            .findByPlaythroughIdOrderBySessionNumberAsc(playthroughId)
-            .stream()
-            .filter(s -> s.getSessionNumber() > deletedSessionNumber)
-            .collect(Collectors.toList());
-
-        for (SessionHistory laterSession : laterSessions) {
-            laterSession.setSessionNumber(laterSession.getSessionNumber() - 1);
-            sessionHistoryRepository.save(laterSession);
-        }
-
         playthrough.setSessionCount(Math.max(0, playthrough.getSessionCount() - 1));
         playthrough.setDurationSeconds(Math.max(0L, playthrough.getDurationSeconds() - sessionDuration));
         
@@ -409,19 +572,167 @@ public class PlaythroughService {
 
     @Transactional
     public PlaythroughDto logManualSession(User user, Long playthroughId, com.gamewatch.dto.LogManualSessionRequest request) {
-        Playthrough playthrough = playthroughRepository.findByIdAndUserId(playthroughId, user.getId())
+        // The overlap check spans all of the user's playthroughs, so manual sessions are logged one at a time
+        lockUser(user);
+        Playthrough playthrough = playthroughRepository.findForUpdateByIdAndUserId(playthroughId, user.getId())
             .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
 
-        // Validate times are not in the future
+        validateManualSession(playthrough, request.getStartedAt(), request.getEndedAt(), Instant.now());
+
+        sessionHistoryRepository.findOverlapping(user.getId(), request.getStartedAt(), request.getEndedAt(), Limit.of(1))
+            .stream()
+            .findFirst()
+            .ifPresent(existing -> {
+                throw new IllegalArgumentException("Session overlaps an existing session from "
+                    + existing.getStartedAt() + " to " + existing.getEndedAt());
+            });
+
+        SessionHistory newSession = recordManualSession(user, playthrough, request.getStartedAt(), request.getEndedAt());
+
+        try {
+            healthService.saveMoodEntries(List.of(manualSessionMood(user, newSession)));
+            log.info("Auto-created mood entry (5/5) for manual session {}", newSession.getId());
+        } catch (Exception e) {
+            log.warn("Failed to auto-create mood entry for manual session: {}", e.getMessage());
+        }
+        publishActivity(user, sessionDays(newSession, null));
+
+        return mapToDto(playthrough);
+    }
+
+    /**
+     * Applies an ordered batch of timer events and manual sessions in one transaction. Every
+     * event is validated against the stored state left by the events before it, timer events may
+     * not predate the last change of their playthrough, and the whole batch is rolled back if any
+     * of them is rejected. As in {@link #logManualSession}, manual sessions may not overlap any
+     * other session while timer sessions are recorded as the clock ran. Health metrics are refreshed once per affected
+     * day after commit instead of once per session.
+     */
+    @Transactional
+    public TimerEventBatchResultDto applyTimerEvents(User user, TimerEventBatchRequest request) {
+        List<TimerEventDto> events = request.getEvents();
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("At least one event is required");
+        }
+        if (events.size() > MAX_BATCH_EVENTS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_EVENTS + " events can be sent in one batch");
+        }
         Instant now = Instant.now();
-        if (request.getStartedAt().isAfter(now)) {
+        validateEventOrder(events, now);
+
+        boolean hasManualSessions = events.stream().anyMatch(e -> e.getType() == TimerEventDto.Type.MANUAL_SESSION);
+        SessionIntervals intervals = new SessionIntervals();
+        if (hasManualSessions) {
+            lockUser(user);
+            intervals = SessionIntervals.fromRows(sessionHistoryRepository.findIntervalsByUserId(user.getId()));
+        }
+        Set<LocalDate> affectedDays = new TreeSet<>();
+        List<MoodEntry> moodEntries = new ArrayList<>();
+        Map<Long, Long> lastSessionIds = new HashMap<>();
+
+        for (int i = 0; i < events.size(); i++) {
+            TimerEventDto event = events.get(i);
+            Long playthroughId = event.getPlaythroughId();
+            try {
+                switch (event.getType()) {
+                    case START -> start(user, playthroughId, event.getOccurredAt(), true);
+                    case PAUSE -> pause(user, playthroughId, event.getOccurredAt(), true);
+                    case STOP -> complete(user, playthroughId, event.getOccurredAt(), true);
+                    case DROP -> drop(user, playthroughId, event.getOccurredAt(), true);
+                    case PICKUP -> pickup(user, playthroughId, event.getOccurredAt(), true);
+                    case END_SESSION -> {
+                        SessionHistory session = endSession(user, playthroughId, event.getOccurredAt(), true);
+                        if (session != null) {
+                            // Never rejected, like a session ended live; later manual sessions must not overlap it
+                            intervals.record(session.getStartedAt(), session.getEndedAt());
+                            lastSessionIds.put(playthroughId, session.getId());
+                        }
+                        affectedDays.addAll(sessionDays(session, event.getOccurredAt()));
+                    }
+                    case MANUAL_SESSION -> {
+                        Playthrough playthrough = playthroughRepository.findForUpdateByIdAndUserId(playthroughId, user.getId())
+                            .orElseThrow(() -> new RuntimeException("Playthrough not found or access denied"));
+                        validateManualSession(playthrough, event.getStartedAt(), event.getEndedAt(), now);
+                        if (!intervals.add(event.getStartedAt(), event.getEndedAt())) {
+                            throw new RuntimeException("Session overlaps an existing session");
+                        }
+                        SessionHistory session = recordManualSession(user, playthrough, event.getStartedAt(), event.getEndedAt());
+                        moodEntries.add(manualSessionMood(user, session));
+                        lastSessionIds.put(playthroughId, session.getId());
+                        affectedDays.addAll(sessionDays(session, null));
+                    }
+                }
+            } catch (DataAccessException | PersistenceException e) {
+                // Database failures are not the event's fault and must not read as a rejected event
+                throw e;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Event " + i + " (" + event.getType() + " on playthrough "
+                    + playthroughId + ") rejected: " + e.getMessage(), e);
+            }
+        }
+
+        healthService.saveMoodEntries(moodEntries);
+        publishActivity(user, affectedDays);
+
+        Set<Long> playthroughIds = events.stream().map(TimerEventDto::getPlaythroughId).collect(Collectors.toCollection(LinkedHashSet::new));
+        List<PlaythroughDto> playthroughs = playthroughRepository.findWithGameByUserIdAndIdIn(user.getId(), playthroughIds)
+            .stream()
+            .map(playthrough -> {
+                PlaythroughDto dto = mapToDto(playthrough);
+                dto.setLastSessionHistoryId(lastSessionIds.get(playthrough.getId()));
+                return dto;
+            })
+            .collect(Collectors.toList());
+        log.info("Applied {} timer events for user {} across {} playthroughs, {} days affected",
+            events.size(), user.getId(), playthroughIds.size(), affectedDays.size());
+
+        return TimerEventBatchResultDto.builder()
+            .applied(events.size())
+            .playthroughs(playthroughs)
+            .build();
+    }
+
+    /**
+     * Checks that every event carries the timestamps its type needs, nothing lies in the future,
+     * and timer events of the same playthrough are in chronological order.
+     */
+    private static void validateEventOrder(List<TimerEventDto> events, Instant now) {
+        Map<Long, Instant> lastByPlaythrough = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            TimerEventDto event = events.get(i);
+            if (event.getPlaythroughId() == null || event.getType() == null) {
+                throw new IllegalArgumentException("Event " + i + " needs a playthroughId and a type");
+            }
+            boolean manual = event.getType() == TimerEventDto.Type.MANUAL_SESSION;
+            Instant at = manual ? event.getEndedAt() : event.getOccurredAt();
+            if (at == null || (manual && event.getStartedAt() == null)) {
+                throw new IllegalArgumentException("Event " + i + " is missing its timestamp");
+            }
+            if (at.isAfter(now)) {
+                throw new IllegalArgumentException("Event " + i + " lies in the future");
+            }
+            if (manual) {
+                // Manual sessions may backfill any earlier time; only the timer has to replay in order
+                continue;
+            }
+            Instant previous = lastByPlaythrough.put(event.getPlaythroughId(), at);
+            if (previous != null && at.isBefore(previous)) {
+                throw new IllegalArgumentException("Event " + i + " is older than the previous event of playthrough "
+                    + event.getPlaythroughId());
+            }
+        }
+    }
+
+    private void validateManualSession(Playthrough playthrough, Instant startedAt, Instant endedAt, Instant now) {
+        // Validate times are not in the future
+        if (startedAt.isAfter(now)) {
             throw new RuntimeException("Start time cannot be in the future");
         }
-        if (request.getEndedAt().isAfter(now)) {
+        if (endedAt.isAfter(now)) {
             throw new RuntimeException("End time cannot be in the future");
         }
 
-        if (!request.getStartedAt().isBefore(request.getEndedAt())) {
+        if (!startedAt.isBefore(endedAt)) {
             throw new RuntimeException("Start time must be before end time");
         }
 
@@ -438,74 +749,61 @@ public class PlaythroughService {
         }
 
         if (playthrough.getStartDate() != null) {
-            LocalDate sessionStartDate = request.getStartedAt().atZone(java.time.ZoneId.systemDefault()).toLocalDate();
+            LocalDate sessionStartDate = toLocalDate(startedAt);
             if (sessionStartDate.isBefore(playthrough.getStartDate())) {
                 throw new RuntimeException("Cannot log session before playthrough start date: " + playthrough.getStartDate());
             }
         }
+    }
 
-        long durationSeconds = Duration.between(request.getStartedAt(), request.getEndedAt()).getSeconds();
+    private SessionHistory recordManualSession(User user, Playthrough playthrough, Instant startedAt, Instant endedAt) {
+        long durationSeconds = Duration.between(startedAt, endedAt).getSeconds();
         
-        List<SessionHistory> existingSessions = sessionHistoryRepository
-            .findByPlaythroughIdOrderBySessionNumberAsc(playthroughId);
-        
-        int newSessionNumber = 1;
-        for (SessionHistory existingSession : existingSessions) {
-            if (request.getStartedAt().isBefore(existingSession.getStartedAt())) {
-                break;
-            }
-            newSessionNumber++;
-        }
-        
-        final int insertAtSessionNumber = newSessionNumber;
-        
-        List<SessionHistory> sessionsToRenumber = existingSessions.stream()
-            .filter(s -> s.getSessionNumber() >= insertAtSessionNumber)
-            .sorted((a, b) -> Integer.compare(b.getSessionNumber(), a.getSessionNumber()))
-            .collect(Collectors.toList());
-        
-        for (SessionHistory existingSession : sessionsToRenumber) {
-            existingSession.setSessionNumber(existingSession.getSessionNumber() + 1);
-            sessionHistoryRepository.saveAndFlush(existingSession);
-        }
+        final int insertAtSessionNumber = SessionNumbering.makeRoom(
+            sessionHistoryRepository, summaryRepository, playthrough.getId(), startedAt);
         
         SessionHistory newSession = SessionHistory.builder()
             .playthrough(playthrough)
+            .userId(playthrough.getUser().getId())
             .sessionNumber(insertAtSessionNumber)
             .durationSeconds(durationSeconds)
             .pauseCount(0)
-            .startedAt(request.getStartedAt())
-            .endedAt(request.getEndedAt())
+            .startedAt(startedAt)
+            .endedAt(endedAt)
             .build();
         sessionHistoryRepository.saveAndFlush(newSession);
         
         playthrough.setSessionCount(playthrough.getSessionCount() + 1);
         playthrough.setDurationSeconds(playthrough.getDurationSeconds() + durationSeconds);
         
-        if (playthrough.getLastPlayedAt() == null || request.getEndedAt().isAfter(playthrough.getLastPlayedAt())) {
-            playthrough.setLastPlayedAt(request.getEndedAt());
+        if (playthrough.getLastPlayedAt() == null || endedAt.isAfter(playthrough.getLastPlayedAt())) {
+            playthrough.setLastPlayedAt(endedAt);
         }
         
-        playthrough = playthroughRepository.save(playthrough);
+        playthroughRepository.save(playthrough);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(playthrough.getId())
+            .userId(user.getId())
+            .type(PlaythroughEventType.MANUAL_SESSION)
+            .occurredAt(endedAt)
+            .startedAt(startedAt)
+            .endedAt(endedAt)
+            .seconds(durationSeconds)
+            .build());
         log.info("Logged manual session for playthrough {}: session #{}, duration={} sec", 
-            playthroughId, insertAtSessionNumber, durationSeconds);
-
-        // Automatically create a mood entry with rating 5/5 for manual sessions
-        try {
-            MoodEntry moodEntry = MoodEntry.builder()
-                .user(user)
-                .sessionHistory(newSession)
-                .moodRating(5) // Default to excellent mood for manual sessions
-                .note("Auto-logged with manual session")
-                .recordedAt(request.getEndedAt())
-                .build();
-            healthService.saveMoodEntry(moodEntry);
-            log.info("Auto-created mood entry (5/5) for manual session {}", newSession.getId());
-        } catch (Exception e) {
-            log.warn("Failed to auto-create mood entry for manual session: {}", e.getMessage());
-        }
+            playthrough.getId(), insertAtSessionNumber, durationSeconds);
+        return newSession;
+    }
 
-        return mapToDto(playthrough);
+    // Manual sessions get a mood entry with rating 5/5 so they count towards health metrics
+    private static MoodEntry manualSessionMood(User user, SessionHistory session) {
+        return MoodEntry.builder()
+            .user(user)
+            .sessionHistory(session)
+            .moodRating(5) // Default to excellent mood for manual sessions
+            .note("Auto-logged with manual session")
+            .recordedAt(session.getEndedAt())
+            .build();
     }
 
     @Transactional
@@ -550,6 +848,14 @@ public class PlaythroughService {
         }
 
         targetPlaythrough = playthroughRepository.save(targetPlaythrough);
+        eventRepository.save(PlaythroughEvent.builder()
+            .playthroughId(targetPlaythroughId)
+            .userId(user.getId())
+            .type(PlaythroughEventType.TIME_IMPORTED)
+            .occurredAt(Instant.now())
+            .endedAt(sourcePlaythrough.getLastPlayedAt())
+            .seconds(importedDuration)
+            .build());
         log.info("Imported timer value ({} seconds) from playthrough {} to playthrough {} (one-time import)", 
             importedDuration, sourcePlaythroughId, targetPlaythroughId);
 
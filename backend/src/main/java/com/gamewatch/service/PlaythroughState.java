@@ -0,0 +1,224 @@
+package com.gamewatch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Timer state of a playthrough as a pure value. Events are folded over it with the same rules
+ * the timer endpoints apply, so replaying a playthrough's log from its latest snapshot yields
+ * the state the row should have.
+ */
+@Data
+@NoArgsConstructor
+public class PlaythroughState {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private long durationSeconds;
+    private int sessionCount;
+    private int pauseCount;
+    private boolean active;
+    private boolean paused;
+    private boolean completed;
+    private boolean dropped;
+    private boolean manualTimeSet;
+    private long sessionStartDurationSeconds;
+    private long importedDurationSeconds;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Instant sessionStartTime;
+    private Instant lastPlayedAt;
+    private Instant droppedAt;
+    private Instant pickedUpAt;
+    private LocalDate endDate;
+
+    public static PlaythroughState of(Playthrough playthrough) {
+        PlaythroughState state = new PlaythroughState();
+        state.durationSeconds = orZero(playthrough.getDurationSeconds());
+        state.sessionCount = playthrough.getSessionCount() != null ? playthrough.getSessionCount() : 0;
+        state.pauseCount = playthrough.getPauseCount() != null ? playthrough.getPauseCount() : 0;
+        state.active = Boolean.TRUE.equals(playthrough.getIsActive());
+        state.paused = Boolean.TRUE.equals(playthrough.getIsPaused());
+        state.completed = Boolean.TRUE.equals(playthrough.getIsCompleted());
+        state.dropped = Boolean.TRUE.equals(playthrough.getIsDropped());
+        state.manualTimeSet = Boolean.TRUE.equals(playthrough.getManualTimeSet());
+        state.sessionStartDurationSeconds = orZero(playthrough.getSessionStartDurationSeconds());
+        state.importedDurationSeconds = orZero(playthrough.getImportedDurationSeconds());
+        state.startedAt = playthrough.getStartedAt();
+        state.stoppedAt = playthrough.getStoppedAt();
+        state.sessionStartTime = playthrough.getSessionStartTime();
+        state.lastPlayedAt = playthrough.getLastPlayedAt();
+        state.droppedAt = playthrough.getDroppedAt();
+        state.pickedUpAt = playthrough.getPickedUpAt();
+        state.endDate = playthrough.getEndDate();
+        return state;
+    }
+
+    public static PlaythroughState fromJson(String json) {
+        try {
+            return JSON.readValue(json, PlaythroughState.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable playthrough snapshot", e);
+        }
+    }
+
+    public String toJson() {
+        try {
+            return JSON.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize playthrough snapshot", e);
+        }
+    }
+
+    /**
+     * Replays a log that starts with a SNAPSHOT event.
+     */
+    public static PlaythroughState replay(List<PlaythroughEvent> events) {
+        if (events.isEmpty() || events.get(0).getType() != PlaythroughEventType.SNAPSHOT) {
+            throw new IllegalStateException("Playthrough log does not start with a snapshot");
+        }
+        PlaythroughState state = fromJson(events.get(0).getPayload());
+        for (PlaythroughEvent event : events.subList(1, events.size())) {
+            state.apply(event);
+        }
+        return state;
+    }
+
+    public void apply(PlaythroughEvent event) {
+        Instant at = event.getOccurredAt();
+        switch (event.getType()) {
+            case SNAPSHOT -> throw new IllegalStateException("A snapshot can only start a replay");
+            case START -> {
+                if (!paused) {
+                    pauseCount = 0;
+                    sessionStartDurationSeconds = durationSeconds;
+                    sessionStartTime = at;
+                }
+                startedAt = at;
+                active = true;
+                paused = false;
+                stoppedAt = null;
+            }
+            case PAUSE -> {
+                addRunningTime(at);
+                active = false;
+                paused = true;
+                startedAt = null;
+                lastPlayedAt = at;
+                pauseCount++;
+            }
+            case STOP, DROP -> {
+                if (active) {
+                    addRunningTime(at);
+                }
+                boolean drop = event.getType() == PlaythroughEventType.DROP;
+                stoppedAt = at;
+                if (drop) {
+                    droppedAt = at;
+                }
+                active = false;
+                paused = false;
+                completed = !drop;
+                dropped = drop;
+                endDate = at.atZone(ZoneId.systemDefault()).toLocalDate();
+                lastPlayedAt = at;
+                startedAt = null;
+            }
+            case PICKUP -> {
+                dropped = false;
+                paused = false;
+                active = false;
+                completed = false;
+                pickedUpAt = at;
+                endDate = null;
+                stoppedAt = null;
+            }
+            case END_SESSION -> {
+                if (active) {
+                    addRunningTime(at);
+                }
+                sessionCount++;
+                active = false;
+                paused = false;
+                startedAt = null;
+                sessionStartTime = null;
+                lastPlayedAt = event.getEndedAt() != null ? event.getEndedAt() : at;
+                pauseCount = 0;
+                manualTimeSet = false;
+            }
+            case MANUAL_SESSION -> {
+                sessionCount++;
+                durationSeconds += Duration.between(event.getStartedAt(), event.getEndedAt()).getSeconds();
+                if (lastPlayedAt == null || event.getEndedAt().isAfter(lastPlayedAt)) {
+                    lastPlayedAt = event.getEndedAt();
+                }
+            }
+            case DURATION_SET -> {
+                durationSeconds = event.getSeconds();
+                manualTimeSet = true;
+            }
+            case SESSION_DELETED -> {
+                sessionCount = Math.max(0, sessionCount - 1);
+                durationSeconds = Math.max(0L, durationSeconds - event.getSeconds());
+                sessionStartDurationSeconds = Math.min(sessionStartDurationSeconds, durationSeconds);
+            }
+            case TIME_IMPORTED -> {
+                durationSeconds += event.getSeconds();
+                importedDurationSeconds = event.getSeconds();
+                if (event.getEndedAt() != null && (lastPlayedAt == null || event.getEndedAt().isAfter(lastPlayedAt))) {
+                    lastPlayedAt = event.getEndedAt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the timer columns of this state onto the row.
+     */
+    public void applyTo(Playthrough playthrough) {
+        playthrough.setDurationSeconds(durationSeconds);
+        playthrough.setSessionCount(sessionCount);
+        playthrough.setPauseCount(pauseCount);
+        playthrough.setIsActive(active);
+        playthrough.setIsPaused(paused);
+        playthrough.setIsCompleted(completed);
+        playthrough.setIsDropped(dropped);
+        playthrough.setManualTimeSet(manualTimeSet);
+        playthrough.setSessionStartDurationSeconds(sessionStartDurationSeconds);
+        playthrough.setImportedDurationSeconds(importedDurationSeconds);
+        playthrough.setStartedAt(startedAt);
+        playthrough.setStoppedAt(stoppedAt);
+        playthrough.setSessionStartTime(sessionStartTime);
+        playthrough.setLastPlayedAt(lastPlayedAt);
+        playthrough.setDroppedAt(droppedAt);
+        playthrough.setPickedUpAt(pickedUpAt);
+        playthrough.setEndDate(endDate);
+    }
+
+    private void addRunningTime(Instant at) {
+        if (startedAt != null) {
+            durationSeconds += Duration.between(startedAt, at).getSeconds();
+        }
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gamewatch.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Latency, error and timeout meters of the RAWG client, tagged by endpoint:
+ * <ul>
+ *   <li>{@code rawg.client.requests} - timer with outcome {@code success}, {@code error}, {@code timeout} or
+ *       {@code cancelled} (the request that needed it timed out or its client went away)</li>
+ *   <li>{@code rawg.client.errors} - failed calls by HTTP status, or {@code IO} when no response arrived</li>
+ *   <li>{@code rawg.client.timeouts} - calls that ran out of time</li>
+ * </ul>
+ * Each call is also recorded as a {@code com.gamewatch.RawgCall} JFR event with its response size.
+ */
+@Component
+@RequiredArgsConstructor
+public class RawgClientMetrics {
+
+    private static final String RESPONSE_BYTES = RawgClientMetrics.class.getName() + ".responseBytes";
+
+    private final MeterRegistry meterRegistry;
+
+    /** Meters one RAWG call; apply with {@code transform} after any {@code timeout} operator. */
+    public <T> Function<Mono<T>, Mono<T>> observe(String endpoint) {
+        return call -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            FlightRecorderEvents.RawgCall event = new FlightRecorderEvents.RawgCall();
+            event.begin();
+            event.endpoint = endpoint;
+            LongAdder responseBytes = new LongAdder();
+            return call
+                .doOnSuccess(response -> {
+                    sample.stop(timer(endpoint, "success"));
+                    event.outcome = "success";
+                })
+                .doOnError(error -> {
+                    if (isTimeout(error)) {
+                        sample.stop(timer(endpoint, "timeout"));
+                        Counter.builder("rawg.client.timeouts").tag("endpoint", endpoint)
+                            .register(meterRegistry).increment();
+                        event.outcome = "timeout";
+                    } else {
+                        sample.stop(timer(endpoint, "error"));
+                        Counter.builder("rawg.client.errors").tag("endpoint", endpoint).tag("status", status(error))
+                            .register(meterRegistry).increment();
+                        event.outcome = "error";
+                        event.errorStatus = status(error);
+                    }
+                })
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        sample.stop(timer(endpoint, "cancelled"));
+                        event.outcome = "cancelled";
+                    }
+                    event.responseBytes = responseBytes.sum();
+                    event.commit();
+                })
+                .contextWrite(Context.of(RESPONSE_BYTES, responseBytes));
+        });
+    }
+
+    /**
+     * Counts the response body bytes of calls made inside {@link #observe}, for the RAWG call JFR
+     * event; register on the RAWG {@code WebClient}.
+     */
+    public ExchangeFilterFunction responseSize() {
+        return (request, next) -> Mono.deferContextual(context -> next.exchange(request)
+            .map(response -> context.<LongAdder>getOrEmpty(RESPONSE_BYTES)
+                .map(bytes -> response.mutate()
+                    .body(body -> body.doOnNext(buffer -> bytes.add(buffer.readableByteCount())))
+                    .build())
+                .orElse(response)));
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        return Timer.builder("rawg.client.requests")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    // Mono.timeout raises java.util.concurrent.TimeoutException; Netty read/write timeouts arrive wrapped
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof java.util.concurrent.TimeoutException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String status(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return String.valueOf(response.getStatusCode().value());
+        }
+        return "IO";
+    }
+}
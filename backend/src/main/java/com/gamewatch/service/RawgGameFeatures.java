@@ -0,0 +1,15 @@
+package com.gamewatch.service;
+
+import java.util.List;
+
+/**
+ * What recommendations need to know about a game RAWG has details of: its name, the genres, tags,
+ * developers and publishers it is classified under, in RAWG's order, and its platform ids.
+ */
+public record RawgGameFeatures(String name, List<Term> genres, List<Term> tags, List<Term> developers,
+                               List<Term> publishers, List<Integer> platformIds) {
+
+    /** A genre, tag, developer or publisher; terms without an id are left out. */
+    public record Term(int id, String name) {
+    }
+}
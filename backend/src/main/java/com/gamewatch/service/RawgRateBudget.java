@@ -0,0 +1,121 @@
+package com.gamewatch.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket of RAWG API calls shared by all backend nodes through the {@code rawg_rate_budget}
+ * table, sized to the API plan by {@code capacity} and {@code refillPerSecond}. A node leases up to
+ * {@code leaseSize} tokens at a time and spends them locally, so the table is written once per
+ * lease rather than once per call. When the bucket is empty the node stops asking until it has had
+ * time to refill one token.
+ */
+@Slf4j
+public class RawgRateBudget {
+
+    static final String BUCKET = "rawg";
+
+    private static final String SELECT = """
+        SELECT tokens, version, refilled_at, CURRENT_TIMESTAMP
+        FROM rawg_rate_budget
+        WHERE name = ?""";
+
+    private static final String UPDATE = """
+        UPDATE rawg_rate_budget
+        SET tokens = ?, version = version + 1, refilled_at = ?
+        WHERE name = ? AND version = ?""";
+
+    // Leases that lose this many compare-and-sets in a row to other nodes give up for now
+    private static final int LEASE_ATTEMPTS = 3;
+
+    private record Bucket(double tokens, long version, OffsetDateTime refilledAt, OffsetDateTime now) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double capacity;
+    private final double refillPerSecond;
+    private final int leaseSize;
+
+    // Guards the leased tokens; a ReentrantLock because leasing blocks on JDBC (see SecurityConfig)
+    private final Lock lock = new ReentrantLock();
+    private int leased;
+    private long nextLeaseAt = System.nanoTime();
+
+    public RawgRateBudget(JdbcTemplate jdbcTemplate, double capacity, double refillPerSecond, int leaseSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.leaseSize = leaseSize;
+    }
+
+    /**
+     * Spends a token already leased by this node. Never touches the database, so it can run on
+     * an event loop; when it fails, {@link #tryAcquire} may still lease more.
+     */
+    public boolean tryTakeLeased() {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (leased > 0) {
+                leased--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spends a token, leasing a block from the shared bucket when this node has none left. Blocks
+     * on the database; false when the bucket is empty and the call should be throttled.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (leased == 0 && System.nanoTime() - nextLeaseAt >= 0) {
+                leased = lease();
+            }
+            if (leased > 0) {
+                leased--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int lease() {
+        for (int attempt = 0; attempt < LEASE_ATTEMPTS; attempt++) {
+            List<Bucket> rows = jdbcTemplate.query(SELECT, (rs, rowNum) -> new Bucket(rs.getDouble(1), rs.getLong(2),
+                rs.getObject(3, OffsetDateTime.class), rs.getObject(4, OffsetDateTime.class)), BUCKET);
+            if (rows.isEmpty()) {
+                throw new IllegalStateException("RAWG rate budget row '" + BUCKET + "' is missing");
+            }
+            Bucket bucket = rows.get(0);
+            double elapsedSeconds = Math.max(0, Duration.between(bucket.refilledAt(), bucket.now()).toNanos() / 1e9);
+            double available = Math.min(capacity, bucket.tokens() + elapsedSeconds * refillPerSecond);
+            int granted = (int) Math.min(leaseSize, Math.floor(available));
+            if (granted == 0) {
+                // Ask again once a whole token has been refilled
+                nextLeaseAt = System.nanoTime() + (long) ((1 - available) / refillPerSecond * 1e9);
+                log.debug("RAWG rate budget exhausted, {} tokens available", available);
+                return 0;
+            }
+            int updated = jdbcTemplate.update(UPDATE, available - granted, bucket.now(), BUCKET, bucket.version());
+            if (updated == 1) {
+                return granted;
+            }
+        }
+        log.debug("RAWG rate budget lease lost to other nodes {} times", LEASE_ATTEMPTS);
+        return 0;
+    }
+}
@@ -0,0 +1,176 @@
+package com.gamewatch.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Guards the RAWG client: every call needs a closed circuit breaker of its endpoint family
+ * ({@code search}, {@code details} or {@code discovery}), a free slot of the shared bulkhead and,
+ * when a {@link RawgRateBudget} is configured, a token of the plan's rate budget. Calls that cannot
+ * get one are rejected without reaching RAWG. Rejected and failed calls are answered from the last
+ * response RAWG gave for the same request while it is younger than {@code staleMaxAge}.
+ * <ul>
+ *   <li>{@code rawg.client.throttled} - calls rejected for lack of rate budget, by endpoint</li>
+ *   <li>{@code rawg.client.shed} - calls rejected with reason {@code circuit_open} or {@code bulkhead_full}</li>
+ *   <li>{@code rawg.client.stale} - rejected or failed calls answered with a stale response</li>
+ * </ul>
+ */
+@Slf4j
+public class RawgResilience {
+
+    /** Failures that say RAWG is unwell and count against its circuit breaker. */
+    public static final Predicate<Throwable> RAWG_FAILURE = RawgResilience::isRawgFailure;
+
+    private record Stale(Object response, Instant storedAt) {
+    }
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Bulkhead bulkhead;
+    private final RawgRateBudget rateBudget;
+    private final MeterRegistry meterRegistry;
+    private final Duration staleMaxAge;
+    private final Clock clock;
+    private final Map<String, Stale> staleResponses;
+
+    /**
+     * @param rateBudget null to call RAWG without a rate limit
+     */
+    public RawgResilience(CircuitBreakerRegistry circuitBreakers, Bulkhead bulkhead, RawgRateBudget rateBudget,
+                          MeterRegistry meterRegistry, int staleMaxEntries, Duration staleMaxAge, Clock clock) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkhead = bulkhead;
+        this.rateBudget = rateBudget;
+        this.meterRegistry = meterRegistry;
+        this.staleMaxAge = staleMaxAge;
+        this.clock = clock;
+        this.staleResponses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stale> eldest) {
+                return size() > staleMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Guards one RAWG call identified by its endpoint and request parameters; apply with
+     * {@code transform} after {@link RawgClientMetrics#observe}, so rejected calls are not timed.
+     * Responses are kept for the stale fallback as they are and handed to every request that falls
+     * back on them, so guard the raw body rather than mutable DTOs.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Function<Mono<T>, Mono<T>> protect(String endpoint, Object... parameters) {
+        String key = endpoint + Arrays.toString(parameters);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(family(endpoint));
+        return call -> permit(endpoint)
+            .flatMap(granted -> granted ? call : Mono.error(new RawgThrottledException(endpoint)))
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+            .doOnNext(response -> store(key, response))
+            .onErrorResume(error -> {
+                if (error instanceof CallNotPermittedException) {
+                    count("rawg.client.shed", endpoint, "reason", "circuit_open");
+                } else if (error instanceof BulkheadFullException) {
+                    count("rawg.client.shed", endpoint, "reason", "bulkhead_full");
+                } else if (!(error instanceof RawgThrottledException) && !isRawgFailure(error)) {
+                    return Mono.error(error);
+                }
+                Stale stale = stale(key);
+                if (stale == null) {
+                    return Mono.error(error);
+                }
+                count("rawg.client.stale", endpoint);
+                log.debug("Answering {} with a RAWG response from {}: {}", key, stale.storedAt(), error.toString());
+                return Mono.just((T) stale.response());
+            });
+    }
+
+    static String family(String endpoint) {
+        return switch (endpoint) {
+            case "search" -> "search";
+            case "game_details" -> "details";
+            default -> "discovery";
+        };
+    }
+
+    // Leased tokens are spent in place; leasing more blocks on JDBC, so it runs off the event loop
+    private Mono<Boolean> permit(String endpoint) {
+        if (rateBudget == null) {
+            return Mono.just(true);
+        }
+        return Mono.defer(() -> rateBudget.tryTakeLeased()
+                ? Mono.just(true)
+                : Mono.fromCallable(rateBudget::tryAcquire).subscribeOn(Schedulers.boundedElastic()))
+            .onErrorResume(error -> {
+                // An unreachable database should not take RAWG down with it; the breakers still apply
+                log.warn("RAWG rate budget unavailable, calling without it: {}", error.getMessage());
+                return Mono.just(true);
+            })
+            .doOnNext(granted -> {
+                if (!granted) {
+                    count("rawg.client.throttled", endpoint);
+                }
+            });
+    }
+
+    private void store(String key, Object response) {
+        synchronized (staleResponses) {
+            staleResponses.put(key, new Stale(response, clock.instant()));
+        }
+    }
+
+    private Stale stale(String key) {
+        Stale stale;
+        synchronized (staleResponses) {
+            stale = staleResponses.get(key);
+        }
+        if (stale == null || stale.storedAt().plus(staleMaxAge).isBefore(clock.instant())) {
+            return null;
+        }
+        return stale;
+    }
+
+    private void count(String name, String endpoint, String... tags) {
+        Counter.builder(name).tag("endpoint", endpoint).tags(tags).register(meterRegistry).increment();
+    }
+
+    // Timeouts, connection failures, throttling by RAWG and server errors; other 4xx are our requests' fault
+    private static boolean isRawgFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException;
+    }
+
+    /** A RAWG call rejected because the plan's rate budget is spent. */
+    public static class RawgThrottledException extends RuntimeException {
+
+        // Thrown for every throttled call, so without a stack trace
+        RawgThrottledException(String endpoint) {
+            super("RAWG rate budget exhausted, " + endpoint + " call throttled", null, false, false);
+        }
+    }
+}
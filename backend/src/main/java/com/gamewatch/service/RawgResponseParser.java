@@ -0,0 +1,345 @@
+package com.gamewatch.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gamewatch.dto.GameSearchResultDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Maps RAWG response bodies to DTOs token by token, without building a {@code JsonNode} tree first.
+ * Fields nobody reads - store lists, screenshots, ratings breakdowns, platform requirements - are
+ * skipped unparsed, as are the descriptions of games in a results page. A JSON {@code null} maps to
+ * {@code null}; a missing genre, platform, developer, publisher or tag list to an empty id list.
+ */
+class RawgResponseParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** The games of a {@code /games} results page; empty when the page has no results. */
+    List<GameSearchResultDto> gamesPage(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            List<GameSearchResultDto> games = new ArrayList<>();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return games;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "results".equals(field)) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        games.add(game(parser, false));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return games;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed RAWG games page", e);
+        }
+    }
+
+    /** A {@code /games/{id}} response, including its description. */
+    GameSearchResultDto gameDetails(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a game object but found " + parser.currentToken());
+            }
+            return game(parser, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed RAWG game details", e);
+        }
+    }
+
+    /** The classification of a {@code /games/{id}} response, skipping everything else. */
+    RawgGameFeatures gameFeatures(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a game object but found " + parser.currentToken());
+            }
+            String name = null;
+            List<RawgGameFeatures.Term> genres = List.of();
+            List<RawgGameFeatures.Term> tags = List.of();
+            List<RawgGameFeatures.Term> developers = List.of();
+            List<RawgGameFeatures.Term> publishers = List.of();
+            List<Integer> platformIds = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> name = text(parser);
+                    case "genres" -> genres = features(terms(parser));
+                    case "tags" -> tags = features(terms(parser));
+                    case "developers" -> developers = features(terms(parser));
+                    case "publishers" -> publishers = features(terms(parser));
+                    case "platforms" -> platforms(parser, null, platformIds);
+                    default -> parser.skipChildren();
+                }
+            }
+            platformIds.removeIf(id -> id == null);
+            return new RawgGameFeatures(name, genres, tags, developers, publishers, platformIds);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed RAWG game details", e);
+        }
+    }
+
+    // The parser is on the game's START_OBJECT; leaves it on the matching END_OBJECT
+    private GameSearchResultDto game(JsonParser parser, boolean withDescription) throws IOException {
+        GameSearchResultDto.GameSearchResultDtoBuilder game = GameSearchResultDto.builder()
+            .genreIds(new ArrayList<>())
+            .platformIds(new ArrayList<>())
+            .developerIds(new ArrayList<>())
+            .publisherIds(new ArrayList<>())
+            .tagIds(new ArrayList<>());
+        String descriptionRaw = null;
+        String descriptionHtml = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> game.id(integer(parser));
+                case "name" -> game.name(text(parser));
+                case "background_image" -> game.bannerImageUrl(text(parser));
+                case "released" -> game.releaseDate(text(parser));
+                case "rating" -> game.rating(decimal(parser));
+                case "rating_top" -> game.ratingTop(integer(parser));
+                case "ratings_count" -> game.ratingsCount(integer(parser));
+                case "genres" -> {
+                    List<Term> genres = terms(parser);
+                    game.genres(names(genres)).genreIds(ids(genres));
+                }
+                case "developers" -> {
+                    List<Term> developers = terms(parser);
+                    game.developers(names(developers)).developerIds(ids(developers));
+                }
+                case "publishers" -> {
+                    List<Term> publishers = terms(parser);
+                    game.publishers(names(publishers)).publisherIds(ids(publishers));
+                }
+                case "tags" -> {
+                    List<Term> tags = terms(parser);
+                    game.tags(names(tags)).tagIds(ids(tags));
+                }
+                case "platforms" -> {
+                    StringJoiner names = new StringJoiner(", ");
+                    List<Integer> ids = new ArrayList<>();
+                    platforms(parser, names, ids);
+                    game.platforms(names.toString()).platformIds(ids);
+                }
+                case "description_raw" -> {
+                    if (withDescription) {
+                        descriptionRaw = text(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "description" -> {
+                    if (withDescription) {
+                        descriptionHtml = text(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "name_original" -> game.nameOriginal(text(parser));
+                case "slug" -> game.slug(text(parser));
+                case "tba" -> game.tba(bool(parser));
+                case "updated" -> game.updated(text(parser));
+                case "website" -> game.website(text(parser));
+                case "metacritic" -> game.metacritic(integer(parser));
+                case "metacritic_url" -> game.metacriticUrl(text(parser));
+                case "background_image_additional" -> game.backgroundImageAdditional(text(parser));
+                case "playtime" -> game.playtime(integer(parser));
+                case "screenshots_count" -> game.screenshotsCount(integer(parser));
+                case "movies_count" -> game.moviesCount(integer(parser));
+                case "creators_count" -> game.creatorsCount(integer(parser));
+                case "achievements_count" -> game.achievementsCount(integer(parser));
+                case "parent_achievements_count" -> game.parentAchievementsCount(text(parser));
+                case "reddit_url" -> game.redditUrl(text(parser));
+                case "reddit_name" -> game.redditName(text(parser));
+                case "reddit_description" -> game.redditDescription(text(parser));
+                case "reddit_logo" -> game.redditLogo(text(parser));
+                case "reddit_count" -> game.redditCount(integer(parser));
+                case "twitch_count" -> game.twitchCount(text(parser));
+                case "youtube_count" -> game.youtubeCount(text(parser));
+                case "added" -> game.added(integer(parser));
+                case "reviews_text_count" -> game.reviewsTextCount(text(parser));
+                case "suggestions_count" -> game.suggestionsCount(integer(parser));
+                case "parents_count" -> game.parentsCount(integer(parser));
+                case "additions_count" -> game.additionsCount(integer(parser));
+                case "game_series_count" -> game.gameSeriesCount(integer(parser));
+                case "esrb_rating" -> game.esrbRating(esrbRating(parser));
+                case "alternative_names" -> game.alternativeNames(alternativeNames(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        if (descriptionRaw != null) {
+            game.description(descriptionRaw);
+        } else if (descriptionHtml != null) {
+            game.description(descriptionHtml.replaceAll("<[^>]*>", ""));
+        }
+        return game.build();
+    }
+
+    // A genre, developer, publisher or tag as it appears in the response, id possibly missing
+    private record Term(Integer id, String name) {
+    }
+
+    private static List<Term> terms(JsonParser parser) throws IOException {
+        List<Term> terms = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return terms;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            Integer id = null;
+            String name = null;
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "id" -> id = integer(parser);
+                        case "name" -> name = text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            terms.add(new Term(id, name));
+        }
+        return terms;
+    }
+
+    private static String names(List<Term> terms) {
+        StringJoiner names = new StringJoiner(", ");
+        for (Term term : terms) {
+            names.add(term.name());
+        }
+        return names.toString();
+    }
+
+    private static List<Integer> ids(List<Term> terms) {
+        List<Integer> ids = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            ids.add(term.id());
+        }
+        return ids;
+    }
+
+    private static List<RawgGameFeatures.Term> features(List<Term> terms) {
+        List<RawgGameFeatures.Term> features = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            if (term.id() != null) {
+                features.add(new RawgGameFeatures.Term(term.id(), term.name()));
+            }
+        }
+        return features;
+    }
+
+    // Entries are {"platform": {"id", "name", ...}, "released_at", "requirements_en", ...}; names may be null
+    private static void platforms(JsonParser parser, StringJoiner names, List<Integer> ids) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            Integer id = null;
+            String name = null;
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_OBJECT && "platform".equals(field)) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String platformField = parser.currentName();
+                            parser.nextToken();
+                            switch (platformField) {
+                                case "id" -> id = integer(parser);
+                                case "name" -> name = text(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            ids.add(id);
+            if (names != null) {
+                names.add(name);
+            }
+        }
+    }
+
+    private static String esrbRating(JsonParser parser) throws IOException {
+        String name = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("name".equals(field)) {
+                    name = text(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return name;
+    }
+
+    private static String alternativeNames(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        StringJoiner names = new StringJoiner(", ");
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            names.add(text(parser));
+        }
+        return names.toString();
+    }
+
+    // Scalars of another JSON type are converted as JsonNode's asText/asInt did; objects and arrays skipped
+    private static String text(JsonParser parser) throws IOException {
+        if (!isValue(parser)) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Integer integer(JsonParser parser) throws IOException {
+        if (!isValue(parser)) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsInt();
+    }
+
+    private static Double decimal(JsonParser parser) throws IOException {
+        if (!isValue(parser)) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsDouble();
+    }
+
+    private static Boolean bool(JsonParser parser) throws IOException {
+        if (!isValue(parser)) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsBoolean();
+    }
+
+    private static boolean isValue(JsonParser parser) {
+        return parser.currentToken().isScalarValue() && parser.currentToken() != JsonToken.VALUE_NULL;
+    }
+}
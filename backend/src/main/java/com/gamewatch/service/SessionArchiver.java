@@ -0,0 +1,120 @@
+package com.gamewatch.service;
+
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
+import com.gamewatch.entity.SessionDailySummary;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.repository.MoodEntryRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
+import com.gamewatch.repository.SessionHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compacts old sessions into one {@link SessionDailySummary} per playthrough and day. Mood entries
+ * of archived sessions are kept but unlinked. Statistics read summaries alongside live sessions.
+ */
+@Workload(WorkloadType.BULK)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionArchiver {
+
+    private static final int ARCHIVE_BATCH_SIZE = 100;
+
+    private final SessionHistoryRepository sessionHistoryRepository;
+    private final SessionDailySummaryRepository summaryRepository;
+    private final MoodEntryRepository moodEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Archives every session started before the cutoff, {@value #ARCHIVE_BATCH_SIZE} playthroughs
+     * per transaction.
+     *
+     * @return number of sessions archived
+     */
+    public int archiveSessionsBefore(Instant cutoff) {
+        int archived = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> playthroughIds = sessionHistoryRepository.findPlaythroughIdsWithSessionsBefore(
+                cutoff, afterId, Limit.of(ARCHIVE_BATCH_SIZE));
+            if (playthroughIds.isEmpty()) {
+                break;
+            }
+            Integer count = transactionTemplate.execute(status -> archive(playthroughIds, cutoff));
+            archived += count != null ? count : 0;
+            afterId = playthroughIds.get(playthroughIds.size() - 1);
+        }
+        log.info("Archived {} sessions started before {}", archived, cutoff);
+        return archived;
+    }
+
+    private int archive(List<Long> playthroughIds, Instant cutoff) {
+        List<SessionHistory> sessions = sessionHistoryRepository.findByPlaythroughIdInAndStartedAtBefore(playthroughIds, cutoff);
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+
+        Map<SummaryKey, SessionDailySummary> summaries = new HashMap<>();
+        for (SessionDailySummary existing : summaryRepository.findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(playthroughIds)) {
+            summaries.put(new SummaryKey(existing.getPlaythroughId(), existing.getSummaryDate()), existing);
+        }
+        for (SessionHistory session : sessions) {
+            LocalDate day = session.getStartedAt().atZone(ZoneId.systemDefault()).toLocalDate();
+            SessionDailySummary summary = summaries.computeIfAbsent(
+                new SummaryKey(session.getPlaythrough().getId(), day), key -> emptySummary(session, key));
+            addSession(summary, session);
+        }
+        summaryRepository.saveAll(summaries.values());
+
+        List<Long> sessionIds = sessions.stream().map(SessionHistory::getId).toList();
+        moodEntryRepository.unlinkSessions(sessionIds);
+        sessionHistoryRepository.deleteAllByIdInBatch(sessionIds);
+        return sessions.size();
+    }
+
+    private static SessionDailySummary emptySummary(SessionHistory session, SummaryKey key) {
+        return SessionDailySummary.builder()
+            .userId(session.getUserId())
+            .playthroughId(key.playthroughId())
+            .summaryDate(key.day())
+            .sessionCount(0)
+            .durationSeconds(0L)
+            .longestSessionSeconds(0L)
+            .pauseCount(0)
+            .firstStartedAt(session.getStartedAt())
+            .lastEndedAt(session.getEndedAt())
+            .hourlySeconds(new long[SessionDailySummary.HOURS_PER_DAY])
+            .build();
+    }
+
+    private static void addSession(SessionDailySummary summary, SessionHistory session) {
+        summary.setSessionCount(summary.getSessionCount() + 1);
+        summary.setDurationSeconds(summary.getDurationSeconds() + session.getDurationSeconds());
+        summary.setLongestSessionSeconds(Math.max(summary.getLongestSessionSeconds(), session.getDurationSeconds()));
+        summary.setPauseCount(summary.getPauseCount() + session.getPauseCount());
+        if (session.getStartedAt().isBefore(summary.getFirstStartedAt())) {
+            summary.setFirstStartedAt(session.getStartedAt());
+        }
+        if (session.getEndedAt().isAfter(summary.getLastEndedAt())) {
+            summary.setLastEndedAt(session.getEndedAt());
+        }
+        long[] hourly = summary.getHourlySeconds().clone();
+        UserStatisticsService.addHourlySeconds(hourly, session.getStartedAt(), session.getEndedAt(), session.getDurationSeconds());
+        summary.setHourlySeconds(hourly);
+    }
+
+    private record SummaryKey(Long playthroughId, LocalDate day) {
+    }
+}
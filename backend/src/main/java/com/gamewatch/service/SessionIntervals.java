@@ -0,0 +1,96 @@
+package com.gamewatch.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Disjoint play intervals of one user, sorted by start. Answers "does [start, end) overlap
+ * anything already played" in O(log n), so bulk ingestion can check every incoming session
+ * against everything before it without rescanning.
+ */
+public class SessionIntervals {
+
+    private final TreeMap<Instant, Instant> endsByStart = new TreeMap<>();
+
+    /**
+     * Builds the index from (started_at, ended_at) rows as returned by
+     * {@link com.gamewatch.repository.SessionHistoryRepository#findIntervalsByUserId}.
+     * Rows that already overlap each other are merged, keeping the intervals disjoint; empty rows
+     * cover no time and are skipped.
+     */
+    public static SessionIntervals fromRows(List<Object[]> rows) {
+        SessionIntervals intervals = new SessionIntervals();
+        for (Object[] row : rows) {
+            Instant start = (Instant) row[0];
+            Instant end = (Instant) row[1];
+            if (start.isBefore(end)) {
+                intervals.merge(start, end);
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the interval is empty; only non-empty intervals are
+     *         indexed, which is what lets an entry starting at {@code start} be found below {@code end}
+     */
+    public boolean overlaps(Instant start, Instant end) {
+        requireNonEmpty(start, end);
+        // Intervals are disjoint, so the last one starting before our end reaches furthest
+        Map.Entry<Instant, Instant> previous = endsByStart.lowerEntry(end);
+        return previous != null && previous.getValue().isAfter(start);
+    }
+
+    /**
+     * Adds the interval unless it overlaps an existing one.
+     *
+     * @return false if the interval was rejected
+     * @throws IllegalArgumentException if the interval is empty
+     */
+    public boolean add(Instant start, Instant end) {
+        if (overlaps(start, end)) {
+            return false;
+        }
+        endsByStart.put(start, end);
+        return true;
+    }
+
+    /**
+     * Records an interval that is not up for rejection, merging it with any it overlaps. Empty
+     * intervals cover no time and are ignored.
+     */
+    public void record(Instant start, Instant end) {
+        if (start.isBefore(end)) {
+            merge(start, end);
+        }
+    }
+
+    public int size() {
+        return endsByStart.size();
+    }
+
+    private static void requireNonEmpty(Instant start, Instant end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Interval must end after it starts: " + start + " to " + end);
+        }
+    }
+
+    private void merge(Instant start, Instant end) {
+        Instant mergedStart = start;
+        Instant mergedEnd = end;
+        Map.Entry<Instant, Instant> previous = endsByStart.lowerEntry(end);
+        while (previous != null && previous.getValue().isAfter(mergedStart)) {
+            if (previous.getKey().isBefore(mergedStart)) {
+                mergedStart = previous.getKey();
+            }
+            if (previous.getValue().isAfter(mergedEnd)) {
+                mergedEnd = previous.getValue();
+            }
+            endsByStart.remove(previous.getKey());
+            previous = endsByStart.lowerEntry(mergedEnd);
+        }
+        endsByStart.put(mergedStart, mergedEnd);
+    }
+}
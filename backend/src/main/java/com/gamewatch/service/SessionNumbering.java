@@ -0,0 +1,38 @@
+package com.gamewatch.service;
+
+import com.gamewatch.repository.SessionDailySummaryRepository;
+import com.gamewatch.repository.SessionHistoryRepository;
+
+import java.time.Instant;
+
+/**
+ * Numbers the sessions of a playthrough in start order. Sessions compacted into daily summaries
+ * keep counting: the live sessions after them keep their numbers, so a new session takes the
+ * number after the last live session started by then and later sessions move up by one. Callers
+ * hold the playthrough row lock, since session_history cannot enforce unique numbers itself.
+ */
+final class SessionNumbering {
+
+    private SessionNumbering() {
+    }
+
+    /**
+     * Makes room for a session starting at the given time.
+     *
+     * @return the number the new session takes
+     */
+    static int makeRoom(SessionHistoryRepository sessions, SessionDailySummaryRepository summaries,
+                        Long playthroughId, Instant startedAt) {
+        Integer previous = sessions.findLastSessionNumberStartedBy(playthroughId, startedAt);
+        int sessionNumber;
+        if (previous != null) {
+            sessionNumber = previous + 1;
+        } else {
+            // Nothing live started before it: take the first live number, or follow the archive
+            Integer next = sessions.findFirstSessionNumberStartedAfter(playthroughId, startedAt);
+            sessionNumber = next != null ? next : (int) summaries.countArchivedSessions(playthroughId) + 1;
+        }
+        sessions.shiftSessionNumbers(playthroughId, sessionNumber, 1);
+        return sessionNumber;
+    }
+}
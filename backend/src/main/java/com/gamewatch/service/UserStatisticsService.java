@@ -1,42 +1,73 @@
 package com.gamewatch.service;
 
+import com.gamewatch.config.Workload;
+import com.gamewatch.config.WorkloadType;
 import com.gamewatch.dto.GameRecommendationDto;
 import com.gamewatch.dto.GameSearchResultDto;
 import com.gamewatch.dto.UserStatisticsDto;
 import com.gamewatch.entity.Game;
+import com.gamewatch.entity.MetadataKind;
 import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionDailySummary;
 import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
 import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
 import com.gamewatch.repository.SessionHistoryRepository;
 import com.gamewatch.repository.UserGameRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
+@Observed(name = "gamewatch.service")
 @RequiredArgsConstructor
 @Slf4j
 public class UserStatisticsService {
 
     private final PlaythroughRepository playthroughRepository;
     private final SessionHistoryRepository sessionHistoryRepository;
+    private final SessionDailySummaryRepository summaryRepository;
     private final UserGameRepository userGameRepository;
     private final RawgApiService rawgApiService;
+    private final GameMetadataDictionary metadataDictionary;
+    private final ObservationRegistry observationRegistry;
 
+    @Workload(WorkloadType.ANALYTICS)
     @Transactional(readOnly = true)
     public UserStatisticsDto getUserStatistics(User user, String interval) {
+        FlightRecorderEvents.StatisticsComputation event = new FlightRecorderEvents.StatisticsComputation();
+        event.begin();
+        try {
+            return computeUserStatistics(user, interval, event);
+        } finally {
+            event.userId = user.getId();
+            event.interval = interval;
+            event.commit();
+        }
+    }
+
+    private UserStatisticsDto computeUserStatistics(User user, String interval,
+                                                    FlightRecorderEvents.StatisticsComputation event) {
         Instant cutoffDate = getCutoffDate(user, interval);
         
-        List<Playthrough> allPlaythroughs = playthroughRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        List<Playthrough> allPlaythroughs = stage("load_playthroughs",
+            () -> playthroughRepository.findWithGameByUserIdOrderByCreatedAtDesc(user.getId()));
         
-        int totalGamesInLibrary = userGameRepository.findGamesByUser(user).size();
+        int totalGamesInLibrary = stage("load_library", () -> userGameRepository.findGamesByUser(user).size());
         
         List<Playthrough> playthroughs = filterPlaythroughsByInterval(allPlaythroughs, cutoffDate);
         
@@ -48,35 +79,54 @@ public class UserStatisticsService {
             .map(Playthrough::getId)
             .collect(Collectors.toList());
         
-        List<SessionHistory> allSessions = sessionHistoryRepository
-            .findByPlaythroughIdsOrderByPlaythroughAndSession(playthroughIds);
+        List<SessionHistory> sessions = stage("load_sessions", () -> filterSessionsByInterval(
+            sessionHistoryRepository.findByPlaythroughIdsOrderByPlaythroughAndSession(playthroughIds), cutoffDate));
+        List<SessionDailySummary> summaries = stage("load_summaries", () -> filterSummariesByInterval(
+            summaryRepository.findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(playthroughIds), cutoffDate));
         
-        List<SessionHistory> sessions = filterSessionsByInterval(allSessions, cutoffDate);
+        Set<Long> gameIds = playthroughs.stream()
+            .map(p -> p.getGame().getId())
+            .collect(Collectors.toSet());
+        GameMetadataIndex metadata = stage("load_metadata", () -> metadataDictionary.indexGames(gameIds));
         
-        List<UserStatisticsDto.DailyPlaytime> dailyPlaytimeData = calculateDailyPlaytime(sessions, cutoffDate);
+        int sessionCount = sessions.size() + summaries.stream().mapToInt(SessionDailySummary::getSessionCount).sum();
+        event.playthroughCount = playthroughs.size();
+        event.sessionCount = sessionCount;
         
-        return UserStatisticsDto.builder()
+        UserStatisticsDto.UserStatisticsDtoBuilder statistics = UserStatisticsDto.builder();
+        stage("totals", () -> statistics
             .totalPlaytimeSeconds(calculateTotalPlaytime(playthroughs))
-            .averageSessionPlaytimeSeconds(calculateAverageSessionPlaytime(sessions))
+            .averageSessionPlaytimeSeconds(calculateAverageSessionPlaytime(sessions, summaries))
             .gamesCompleted(countCompletedGames(playthroughs))
             .gamesInProgress(countInProgressGames(playthroughs))
-            .longestSessionSeconds(findLongestSession(sessions))
-            .totalSessionCount(sessions.size())
+            .longestSessionSeconds(findLongestSession(sessions, summaries))
+            .totalSessionCount(sessionCount)
             .totalGamesCount(totalGamesInLibrary)
-            .timeOfDayStats(calculateTimeOfDayStats(sessions))
-            .dailyPlaytime(dailyPlaytimeData)
-            .genreDistribution(calculateGenreDistribution(playthroughs))
+            .libraryCompletionPercentage(calculateLibraryCompletion(allPlaythroughs, totalGamesInLibrary)));
+        stage("time_of_day", () -> statistics.timeOfDayStats(calculateTimeOfDayStats(sessions, summaries)));
+        stage("daily_playtime", () -> statistics.dailyPlaytime(calculateDailyPlaytime(sessions, summaries, cutoffDate)));
+        stage("day_of_week", () -> statistics
+            .dayOfWeekPlaytime(calculateDayOfWeekAveragePlaytime(sessions, summaries))
+            .dayOfWeekTotalPlaytime(calculateDayOfWeekTotalPlaytime(sessions, summaries)));
+        stage("distributions", () -> statistics
+            .genreDistribution(calculateGenreDistribution(playthroughs, metadata))
             .platformDistribution(calculatePlatformDistribution(playthroughs))
+            .favoriteDeveloper(findFavoriteTerm(playthroughs, metadata, MetadataKind.DEVELOPER))
+            .favoritePublisher(findFavoriteTerm(playthroughs, metadata, MetadataKind.PUBLISHER)));
+        stage("rankings", () -> statistics
             .favoriteGame(findFavoriteGame(playthroughs))
             .longestToCompleteGame(findLongestToCompleteGame(playthroughs))
             .fastestToCompleteGame(findFastestToCompleteGame(playthroughs))
-            .topMostPlayedGames(findTopMostPlayedGames(playthroughs, 5))
-            .dayOfWeekPlaytime(calculateDayOfWeekAveragePlaytime(sessions))
-            .dayOfWeekTotalPlaytime(calculateDayOfWeekTotalPlaytime(sessions))
-            .libraryCompletionPercentage(calculateLibraryCompletion(allPlaythroughs, totalGamesInLibrary))
-            .favoriteDeveloper(findFavoriteDeveloper(playthroughs))
-            .favoritePublisher(findFavoritePublisher(playthroughs))
-            .build();
+            .topMostPlayedGames(findTopMostPlayedGames(playthroughs, 5)));
+        return statistics.build();
+    }
+
+    // Child span of the service call, so a slow trace shows whether SQL or which aggregation took the time
+    private <T> T stage(String name, Supplier<T> work) {
+        return Observation.createNotStarted("gamewatch.statistics.stage", observationRegistry)
+            .contextualName("statistics " + name)
+            .lowCardinalityKeyValue("stage", name)
+            .observe(work);
     }
 
     private Instant getCutoffDate(User user, String interval) {
@@ -131,21 +181,31 @@ public class UserStatisticsService {
             .collect(Collectors.toList());
     }
 
+    private List<SessionDailySummary> filterSummariesByInterval(List<SessionDailySummary> summaries, Instant cutoffDate) {
+        if (cutoffDate.equals(Instant.EPOCH)) {
+            return summaries;
+        }
+        
+        return summaries.stream()
+            .filter(s -> s.getFirstStartedAt().isAfter(cutoffDate))
+            .collect(Collectors.toList());
+    }
+
     private Long calculateTotalPlaytime(List<Playthrough> playthroughs) {
         return playthroughs.stream()
             .mapToLong(p -> p.getDurationSeconds() != null ? p.getDurationSeconds() : 0L)
             .sum();
     }
 
-    private Double calculateAverageSessionPlaytime(List<SessionHistory> sessions) {
-        if (sessions.isEmpty()) {
+    private Double calculateAverageSessionPlaytime(List<SessionHistory> sessions, List<SessionDailySummary> summaries) {
+        long count = sessions.size() + summaries.stream().mapToLong(SessionDailySummary::getSessionCount).sum();
+        if (count == 0) {
             return 0.0;
         }
         
-        return sessions.stream()
-            .mapToLong(SessionHistory::getDurationSeconds)
-            .average()
-            .orElse(0.0);
+        long total = sessions.stream().mapToLong(SessionHistory::getDurationSeconds).sum()
+            + summaries.stream().mapToLong(SessionDailySummary::getDurationSeconds).sum();
+        return (double) total / count;
     }
 
     private Integer countCompletedGames(List<Playthrough> playthroughs) {
@@ -164,9 +224,10 @@ public class UserStatisticsService {
             .count();
     }
 
-    private Long findLongestSession(List<SessionHistory> sessions) {
-        return sessions.stream()
-            .mapToLong(SessionHistory::getDurationSeconds)
+    private Long findLongestSession(List<SessionHistory> sessions, List<SessionDailySummary> summaries) {
+        return LongStream.concat(
+                sessions.stream().mapToLong(SessionHistory::getDurationSeconds),
+                summaries.stream().mapToLong(SessionDailySummary::getLongestSessionSeconds))
             .max()
             .orElse(0L);
     }
@@ -178,7 +239,18 @@ public class UserStatisticsService {
             .count();
     }
 
-    private UserStatisticsDto.TimeOfDayStats calculateTimeOfDayStats(List<SessionHistory> sessions) {
+    private UserStatisticsDto.TimeOfDayStats calculateTimeOfDayStats(List<SessionHistory> sessions,
+                                                                   List<SessionDailySummary> summaries) {
+        long[] hourly = new long[SessionDailySummary.HOURS_PER_DAY];
+        for (SessionHistory session : sessions) {
+            addHourlySeconds(hourly, session.getStartedAt(), session.getEndedAt(), session.getDurationSeconds());
+        }
+        for (SessionDailySummary summary : summaries) {
+            for (int hour = 0; hour < hourly.length; hour++) {
+                hourly[hour] += summary.getHourlySeconds()[hour];
+            }
+        }
+
         Map<String, Long> timeOfDayMap = new HashMap<>();
         timeOfDayMap.put("dawn", 0L);
         timeOfDayMap.put("morning", 0L);
@@ -188,41 +260,9 @@ public class UserStatisticsService {
         timeOfDayMap.put("night", 0L);
         
         Map<Integer, Long> hourlyDistribution = new HashMap<>();
-        for (int i = 0; i < 24; i++) {
-            hourlyDistribution.put(i, 0L);
-        }
-        
-        for (SessionHistory session : sessions) {
-            Instant start = session.getStartedAt();
-            Instant end = session.getEndedAt();
-            long totalSeconds = session.getDurationSeconds();
-            
-            LocalDateTime startTime = LocalDateTime.ofInstant(start, ZoneId.systemDefault());
-            LocalDateTime endTime = LocalDateTime.ofInstant(end, ZoneId.systemDefault());
-            
-            if (startTime.getHour() == endTime.getHour() && 
-                startTime.getDayOfYear() == endTime.getDayOfYear() &&
-                startTime.getYear() == endTime.getYear()) {
-                int hour = startTime.getHour();
-                hourlyDistribution.merge(hour, totalSeconds, Long::sum);
-                addToTimeOfDay(timeOfDayMap, hour, totalSeconds);
-            } else {
-                LocalDateTime current = startTime;
-                while (current.isBefore(endTime)) {
-                    LocalDateTime nextHour = current.plusHours(1).withMinute(0).withSecond(0).withNano(0);
-                    if (nextHour.isAfter(endTime)) {
-                        nextHour = endTime;
-                    }
-                    
-                    long secondsInThisHour = ChronoUnit.SECONDS.between(current, nextHour);
-                    int hour = current.getHour();
-                    
-                    hourlyDistribution.merge(hour, secondsInThisHour, Long::sum);
-                    addToTimeOfDay(timeOfDayMap, hour, secondsInThisHour);
-                    
-                    current = nextHour;
-                }
-            }
+        for (int hour = 0; hour < hourly.length; hour++) {
+            hourlyDistribution.put(hour, hourly[hour]);
+            addToTimeOfDay(timeOfDayMap, hour, hourly[hour]);
         }
         
         return UserStatisticsDto.TimeOfDayStats.builder()
@@ -236,6 +276,33 @@ public class UserStatisticsService {
             .build();
     }
 
+    /**
+     * Adds a session to per-hour-of-day buckets. A session within a single clock hour counts its
+     * played time; longer ones are spread over the hours they span. Also used to build the hourly
+     * buckets of archived daily summaries, so both read the same.
+     */
+    static void addHourlySeconds(long[] hourly, Instant start, Instant end, long durationSeconds) {
+        LocalDateTime startTime = LocalDateTime.ofInstant(start, ZoneId.systemDefault());
+        LocalDateTime endTime = LocalDateTime.ofInstant(end, ZoneId.systemDefault());
+        
+        if (startTime.getHour() == endTime.getHour() && 
+            startTime.getDayOfYear() == endTime.getDayOfYear() &&
+            startTime.getYear() == endTime.getYear()) {
+            hourly[startTime.getHour()] += durationSeconds;
+            return;
+        }
+
+        LocalDateTime current = startTime;
+        while (current.isBefore(endTime)) {
+            LocalDateTime nextHour = current.plusHours(1).withMinute(0).withSecond(0).withNano(0);
+            if (nextHour.isAfter(endTime)) {
+                nextHour = endTime;
+            }
+            hourly[current.getHour()] += ChronoUnit.SECONDS.between(current, nextHour);
+            current = nextHour;
+        }
+    }
+
     private void addToTimeOfDay(Map<String, Long> map, int hour, long seconds) {
         if (hour >= 4 && hour < 7) {
             map.merge("dawn", seconds, Long::sum);
@@ -252,17 +319,21 @@ public class UserStatisticsService {
         }
     }
 
-    private List<UserStatisticsDto.DailyPlaytime> calculateDailyPlaytime(List<SessionHistory> sessions, Instant cutoffDate) {
+    private List<UserStatisticsDto.DailyPlaytime> calculateDailyPlaytime(List<SessionHistory> sessions,
+                                                                        List<SessionDailySummary> summaries,
+                                                                        Instant cutoffDate) {
         Map<LocalDate, Long> dailyMap = new HashMap<>();
         
         for (SessionHistory session : sessions) {
             LocalDate date = LocalDateTime.ofInstant(session.getStartedAt(), ZoneId.systemDefault()).toLocalDate();
             dailyMap.merge(date, session.getDurationSeconds(), Long::sum);
         }
+        for (SessionDailySummary summary : summaries) {
+            dailyMap.merge(summary.getSummaryDate(), summary.getDurationSeconds(), Long::sum);
+        }
         
         LocalDate startDate = cutoffDate.equals(Instant.EPOCH) 
-            ? sessions.stream()
-                .map(s -> LocalDateTime.ofInstant(s.getStartedAt(), ZoneId.systemDefault()).toLocalDate())
+            ? dailyMap.keySet().stream()
                 .min(LocalDate::compareTo)
                 .orElse(LocalDate.now())
             : LocalDateTime.ofInstant(cutoffDate, ZoneId.systemDefault()).toLocalDate();
@@ -282,21 +353,23 @@ public class UserStatisticsService {
         return result;
     }
 
-    private Map<String, Long> calculateGenreDistribution(List<Playthrough> playthroughs) {
-        Map<String, Long> genreMap = new HashMap<>();
+    private Map<String, Long> calculateGenreDistribution(List<Playthrough> playthroughs, GameMetadataIndex metadata) {
+        long[] playtimeByGenre = new long[metadata.maxTermId(MetadataKind.GENRE) + 1];
+        BitSet seenGenres = new BitSet(playtimeByGenre.length);
         
         for (Playthrough playthrough : playthroughs) {
-            Game game = playthrough.getGame();
-            if (game.getGenres() != null && !game.getGenres().isEmpty()) {
-                String[] genres = game.getGenres().split(",");
-                long playtime = playthrough.getDurationSeconds() != null ? playthrough.getDurationSeconds() : 0L;
-                
-                for (String genre : genres) {
-                    String cleanGenre = genre.trim();
-                    if (!cleanGenre.isEmpty()) {
-                        genreMap.merge(cleanGenre, playtime, Long::sum);
-                    }
-                }
+            long playtime = playthrough.getDurationSeconds() != null ? playthrough.getDurationSeconds() : 0L;
+            for (int genreId : metadata.termIds(MetadataKind.GENRE, playthrough.getGame().getId())) {
+                playtimeByGenre[genreId] += playtime;
+                seenGenres.set(genreId);
+            }
+        }
+        
+        Map<String, Long> genreMap = new HashMap<>();
+        for (int genreId = seenGenres.nextSetBit(0); genreId >= 0; genreId = seenGenres.nextSetBit(genreId + 1)) {
+            String name = metadataDictionary.nameOf(MetadataKind.GENRE, genreId);
+            if (name != null) {
+                genreMap.put(name, playtimeByGenre[genreId]);
             }
         }
         
@@ -403,8 +476,9 @@ public class UserStatisticsService {
             .build();
     }
 
-    private Map<String, Double> calculateDayOfWeekAveragePlaytime(List<SessionHistory> sessions) {
-        Map<String, Long> totalPlaytimeByDay = calculateDayOfWeekTotalPlaytime(sessions);
+    private Map<String, Double> calculateDayOfWeekAveragePlaytime(List<SessionHistory> sessions,
+                                                                  List<SessionDailySummary> summaries) {
+        Map<String, Long> totalPlaytimeByDay = calculateDayOfWeekTotalPlaytime(sessions, summaries);
         Map<String, Integer> countByDay = new HashMap<>();
         
         for (SessionHistory session : sessions) {
@@ -412,6 +486,9 @@ public class UserStatisticsService {
                 .getDayOfWeek().toString();
             countByDay.merge(dayName, 1, Integer::sum);
         }
+        for (SessionDailySummary summary : summaries) {
+            countByDay.merge(summary.getSummaryDate().getDayOfWeek().toString(), summary.getSessionCount(), Integer::sum);
+        }
         
         Map<String, Double> averagePlaytime = new HashMap<>();
         for (Map.Entry<String, Long> entry : totalPlaytimeByDay.entrySet()) {
@@ -423,7 +500,8 @@ public class UserStatisticsService {
         return averagePlaytime;
     }
     
-    private Map<String, Long> calculateDayOfWeekTotalPlaytime(List<SessionHistory> sessions) {
+    private Map<String, Long> calculateDayOfWeekTotalPlaytime(List<SessionHistory> sessions,
+                                                              List<SessionDailySummary> summaries) {
         Map<String, Long> playtimeByDay = new HashMap<>();
         
         for (DayOfWeek day : DayOfWeek.values()) {
@@ -435,6 +513,9 @@ public class UserStatisticsService {
                 .getDayOfWeek();
             playtimeByDay.merge(dayOfWeek.toString(), session.getDurationSeconds(), Long::sum);
         }
+        for (SessionDailySummary summary : summaries) {
+            playtimeByDay.merge(summary.getSummaryDate().getDayOfWeek().toString(), summary.getDurationSeconds(), Long::sum);
+        }
         
         return playtimeByDay;
     }
@@ -453,61 +534,24 @@ public class UserStatisticsService {
         return (double) completedGames / totalGamesInLibrary * 100.0;
     }
     
-    private String findFavoriteDeveloper(List<Playthrough> playthroughs) {
-        Map<String, DeveloperPublisherStats> developerStats = new HashMap<>();
-        
-        for (Playthrough playthrough : playthroughs) {
-            Game game = playthrough.getGame();
-            if (game.getDevelopers() != null && !game.getDevelopers().isEmpty()) {
-                String[] developers = game.getDevelopers().split(",");
-                
-                for (String developer : developers) {
-                    String cleanDeveloper = developer.trim();
-                    if (!cleanDeveloper.isEmpty()) {
-                        DeveloperPublisherStats stats = developerStats.computeIfAbsent(
-                            cleanDeveloper, 
-                            k -> new DeveloperPublisherStats()
-                        );
-                        stats.gameIds.add(game.getId());
-                        stats.totalPlaytime += playthrough.getDurationSeconds() != null ? playthrough.getDurationSeconds() : 0L;
-                    }
-                }
-            }
-        }
-        
-        return developerStats.entrySet().stream()
-            .max(Comparator.comparing((Map.Entry<String, DeveloperPublisherStats> entry) -> entry.getValue().gameIds.size())
-                .thenComparing(entry -> entry.getValue().totalPlaytime))
-            .map(Map.Entry::getKey)
-            .orElse(null);
-    }
-    
-    private String findFavoritePublisher(List<Playthrough> playthroughs) {
-        Map<String, DeveloperPublisherStats> publisherStats = new HashMap<>();
+    private String findFavoriteTerm(List<Playthrough> playthroughs, GameMetadataIndex metadata, MetadataKind kind) {
+        Map<Integer, DeveloperPublisherStats> termStats = new HashMap<>();
         
         for (Playthrough playthrough : playthroughs) {
-            Game game = playthrough.getGame();
-            if (game.getPublishers() != null && !game.getPublishers().isEmpty()) {
-                String[] publishers = game.getPublishers().split(",");
-                
-                for (String publisher : publishers) {
-                    String cleanPublisher = publisher.trim();
-                    if (!cleanPublisher.isEmpty()) {
-                        DeveloperPublisherStats stats = publisherStats.computeIfAbsent(
-                            cleanPublisher, 
-                            k -> new DeveloperPublisherStats()
-                        );
-                        stats.gameIds.add(game.getId());
-                        stats.totalPlaytime += playthrough.getDurationSeconds() != null ? playthrough.getDurationSeconds() : 0L;
-                    }
-                }
+            Long gameId = playthrough.getGame().getId();
+            long playtime = playthrough.getDurationSeconds() != null ? playthrough.getDurationSeconds() : 0L;
+            
+            for (int termId : metadata.termIds(kind, gameId)) {
+                DeveloperPublisherStats stats = termStats.computeIfAbsent(termId, k -> new DeveloperPublisherStats());
+                stats.gameIds.add(gameId);
+                stats.totalPlaytime += playtime;
             }
         }
         
-        return publisherStats.entrySet().stream()
-            .max(Comparator.comparing((Map.Entry<String, DeveloperPublisherStats> entry) -> entry.getValue().gameIds.size())
+        return termStats.entrySet().stream()
+            .max(Comparator.comparing((Map.Entry<Integer, DeveloperPublisherStats> entry) -> entry.getValue().gameIds.size())
                 .thenComparing(entry -> entry.getValue().totalPlaytime))
-            .map(Map.Entry::getKey)
+            .map(entry -> metadataDictionary.nameOf(kind, entry.getKey()))
             .orElse(null);
     }
 
@@ -578,12 +622,17 @@ public class UserStatisticsService {
         private long totalPlaytime = 0L;
     }
 
+    /**
+     * Loads the user's playthroughs before returning, so the read-only transaction has committed
+     * by the time RAWG is called; the RAWG calls start on subscription and are cancelled with it.
+     */
+    @Workload(WorkloadType.ANALYTICS)
     @Transactional(readOnly = true)
-    public List<GameRecommendationDto> getGameRecommendations(User user, int limit) {
-        List<Playthrough> playthroughs = playthroughRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+    public Mono<List<GameRecommendationDto>> getGameRecommendations(User user, int limit) {
+        List<Playthrough> playthroughs = playthroughRepository.findWithGameByUserIdOrderByCreatedAtDesc(user.getId());
         
         if (playthroughs.isEmpty()) {
-            return new ArrayList<>();
+            return Mono.just(new ArrayList<>());
         }
 
         Map<Long, GamePlaytimeAggregation> gamePlaytimeMap = aggregatePlaytimeByGame(playthroughs);
@@ -594,11 +643,10 @@ public class UserStatisticsService {
             .collect(Collectors.toList());
         
         if (top5MostPlayedGames.isEmpty()) {
-            return new ArrayList<>();
+            return Mono.just(new ArrayList<>());
         }
         
         log.info("Generating recommendations based on top 5 most played games");
-        long startTime = System.currentTimeMillis();
         
         List<Integer> externalIds = top5MostPlayedGames.stream()
                 .map(Game::getExternalId)
@@ -607,82 +655,9 @@ public class UserStatisticsService {
         
         if (externalIds.isEmpty()) {
             log.warn("No external RAWG IDs found for top games");
-            return new ArrayList<>();
-        }
-        
-        log.info("Fetching RAWG details for {} games in parallel", externalIds.size());
-        List<com.fasterxml.jackson.databind.JsonNode> topGamesRawgData = 
-                rawgApiService.getMultipleGameDetailsRaw(externalIds);
-        
-        if (topGamesRawgData.isEmpty()) {
-            log.warn("No RAWG data found for top games");
-            return new ArrayList<>();
+            return Mono.just(new ArrayList<>());
         }
         
-        log.info("Fetched {} game details in {}ms", topGamesRawgData.size(), 
-                System.currentTimeMillis() - startTime);
-        
-        Map<Integer, Integer> genreIdWeights = new HashMap<>();
-        Map<Integer, Integer> tagIdWeights = new HashMap<>();
-        Map<Integer, Integer> developerIdWeights = new HashMap<>();
-        Map<Integer, Integer> publisherIdWeights = new HashMap<>();
-        Map<String, Integer> developerNameWeights = new HashMap<>();
-        Map<String, Integer> publisherNameWeights = new HashMap<>();
-        Map<String, Integer> platformWeights = new HashMap<>();
-        
-        for (com.fasterxml.jackson.databind.JsonNode gameData : topGamesRawgData) {
-            String gameName = gameData.has("name") ? gameData.get("name").asText() : "Unknown";
-            log.info("Extracting features from: {}", gameName);
-            
-            List<Integer> genreIds = rawgApiService.extractGenreIdsFromDetails(gameData);
-            for (Integer genreId : genreIds) {
-                genreIdWeights.put(genreId, genreIdWeights.getOrDefault(genreId, 0) + 1);
-            }
-            
-            List<Integer> tagIds = rawgApiService.extractTagIdsFromDetails(gameData, 15);
-            for (Integer tagId : tagIds) {
-                tagIdWeights.put(tagId, tagIdWeights.getOrDefault(tagId, 0) + 1);
-            }
-            
-            List<Integer> devIds = rawgApiService.extractDeveloperIdsFromDetails(gameData);
-            for (Integer devId : devIds) {
-                developerIdWeights.put(devId, developerIdWeights.getOrDefault(devId, 0) + 1);
-            }
-            
-            if (gameData.has("developers")) {
-                for (com.fasterxml.jackson.databind.JsonNode dev : gameData.get("developers")) {
-                    String devName = dev.get("name").asText();
-                    developerNameWeights.put(devName, developerNameWeights.getOrDefault(devName, 0) + 1);
-                }
-            }
-            
-            List<Integer> pubIds = rawgApiService.extractPublisherIdsFromDetails(gameData);
-            for (Integer pubId : pubIds) {
-                publisherIdWeights.put(pubId, publisherIdWeights.getOrDefault(pubId, 0) + 1);
-            }
-            
-            if (gameData.has("publishers")) {
-                for (com.fasterxml.jackson.databind.JsonNode pub : gameData.get("publishers")) {
-                    String pubName = pub.get("name").asText();
-                    publisherNameWeights.put(pubName, publisherNameWeights.getOrDefault(pubName, 0) + 1);
-                }
-            }
-            
-            if (gameData.has("platforms")) {
-                for (com.fasterxml.jackson.databind.JsonNode platformNode : gameData.get("platforms")) {
-                    if (platformNode.has("platform") && platformNode.get("platform").has("name")) {
-                        String platform = platformNode.get("platform").get("name").asText();
-                        platformWeights.put(platform, platformWeights.getOrDefault(platform, 0) + 1);
-                    }
-                }
-            }
-        }
-        
-        log.info("Feature weights - Developers: {} (IDs: {}), Publishers: {} (IDs: {}), Genres: {}, Tags: {}", 
-            developerNameWeights.size(), developerIdWeights.size(),
-            publisherNameWeights.size(), publisherIdWeights.size(),
-            genreIdWeights.size(), tagIdWeights.size());
-        
         Set<Integer> excludedExternalIds = playthroughs.stream()
             .filter(p -> Boolean.TRUE.equals(p.getIsCompleted()) || 
                         (p.getDurationSeconds() != null && p.getDurationSeconds() > 0))
@@ -692,99 +667,136 @@ public class UserStatisticsService {
         
         log.info("Excluding {} games that are completed or started", excludedExternalIds.size());
 
-        Map<Integer, GameSearchResultDto> candidateGamesMap = new HashMap<>();
+        return Mono.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            log.info("Fetching RAWG details for {} games in parallel", externalIds.size());
+            return rawgApiService.getMultipleGameFeatures(externalIds)
+                .flatMap(topGamesRawgData -> {
+                    if (topGamesRawgData.isEmpty()) {
+                        log.warn("No RAWG data found for top games");
+                        return Mono.just(new ArrayList<GameRecommendationDto>());
+                    }
+                    
+                    log.info("Fetched {} game details in {}ms", topGamesRawgData.size(), 
+                            System.currentTimeMillis() - startTime);
+                    
+                    RecommendationFeatures features = extractFeatures(topGamesRawgData);
+                    return findCandidateGames(features, excludedExternalIds, limit)
+                        .map(candidateGamesMap -> scoreCandidates(features, candidateGamesMap, limit))
+                        .doOnNext(recommendations -> log.info("Generated {} recommendations in {}ms",
+                            recommendations.size(), System.currentTimeMillis() - startTime));
+                });
+        });
+    }
+    
+    private RecommendationFeatures extractFeatures(List<RawgGameFeatures> topGamesRawgData) {
+        RecommendationFeatures features = new RecommendationFeatures();
         
-        try {
-            long candidateStartTime = System.currentTimeMillis();
+        for (RawgGameFeatures gameData : topGamesRawgData) {
+            String gameName = gameData.name() != null ? gameData.name() : "Unknown";
+            log.info("Extracting features from: {}", gameName);
             
-            List<Integer> topDeveloperIds = getTopN(developerIdWeights, 3);
-            log.info("Searching for games by top developer IDs: {}", topDeveloperIds);
+            for (RawgGameFeatures.Term genre : gameData.genres()) {
+                features.genreIdWeights.merge(genre.id(), 1, Integer::sum);
+            }
             
-            for (Integer developerId : topDeveloperIds) {
-                List<GameSearchResultDto> devGames = rawgApiService.searchGamesByDeveloperId(developerId, 20);
-                log.info("Found {} games from developer ID {}", devGames.size(), developerId);
-                for (GameSearchResultDto game : devGames) {
-                    if (!excludedExternalIds.contains(game.getId())) {
-                        candidateGamesMap.putIfAbsent(game.getId(), game);
-                    }
-                }
+            for (RawgGameFeatures.Term tag : gameData.tags().subList(0, Math.min(15, gameData.tags().size()))) {
+                features.tagIdWeights.merge(tag.id(), 1, Integer::sum);
             }
             
-            List<Integer> topPublisherIds = getTopN(publisherIdWeights, 3);
-            log.info("Searching for games by top publisher IDs: {}", topPublisherIds);
+            for (RawgGameFeatures.Term developer : gameData.developers()) {
+                features.developerIdWeights.merge(developer.id(), 1, Integer::sum);
+            }
             
-            for (Integer publisherId : topPublisherIds) {
-                List<GameSearchResultDto> pubGames = rawgApiService.searchGamesByPublisherId(publisherId, 20);
-                log.info("Found {} games from publisher ID {}", pubGames.size(), publisherId);
-                for (GameSearchResultDto game : pubGames) {
-                    if (!excludedExternalIds.contains(game.getId())) {
-                        candidateGamesMap.putIfAbsent(game.getId(), game);
-                    }
-                }
+            for (RawgGameFeatures.Term publisher : gameData.publishers()) {
+                features.publisherIdWeights.merge(publisher.id(), 1, Integer::sum);
             }
             
-            log.info("Found {} dev/publisher games. Target: {} for strong recommendations.",
-                    candidateGamesMap.size(), limit * 3);
+            for (Integer platformId : gameData.platformIds()) {
+                features.platformIdWeights.merge(platformId, 1, Integer::sum);
+            }
             
-            if (candidateGamesMap.size() < limit * 2) {
+            collectTermNames(gameData.genres(), features.genreNames);
+            collectTermNames(gameData.tags(), features.tagNames);
+            collectTermNames(gameData.developers(), features.developerNames);
+            collectTermNames(gameData.publishers(), features.publisherNames);
+        }
+        
+        log.info("Feature weights - Developers: {}, Publishers: {}, Genres: {}, Tags: {}, Platforms: {}", 
+            features.developerIdWeights.size(), features.publisherIdWeights.size(),
+            features.genreIdWeights.size(), features.tagIdWeights.size(), features.platformIdWeights.size());
+        return features;
+    }
+    
+    /**
+     * Searches the top developers and publishers concurrently, then the top genres and tags if
+     * that found too few candidates. Completes with no candidates when RAWG fails.
+     */
+    private Mono<Map<Integer, GameSearchResultDto>> findCandidateGames(RecommendationFeatures features,
+                                                                      Set<Integer> excludedExternalIds, int limit) {
+        long candidateStartTime = System.currentTimeMillis();
+        
+        List<Integer> topDeveloperIds = getTopN(features.developerIdWeights, 3);
+        log.info("Searching for games by top developer IDs: {}", topDeveloperIds);
+        List<Integer> topPublisherIds = getTopN(features.publisherIdWeights, 3);
+        log.info("Searching for games by top publisher IDs: {}", topPublisherIds);
+        
+        Flux<Mono<List<GameSearchResultDto>>> searches = Flux.concat(
+            Flux.fromIterable(topDeveloperIds).map(developerId -> rawgApiService.searchGamesByDeveloperId(developerId, 20)
+                .doOnNext(devGames -> log.info("Found {} games from developer ID {}", devGames.size(), developerId))),
+            Flux.fromIterable(topPublisherIds).map(publisherId -> rawgApiService.searchGamesByPublisherId(publisherId, 20)
+                .doOnNext(pubGames -> log.info("Found {} games from publisher ID {}", pubGames.size(), publisherId))));
+        
+        // Subscribed to concurrently, but added in order so developer matches win as before
+        return searches.flatMapSequential(search -> search)
+            .<Map<Integer, GameSearchResultDto>>collect(HashMap::new,
+                (candidateGamesMap, games) -> addCandidates(candidateGamesMap, games, excludedExternalIds))
+            .flatMap(candidateGamesMap -> {
+                log.info("Found {} dev/publisher games. Target: {} for strong recommendations.",
+                        candidateGamesMap.size(), limit * 3);
+                
+                if (candidateGamesMap.size() >= limit * 2) {
+                    return Mono.just(candidateGamesMap);
+                }
+                
                 log.info("Only {} dev/pub matches, supplementing with genre/tag matches", candidateGamesMap.size());
                 
-                List<Integer> topGenreIds = getTopN(genreIdWeights, 2);
-                List<Integer> topTagIds = getTopN(tagIdWeights, 2);
+                List<Integer> topGenreIds = getTopN(features.genreIdWeights, 2);
+                List<Integer> topTagIds = getTopN(features.tagIdWeights, 2);
                 
-                List<GameSearchResultDto> genreGames = topGenreIds.isEmpty() ? 
-                        new ArrayList<>() : 
+                Mono<List<GameSearchResultDto>> genreGames = topGenreIds.isEmpty() ? 
+                        Mono.just(new ArrayList<>()) : 
                         rawgApiService.searchGamesByMultipleGenres(topGenreIds, 10);
                 
-                List<GameSearchResultDto> tagGames = topTagIds.isEmpty() ? 
-                        new ArrayList<>() : 
+                Mono<List<GameSearchResultDto>> tagGames = topTagIds.isEmpty() ? 
+                        Mono.just(new ArrayList<>()) : 
                         rawgApiService.searchGamesByMultipleTags(topTagIds, 10);
                 
-                for (GameSearchResultDto game : genreGames) {
-                    if (!excludedExternalIds.contains(game.getId())) {
-                        candidateGamesMap.putIfAbsent(game.getId(), game);
-                    }
-                }
-                
-                for (GameSearchResultDto game : tagGames) {
-                    if (!excludedExternalIds.contains(game.getId())) {
-                        candidateGamesMap.putIfAbsent(game.getId(), game);
-                    }
-                }
-            }
-            
-            log.info("Found {} total candidate games in {}ms", candidateGamesMap.size(),
-                    System.currentTimeMillis() - candidateStartTime);
-            
-        } catch (Exception e) {
-            log.error("Failed to fetch candidate games from RAWG API", e);
-            return new ArrayList<>();
-        }
-        
-        Map<String, Integer> genreNameWeights = new HashMap<>();
-        Map<String, Integer> tagNameWeights = new HashMap<>();
-        
-        for (com.fasterxml.jackson.databind.JsonNode gameData : topGamesRawgData) {
-            if (gameData.has("genres")) {
-                for (com.fasterxml.jackson.databind.JsonNode genre : gameData.get("genres")) {
-                    Integer id = genre.get("id").asInt();
-                    String name = genre.get("name").asText();
-                    if (genreIdWeights.containsKey(id)) {
-                        genreNameWeights.put(name, genreIdWeights.get(id));
-                    }
-                }
-            }
-            if (gameData.has("tags")) {
-                for (com.fasterxml.jackson.databind.JsonNode tag : gameData.get("tags")) {
-                    Integer id = tag.get("id").asInt();
-                    String name = tag.get("name").asText();
-                    if (tagIdWeights.containsKey(id)) {
-                        tagNameWeights.put(name, tagIdWeights.get(id));
-                    }
-                }
+                return Mono.zip(genreGames, tagGames).map(games -> {
+                    addCandidates(candidateGamesMap, games.getT1(), excludedExternalIds);
+                    addCandidates(candidateGamesMap, games.getT2(), excludedExternalIds);
+                    return candidateGamesMap;
+                });
+            })
+            .doOnNext(candidateGamesMap -> log.info("Found {} total candidate games in {}ms", candidateGamesMap.size(),
+                    System.currentTimeMillis() - candidateStartTime))
+            .onErrorResume(e -> {
+                log.error("Failed to fetch candidate games from RAWG API", e);
+                return Mono.just(new HashMap<>());
+            });
+    }
+    
+    private static void addCandidates(Map<Integer, GameSearchResultDto> candidateGamesMap,
+                                      List<GameSearchResultDto> games, Set<Integer> excludedExternalIds) {
+        for (GameSearchResultDto game : games) {
+            if (!excludedExternalIds.contains(game.getId())) {
+                candidateGamesMap.putIfAbsent(game.getId(), game);
             }
         }
-        
+    }
+    
+    private List<GameRecommendationDto> scoreCandidates(RecommendationFeatures features,
+                                                        Map<Integer, GameSearchResultDto> candidateGamesMap, int limit) {
         List<ScoredGame> scoredGames = new ArrayList<>();
         
         for (GameSearchResultDto candidate : candidateGamesMap.values()) {
@@ -792,60 +804,17 @@ public class UserStatisticsService {
                 continue;
             }
             
-            double score = 0.0;
             List<String> matchingGenres = new ArrayList<>();
             List<String> matchingTags = new ArrayList<>();
             List<String> matchingDevelopers = new ArrayList<>();
             List<String> matchingPublishers = new ArrayList<>();
             
-            if (candidate.getDevelopers() != null) {
-                for (String developer : candidate.getDevelopers().split(",")) {
-                    String cleanDev = developer.trim();
-                    if (developerNameWeights.containsKey(cleanDev)) {
-                        score += developerNameWeights.get(cleanDev) * 50.0;
-                        matchingDevelopers.add(cleanDev);
-                    }
-                }
-            }
-            
-            if (candidate.getPublishers() != null) {
-                for (String publisher : candidate.getPublishers().split(",")) {
-                    String cleanPub = publisher.trim();
-                    if (publisherNameWeights.containsKey(cleanPub)) {
-                        score += publisherNameWeights.get(cleanPub) * 30.0;
-                        matchingPublishers.add(cleanPub);
-                    }
-                }
-            }
-            
-            if (candidate.getGenres() != null) {
-                for (String genre : candidate.getGenres().split(",")) {
-                    String cleanGenre = genre.trim();
-                    if (genreNameWeights.containsKey(cleanGenre)) {
-                        score += genreNameWeights.get(cleanGenre) * 3.0;
-                        matchingGenres.add(cleanGenre);
-                    }
-                }
-            }
-            
-            if (candidate.getTags() != null) {
-                for (String tag : candidate.getTags().split(",")) {
-                    String cleanTag = tag.trim();
-                    if (tagNameWeights.containsKey(cleanTag)) {
-                        score += tagNameWeights.get(cleanTag) * 2.0;
-                        matchingTags.add(cleanTag);
-                    }
-                }
-            }
-            
-            if (candidate.getPlatforms() != null) {
-                for (String platform : candidate.getPlatforms().split(",")) {
-                    String cleanPlat = platform.trim();
-                    if (platformWeights.containsKey(cleanPlat)) {
-                        score += platformWeights.get(cleanPlat) * 1.0;
-                    }
-                }
-            }
+            double score = 0.0;
+            score += scoreTermIds(candidate.getDeveloperIds(), features.developerIdWeights, features.developerNames, 50.0, matchingDevelopers);
+            score += scoreTermIds(candidate.getPublisherIds(), features.publisherIdWeights, features.publisherNames, 30.0, matchingPublishers);
+            score += scoreTermIds(candidate.getGenreIds(), features.genreIdWeights, features.genreNames, 3.0, matchingGenres);
+            score += scoreTermIds(candidate.getTagIds(), features.tagIdWeights, features.tagNames, 2.0, matchingTags);
+            score += scoreTermIds(candidate.getPlatformIds(), features.platformIdWeights, null, 1.0, null);
             
             score += candidate.getRating() * 5.0;
             
@@ -857,36 +826,27 @@ public class UserStatisticsService {
             boolean hasFeatureMatch = (!matchingGenres.isEmpty() && !matchingTags.isEmpty());
             
             if (score > 0 && (hasDeveloperMatch || hasFeatureMatch)) {
-                List<String> platforms = new ArrayList<>();
-                if (candidate.getPlatforms() != null && !candidate.getPlatforms().isEmpty()) {
-                    platforms = Arrays.asList(candidate.getPlatforms().split(","))
-                        .stream()
-                        .map(String::trim)
-                        .collect(Collectors.toList());
-                }
-                
                 scoredGames.add(new ScoredGame(
                     candidate,
                     score,
                     matchingGenres,
                     matchingTags,
                     matchingDevelopers,
-                    matchingPublishers,
-                    platforms
+                    matchingPublishers
                 ));
             }
         }
         
         log.info("Scored {} games with feature overlaps", scoredGames.size());
         
-        List<GameRecommendationDto> recommendations = scoredGames.stream()
+        return scoredGames.stream()
             .sorted((a, b) -> Double.compare(b.score, a.score))
             .limit(limit)
             .map(sg -> GameRecommendationDto.builder()
                 .externalId(String.valueOf(sg.game.getId()))
                 .name(sg.game.getName())
                 .bannerImageUrl(sg.game.getBannerImageUrl())
-                .platforms(sg.platforms)
+                .platforms(splitPlatforms(sg.game.getPlatforms()))
                 .similarityScore(sg.score)
                 .matchingGenres(sg.matchingGenres)
                 .matchingTags(sg.matchingTags)
@@ -894,10 +854,42 @@ public class UserStatisticsService {
                 .matchingPublishers(sg.matchingPublishers)
                 .build())
             .collect(Collectors.toList());
+    }
+    
+    private double scoreTermIds(List<Integer> candidateIds, Map<Integer, Integer> weights,
+                                Map<Integer, String> names, double multiplier, List<String> matches) {
+        if (candidateIds == null) {
+            return 0.0;
+        }
         
-        long totalTime = System.currentTimeMillis() - startTime;
-        log.info("Generated {} recommendations in {}ms", recommendations.size(), totalTime);
-        return recommendations;
+        double score = 0.0;
+        for (Integer id : candidateIds) {
+            Integer weight = id != null ? weights.get(id) : null;
+            if (weight != null) {
+                score += weight * multiplier;
+                if (matches != null && names.containsKey(id)) {
+                    matches.add(names.get(id));
+                }
+            }
+        }
+        return score;
+    }
+    
+    private void collectTermNames(List<RawgGameFeatures.Term> terms, Map<Integer, String> names) {
+        for (RawgGameFeatures.Term term : terms) {
+            if (term.name() != null) {
+                names.putIfAbsent(term.id(), term.name());
+            }
+        }
+    }
+    
+    private List<String> splitPlatforms(String platforms) {
+        if (platforms == null || platforms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(platforms.split(","))
+            .map(String::trim)
+            .collect(Collectors.toList());
     }
     
     private <T> List<T> getTopN(Map<T, Integer> weightMap, int n) {
@@ -908,6 +900,18 @@ public class UserStatisticsService {
             .collect(Collectors.toList());
     }
     
+    private static class RecommendationFeatures {
+        final Map<Integer, Integer> genreIdWeights = new HashMap<>();
+        final Map<Integer, Integer> tagIdWeights = new HashMap<>();
+        final Map<Integer, Integer> developerIdWeights = new HashMap<>();
+        final Map<Integer, Integer> publisherIdWeights = new HashMap<>();
+        final Map<Integer, Integer> platformIdWeights = new HashMap<>();
+        final Map<Integer, String> genreNames = new HashMap<>();
+        final Map<Integer, String> tagNames = new HashMap<>();
+        final Map<Integer, String> developerNames = new HashMap<>();
+        final Map<Integer, String> publisherNames = new HashMap<>();
+    }
+    
     private static class ScoredGame {
         final GameSearchResultDto game;
         final double score;
@@ -915,18 +919,16 @@ public class UserStatisticsService {
         final List<String> matchingTags;
         final List<String> matchingDevelopers;
         final List<String> matchingPublishers;
-        final List<String> platforms;
         
         ScoredGame(GameSearchResultDto game, double score, List<String> matchingGenres,
                   List<String> matchingTags, List<String> matchingDevelopers,
-                  List<String> matchingPublishers, List<String> platforms) {
+                  List<String> matchingPublishers) {
             this.game = game;
             this.score = score;
             this.matchingGenres = matchingGenres;
             this.matchingTags = matchingTags;
             this.matchingDevelopers = matchingDevelopers;
             this.matchingPublishers = matchingPublishers;
-            this.platforms = platforms;
         }
     }
 }
@@ -0,0 +1,115 @@
+-- Dictionary tables for game metadata, keyed by a compact integer id.
+-- rawg_id is filled in when the term was created from RAWG data that carried ids.
+CREATE TABLE genres (
+    id SERIAL PRIMARY KEY,
+    rawg_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE platforms (
+    id SERIAL PRIMARY KEY,
+    rawg_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE developers (
+    id SERIAL PRIMARY KEY,
+    rawg_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE publishers (
+    id SERIAL PRIMARY KEY,
+    rawg_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE tags (
+    id SERIAL PRIMARY KEY,
+    rawg_id INTEGER UNIQUE,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- Join tables between games and dictionary terms
+CREATE TABLE game_genres (
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    genre_id INTEGER NOT NULL REFERENCES genres(id) ON DELETE CASCADE,
+    PRIMARY KEY (game_id, genre_id)
+);
+
+CREATE TABLE game_platforms (
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    platform_id INTEGER NOT NULL REFERENCES platforms(id) ON DELETE CASCADE,
+    PRIMARY KEY (game_id, platform_id)
+);
+
+CREATE TABLE game_developers (
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    developer_id INTEGER NOT NULL REFERENCES developers(id) ON DELETE CASCADE,
+    PRIMARY KEY (game_id, developer_id)
+);
+
+CREATE TABLE game_publishers (
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    publisher_id INTEGER NOT NULL REFERENCES publishers(id) ON DELETE CASCADE,
+    PRIMARY KEY (game_id, publisher_id)
+);
+
+CREATE TABLE game_tags (
+    game_id BIGINT NOT NULL REFERENCES games(id) ON DELETE CASCADE,
+    tag_id INTEGER NOT NULL REFERENCES tags(id) ON DELETE CASCADE,
+    PRIMARY KEY (game_id, tag_id)
+);
+
+-- Reverse lookups (games by term) for filtering
+CREATE INDEX idx_game_genres_genre ON game_genres(genre_id);
+CREATE INDEX idx_game_platforms_platform ON game_platforms(platform_id);
+CREATE INDEX idx_game_developers_developer ON game_developers(developer_id);
+CREATE INDEX idx_game_publishers_publisher ON game_publishers(publisher_id);
+CREATE INDEX idx_game_tags_tag ON game_tags(tag_id);
+
+-- Backfill dictionaries and join tables from the existing comma-separated columns
+INSERT INTO genres (name)
+SELECT DISTINCT LEFT(TRIM(term), 255) FROM games CROSS JOIN LATERAL regexp_split_to_table(genres, ',') AS term
+WHERE genres IS NOT NULL AND TRIM(term) <> '';
+
+INSERT INTO game_genres (game_id, genre_id)
+SELECT DISTINCT g.id, d.id FROM games g CROSS JOIN LATERAL regexp_split_to_table(g.genres, ',') AS term
+JOIN genres d ON d.name = LEFT(TRIM(term), 255)
+WHERE g.genres IS NOT NULL;
+
+INSERT INTO platforms (name)
+SELECT DISTINCT LEFT(TRIM(term), 255) FROM games CROSS JOIN LATERAL regexp_split_to_table(platforms, ',') AS term
+WHERE platforms IS NOT NULL AND TRIM(term) <> '';
+
+INSERT INTO game_platforms (game_id, platform_id)
+SELECT DISTINCT g.id, d.id FROM games g CROSS JOIN LATERAL regexp_split_to_table(g.platforms, ',') AS term
+JOIN platforms d ON d.name = LEFT(TRIM(term), 255)
+WHERE g.platforms IS NOT NULL;
+
+INSERT INTO developers (name)
+SELECT DISTINCT LEFT(TRIM(term), 255) FROM games CROSS JOIN LATERAL regexp_split_to_table(developers, ',') AS term
+WHERE developers IS NOT NULL AND TRIM(term) <> '';
+
+INSERT INTO game_developers (game_id, developer_id)
+SELECT DISTINCT g.id, d.id FROM games g CROSS JOIN LATERAL regexp_split_to_table(g.developers, ',') AS term
+JOIN developers d ON d.name = LEFT(TRIM(term), 255)
+WHERE g.developers IS NOT NULL;
+
+INSERT INTO publishers (name)
+SELECT DISTINCT LEFT(TRIM(term), 255) FROM games CROSS JOIN LATERAL regexp_split_to_table(publishers, ',') AS term
+WHERE publishers IS NOT NULL AND TRIM(term) <> '';
+
+INSERT INTO game_publishers (game_id, publisher_id)
+SELECT DISTINCT g.id, d.id FROM games g CROSS JOIN LATERAL regexp_split_to_table(g.publishers, ',') AS term
+JOIN publishers d ON d.name = LEFT(TRIM(term), 255)
+WHERE g.publishers IS NOT NULL;
+
+INSERT INTO tags (name)
+SELECT DISTINCT LEFT(TRIM(term), 255) FROM games CROSS JOIN LATERAL regexp_split_to_table(tags, ',') AS term
+WHERE tags IS NOT NULL AND TRIM(term) <> '';
+
+INSERT INTO game_tags (game_id, tag_id)
+SELECT DISTINCT g.id, d.id FROM games g CROSS JOIN LATERAL regexp_split_to_table(g.tags, ',') AS term
+JOIN tags d ON d.name = LEFT(TRIM(term), 255)
+WHERE g.tags IS NOT NULL;
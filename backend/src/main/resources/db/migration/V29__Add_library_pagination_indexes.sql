@@ -0,0 +1,24 @@
+-- Keyset pagination of playthroughs: (last_played_at DESC NULLS LAST, id DESC) per user
+CREATE INDEX idx_playthroughs_user_last_played
+    ON playthroughs(user_id, last_played_at DESC NULLS LAST, id DESC);
+
+-- Status filters are selective, so partial indexes in page order keep them cheap
+CREATE INDEX idx_playthroughs_user_active_page
+    ON playthroughs(user_id, last_played_at DESC NULLS LAST, id DESC) WHERE is_active = TRUE;
+CREATE INDEX idx_playthroughs_user_paused_page
+    ON playthroughs(user_id, last_played_at DESC NULLS LAST, id DESC) WHERE is_paused = TRUE;
+CREATE INDEX idx_playthroughs_user_completed_page
+    ON playthroughs(user_id, last_played_at DESC NULLS LAST, id DESC) WHERE is_completed = TRUE;
+CREATE INDEX idx_playthroughs_user_dropped_page
+    ON playthroughs(user_id, last_played_at DESC NULLS LAST, id DESC) WHERE is_dropped = TRUE;
+
+CREATE INDEX idx_playthroughs_user_platform
+    ON playthroughs(user_id, platform, last_played_at DESC NULLS LAST, id DESC);
+
+-- Keyset pagination of the library: (created_at DESC, id DESC) per user
+CREATE INDEX idx_user_games_user_created
+    ON user_games(user_id, created_at DESC, id DESC);
+
+-- Case-insensitive name prefix search
+CREATE INDEX idx_games_name_lower_prefix
+    ON games(LOWER(name) text_pattern_ops);
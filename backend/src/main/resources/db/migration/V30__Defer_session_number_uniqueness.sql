@@ -0,0 +1,12 @@
+-- Session renumbering shifts every later session by one in a single UPDATE. Intermediate rows
+-- collide with their neighbours, so uniqueness is checked at commit instead of per row.
+ALTER TABLE session_history
+    DROP CONSTRAINT IF EXISTS session_history_playthrough_id_session_number_key;
+
+ALTER TABLE session_history
+    ADD CONSTRAINT uq_session_history_playthrough_session
+    UNIQUE (playthrough_id, session_number) DEFERRABLE INITIALLY DEFERRED;
+
+-- Insert position of a manually logged session is the number of sessions that started before it
+CREATE INDEX IF NOT EXISTS idx_session_history_playthrough_started
+    ON session_history(playthrough_id, started_at);
@@ -0,0 +1,4 @@
+-- Overlap probe for manual sessions: ended_at > :start is tight for recent time ranges,
+-- which is where nearly all manual logs land
+CREATE INDEX IF NOT EXISTS idx_session_history_playthrough_ended
+    ON session_history(playthrough_id, ended_at);
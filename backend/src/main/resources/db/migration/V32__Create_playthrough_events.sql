@@ -0,0 +1,42 @@
+-- Append-only timer log. Playthrough timer state and derived data are projections of it.
+CREATE TABLE playthrough_events (
+    id BIGSERIAL PRIMARY KEY,
+    playthrough_id BIGINT NOT NULL REFERENCES playthroughs(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    event_type VARCHAR(32) NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE,
+    ended_at TIMESTAMP WITH TIME ZONE,
+    seconds BIGINT,
+    payload TEXT,
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_playthrough_events_playthrough ON playthrough_events(playthrough_id, id);
+CREATE INDEX idx_playthrough_events_snapshots ON playthrough_events(playthrough_id, id)
+    WHERE event_type = 'SNAPSHOT';
+CREATE INDEX idx_playthrough_events_user_type ON playthrough_events(user_id, event_type);
+
+-- Seed the log with the current state of every existing playthrough so each one can be replayed
+INSERT INTO playthrough_events (playthrough_id, user_id, event_type, occurred_at, payload)
+SELECT p.id, p.user_id, 'SNAPSHOT', CURRENT_TIMESTAMP,
+       json_build_object(
+           'durationSeconds', COALESCE(p.duration_seconds, 0),
+           'sessionCount', COALESCE(p.session_count, 0),
+           'pauseCount', COALESCE(p.pause_count, 0),
+           'active', COALESCE(p.is_active, FALSE),
+           'paused', COALESCE(p.is_paused, FALSE),
+           'completed', COALESCE(p.is_completed, FALSE),
+           'dropped', COALESCE(p.is_dropped, FALSE),
+           'manualTimeSet', COALESCE(p.manual_time_set, FALSE),
+           'sessionStartDurationSeconds', COALESCE(p.session_start_duration_seconds, 0),
+           'importedDurationSeconds', COALESCE(p.imported_duration_seconds, 0),
+           'startedAt', to_char(p.started_at AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'stoppedAt', to_char(p.stopped_at AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'sessionStartTime', to_char(p.session_start_time AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'lastPlayedAt', to_char(p.last_played_at AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'droppedAt', to_char(p.dropped_at AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'pickedUpAt', to_char(p.picked_up_at AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+           'endDate', p.end_date
+       )::text
+FROM playthroughs p;
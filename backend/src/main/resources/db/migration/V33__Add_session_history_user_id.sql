@@ -0,0 +1,22 @@
+-- Per-user time range queries (health metrics, dashboards, overlap checks) filtered through a
+-- join to playthroughs. The owner never changes, so it is copied onto each session instead.
+ALTER TABLE session_history ADD COLUMN user_id BIGINT;
+
+UPDATE session_history sh
+SET user_id = p.user_id
+FROM playthroughs p
+WHERE p.id = sh.playthrough_id;
+
+ALTER TABLE session_history
+    ALTER COLUMN user_id SET NOT NULL,
+    ADD CONSTRAINT fk_session_history_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- The other bound is included so range predicates on both ends are checked inside the index
+-- and the interval scan for backup import is index-only
+CREATE INDEX idx_session_history_user_started
+    ON session_history(user_id, started_at) INCLUDE (ended_at);
+CREATE INDEX idx_session_history_user_ended
+    ON session_history(user_id, ended_at) INCLUDE (started_at);
+
+-- Every remaining query scopes by user or playthrough first
+DROP INDEX IF EXISTS idx_session_history_started_at;
@@ -0,0 +1,206 @@
+-- session_history and mood_entries grow with every session and are always read by user and time
+-- range. Both become range partitioned by year so recent-range queries prune to one or two
+-- partitions and archived years can be dropped whole. Requires PostgreSQL 13+.
+
+-- Creates the yearly partition of a table partitioned by a timestamptz column, moving any rows for
+-- that year out of the DEFAULT partition first (rows land there when a session is logged or
+-- imported for a year without a partition). Returns false when the partition already exists.
+CREATE OR REPLACE FUNCTION ensure_yearly_partition(parent TEXT, partition_column TEXT, partition_year INT)
+RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := parent || '_y' || partition_year;
+    lower_bound TIMESTAMPTZ := make_timestamptz(partition_year, 1, 1, 0, 0, 0, 'UTC');
+    upper_bound TIMESTAMPTZ := make_timestamptz(partition_year + 1, 1, 1, 0, 0, 0, 'UTC');
+    has_rows BOOLEAN;
+    relink_moods BOOLEAN;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I >= $1 AND %I < $2)',
+                   parent || '_default', partition_column, partition_column)
+        INTO has_rows USING lower_bound, upper_bound;
+    -- Moving a session out of the default partition deletes it there, which clears mood links
+    -- through ON DELETE SET NULL; remember them and restore them once the session is back
+    relink_moods := has_rows AND parent = 'session_history';
+    IF relink_moods THEN
+        CREATE TEMP TABLE moved_mood_links AS
+            SELECT m.id, m.recorded_at, m.session_history_id
+            FROM mood_entries m
+            JOIN session_history_default s ON s.id = m.session_history_id AND s.started_at = m.session_started_at
+            WHERE s.started_at >= lower_bound AND s.started_at < upper_bound;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, parent);
+    IF has_rows THEN
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= $1 AND %I < $2 RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                       parent || '_default', partition_column, partition_column, partition_name)
+            USING lower_bound, upper_bound;
+    END IF;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, lower_bound, upper_bound);
+
+    IF relink_moods THEN
+        UPDATE mood_entries m
+        SET session_history_id = l.session_history_id
+        FROM moved_mood_links l
+        WHERE m.id = l.id AND m.recorded_at = l.recorded_at;
+        DROP TABLE moved_mood_links;
+    END IF;
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops yearly partitions that end at or before the given year and hold no rows.
+-- Returns the number of partitions dropped.
+CREATE OR REPLACE FUNCTION drop_empty_partitions_before(parent TEXT, before_year INT)
+RETURNS INT AS $$
+DECLARE
+    child RECORD;
+    has_rows BOOLEAN;
+    dropped INT := 0;
+BEGIN
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = parent::regclass
+          AND c.relname ~ ('^' || parent || '_y[0-9]{4}$')
+          AND substring(c.relname FROM '[0-9]{4}$')::INT < before_year
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', child.relname) INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, child.relname);
+            EXECUTE format('DROP TABLE %I', child.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates partitions for every year from the oldest row of the source table through next year
+CREATE OR REPLACE FUNCTION create_partitions_for_range(parent TEXT, partition_column TEXT, source TEXT)
+RETURNS VOID AS $$
+DECLARE
+    first_year INT;
+    last_year INT := EXTRACT(YEAR FROM now() AT TIME ZONE 'UTC')::INT + 1;
+BEGIN
+    EXECUTE format('SELECT EXTRACT(YEAR FROM MIN(%I) AT TIME ZONE ''UTC'')::INT FROM %I', partition_column, source)
+        INTO first_year;
+    FOR y IN COALESCE(first_year, last_year - 1)..last_year LOOP
+        PERFORM ensure_yearly_partition(parent, partition_column, y);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- mood_entries references session_history, so its foreign key goes first
+ALTER TABLE mood_entries DROP CONSTRAINT IF EXISTS mood_entries_session_history_id_fkey;
+
+-- session_history
+
+ALTER TABLE session_history RENAME TO session_history_unpartitioned;
+ALTER TABLE session_history_unpartitioned RENAME CONSTRAINT session_history_pkey TO session_history_unpartitioned_pkey;
+ALTER SEQUENCE session_history_id_seq OWNED BY NONE;
+
+-- Uniqueness of (playthrough_id, session_number) cannot be enforced across partitions; the
+-- application serializes session numbering per playthrough with a row lock instead
+CREATE TABLE session_history (
+    id BIGINT NOT NULL DEFAULT nextval('session_history_id_seq'),
+    playthrough_id BIGINT NOT NULL REFERENCES playthroughs(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    session_number INTEGER NOT NULL,
+    duration_seconds BIGINT NOT NULL DEFAULT 0,
+    pause_count INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    ended_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT session_history_pkey PRIMARY KEY (id, started_at)
+) PARTITION BY RANGE (started_at);
+
+CREATE TABLE session_history_default PARTITION OF session_history DEFAULT;
+SELECT create_partitions_for_range('session_history', 'started_at', 'session_history_unpartitioned');
+
+INSERT INTO session_history (id, playthrough_id, user_id, session_number, duration_seconds, pause_count,
+                             started_at, ended_at, created_at)
+SELECT id, playthrough_id, user_id, session_number, duration_seconds, pause_count, started_at, ended_at, created_at
+FROM session_history_unpartitioned;
+
+ALTER SEQUENCE session_history_id_seq OWNED BY session_history.id;
+DROP TABLE session_history_unpartitioned;
+
+CREATE INDEX idx_session_history_playthrough_session ON session_history(playthrough_id, session_number);
+CREATE INDEX idx_session_history_playthrough_started ON session_history(playthrough_id, started_at);
+CREATE INDEX idx_session_history_playthrough_ended ON session_history(playthrough_id, ended_at);
+CREATE INDEX idx_session_history_user_started ON session_history(user_id, started_at) INCLUDE (ended_at);
+CREATE INDEX idx_session_history_user_ended ON session_history(user_id, ended_at) INCLUDE (started_at);
+
+-- mood_entries
+
+ALTER TABLE mood_entries RENAME TO mood_entries_unpartitioned;
+ALTER TABLE mood_entries_unpartitioned RENAME CONSTRAINT mood_entries_pkey TO mood_entries_unpartitioned_pkey;
+ALTER SEQUENCE mood_entries_id_seq OWNED BY NONE;
+
+-- The session link carries the session's partition key so it can reference the partitioned table;
+-- a trigger fills it in, so writers only set session_history_id
+CREATE TABLE mood_entries (
+    id BIGINT NOT NULL DEFAULT nextval('mood_entries_id_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    session_history_id BIGINT,
+    session_started_at TIMESTAMP WITH TIME ZONE,
+    mood_rating INTEGER NOT NULL CHECK (mood_rating >= 1 AND mood_rating <= 5),
+    note VARCHAR(500),
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT mood_entries_pkey PRIMARY KEY (id, recorded_at),
+    CONSTRAINT fk_mood_entries_session FOREIGN KEY (session_history_id, session_started_at)
+        REFERENCES session_history(id, started_at) ON DELETE SET NULL
+) PARTITION BY RANGE (recorded_at);
+
+CREATE TABLE mood_entries_default PARTITION OF mood_entries DEFAULT;
+SELECT create_partitions_for_range('mood_entries', 'recorded_at', 'mood_entries_unpartitioned');
+
+CREATE OR REPLACE FUNCTION mood_entries_session_started_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.session_history_id IS NULL THEN
+        NEW.session_started_at := NULL;
+    ELSE
+        SELECT started_at INTO NEW.session_started_at FROM session_history WHERE id = NEW.session_history_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_mood_entries_session_started_at
+    BEFORE INSERT OR UPDATE OF session_history_id ON mood_entries
+    FOR EACH ROW EXECUTE FUNCTION mood_entries_session_started_at();
+
+INSERT INTO mood_entries (id, user_id, session_history_id, mood_rating, note, recorded_at, created_at)
+SELECT id, user_id, session_history_id, mood_rating, note, recorded_at, created_at
+FROM mood_entries_unpartitioned;
+
+ALTER SEQUENCE mood_entries_id_seq OWNED BY mood_entries.id;
+DROP TABLE mood_entries_unpartitioned;
+
+CREATE INDEX idx_mood_entries_user_recorded ON mood_entries(user_id, recorded_at);
+CREATE INDEX idx_mood_entries_session ON mood_entries(session_history_id);
+
+-- Daily roll-ups of archived sessions, read by statistics alongside the remaining sessions
+CREATE TABLE session_daily_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    playthrough_id BIGINT NOT NULL REFERENCES playthroughs(id) ON DELETE CASCADE,
+    summary_date DATE NOT NULL,
+    session_count INTEGER NOT NULL,
+    duration_seconds BIGINT NOT NULL,
+    longest_session_seconds BIGINT NOT NULL,
+    pause_count INTEGER NOT NULL,
+    first_started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_ended_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    hourly_seconds VARCHAR(400) NOT NULL,
+    CONSTRAINT uq_session_daily_summaries_playthrough_date UNIQUE (playthrough_id, summary_date)
+);
+
+CREATE INDEX idx_session_daily_summaries_user_date ON session_daily_summaries(user_id, summary_date);
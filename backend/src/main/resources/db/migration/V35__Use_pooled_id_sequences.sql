@@ -0,0 +1,30 @@
+-- Entities take their ids from the existing BIGSERIAL sequences through Hibernate's pooled-lo
+-- optimizer, reserving 50 ids per nextval so inserts can be batched. Each sequence now steps by
+-- 50 and is re-seeded past the current maximum id; a plain nextval default still hands out a
+-- fresh block start, so inserts that bypass Hibernate cannot collide with reserved ids.
+-- The metadata dictionaries keep SERIAL identity ids: they are small and rarely inserted.
+
+CREATE OR REPLACE FUNCTION use_pooled_sequence(table_name TEXT, increment INT)
+RETURNS VOID AS $$
+DECLARE
+    sequence_name TEXT := pg_get_serial_sequence(table_name, 'id');
+    max_id BIGINT;
+BEGIN
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', table_name) INTO max_id;
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', sequence_name, increment);
+    PERFORM setval(sequence_name, GREATEST(max_id, 1));
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT use_pooled_sequence('users', 50);
+SELECT use_pooled_sequence('games', 50);
+SELECT use_pooled_sequence('playthroughs', 50);
+SELECT use_pooled_sequence('user_games', 50);
+SELECT use_pooled_sequence('session_history', 50);
+SELECT use_pooled_sequence('health_settings', 50);
+SELECT use_pooled_sequence('mood_entries', 50);
+SELECT use_pooled_sequence('daily_health_metrics', 50);
+SELECT use_pooled_sequence('playthrough_events', 50);
+SELECT use_pooled_sequence('session_daily_summaries', 50);
+
+DROP FUNCTION use_pooled_sequence(TEXT, INT);
@@ -0,0 +1,14 @@
+-- Token bucket of RAWG API calls shared by all backend nodes (see RawgRateBudget). Nodes lease
+-- tokens in small blocks with a compare-and-set on version and refill the bucket from the time
+-- elapsed since refilled_at, measured on the database clock so node clocks cannot disagree.
+-- The seed row's refill time lies far in the past, so the first lease finds the bucket full.
+
+CREATE TABLE rawg_rate_budget (
+    name VARCHAR(50) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    version BIGINT NOT NULL,
+    refilled_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO rawg_rate_budget (name, tokens, version, refilled_at)
+VALUES ('rawg', 0, 0, TIMESTAMP WITH TIME ZONE '2000-01-01 00:00:00+00');
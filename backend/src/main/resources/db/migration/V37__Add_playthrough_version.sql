@@ -0,0 +1,4 @@
+-- Optimistic locking for timer transitions. Each transition updates the row where its version is
+-- still the one that was read, so a concurrent click from another device fails instead of being
+-- overwritten, and only that row is evicted from the second-level cache.
+ALTER TABLE playthroughs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -1,26 +1,87 @@
 package com.gamewatch;
 
+import com.gamewatch.controller.GameController;
+import com.gamewatch.controller.PlaythroughController;
+import com.gamewatch.controller.StatisticsController;
+import com.gamewatch.controller.UserHealthController;
 import com.gamewatch.entity.Game;
+import com.gamewatch.entity.MoodEntry;
 import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
+import com.gamewatch.entity.UserGame;
+import com.gamewatch.exception.GlobalExceptionHandler;
 import com.gamewatch.repository.GameRepository;
 import com.gamewatch.repository.PlaythroughRepository;
 import com.gamewatch.repository.UserRepository;
+import com.gamewatch.service.ColorExtractionService;
+import com.gamewatch.service.GameMetadataDictionary;
+import com.gamewatch.service.GameService;
+import com.gamewatch.service.HealthService;
+import com.gamewatch.service.PlaythroughProjectionRebuilder;
+import com.gamewatch.service.PlaythroughService;
+import com.gamewatch.service.RawgApiService;
+import com.gamewatch.service.UserService;
+import com.gamewatch.service.UserStatisticsService;
+import com.gamewatch.support.QueryBudget;
+import com.gamewatch.support.QueryBudgetFilter;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import({GameController.class, PlaythroughController.class, UserHealthController.class, StatisticsController.class,
+    GameService.class, PlaythroughService.class, PlaythroughProjectionRebuilder.class, HealthService.class,
+    UserService.class, UserStatisticsService.class, GameMetadataDictionary.class, QueryBudgetFilter.class})
 class GameWatchIntegrationTest {
 
+    @TestConfiguration
+    static class ObservationConfig {
+
+        @Bean
+        ObservationRegistry observationRegistry() {
+            return ObservationRegistry.NOOP;
+        }
+    }
+
     @Autowired
     private UserRepository userRepository;
 
@@ -30,6 +91,35 @@ class GameWatchIntegrationTest {
     @Autowired
     private PlaythroughRepository playthroughRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameController gameController;
+
+    @Autowired
+    private PlaythroughController playthroughController;
+
+    @Autowired
+    private UserHealthController userHealthController;
+
+    @Autowired
+    private StatisticsController statisticsController;
+
+    @Autowired
+    private HealthService healthService;
+
+    @Autowired
+    private QueryBudgetFilter queryBudgetFilter;
+
+    @MockBean
+    private RawgApiService rawgApiService;
+
+    @MockBean
+    private ColorExtractionService colorExtractionService;
+
+    private MockMvc mockMvc;
+    private JwtAuthenticationToken authentication;
     private User testUser;
     private Game testGame;
 
@@ -51,6 +141,16 @@ class GameWatchIntegrationTest {
             .externalId(99999)
             .build();
         testGame = gameRepository.save(testGame);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(gameController, playthroughController, userHealthController,
+                statisticsController)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .addFilters(queryBudgetFilter)
+            .build();
+        authentication = new JwtAuthenticationToken(Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(testUser.getAuth0UserId())
+            .build());
     }
 
     @Test
@@ -102,6 +202,119 @@ class GameWatchIntegrationTest {
         assertThat(playthroughRepository.findByUserIdOrderByCreatedAtDesc(testUser.getId())).isEmpty();
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    @QueryBudget(statements = 6, collectionFetches = 0)
+    void dashboard_StaysWithinBudgetRegardlessOfHistorySize(int sessions) throws Exception {
+        createHistory(sessions);
+        // As after the first poll of the day
+        LocalDate today = LocalDate.now();
+        healthService.backfillMissingMetrics(testUser, today.with(DayOfWeek.MONDAY), today);
+
+        perform(get("/user-health/dashboard"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.recentSessions.length()").value(Math.min(sessions, 10)))
+            .andExpect(jsonPath("$.recentSessions[0].gameName").isNotEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    @QueryBudget(statements = 2, collectionFetches = 0)
+    void library_StaysWithinBudgetRegardlessOfLibrarySize(int sessions) throws Exception {
+        createHistory(sessions);
+
+        perform(get("/playthroughs")).andExpect(status().isOk());
+        perform(get("/games")).andExpect(status().isOk());
+        perform(get("/playthroughs").param("limit", "20")).andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    @QueryBudget(statements = 4, entityLoads = 3, collectionFetches = 0)
+    void details_StayWithinBudgetRegardlessOfSessionCount(int sessions) throws Exception {
+        Playthrough playthrough = createHistory(sessions);
+
+        perform(get("/playthroughs/{id}", playthrough.getId())).andExpect(status().isOk());
+        perform(get("/games/{id}", playthrough.getGame().getId())).andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    @QueryBudget(statements = 2, collectionFetches = 0)
+    void recommendations_LoadHistoryBeforeAnsweringAsynchronously(int sessions) throws Exception {
+        createHistory(sessions);
+        when(rawgApiService.getMultipleGameFeatures(anyList())).thenReturn(Mono.just(List.of()));
+
+        MvcResult pending = perform(get("/statistics/recommendations"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // The history was read while the request thread was still attached, RAWG is answered afterwards
+        verify(rawgApiService).getMultipleGameFeatures(argThat(ids -> ids.size() == Math.min(5, (sessions + 9) / 10)));
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * Performs the request as the test user, with an empty persistence context like a request of its own.
+     */
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        return mockMvc.perform(request.principal(authentication));
+    }
+
+    /**
+     * One game per ten sessions, each with a playthrough, and the sessions spread over the current
+     * week, every other one with a mood.
+     */
+    private Playthrough createHistory(int sessions) {
+        Instant weekStart = LocalDate.now().with(DayOfWeek.MONDAY)
+            .atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Duration step = Duration.between(weekStart, Instant.now()).dividedBy(sessions + 1);
+
+        Playthrough playthrough = null;
+        for (int i = 0; i < sessions; i++) {
+            if (i % 10 == 0) {
+                Game game = entityManager.persist(Game.builder()
+                    .name("History Game " + i)
+                    .externalId(20_000 + i)
+                    .genres("Action, RPG")
+                    .build());
+                entityManager.persist(UserGame.builder()
+                    .user(testUser)
+                    .game(game)
+                    .build());
+                playthrough = createPlaythrough("story");
+                playthrough.setGame(game);
+                playthrough = entityManager.persist(playthrough);
+            }
+            Instant startedAt = weekStart.plus(step.multipliedBy(i + 1)).truncatedTo(ChronoUnit.SECONDS);
+            long duration = Math.max(1, Math.min(3600, step.getSeconds() / 2));
+            SessionHistory session = entityManager.persist(SessionHistory.builder()
+                .playthrough(playthrough)
+                .userId(testUser.getId())
+                .sessionNumber(i / 10 + 1)
+                .durationSeconds(duration)
+                .pauseCount(0)
+                .startedAt(startedAt)
+                .endedAt(startedAt.plusSeconds(duration))
+                .build());
+            if (i % 2 == 0) {
+                entityManager.persist(MoodEntry.builder()
+                    .user(testUser)
+                    .sessionHistory(session)
+                    .moodRating(1 + i % 5)
+                    .recordedAt(session.getEndedAt())
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return playthrough;
+    }
+
     private Playthrough createPlaythrough(String type) {
         return Playthrough.builder()
             .user(testUser)
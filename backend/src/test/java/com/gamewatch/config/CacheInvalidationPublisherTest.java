@@ -0,0 +1,135 @@
+package com.gamewatch.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationPublisherTest {
+
+    private static final String PLAYTHROUGH = "com.gamewatch.entity.Playthrough";
+    private static final String GAME = "com.gamewatch.entity.Game";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new CacheInvalidationPublisher(jdbcTemplate, 3);
+    }
+
+    @Test
+    void flush_SendsBufferedInvalidationsAsOneNotification() {
+        publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 1L);
+        publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 2L);
+        publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 2L);
+        publisher.entityChanged(GAME, GAME, 9L);
+
+        publisher.flush();
+
+        List<CacheInvalidationMessage> messages = sentMessages(1);
+        assertThat(messages.get(0).node()).isEqualTo(publisher.getNodeId());
+        assertThat(messages.get(0).regions()).isEmpty();
+        assertThat(messages.get(0).entities().get(PLAYTHROUGH)).containsExactly(1, 2);
+        assertThat(messages.get(0).entities().get(GAME)).containsExactly(9);
+
+        // Nothing buffered since the last flush
+        publisher.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void regionClear_SupersedesEntityEvictionsOfThatRegion() {
+        publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 1L);
+        publisher.entityChanged(GAME, GAME, 9L);
+        publisher.regionCleared(PLAYTHROUGH);
+        publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 2L);
+
+        publisher.flush();
+
+        CacheInvalidationMessage message = sentMessages(1).get(0);
+        assertThat(message.regions()).containsExactly(PLAYTHROUGH);
+        assertThat(message.entities()).containsOnlyKeys(GAME);
+    }
+
+    @Test
+    void tooManyChangesInOneRegion_EscalateToRegionClear() {
+        LongStream.rangeClosed(1, 4).forEach(id -> publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, id));
+
+        publisher.flush();
+
+        CacheInvalidationMessage message = sentMessages(1).get(0);
+        assertThat(message.regions()).containsExactly(PLAYTHROUGH);
+        assertThat(message.entities()).isEmpty();
+    }
+
+    @Test
+    void invalidatedQuerySpaces_AreSentOnceEach() {
+        publisher.spaceInvalidated("playthroughs");
+        publisher.spaceInvalidated("user_games");
+        publisher.spaceInvalidated("playthroughs");
+
+        publisher.flush();
+
+        CacheInvalidationMessage message = sentMessages(1).get(0);
+        assertThat(message.spaces()).containsExactly("playthroughs", "user_games");
+        assertThat(message.regions()).isEmpty();
+        assertThat(message.entities()).isEmpty();
+    }
+
+    @Test
+    void invalidationsAppliedForPeers_AreNotBroadcastBack() {
+        CacheInvalidationPublisher.applyingRemote(() -> {
+            publisher.entityChanged(PLAYTHROUGH, PLAYTHROUGH, 1L);
+            publisher.regionCleared(GAME);
+            publisher.spaceInvalidated("games");
+        });
+
+        publisher.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void encode_SplitsLargeBatchesIntoPayloadsNotifyAccepts() {
+        Map<String, Set<Object>> entities = new LinkedHashMap<>();
+        entities.put(PLAYTHROUGH, LongStream.range(1_000_000_000L, 1_000_002_000L).boxed()
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        List<String> payloads = CacheInvalidationMessage.encode("node", Set.of(GAME), entities, Set.of("games"));
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload ->
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(CacheInvalidationMessage.MAX_PAYLOAD_BYTES));
+        List<CacheInvalidationMessage> messages = payloads.stream().map(CacheInvalidationMessage::fromJson).toList();
+        assertThat(messages.stream().flatMap(m -> m.regions().stream())).containsExactly(GAME);
+        assertThat(messages.stream().flatMap(m -> m.spaces().stream())).containsExactly("games");
+        assertThat(messages.stream().flatMap(m -> m.entities().getOrDefault(PLAYTHROUGH, Set.of()).stream())).hasSize(2000);
+    }
+
+    private List<CacheInvalidationMessage> sentMessages(int count) {
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(count)).queryForObject(eq("SELECT pg_notify(?, ?)"), eq(Object.class),
+            eq(CacheInvalidationPublisher.CHANNEL), payloads.capture());
+        return payloads.getAllValues().stream().map(CacheInvalidationMessage::fromJson).toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.gamewatch.config;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.PlaythroughRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the cluster invalidation hooks against Hibernate with the second-level cache on. H2 has no
+ * NOTIFY, so pg_notify is aliased to a method that records the payloads.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "gamewatch.cache.cluster-invalidation.enabled=true"
+})
+@ActiveProfiles("test")
+@Import(ClusterCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ClusterCacheInvalidationTest {
+
+    private static final List<String> NOTIFIED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlaythroughRepository playthroughRepository;
+
+    @Autowired
+    private CacheInvalidationPublisher publisher;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    // Its listener thread needs PostgreSQL; incoming payloads are applied directly instead
+    @MockBean
+    private CacheInvalidationSubscriber subscriberBean;
+
+    private TransactionTemplate transactions;
+    private Long userId;
+    private Long playthroughId;
+
+    public static String notify(String channel, String payload) {
+        NOTIFIED.add(payload);
+        return "";
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS pg_notify FOR '" + getClass().getName() + ".notify'");
+        transactions = new TransactionTemplate(transactionManager);
+        playthroughId = transactions.execute(status -> {
+            User user = User.builder().auth0UserId("auth0|cluster").email("cluster@example.com").username("cluster").build();
+            Game game = Game.builder().name("Cluster Game").externalId(6060).build();
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            entityManager.persist(user);
+            entityManager.persist(game);
+            Playthrough playthrough = Playthrough.builder().user(user).game(game).playthroughType("story").build();
+            entityManager.persist(playthrough);
+            userId = user.getId();
+            return playthrough.getId();
+        });
+        publisher.flush();
+        NOTIFIED.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactions.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM playthroughs");
+            jdbcTemplate.update("DELETE FROM games");
+            jdbcTemplate.update("DELETE FROM users");
+        });
+        cache().evictAllRegions();
+    }
+
+    @Test
+    void committedEntityUpdate_IsBroadcastAsEntityEviction() {
+        transactions.executeWithoutResult(status ->
+            playthroughRepository.findById(playthroughId).orElseThrow().setTitle("Renamed"));
+        publisher.flush();
+
+        assertThat(NOTIFIED).hasSize(1);
+        CacheInvalidationMessage message = CacheInvalidationMessage.fromJson(NOTIFIED.get(0));
+        assertThat(message.entities()).containsOnlyKeys(Playthrough.class.getName());
+        assertThat(message.entities().get(Playthrough.class.getName())).containsExactly(playthroughId.intValue());
+    }
+
+    @Test
+    void rolledBackUpdate_IsNotBroadcast() {
+        transactions.executeWithoutResult(status -> {
+            playthroughRepository.findById(playthroughId).orElseThrow().setTitle("Renamed");
+            playthroughRepository.flush();
+            status.setRollbackOnly();
+        });
+        publisher.flush();
+
+        assertThat(NOTIFIED).isEmpty();
+    }
+
+    @Test
+    void bulkUpdate_IsBroadcastAsRegionClear() {
+        transactions.executeWithoutResult(status ->
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                .createQuery("UPDATE Playthrough p SET p.lastPlayedAt = :now WHERE p.user.id = :userId")
+                .setParameter("now", Instant.now())
+                .setParameter("userId", userId)
+                .executeUpdate());
+        publisher.flush();
+
+        assertThat(NOTIFIED).isNotEmpty();
+        assertThat(CacheInvalidationMessage.fromJson(NOTIFIED.get(0)).regions()).contains(Playthrough.class.getName());
+    }
+
+    @Test
+    void invalidationFromPeer_EvictsEntityWithoutBroadcastingBack() {
+        transactions.executeWithoutResult(status -> playthroughRepository.findById(playthroughId).orElseThrow());
+        assertThat(cache().containsEntity(Playthrough.class, playthroughId)).isTrue();
+
+        CacheInvalidationSubscriber subscriber = new CacheInvalidationSubscriber(dataSourceProperties, entityManagerFactory, publisher);
+        subscriber.apply(new CacheInvalidationMessage("peer", Set.of(),
+            Map.of(Playthrough.class.getName(), Set.of(playthroughId.intValue())), Set.of()).toJson());
+        publisher.flush();
+
+        assertThat(cache().containsEntity(Playthrough.class, playthroughId)).isFalse();
+        assertThat(NOTIFIED).isEmpty();
+    }
+
+    @Test
+    void invalidationNamingUnknownEntity_ClearsTheWholeCache() {
+        transactions.executeWithoutResult(status -> playthroughRepository.findById(playthroughId).orElseThrow());
+
+        // A peer on another version may broadcast entities this node does not map
+        CacheInvalidationSubscriber subscriber = new CacheInvalidationSubscriber(dataSourceProperties, entityManagerFactory, publisher);
+        subscriber.apply(new CacheInvalidationMessage("peer", Set.of(),
+            Map.of("com.gamewatch.entity.Removed", Set.of(1)), Set.of()).toJson());
+        publisher.flush();
+
+        assertThat(cache().containsEntity(Playthrough.class, playthroughId)).isFalse();
+        assertThat(NOTIFIED).isEmpty();
+    }
+
+    @Test
+    void ownInvalidations_AreIgnoredWhenEchoedBack() {
+        transactions.executeWithoutResult(status -> playthroughRepository.findById(playthroughId).orElseThrow());
+
+        CacheInvalidationSubscriber subscriber = new CacheInvalidationSubscriber(dataSourceProperties, entityManagerFactory, publisher);
+        subscriber.apply(new CacheInvalidationMessage(publisher.getNodeId(), Set.of(Playthrough.class.getName()), Map.of(), Set.of()).toJson());
+
+        assertThat(cache().containsEntity(Playthrough.class, playthroughId)).isTrue();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
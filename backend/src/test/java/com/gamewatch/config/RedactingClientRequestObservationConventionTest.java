@@ -0,0 +1,40 @@
+package com.gamewatch.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+
+import java.net.URI;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedactingClientRequestObservationConventionTest {
+
+    private final RedactingClientRequestObservationConvention convention =
+        new RedactingClientRequestObservationConvention(Set.of("key"));
+
+    @Test
+    void httpUrl_MasksApiKeyAndKeepsOtherParameters() {
+        assertThat(httpUrl("https://api.rawg.io/api/games?key=secret-key&search=zelda%20tears&page_size=10"))
+            .isEqualTo("https://api.rawg.io/api/games?key=REDACTED&search=zelda%20tears&page_size=10");
+    }
+
+    @Test
+    void httpUrl_WithoutRedactedParameters_IsUnchanged() {
+        assertThat(httpUrl("https://api.rawg.io/api/games/3498")).isEqualTo("https://api.rawg.io/api/games/3498");
+    }
+
+    private String httpUrl(String url) {
+        ClientRequest.Builder request = ClientRequest.create(HttpMethod.GET, URI.create(url));
+        ClientRequestObservationContext context = new ClientRequestObservationContext(request);
+        context.setRequest(request.build());
+
+        return convention.getHighCardinalityKeyValues(context).stream()
+            .filter(keyValue -> keyValue.getKey().equals("http.url"))
+            .map(KeyValue::getValue)
+            .findFirst().orElseThrow();
+    }
+}
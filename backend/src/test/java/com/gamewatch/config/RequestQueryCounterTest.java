@@ -0,0 +1,48 @@
+package com.gamewatch.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestQueryCounterTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestQueryCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        counter = new RequestQueryCounter(registry);
+    }
+
+    @Test
+    void statementsPreparedDuringRequest_AreRecordedByUriPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/playthroughs/42");
+
+        counter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            counter.inspect("select * from playthroughs");
+            counter.inspect("select * from games");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/playthroughs/{id}");
+        });
+
+        DistributionSummary summary = registry.get("gamewatch.http.server.requests.queries")
+            .tag("method", "GET").tag("uri", "/playthroughs/{id}").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsOutsideRequests_AreNotCounted() throws Exception {
+        assertThat(counter.inspect("select 1")).isEqualTo("select 1");
+
+        counter.doFilter(new MockHttpServletRequest("GET", "/ping"), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertThat(registry.get("gamewatch.http.server.requests.queries").summary().totalAmount()).isZero();
+    }
+}
@@ -0,0 +1,198 @@
+package com.gamewatch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * In-memory H2 databases stand in for the primary pools and the replica; each holds a single row
+ * naming itself, so a query shows where a transaction was routed.
+ */
+class RoutingDataSourceTest {
+
+    private static final List<String> DATABASES = List.of("routing_oltp", "routing_analytics", "routing_bulk", "routing_replica");
+
+    private Map<String, DriverManagerDataSource> databases;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        databases = new HashMap<>();
+        DATABASES.forEach(name -> databases.put(name, database(name)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        databases.values().forEach(dataSource -> new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS"));
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplicaAndOthersToPrimary() {
+        route(Duration.ofSeconds(10));
+
+        assertThat(readOnly()).isEqualTo("routing_replica");
+        assertThat(readWrite()).isEqualTo("routing_oltp");
+        // Outside a transaction nothing is known about intent, so the primary is used
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("routing_oltp");
+    }
+
+    @Test
+    void workloads_UseTheirOwnPrimaryPools() {
+        route(Duration.ofSeconds(10));
+
+        assertThat(WorkloadContext.callAs(WorkloadType.ANALYTICS, this::readWrite)).isEqualTo("routing_analytics");
+        assertThat(WorkloadContext.callAs(WorkloadType.BULK, this::readWrite)).isEqualTo("routing_bulk");
+        assertThat(readWrite()).isEqualTo("routing_oltp");
+        // Read-only work prefers the replica whatever its workload
+        assertThat(WorkloadContext.callAs(WorkloadType.ANALYTICS, this::readOnly)).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void workloadsWithoutOwnPool_FallBackToOltpPool() {
+        RoutingDataSource routing = new RoutingDataSource(
+            Map.of(WorkloadType.OLTP, databases.get("routing_oltp")), null, Duration.ofSeconds(10));
+        use(routing);
+
+        assertThat(WorkloadContext.callAs(WorkloadType.BULK, this::readWrite)).isEqualTo("routing_oltp");
+        assertThat(readOnly()).isEqualTo("routing_oltp");
+    }
+
+    @Test
+    void readsStickToPrimaryAfterUsersOwnWrite() {
+        route(Duration.ofSeconds(10));
+        authenticate("auth0|writer");
+        readWrite();
+
+        assertThat(readOnly()).isEqualTo("routing_oltp");
+
+        authenticate("auth0|someone-else");
+        assertThat(readOnly()).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void stickinessEndsAfterWindow() {
+        route(Duration.ZERO);
+        authenticate("auth0|writer");
+        readWrite();
+
+        assertThat(readOnly()).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotMakeReadsSticky() {
+        route(Duration.ofSeconds(10));
+        authenticate("auth0|writer");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnly()).isEqualTo("routing_replica");
+    }
+
+    @Test
+    void lagMonitor_TakesReplicaOutOfRotationWhileLaggingOrUnreachable() {
+        RoutingDataSource routing = route(Duration.ofSeconds(10));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(databases.get("routing_replica"), routing, Duration.ofSeconds(5));
+
+        monitor.recordLag(Duration.ofSeconds(30));
+        assertThat(readOnly()).isEqualTo("routing_oltp");
+
+        monitor.recordLag(Duration.ofSeconds(1));
+        assertThat(readOnly()).isEqualTo("routing_replica");
+
+        // H2 has no replication functions, so the check fails like an unreachable replica would
+        monitor.refresh();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(readOnly()).isEqualTo("routing_oltp");
+    }
+
+    @Test
+    void configuration_OnlyReplacesBootPoolWhenRoutingIsConfigured() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourceRoutingConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:routing_oltp;DB_CLOSE_DELAY=-1");
+
+        runner.run(context -> {
+            assertThat(context).doesNotHaveBean(RoutingDataSource.class);
+            assertThat(context.getBean(DataSource.class)).isNotInstanceOf(LazyConnectionDataSourceProxy.class);
+        });
+        runner.withPropertyValues("gamewatch.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1")
+            .run(context -> {
+                assertThat(context).hasSingleBean(RoutingDataSource.class);
+                assertThat(context.getBeansOfType(HikariDataSource.class)).containsOnlyKeys("oltpDataSource", "replicaDataSource");
+                assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                assertThat(new JdbcTemplate(context.getBean(DataSource.class))
+                    .queryForObject("SELECT name FROM node", String.class)).isEqualTo("routing_oltp");
+            });
+        runner.withPropertyValues(
+                "gamewatch.datasource.workloads.enabled=true",
+                "gamewatch.datasource.workloads.analytics.hikari.maximum-pool-size=2")
+            .run(context -> {
+                assertThat(context.getBeansOfType(HikariDataSource.class))
+                    .containsOnlyKeys("oltpDataSource", "analyticsDataSource", "bulkDataSource");
+                assertThat(context.getBean("analyticsDataSource", HikariDataSource.class).getMaximumPoolSize()).isEqualTo(2);
+                assertThat(context.getBean(ConnectionPoolMonitor.class).snapshot()).isEmpty();
+            });
+    }
+
+    private RoutingDataSource route(Duration stickyWindow) {
+        RoutingDataSource routing = new RoutingDataSource(Map.of(
+            WorkloadType.OLTP, databases.get("routing_oltp"),
+            WorkloadType.ANALYTICS, databases.get("routing_analytics"),
+            WorkloadType.BULK, databases.get("routing_bulk")), databases.get("routing_replica"), stickyWindow);
+        use(routing);
+        return routing;
+    }
+
+    private void use(RoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(proxy);
+        transactionManager = new DataSourceTransactionManager(proxy);
+    }
+
+    private String readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWrite() {
+        return new TransactionTemplate(transactionManager)
+            .execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void authenticate(String subject) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(subject, null));
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(50))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
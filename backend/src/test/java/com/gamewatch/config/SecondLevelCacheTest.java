@@ -0,0 +1,207 @@
+package com.gamewatch.config;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.HealthSettings;
+import com.gamewatch.entity.User;
+import com.gamewatch.entity.UserGame;
+import com.gamewatch.repository.HealthSettingsRepository;
+import com.gamewatch.repository.UserGameRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.ResourceType;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the regions of ehcache.xml with the second-level and query caches on. Every step commits
+ * on its own, as cached query results are only reused once the writes before them committed.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+@Import(CacheStatisticsConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final String GAMES_BY_USER = "query.gamesByUser";
+    private static final String HEALTH_SETTINGS_BY_USER = "query.healthSettingsByUser";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserGameRepository userGameRepository;
+
+    @Autowired
+    private HealthSettingsRepository healthSettingsRepository;
+
+    @Autowired
+    private CacheStatisticsMonitor cacheStatisticsMonitor;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private TransactionTemplate transactions;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache().evictAllRegions();
+        transactions = new TransactionTemplate(transactionManager);
+        user = transactions.execute(status -> {
+            User created = User.builder().auth0UserId("auth0|cached").email("cached@example.com").username("cached").build();
+            EntityManager entityManager = entityManager();
+            entityManager.persist(created);
+            entityManager.persist(HealthSettings.builder().user(created).build());
+            return created;
+        });
+        addToLibrary("First Game", 7070);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactions.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM user_games");
+            jdbcTemplate.update("DELETE FROM health_settings");
+            jdbcTemplate.update("DELETE FROM games");
+            jdbcTemplate.update("DELETE FROM users");
+        });
+        cache().evictAllRegions();
+    }
+
+    @Test
+    void gameRegion_SpillsFromHeapToOffHeapAndDisk() {
+        javax.cache.Cache<Object, Object> games = ((JCacheRegionFactory) sessionFactory().getCache().getRegionFactory())
+            .getCacheManager().getCache(Game.class.getName());
+
+        Set<ResourceType<?>> tiers = games.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration()
+            .getResourcePools().getResourceTypeSet();
+
+        assertThat(tiers).containsExactlyInAnyOrder(
+            ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP, ResourceType.Core.DISK);
+    }
+
+    @Test
+    void gamesByUser_RepeatedQueryIsServedFromQueryCache() {
+        long hitsBefore = hits(GAMES_BY_USER);
+
+        List<Game> first = inTransaction(() -> userGameRepository.findGamesByUser(user));
+        List<Game> second = inTransaction(() -> userGameRepository.findGamesByUser(user));
+
+        assertThat(second).extracting(Game::getName).containsExactlyElementsOf(first.stream().map(Game::getName).toList());
+        assertThat(hits(GAMES_BY_USER)).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void gamesByUser_CachedResultIsDiscardedOnceLibraryChanges() {
+        assertThat(inTransaction(() -> userGameRepository.findGamesByUser(user))).hasSize(1);
+
+        addToLibrary("Second Game", 7071);
+
+        assertThat(inTransaction(() -> userGameRepository.findGamesByUser(user)))
+            .extracting(Game::getName).containsExactlyInAnyOrder("First Game", "Second Game");
+    }
+
+    @Test
+    void healthSettingsByUser_RepeatedLookupIsServedFromQueryCache() {
+        long hitsBefore = hits(HEALTH_SETTINGS_BY_USER);
+
+        inTransaction(() -> healthSettingsRepository.findByUserId(user.getId()).orElseThrow());
+        inTransaction(() -> healthSettingsRepository.findByUserId(user.getId()).orElseThrow());
+
+        assertThat(hits(HEALTH_SETTINGS_BY_USER)).isEqualTo(hitsBefore + 1);
+        assertThat(cache().containsEntity(HealthSettings.class,
+            healthSettingsRepository.findByUserId(user.getId()).orElseThrow().getId())).isTrue();
+    }
+
+    @Test
+    void querySpaceInvalidatedByPeer_DiscardsCachedResults() {
+        Long otherGameId = transactions.execute(status -> {
+            Game game = Game.builder().name("Peer Game").externalId(7072).build();
+            entityManager().persist(game);
+            return game.getId();
+        });
+        assertThat(inTransaction(() -> userGameRepository.findGamesByUser(user))).hasSize(1);
+
+        // Another node adds the game to the library; this node's Hibernate does not see the insert
+        jdbcTemplate.update("INSERT INTO user_games (id, user_id, game_id, total_playtime_seconds, created_at) " +
+            "VALUES (NEXT VALUE FOR user_games_id_seq, ?, ?, 0, CURRENT_TIMESTAMP)", user.getId(), otherGameId);
+        assertThat(inTransaction(() -> userGameRepository.findGamesByUser(user))).hasSize(1);
+
+        CacheInvalidationSubscriber subscriber = new CacheInvalidationSubscriber(dataSourceProperties,
+            entityManagerFactory, new CacheInvalidationPublisher(jdbcTemplate, 200));
+        subscriber.apply(new CacheInvalidationMessage("peer", Set.of(), Map.of(), Set.of("user_games")).toJson());
+
+        assertThat(inTransaction(() -> userGameRepository.findGamesByUser(user)))
+            .extracting(Game::getName).containsExactlyInAnyOrder("First Game", "Peer Game");
+    }
+
+    @Test
+    void snapshot_ReportsEveryConfiguredRegion() {
+        assertThat(cacheStatisticsMonitor.snapshot()).extracting(CacheStatisticsMonitor.RegionStatistics::region)
+            .contains(Game.class.getName(), User.class.getName(), HealthSettings.class.getName(),
+                GAMES_BY_USER, HEALTH_SETTINGS_BY_USER, "query.playthroughsByUser", "default-update-timestamps-region");
+    }
+
+    private void addToLibrary(String name, int externalId) {
+        transactions.executeWithoutResult(status -> {
+            Game game = Game.builder().name(name).externalId(externalId).build();
+            EntityManager entityManager = entityManager();
+            entityManager.persist(game);
+            entityManager.persist(UserGame.builder().user(entityManager.find(User.class, user.getId())).game(game).build());
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactions.execute(status -> work.get());
+    }
+
+    private long hits(String region) {
+        return cacheStatisticsMonitor.snapshot().stream()
+            .filter(statistics -> statistics.region().equals(region))
+            .findFirst().orElseThrow()
+            .hits();
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+
+    private org.hibernate.Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.gamewatch.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowTraceSpanExporterTest {
+
+    // Span timestamps are relative to this; zero would make the SDK use the clock instead
+    private static final long EPOCH_MILLIS = 1_700_000_000_000L;
+
+    private final RecordingExporter exported = new RecordingExporter();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void fastTrace_IsDropped() {
+        SlowTraceSpanExporter exporter = exporter(0.0, 10);
+
+        Span root = start("GET /statistics", null, 0);
+        end(start("SELECT", root, 10), 50);
+        end(root, 200);
+
+        assertThat(exported.spans).isEmpty();
+        assertThat(exporter.pendingTraces()).isZero();
+    }
+
+    @Test
+    void slowTrace_IsExportedWithEverySpanOfTheTree() {
+        exporter(0.0, 10);
+
+        Span root = start("GET /statistics", null, 0);
+        Span stage = start("statistics totals", root, 100);
+        end(start("SELECT", stage, 150), 900);
+        end(stage, 1000);
+        end(root, 1500);
+
+        assertThat(exported.spans).extracting(SpanData::getName)
+            .containsExactly("SELECT", "statistics totals", "GET /statistics");
+    }
+
+    @Test
+    void failedTrace_IsExportedEvenWhenFast() {
+        exporter(0.0, 10);
+
+        Span root = start("GET /user-health/dashboard", null, 0);
+        end(start("SELECT", root, 10).setStatus(StatusCode.ERROR), 20);
+        end(root, 30);
+
+        assertThat(exported.spans).hasSize(2);
+    }
+
+    @Test
+    void spanEndingAfterItsRoot_FollowsTheDecisionForTheTrace() {
+        exporter(0.0, 10);
+
+        Span slowRoot = start("GET /statistics", null, 0);
+        Span lateChild = start("color-extraction download", slowRoot, 100);
+        end(slowRoot, 1200);
+        end(lateChild, 1300);
+
+        Span fastRoot = start("GET /playthroughs", null, 0);
+        Span droppedChild = start("SELECT", fastRoot, 10);
+        end(fastRoot, 20);
+        end(droppedChild, 30);
+
+        assertThat(exported.spans).extracting(SpanData::getName)
+            .containsExactly("GET /statistics", "color-extraction download");
+    }
+
+    @Test
+    void baselineRatio_ExportsFastTraces() {
+        exporter(1.0, 10);
+
+        end(start("GET /playthroughs", null, 0), 20);
+
+        assertThat(exported.spans).hasSize(1);
+    }
+
+    @Test
+    void tracesWaitingForTheirRoot_AreBounded() {
+        SlowTraceSpanExporter exporter = exporter(0.0, 2);
+
+        for (int i = 0; i < 3; i++) {
+            end(start("SELECT", start("GET /statistics", null, 0), 10), 20);
+        }
+
+        assertThat(exporter.pendingTraces()).isEqualTo(2);
+    }
+
+    private SlowTraceSpanExporter exporter(double baselineRatio, int maxPendingTraces) {
+        SlowTraceSpanExporter exporter = new SlowTraceSpanExporter(exported, Duration.ofSeconds(1),
+            baselineRatio, maxPendingTraces);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        return exporter;
+    }
+
+    private Span start(String name, Span parent, long startMillis) {
+        Tracer tracer = tracerProvider.get("test");
+        return tracer.spanBuilder(name)
+            .setParent(parent == null ? Context.root() : Context.root().with(parent))
+            .setStartTimestamp(EPOCH_MILLIS + startMillis, TimeUnit.MILLISECONDS)
+            .startSpan();
+    }
+
+    private static void end(Span span, long endMillis) {
+        span.end(EPOCH_MILLIS + endMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static class RecordingExporter implements SpanExporter {
+
+        private final List<SpanData> spans = new ArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
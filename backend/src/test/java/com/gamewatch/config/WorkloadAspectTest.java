@@ -0,0 +1,72 @@
+package com.gamewatch.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadAspectTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class))
+        .withBean(WorkloadAspect.class)
+        .withBean(ReportingService.class)
+        .withBean(ExportService.class);
+
+    @Test
+    void annotatedMethodsRunAsTheirWorkloadAndRestoreTheCallers() {
+        runner.run(context -> {
+            ReportingService reporting = context.getBean(ReportingService.class);
+
+            assertThat(reporting.analytics()).isEqualTo(WorkloadType.ANALYTICS);
+            assertThat(reporting.unannotated()).isEqualTo(WorkloadType.OLTP);
+            assertThat(WorkloadContext.current()).isEqualTo(WorkloadType.OLTP);
+
+            assertThatThrownBy(reporting::failing).isInstanceOf(IllegalStateException.class);
+            assertThat(WorkloadContext.current()).isEqualTo(WorkloadType.OLTP);
+        });
+    }
+
+    @Test
+    void classAnnotationAppliesToEveryMethodUnlessOverridden() {
+        runner.run(context -> {
+            ExportService export = context.getBean(ExportService.class);
+
+            assertThat(export.export()).isEqualTo(WorkloadType.BULK);
+            assertThat(export.summary()).isEqualTo(WorkloadType.ANALYTICS);
+        });
+    }
+
+    static class ReportingService {
+
+        @Workload(WorkloadType.ANALYTICS)
+        public WorkloadType analytics() {
+            return WorkloadContext.current();
+        }
+
+        public WorkloadType unannotated() {
+            return WorkloadContext.current();
+        }
+
+        @Workload(WorkloadType.BULK)
+        public void failing() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Workload(WorkloadType.BULK)
+    static class ExportService {
+
+        public WorkloadType export() {
+            return WorkloadContext.current();
+        }
+
+        @Workload(WorkloadType.ANALYTICS)
+        public WorkloadType summary() {
+            return WorkloadContext.current();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gamewatch.controller;
+
+import com.gamewatch.dto.FlightRecordingDto;
+import com.gamewatch.service.FlightRecordingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FlightRecordingController.class)
+@Import(FlightRecordingControllerTest.MethodSecurityConfig.class)
+class FlightRecordingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightRecordingService flightRecordingService;
+
+    @Test
+    @WithMockUser(authorities = "admin:diagnostics")
+    void getRecordings_Success() throws Exception {
+        when(flightRecordingService.recordings()).thenReturn(List.of(
+            FlightRecordingDto.builder().name("gamewatch-continuous").state("RUNNING").settings("default").build()));
+
+        mockMvc.perform(get("/admin/flight-recordings"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("gamewatch-continuous"))
+            .andExpect(jsonPath("$[0].state").value("RUNNING"));
+    }
+
+    @Test
+    @WithMockUser
+    void getRecordings_WithoutPermission_Returns403() throws Exception {
+        mockMvc.perform(get("/admin/flight-recordings"))
+            .andExpect(status().isForbidden());
+
+        verify(flightRecordingService, never()).recordings();
+    }
+
+    @Test
+    @WithMockUser(authorities = "admin:diagnostics")
+    void startRecording_PassesSettingsAndDuration() throws Exception {
+        when(flightRecordingService.start("profile", Duration.ofSeconds(60))).thenReturn(
+            FlightRecordingDto.builder().name("gamewatch-on-demand").state("RUNNING").settings("profile").build());
+
+        mockMvc.perform(post("/admin/flight-recordings")
+                .param("durationSeconds", "60")
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.settings").value("profile"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "admin:diagnostics")
+    void startRecording_AlreadyRunning_Returns409() throws Exception {
+        when(flightRecordingService.start(any(), any()))
+            .thenThrow(new IllegalStateException("A flight recording is already running"));
+
+        mockMvc.perform(post("/admin/flight-recordings")
+                .with(csrf()))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("A flight recording is already running"));
+    }
+
+    @Test
+    @WithMockUser
+    void stopRecording_WithoutPermission_Returns403() throws Exception {
+        mockMvc.perform(post("/admin/flight-recordings/stop")
+                .with(csrf()))
+            .andExpect(status().isForbidden());
+
+        verify(flightRecordingService, never()).stop();
+    }
+
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurityConfig {
+    }
+}
@@ -1,27 +1,43 @@
 package com.gamewatch.controller;
 
 import com.gamewatch.dto.CreateGameRequest;
+import com.gamewatch.dto.CursorPageDto;
 import com.gamewatch.dto.GameDto;
+import com.gamewatch.dto.GameSearchResultDto;
+import com.gamewatch.dto.LibraryFilter;
 import com.gamewatch.entity.User;
 import com.gamewatch.service.GameService;
 import com.gamewatch.service.RawgApiService;
 import com.gamewatch.service.UserService;
+import com.gamewatch.support.QueryBudget;
+import com.gamewatch.support.QueryBudgetFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -29,6 +45,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GameController.class)
+@Import(QueryBudgetFilter.class)
 class GameControllerTest {
 
     @Autowired
@@ -117,6 +134,54 @@ class GameControllerTest {
         verify(gameService).getAllGames(testUser);
     }
 
+    @Test
+    @WithMockUser
+    @QueryBudget(allocatedBytes = 2_500_000, warmups = 1)
+    void getUserGames_LargeLibraryStaysWithinAllocationBudget() throws Exception {
+        List<GameDto> library = IntStream.range(0, 500)
+            .mapToObj(i -> GameDto.builder()
+                .id((long) i)
+                .name("Test Game " + i)
+                .externalId(10_000 + i)
+                .bannerImageUrl("https://example.com/banner-" + i + ".jpg")
+                .releaseDate("2023-01-01")
+                .rating(4.5)
+                .genres("Action,Adventure")
+                .platforms("PC,PlayStation")
+                .build())
+            .toList();
+        when(userService.getOrCreateUser(any(Authentication.class))).thenReturn(testUser);
+        when(gameService.getAllGames(testUser)).thenReturn(library);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(500));
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void getGamesPage_PassesFiltersAndCursor() throws Exception {
+        when(userService.getOrCreateUser(any(Authentication.class))).thenReturn(testUser);
+        when(gameService.getGamesPage(eq(testUser), any(LibraryFilter.class), eq("abc"), eq(20)))
+            .thenReturn(CursorPageDto.<GameDto>builder().items(List.of(testGameDto)).nextCursor("next").build());
+
+        mockMvc.perform(get("/games")
+                .param("limit", "20")
+                .param("cursor", "abc")
+                .param("status", "completed")
+                .param("genre", "RPG"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(gameService).getGamesPage(eq(testUser),
+            argThat(filter -> "completed".equals(filter.getStatus()) && "RPG".equals(filter.getGenre())),
+            eq("abc"), eq(20));
+        verify(gameService, never()).getAllGames(any());
+    }
+
     @Test
     @WithMockUser
     void getGameById_Success() throws Exception {
@@ -132,6 +197,74 @@ class GameControllerTest {
         verify(gameService).getGameById(1L, testUser);
     }
 
+    @Test
+    @WithMockUser
+    void searchGames_AnswersOnceRawgResponds() throws Exception {
+        GameSearchResultDto result = GameSearchResultDto.builder().id(3328).name("The Witcher 3").build();
+        when(rawgApiService.searchGames("witcher")).thenReturn(Mono.just(List.of(result)));
+
+        MvcResult pending = mockMvc.perform(get("/games/search").param("query", "witcher"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(3328))
+            .andExpect(jsonPath("$[0].name").value("The Witcher 3"));
+    }
+
+    @Test
+    @WithMockUser
+    void getGameDetails_UnknownGameAnswersWithoutBody() throws Exception {
+        when(rawgApiService.getGameDetails(404)).thenReturn(Mono.empty());
+
+        MvcResult pending = mockMvc.perform(get("/games/details/404"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void searchGames_TimeoutCancelsRawgCallAndReturns503() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(rawgApiService.searchGames("witcher"))
+            .thenReturn(Mono.<List<GameSearchResultDto>>never().doOnCancel(() -> cancelled.set(true)));
+
+        MvcResult pending = mockMvc.perform(get("/games/search").param("query", "witcher"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertThat(cancelled).isTrue();
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @WithMockUser
+    void getGameDetails_ClientDisconnectCancelsRawgCall() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(rawgApiService.getGameDetails(3328))
+            .thenReturn(Mono.<GameSearchResultDto>never().doOnCancel(() -> cancelled.set(true)));
+
+        MvcResult pending = mockMvc.perform(get("/games/details/3328"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+
+        assertThat(cancelled).isTrue();
+    }
+
     @Test
     @WithMockUser
     void deleteGame_Success() throws Exception {
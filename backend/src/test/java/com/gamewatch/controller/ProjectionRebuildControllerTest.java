@@ -0,0 +1,65 @@
+package com.gamewatch.controller;
+
+import com.gamewatch.service.PlaythroughProjectionRebuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProjectionRebuildController.class)
+@Import(ProjectionRebuildControllerTest.MethodSecurityConfig.class)
+class ProjectionRebuildControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlaythroughProjectionRebuilder projectionRebuilder;
+
+    @Test
+    @WithMockUser(authorities = "admin:maintenance")
+    void rebuildPlaythroughs_ReturnsCorrectedCount() throws Exception {
+        when(projectionRebuilder.rebuildAllPlaythroughs()).thenReturn(3);
+
+        mockMvc.perform(post("/admin/projections/playthroughs/rebuild")
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.corrected").value(3));
+    }
+
+    @Test
+    @WithMockUser
+    void rebuildPlaythroughs_WithoutPermission_Returns403() throws Exception {
+        mockMvc.perform(post("/admin/projections/playthroughs/rebuild")
+                .with(csrf()))
+            .andExpect(status().isForbidden());
+
+        verify(projectionRebuilder, never()).rebuildAllPlaythroughs();
+    }
+
+    @Test
+    @WithMockUser(authorities = "admin:maintenance")
+    void rebuildHealthMetrics_UnknownUser_Returns404() throws Exception {
+        when(projectionRebuilder.rebuildHealthMetrics(99L)).thenThrow(new IllegalArgumentException("User not found"));
+
+        mockMvc.perform(post("/admin/projections/health-metrics/rebuild")
+                .param("userId", "99")
+                .with(csrf()))
+            .andExpect(status().isNotFound());
+    }
+
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurityConfig {
+    }
+}
@@ -1,6 +1,8 @@
 package com.gamewatch.repository;
 
+import com.gamewatch.entity.Developer;
 import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Genre;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -8,7 +10,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -76,4 +80,38 @@ class GameRepositoryTest {
         Game found = entityManager.find(Game.class, gameId);
         assertThat(found).isNull();
     }
+
+    @Test
+    void findMetadataLinksByGameIds_ReturnsTermIdsPerKind() {
+        Genre action = new Genre();
+        action.setName("Action");
+        entityManager.persist(action);
+        Genre rpg = new Genre();
+        rpg.setName("RPG");
+        entityManager.persist(rpg);
+        Developer studio = new Developer();
+        studio.setName("Test Studio");
+        studio.setRawgId(42);
+        entityManager.persist(studio);
+
+        Game game = Game.builder()
+            .name("Linked Game")
+            .genres("Action, RPG")
+            .developers("Test Studio")
+            .genreTerms(Set.of(action, rpg))
+            .developerTerms(Set.of(studio))
+            .build();
+        entityManager.persist(game);
+        entityManager.flush();
+
+        List<Object[]> links = gameRepository.findMetadataLinksByGameIds(List.of(game.getId()));
+
+        assertThat(links).hasSize(3);
+        assertThat(links)
+            .extracting(row -> row[1].toString() + ":" + ((Number) row[2]).intValue())
+            .containsExactlyInAnyOrder(
+                "GENRE:" + action.getId(),
+                "GENRE:" + rpg.getId(),
+                "DEVELOPER:" + studio.getId());
+    }
 }
@@ -0,0 +1,118 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.IdSequences;
+import com.gamewatch.entity.MoodEntry;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class InsertBatchingTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    @Autowired
+    private MoodEntryRepository moodEntryRepository;
+
+    private User user;
+    private Playthrough playthrough;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|batching")
+            .email("batching@example.com")
+            .username("batching")
+            .build());
+        Game game = entityManager.persist(Game.builder().name("Batch Insert Game").externalId(5050).build());
+        playthrough = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("story").build());
+        entityManager.flush();
+    }
+
+    @Test
+    void saveAll_SendsSessionInsertsInJdbcBatches() {
+        Instant base = Instant.parse("2024-01-01T18:00:00Z");
+        List<SessionHistory> sessions = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Instant start = base.plus(i, ChronoUnit.DAYS);
+            sessions.add(SessionHistory.builder()
+                .playthrough(playthrough)
+                .userId(user.getId())
+                .sessionNumber(i + 1)
+                .durationSeconds(3600L)
+                .pauseCount(0)
+                .startedAt(start)
+                .endedAt(start.plusSeconds(3600))
+                .build());
+        }
+        Statistics statistics = resetStatistics();
+
+        sessionHistoryRepository.saveAll(sessions);
+        entityManager.flush();
+
+        assertThat(sessions).allSatisfy(session -> assertThat(session.getId()).isNotNull());
+        assertThat(sessions).extracting(SessionHistory::getId).doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertBatched(statistics);
+    }
+
+    @Test
+    void saveAll_SendsMoodInsertsInJdbcBatches() {
+        Instant base = Instant.parse("2024-01-01T20:00:00Z");
+        List<MoodEntry> moods = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            moods.add(MoodEntry.builder()
+                .user(user)
+                .moodRating(1 + i % 5)
+                .recordedAt(base.plus(i, ChronoUnit.DAYS))
+                .build());
+        }
+        Statistics statistics = resetStatistics();
+
+        moodEntryRepository.saveAll(moods);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertBatched(statistics);
+    }
+
+    // One statement per insert batch plus one sequence call per block of reserved ids
+    private void assertBatched(Statistics statistics) {
+        long expected = ROWS / BATCH_SIZE + (ROWS + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(expected + 1);
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
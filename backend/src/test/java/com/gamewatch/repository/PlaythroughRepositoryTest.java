@@ -8,8 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -82,6 +84,36 @@ class PlaythroughRepositoryTest {
         assertThat(saved.getId()).isNotNull();
     }
 
+    @Test
+    void update_IncrementsVersion() {
+        Playthrough playthrough = entityManager.persistFlushFind(createPlaythrough());
+        Long version = playthrough.getVersion();
+
+        playthrough.setIsActive(true);
+        playthrough.setStartedAt(Instant.parse("2024-05-01T10:00:00Z"));
+        entityManager.flush();
+
+        assertThat(playthrough.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void save_StaleVersion_IsRejected() {
+        Playthrough playthrough = entityManager.persistFlushFind(createPlaythrough());
+        entityManager.detach(playthrough);
+
+        // Another device starts the playthrough after this copy was read
+        Playthrough current = playthroughRepository.findById(playthrough.getId()).orElseThrow();
+        current.setIsActive(true);
+        entityManager.flush();
+        entityManager.detach(current);
+
+        playthrough.setIsDropped(true);
+        assertThatThrownBy(() -> {
+            playthroughRepository.save(playthrough);
+            entityManager.flush();
+        }).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
     private Playthrough createPlaythrough() {
         return Playthrough.builder()
             .user(testUser)
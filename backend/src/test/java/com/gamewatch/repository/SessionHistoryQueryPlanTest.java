@@ -0,0 +1,178 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the plans of the per-user session queries against a few thousand sessions spread over many
+ * users: each must range-scan one of the (user_id, time) indexes and never touch playthroughs.
+ * <p>
+ * These are H2 plans over the indexes Hibernate creates from {@code @Index}, not PostgreSQL plans
+ * over the partitioned table the migrations build; whether PostgreSQL prunes partitions and answers
+ * from the {@code INCLUDE} columns without heap reads is not covered here. The test only pins the
+ * query shapes, and checks the Hibernate indexes keep the key columns of the migrations.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.gamewatch.repository.SessionHistoryQueryPlanTest$CapturingInspector")
+@ActiveProfiles("test")
+class SessionHistoryQueryPlanTest {
+
+    private static final int USERS = 40;
+    private static final int SESSIONS_PER_USER = 250;
+    private static final Instant BASE = Instant.parse("2024-01-01T18:00:00Z");
+    private static final Pattern MIGRATED_INDEX = Pattern.compile(
+        "CREATE INDEX (idx_session_history_\\w+)\\s+ON session_history\\s*\\(([^)]*)\\)");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        Game game = entityManager.persist(Game.builder().name("Plan Game").externalId(9090).build());
+        List<Object[]> rows = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = entityManager.persist(User.builder()
+                .auth0UserId("auth0|plan-" + u)
+                .email("plan" + u + "@example.com")
+                .username("plan" + u)
+                .build());
+            Playthrough playthrough = entityManager.persist(Playthrough.builder()
+                .user(user)
+                .game(game)
+                .playthroughType("story")
+                .build());
+            for (int s = 0; s < SESSIONS_PER_USER; s++) {
+                Instant start = BASE.plus(s, ChronoUnit.DAYS);
+                rows.add(new Object[]{playthrough.getId(), user.getId(), s + 1, 3600L, 0,
+                    Timestamp.from(start), Timestamp.from(start.plusSeconds(3600)), Timestamp.from(BASE)});
+            }
+            userId = user.getId();
+        }
+        entityManager.flush();
+        jdbcTemplate.batchUpdate("INSERT INTO session_history (id, playthrough_id, user_id, session_number, duration_seconds, "
+            + "pause_count, started_at, ended_at, created_at) "
+            + "VALUES (NEXT VALUE FOR session_history_id_seq, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findSessionsByUserAndDateRange_ScansUserTimeIndexWithoutJoin() {
+        Instant from = BASE.plus(30, ChronoUnit.DAYS);
+        Instant to = from.plus(7, ChronoUnit.DAYS);
+
+        assertThat(sessionHistoryRepository.findSessionsByUserAndDateRange(userId, from, to)).hasSize(7);
+
+        assertUsesUserTimeIndex(explainLast(userId, from, to));
+    }
+
+    @Test
+    void findOverlapping_ScansUserTimeIndexWithoutJoin() {
+        Instant start = BASE.plus(10, ChronoUnit.DAYS).plusSeconds(1800);
+        Instant end = start.plusSeconds(3600);
+
+        assertThat(sessionHistoryRepository.findOverlapping(userId, start, end, Limit.of(1))).hasSize(1);
+
+        assertUsesUserTimeIndex(explainLast(userId, end, start, 1));
+    }
+
+    @Test
+    void findIntervalsByUserId_ScansUserTimeIndexWithoutJoin() {
+        assertThat(sessionHistoryRepository.findIntervalsByUserId(userId)).hasSize(SESSIONS_PER_USER);
+
+        assertUsesUserTimeIndex(explainLast(userId));
+    }
+
+    @Test
+    void hibernateIndexes_KeepTheKeyColumnsOfTheMigrations() throws IOException {
+        Map<String, String> migrated = new HashMap<>();
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(SessionHistoryQueryPlanTest::version));
+        for (Resource migration : migrations) {
+            Matcher index = MIGRATED_INDEX.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+            while (index.find()) {
+                migrated.put(index.group(1), index.group(2).replaceAll("\\s+", ""));
+            }
+        }
+
+        Index[] indexes = SessionHistory.class.getAnnotation(Table.class).indexes();
+        assertThat(indexes).isNotEmpty();
+        for (Index index : indexes) {
+            assertThat(migrated.get(index.name())).as(index.name()).isEqualTo(index.columnList().replaceAll("\\s+", ""));
+        }
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    private String explainLast(Object... parameters) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+            .filter(statement -> statement.contains("session_history"))
+            .reduce((first, second) -> second)
+            .orElseThrow();
+        Object[] bound = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            bound[i] = parameters[i] instanceof Instant instant ? Timestamp.from(instant) : parameters[i];
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, bound);
+    }
+
+    private static void assertUsesUserTimeIndex(String plan) {
+        assertThat(plan.toLowerCase())
+            .containsPattern("idx_session_history_user_(started|ended)")
+            .doesNotContain("playthroughs")
+            .doesNotContain("tablescan");
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
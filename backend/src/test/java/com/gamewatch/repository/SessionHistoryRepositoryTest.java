@@ -0,0 +1,126 @@
+package com.gamewatch.repository;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SessionHistoryRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-03-01T18:00:00Z");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    private Playthrough playthrough;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|sessions")
+            .email("sessions@example.com")
+            .username("sessions")
+            .build());
+        Game game = entityManager.persist(Game.builder()
+            .name("Session Game")
+            .externalId(777)
+            .build());
+        playthrough = entityManager.persist(Playthrough.builder()
+            .user(user)
+            .game(game)
+            .playthroughType("story")
+            .build());
+
+        for (int day = 0; day < 5; day++) {
+            entityManager.persist(SessionHistory.builder()
+                .playthrough(playthrough)
+                .userId(user.getId())
+                .sessionNumber(day + 1)
+                .durationSeconds(3600L)
+                .pauseCount(0)
+                .startedAt(BASE.plus(day, ChronoUnit.DAYS))
+                .endedAt(BASE.plus(day, ChronoUnit.DAYS).plusSeconds(3600))
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void sessionNumbersAroundStart_GiveInsertPosition() {
+        Instant betweenSecondAndThird = BASE.plus(1, ChronoUnit.DAYS).plusSeconds(7200);
+
+        assertThat(sessionHistoryRepository.findLastSessionNumberStartedBy(playthrough.getId(), betweenSecondAndThird))
+            .isEqualTo(2);
+        assertThat(sessionHistoryRepository.findFirstSessionNumberStartedAfter(playthrough.getId(), betweenSecondAndThird))
+            .isEqualTo(3);
+        assertThat(sessionHistoryRepository.findLastSessionNumberStartedBy(playthrough.getId(), BASE.minusSeconds(1)))
+            .isNull();
+    }
+
+    @Test
+    void findOverlapping_MatchesSharedTimeOnly() {
+        Long userId = playthrough.getUser().getId();
+        Instant secondStart = BASE.plus(1, ChronoUnit.DAYS);
+
+        List<SessionHistory> overlapping = sessionHistoryRepository.findOverlapping(
+            userId, secondStart.plusSeconds(1800), secondStart.plusSeconds(5400), Limit.of(1));
+        List<SessionHistory> touching = sessionHistoryRepository.findOverlapping(
+            userId, secondStart.plusSeconds(3600), secondStart.plusSeconds(7200), Limit.of(1));
+        List<SessionHistory> otherUser = sessionHistoryRepository.findOverlapping(
+            userId + 1, secondStart, secondStart.plusSeconds(60), Limit.of(1));
+
+        assertThat(overlapping).extracting(SessionHistory::getSessionNumber).containsExactly(2);
+        assertThat(touching).isEmpty();
+        assertThat(otherUser).isEmpty();
+    }
+
+    @Test
+    void findIntervalsByUserId_ReturnsStartAndEndPairs() {
+        List<Object[]> rows = sessionHistoryRepository.findIntervalsByUserId(playthrough.getUser().getId());
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows.get(0)[0]).isInstanceOf(Instant.class);
+        assertThat(rows.get(0)[1]).isInstanceOf(Instant.class);
+    }
+
+    @Test
+    void shiftSessionNumbers_MovesOnlyLaterSessions() {
+        int shifted = sessionHistoryRepository.shiftSessionNumbers(playthrough.getId(), 3, 1);
+        entityManager.clear();
+
+        assertThat(shifted).isEqualTo(3);
+        List<SessionHistory> sessions = sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId());
+        assertThat(sessions).extracting(SessionHistory::getSessionNumber).containsExactly(1, 2, 4, 5, 6);
+    }
+
+    @Test
+    void shiftSessionNumbers_ClosesGapAfterDelete() {
+        SessionHistory second = sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId()).get(1);
+        sessionHistoryRepository.delete(second);
+
+        sessionHistoryRepository.shiftSessionNumbers(playthrough.getId(), 3, -1);
+        entityManager.clear();
+
+        List<SessionHistory> sessions = sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId());
+        assertThat(sessions).extracting(SessionHistory::getSessionNumber).containsExactly(1, 2, 3, 4);
+    }
+}
@@ -0,0 +1,153 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.BackupDto;
+import com.gamewatch.dto.BackupImportResultDto;
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.MoodEntry;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BackupService.class, GameMetadataDictionary.class})
+class BackupServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BackupService backupService;
+
+    @Autowired
+    private PlaythroughRepository playthroughRepository;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    private User user;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|backup")
+            .email("backup@example.com")
+            .username("backup")
+            .build());
+        Game game = entityManager.persist(Game.builder().name("Played Game").externalId(7001).build());
+        Playthrough played = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("story").build());
+        base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(3, ChronoUnit.DAYS);
+        entityManager.persist(SessionHistory.builder()
+            .playthrough(played)
+            .userId(user.getId())
+            .sessionNumber(1)
+            .durationSeconds(3600L)
+            .pauseCount(0)
+            .startedAt(base)
+            .endedAt(base.plusSeconds(3600))
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void importBackup_LeavesSkippedSessionsOutOfTotalsAndReportsThem() {
+        BackupDto backup = backup(
+            List.of(
+                // Overlaps the session already on record
+                session(1L, base.plusSeconds(1800), base.plusSeconds(5400), 3600L),
+                // Ended within the second it started, as the timer can record
+                session(2L, base.plusSeconds(7200), base.plusSeconds(7200), 0L),
+                session(3L, base.plusSeconds(10800), base.plusSeconds(11400), 600L),
+                session(4L, null, base.plusSeconds(14400), 300L)),
+            List.of(mood(1L), mood(3L), mood(null)));
+
+        BackupImportResultDto result = backupService.importBackup(user, backup);
+
+        assertThat(result.getSessions()).isEqualTo(2);
+        assertThat(result.getSkippedSessions()).isEqualTo(2);
+        assertThat(result.getMoodEntries()).isEqualTo(2);
+        assertThat(result.getSkippedMoodEntries()).isEqualTo(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Playthrough imported = playthroughRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
+            .filter(playthrough -> "Imported".equals(playthrough.getTitle()))
+            .findFirst().orElseThrow();
+        assertThat(imported.getSessionCount()).isEqualTo(2);
+        assertThat(imported.getDurationSeconds()).isEqualTo(600L);
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(imported.getId()))
+            .extracting(SessionHistory::getDurationSeconds)
+            .containsExactly(0L, 600L);
+        List<MoodEntry> moods = entityManager.getEntityManager()
+            .createQuery("SELECT m FROM MoodEntry m LEFT JOIN FETCH m.sessionHistory WHERE m.user.id = :userId", MoodEntry.class)
+            .setParameter("userId", user.getId())
+            .getResultList();
+        assertThat(moods).hasSize(2)
+            .anySatisfy(mood -> assertThat(mood.getSessionHistory().getDurationSeconds()).isEqualTo(600L))
+            .anySatisfy(mood -> assertThat(mood.getSessionHistory()).isNull());
+    }
+
+    private BackupDto backup(List<BackupDto.BackupSessionDto> sessions, List<BackupDto.BackupMoodEntryDto> moods) {
+        return BackupDto.builder()
+            .version("1.0")
+            .timestamp(Instant.now())
+            .data(BackupDto.BackupDataDto.builder()
+                .games(List.of(BackupDto.BackupGameDto.builder().originalId(10L).externalId(7002).name("Imported Game").build()))
+                .playthroughs(List.of(BackupDto.BackupPlaythroughDto.builder()
+                    .originalId(20L)
+                    .gameOriginalId(10L)
+                    .playthroughType("story")
+                    .title("Imported")
+                    .durationSeconds(4500L)
+                    .isActive(false)
+                    .isCompleted(false)
+                    .isDropped(false)
+                    .isPaused(false)
+                    .sessionCount(4)
+                    .pauseCount(0)
+                    .importedDurationSeconds(0L)
+                    .manualTimeSet(false)
+                    .build()))
+                .sessions(sessions)
+                .moodEntries(moods)
+                .build())
+            .build();
+    }
+
+    private static BackupDto.BackupSessionDto session(Long originalId, Instant startedAt, Instant endedAt, long seconds) {
+        return BackupDto.BackupSessionDto.builder()
+            .originalId(originalId)
+            .playthroughOriginalId(20L)
+            .sessionNumber(originalId.intValue())
+            .durationSeconds(seconds)
+            .pauseCount(0)
+            .startedAt(startedAt)
+            .endedAt(endedAt)
+            .build();
+    }
+
+    private BackupDto.BackupMoodEntryDto mood(Long sessionOriginalId) {
+        return BackupDto.BackupMoodEntryDto.builder()
+            .sessionHistoryOriginalId(sessionOriginalId)
+            .moodRating(4)
+            .recordedAt(base.plusSeconds(20000))
+            .build();
+    }
+}
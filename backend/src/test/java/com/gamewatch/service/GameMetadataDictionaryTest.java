@@ -0,0 +1,68 @@
+package com.gamewatch.service;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Genre;
+import com.gamewatch.entity.MetadataTerm;
+import com.gamewatch.repository.GenreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(GameMetadataDictionary.class)
+class GameMetadataDictionaryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameMetadataDictionary metadataDictionary;
+
+    @SpyBean
+    private GenreRepository genreRepository;
+
+    @Test
+    void linkTerms_CreatesUnseenTermsOnce() {
+        Game first = Game.builder().name("First").genres("RPG, Action").build();
+        Game second = Game.builder().name("Second").genres("Action,RPG,RPG").build();
+
+        metadataDictionary.linkTerms(first);
+        metadataDictionary.linkTerms(second);
+
+        assertThat(genreRepository.count()).isEqualTo(2);
+        assertThat(second.getGenreTerms()).extracting(MetadataTerm::getName).containsExactly("Action", "RPG");
+        assertThat(second.getGenreTerms()).extracting(MetadataTerm::getRawgId).containsOnlyNulls();
+    }
+
+    @Test
+    void linkTerms_ReusesTermInsertedByConcurrentTransaction() {
+        Genre existing = new Genre();
+        existing.setName("Roguelike");
+        existing = entityManager.persistFlushFind(existing);
+        // The lookup misses as it would before the other transaction committed
+        doReturn(Optional.empty())
+            .doAnswer(invocation -> entityManager.getEntityManager()
+                .createQuery("select g from Genre g where g.name = :name", Genre.class)
+                .setParameter("name", invocation.getArgument(0))
+                .getResultStream()
+                .findFirst())
+            .when(genreRepository).findByName("Roguelike");
+
+        Game game = Game.builder().name("Hades").externalId(7).genres("Roguelike").build();
+        metadataDictionary.linkTerms(game);
+        entityManager.persistAndFlush(game);
+
+        assertThat(game.getGenreTerms()).extracting(MetadataTerm::getId).containsExactly(existing.getId());
+        assertThat(genreRepository.count()).isEqualTo(1);
+    }
+}
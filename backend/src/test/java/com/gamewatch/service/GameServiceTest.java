@@ -2,11 +2,16 @@ package com.gamewatch.service;
 
 import com.gamewatch.dto.CreateGameRequest;
 import com.gamewatch.dto.GameDto;
+import com.gamewatch.dto.GameStatisticsDto;
 import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionDailySummary;
+import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
 import com.gamewatch.entity.UserGame;
 import com.gamewatch.repository.GameRepository;
 import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
 import com.gamewatch.repository.SessionHistoryRepository;
 import com.gamewatch.repository.UserGameRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +45,12 @@ class GameServiceTest {
     @Mock
     private SessionHistoryRepository sessionHistoryRepository;
 
+    @Mock
+    private GameMetadataDictionary metadataDictionary;
+
+    @Mock
+    private SessionDailySummaryRepository summaryRepository;
+
     @InjectMocks
     private GameService gameService;
 
@@ -135,27 +147,38 @@ class GameServiceTest {
 
     @Test
     void getAllGames_Success() {
-        when(userGameRepository.findGamesByUser(testUser)).thenReturn(List.of(testGame));
-        when(playthroughRepository.findByUserIdAndGameIdIn(eq(1L), anyList())).thenReturn(List.of());
+        Playthrough playthrough = Playthrough.builder()
+            .id(10L)
+            .game(testGame)
+            .durationSeconds(3600L)
+            .sessionCount(2)
+            .isCompleted(true)
+            .build();
+        when(userGameRepository.findGamesWithPlaythroughsByUser(testUser))
+            .thenReturn(List.<Object[]>of(new Object[]{testGame, playthrough}));
 
         List<GameDto> results = gameService.getAllGames(testUser);
 
         assertThat(results).isNotEmpty();
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getName()).isEqualTo("Test Game");
+        assertThat(results.get(0).getTotalPlaytimeSeconds()).isEqualTo(3600L);
+        assertThat(results.get(0).getSessionCount()).isEqualTo(2);
+        assertThat(results.get(0).getStatus()).isEqualTo("completed");
 
-        verify(userGameRepository).findGamesByUser(testUser);
+        verify(userGameRepository).findGamesWithPlaythroughsByUser(testUser);
+        verifyNoInteractions(playthroughRepository);
     }
 
     @Test
     void getAllGames_EmptyList() {
-        when(userGameRepository.findGamesByUser(testUser)).thenReturn(List.of());
+        when(userGameRepository.findGamesWithPlaythroughsByUser(testUser)).thenReturn(List.of());
 
         List<GameDto> results = gameService.getAllGames(testUser);
 
         assertThat(results).isEmpty();
 
-        verify(userGameRepository).findGamesByUser(testUser);
+        verify(userGameRepository).findGamesWithPlaythroughsByUser(testUser);
     }
 
     @Test
@@ -228,7 +251,7 @@ class GameServiceTest {
             .hasMessageContaining("not found");
 
         verify(gameRepository).findById(999L);
-        verify(userGameRepository, never()).delete(any());
+        verify(userGameRepository, never()).delete(any(UserGame.class));
     }
 
     @Test
@@ -253,4 +276,56 @@ class GameServiceTest {
         verify(gameRepository).save(any(Game.class));
         verify(userGameRepository).save(any(UserGame.class));
     }
+
+    @Test
+    void getGameStatistics_ListsArchivedDaysBeforeRemainingSessions() {
+        testGame.setCreatedAt(Instant.parse("2019-01-01T00:00:00Z"));
+        Playthrough playthrough = Playthrough.builder()
+            .id(7L)
+            .user(testUser)
+            .game(testGame)
+            .playthroughType("story")
+            .durationSeconds(10_800L)
+            .sessionCount(3)
+            .build();
+        SessionHistory remaining = SessionHistory.builder()
+            .id(30L)
+            .playthrough(playthrough)
+            .sessionNumber(3)
+            .durationSeconds(3600L)
+            .pauseCount(0)
+            .startedAt(Instant.parse("2024-05-01T18:00:00Z"))
+            .endedAt(Instant.parse("2024-05-01T19:00:00Z"))
+            .build();
+        SessionDailySummary archivedDay = SessionDailySummary.builder()
+            .playthroughId(7L)
+            .summaryDate(LocalDate.of(2019, 3, 2))
+            .sessionCount(2)
+            .durationSeconds(7200L)
+            .longestSessionSeconds(5400L)
+            .pauseCount(1)
+            .firstStartedAt(Instant.parse("2019-03-02T10:00:00Z"))
+            .lastEndedAt(Instant.parse("2019-03-02T16:00:00Z"))
+            .hourlySeconds(new long[SessionDailySummary.HOURS_PER_DAY])
+            .build();
+
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
+        when(userGameRepository.existsByUserAndGame(testUser, testGame)).thenReturn(true);
+        when(playthroughRepository.findByUserIdAndGameIdOrderByCreatedAtDesc(1L, 1L)).thenReturn(List.of(playthrough));
+        when(sessionHistoryRepository.findByPlaythroughIdsOrderByPlaythroughAndSession(List.of(7L))).thenReturn(List.of(remaining));
+        when(summaryRepository.findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(List.of(7L))).thenReturn(List.of(archivedDay));
+
+        GameStatisticsDto statistics = gameService.getGameStatistics(1L, testUser);
+
+        assertThat(statistics.getLongestSessionSeconds()).isEqualTo(5400L);
+        assertThat(statistics.getSessions()).hasSize(2);
+        GameStatisticsDto.SessionDetail archived = statistics.getSessions().get(0);
+        assertThat(archived.getSessionId()).isNull();
+        assertThat(archived.getArchivedSessionCount()).isEqualTo(2);
+        assertThat(archived.getSessionNumber()).isEqualTo(1);
+        assertThat(archived.getSessionTimeSeconds()).isEqualTo(7200L);
+        GameStatisticsDto.SessionDetail live = statistics.getSessions().get(1);
+        assertThat(live.getSessionId()).isEqualTo(30L);
+        assertThat(live.getSessionNumber()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,194 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.TimerEventBatchRequest;
+import com.gamewatch.dto.TimerEventDto;
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
+import com.gamewatch.entity.SessionDailySummary;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.SessionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PlaythroughService.class, PlaythroughProjectionRebuilder.class})
+class PlaythroughProjectionRebuilderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlaythroughService playthroughService;
+
+    @Autowired
+    private PlaythroughProjectionRebuilder rebuilder;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    @MockBean
+    private HealthService healthService;
+
+    @MockBean
+    private ColorExtractionService colorExtractionService;
+
+    private User user;
+    private Playthrough playthrough;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|rebuild")
+            .email("rebuild@example.com")
+            .username("rebuild")
+            .build());
+        Game game = entityManager.persist(Game.builder()
+            .name("Rebuild Game")
+            .externalId(5151)
+            .build());
+        playthrough = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("story").build());
+        entityManager.persist(PlaythroughEvent.builder()
+            .playthroughId(playthrough.getId())
+            .userId(user.getId())
+            .type(PlaythroughEventType.SNAPSHOT)
+            .occurredAt(Instant.now())
+            .payload(PlaythroughState.of(playthrough).toJson())
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(1, ChronoUnit.DAYS);
+        playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(List.of(
+            event(TimerEventDto.Type.START, base),
+            event(TimerEventDto.Type.PAUSE, base.plusSeconds(600)),
+            event(TimerEventDto.Type.START, base.plusSeconds(900)),
+            event(TimerEventDto.Type.END_SESSION, base.plusSeconds(1500)))));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rebuildPlaythrough_LeavesConsistentRowUntouched() {
+        assertThat(rebuilder.rebuildPlaythrough(user, playthrough.getId())).isFalse();
+    }
+
+    @Test
+    void rebuildPlaythrough_RestoresDriftedRowFromLog() {
+        corruptRow();
+
+        assertThat(rebuilder.rebuildPlaythrough(user, playthrough.getId())).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+
+        Playthrough rebuilt = entityManager.find(Playthrough.class, playthrough.getId());
+        assertThat(rebuilt.getDurationSeconds()).isEqualTo(1200L);
+        assertThat(rebuilt.getSessionCount()).isEqualTo(1);
+        assertThat(rebuilt.getIsActive()).isFalse();
+        assertThat(rebuilt.getLastPlayedAt()).isEqualTo(base.plusSeconds(1500));
+    }
+
+    @Test
+    void rebuildAllPlaythroughs_CorrectsOnlyDriftedRows() {
+        corruptRow();
+
+        assertThat(rebuilder.rebuildAllPlaythroughs()).isEqualTo(1);
+        assertThat(rebuilder.rebuildAllPlaythroughs()).isZero();
+    }
+
+    @Test
+    void rebuildHealthMetrics_RecalculatesEverySessionDay() {
+        assertThat(rebuilder.rebuildHealthMetrics(user.getId())).isPositive();
+
+        verify(healthService, atLeastOnce())
+            .recalculateMetricsForDate(any(User.class), any(LocalDate.class), eq(HealthService.RecalculationTrigger.REBUILD));
+        verify(healthService, never()).recalculateMetricsForDate(any(User.class), eq(LocalDate.of(1970, 1, 1)), any());
+    }
+
+    @Test
+    void rebuildPlaythrough_RestoresLostSessionRows() {
+        sessionHistoryRepository.deleteAllInBatch();
+
+        assertThat(rebuilder.rebuildPlaythrough(user, playthrough.getId())).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId()))
+            .singleElement()
+            .satisfies(session -> {
+                assertThat(session.getSessionNumber()).isEqualTo(1);
+                assertThat(session.getStartedAt()).isEqualTo(base);
+                assertThat(session.getEndedAt()).isEqualTo(base.plusSeconds(1500));
+                assertThat(session.getDurationSeconds()).isEqualTo(1200L);
+            });
+        assertThat(rebuilder.rebuildPlaythrough(user, playthrough.getId())).isFalse();
+    }
+
+    @Test
+    void rebuildPlaythrough_LeavesArchivedSessionsToTheirSummary() {
+        sessionHistoryRepository.deleteAllInBatch();
+        entityManager.persist(SessionDailySummary.builder()
+            .userId(user.getId())
+            .playthroughId(playthrough.getId())
+            .summaryDate(base.atZone(ZoneId.systemDefault()).toLocalDate())
+            .sessionCount(1)
+            .durationSeconds(1200L)
+            .longestSessionSeconds(1200L)
+            .pauseCount(1)
+            .firstStartedAt(base)
+            .lastEndedAt(base.plusSeconds(1500))
+            .hourlySeconds(new long[SessionDailySummary.HOURS_PER_DAY])
+            .build());
+
+        assertThat(rebuilder.rebuildPlaythrough(user, playthrough.getId())).isFalse();
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId())).isEmpty();
+    }
+
+    @Test
+    void rebuildPlaythrough_RejectsOtherUsersPlaythrough() {
+        User other = entityManager.persist(User.builder()
+            .auth0UserId("auth0|other")
+            .email("other@example.com")
+            .username("other")
+            .build());
+
+        assertThatThrownBy(() -> rebuilder.rebuildPlaythrough(other, playthrough.getId()))
+            .hasMessageContaining("not found");
+    }
+
+    private void corruptRow() {
+        Playthrough row = entityManager.find(Playthrough.class, playthrough.getId());
+        row.setDurationSeconds(99_999L);
+        row.setSessionCount(7);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private TimerEventDto event(TimerEventDto.Type type, Instant at) {
+        return TimerEventDto.builder()
+            .playthroughId(playthrough.getId())
+            .type(type)
+            .occurredAt(at)
+            .build();
+    }
+}
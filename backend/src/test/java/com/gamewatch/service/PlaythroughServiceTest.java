@@ -3,19 +3,28 @@ package com.gamewatch.service;
 import com.gamewatch.dto.CreatePlaythroughRequest;
 import com.gamewatch.dto.LogManualSessionRequest;
 import com.gamewatch.dto.PlaythroughDto;
+import com.gamewatch.dto.TimerEventBatchRequest;
+import com.gamewatch.dto.TimerEventDto;
 import com.gamewatch.entity.Game;
 import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEventType;
 import com.gamewatch.entity.SessionHistory;
 import com.gamewatch.entity.User;
 import com.gamewatch.repository.GameRepository;
+import com.gamewatch.repository.PlaythroughEventRepository;
 import com.gamewatch.repository.PlaythroughRepository;
+import com.gamewatch.repository.SessionDailySummaryRepository;
 import com.gamewatch.repository.SessionHistoryRepository;
+import com.gamewatch.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -25,7 +34,10 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,12 +52,24 @@ class PlaythroughServiceTest {
     @Mock
     private SessionHistoryRepository sessionHistoryRepository;
 
+    @Mock
+    private SessionDailySummaryRepository summaryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private HealthService healthService;
 
     @Mock
     private ColorExtractionService colorExtractionService;
 
+    @Mock
+    private PlaythroughEventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PlaythroughService playthroughService;
 
@@ -87,6 +111,9 @@ class PlaythroughServiceTest {
             .sessionStartDurationSeconds(0L)
             .importedDurationSeconds(0L)
             .build();
+
+        // Manual sessions lock the user before any playthrough
+        lenient().when(userRepository.findForUpdateById(1L)).thenReturn(Optional.of(testUser));
     }
 
     @Test
@@ -137,124 +164,191 @@ class PlaythroughServiceTest {
 
     @Test
     void startPlaythrough_Success() {
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
-        when(playthroughRepository.save(any(Playthrough.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        testPlaythrough.setDurationSeconds(600L);
+        testPlaythrough.setPauseCount(2);
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
 
         PlaythroughDto result = playthroughService.startPlaythrough(testUser, 1L);
 
-        assertThat(result).isNotNull();
         assertThat(result.getIsActive()).isTrue();
-        assertThat(result.getIsPaused()).isFalse();
-        assertThat(testPlaythrough.getStartedAt()).isNotNull();
-        assertThat(testPlaythrough.getPauseCount()).isEqualTo(0);
+        assertThat(result.getStartedAt()).isNotNull();
+        assertThat(result.getSessionStartTime()).isEqualTo(result.getStartedAt());
+        assertThat(result.getSessionStartDurationSeconds()).isEqualTo(600L);
+        assertThat(testPlaythrough.getPauseCount()).isZero();
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
-        verify(playthroughRepository).save(any(Playthrough.class));
+        verify(playthroughRepository, never()).findByIdAndUserId(anyLong(), anyLong());
+        verify(playthroughRepository).save(testPlaythrough);
+        verify(eventRepository).save(argThat(event -> event.getType() == PlaythroughEventType.START));
+    }
+
+    @Test
+    void startPlaythrough_AfterPause_ContinuesTheSession() {
+        Instant sessionStart = Instant.now().minus(1, ChronoUnit.HOURS);
+        testPlaythrough.setIsPaused(true);
+        testPlaythrough.setDurationSeconds(1800L);
+        testPlaythrough.setSessionStartTime(sessionStart);
+        testPlaythrough.setSessionStartDurationSeconds(600L);
+        testPlaythrough.setPauseCount(1);
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
+
+        playthroughService.startPlaythrough(testUser, 1L);
+
+        assertThat(testPlaythrough.getIsActive()).isTrue();
+        assertThat(testPlaythrough.getIsPaused()).isFalse();
+        assertThat(testPlaythrough.getSessionStartTime()).isEqualTo(sessionStart);
+        assertThat(testPlaythrough.getSessionStartDurationSeconds()).isEqualTo(600L);
+        assertThat(testPlaythrough.getPauseCount()).isEqualTo(1);
+    }
+
+    @Test
+    void startPlaythrough_LastChangeAheadOfThisClock_IsAccepted() {
+        // Another node with a clock running ahead wrote the last change
+        testPlaythrough.setLastPlayedAt(Instant.now().plus(1, ChronoUnit.MINUTES));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
+
+        PlaythroughDto result = playthroughService.startPlaythrough(testUser, 1L);
+
+        assertThat(result.getIsActive()).isTrue();
+    }
+
+    @Test
+    void endSessionPlaythrough_ManualTime_EndsAfterTheSessionsOwnDuration() {
+        Instant sessionStart = Instant.now().minus(1, ChronoUnit.HOURS);
+        testPlaythrough.setIsPaused(true);
+        testPlaythrough.setManualTimeSet(true);
+        testPlaythrough.setSessionStartTime(sessionStart);
+        testPlaythrough.setSessionStartDurationSeconds(36000L);
+        testPlaythrough.setDurationSeconds(36000L + 1200);
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(sessionHistoryRepository.save(any(SessionHistory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        playthroughService.endSessionPlaythrough(testUser, 1L);
+
+        // Ending at session start + total duration would date the session ten hours into the future
+        verify(sessionHistoryRepository).save(argThat(session -> session.getDurationSeconds() == 1200L
+            && session.getEndedAt().equals(sessionStart.plusSeconds(1200))));
+        assertThat(testPlaythrough.getLastPlayedAt()).isEqualTo(sessionStart.plusSeconds(1200));
+
+        // The next live click on the playthrough is not held back by the session's end
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
+        assertThat(playthroughService.startPlaythrough(testUser, 1L).getIsActive()).isTrue();
     }
 
     @Test
     void startPlaythrough_AlreadyActive_ThrowsException() {
         testPlaythrough.setIsActive(true);
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
         assertThatThrownBy(() -> playthroughService.startPlaythrough(testUser, 1L))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("already active");
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
         verify(playthroughRepository, never()).save(any());
+        verifyNoInteractions(eventRepository);
     }
 
     @Test
     void startPlaythrough_DroppedPlaythrough_ThrowsException() {
         testPlaythrough.setIsDropped(true);
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
         assertThatThrownBy(() -> playthroughService.startPlaythrough(testUser, 1L))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("Cannot start a session on a dropped playthrough");
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
         verify(playthroughRepository, never()).save(any());
     }
 
     @Test
     void pausePlaythrough_Success() {
         testPlaythrough.setIsActive(true);
-        testPlaythrough.setStartedAt(Instant.now().minus(1, ChronoUnit.HOURS));
-        testPlaythrough.setDurationSeconds(3600L);
-
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
-        when(playthroughRepository.save(any(Playthrough.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        testPlaythrough.setStartedAt(Instant.now().minus(2, ChronoUnit.HOURS));
+        testPlaythrough.setDurationSeconds(600L);
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
 
         PlaythroughDto result = playthroughService.pausePlaythrough(testUser, 1L);
 
-        assertThat(result).isNotNull();
         assertThat(result.getIsActive()).isFalse();
         assertThat(result.getIsPaused()).isTrue();
-        assertThat(testPlaythrough.getDurationSeconds()).isGreaterThan(3600L);
+        assertThat(result.getStartedAt()).isNull();
+        assertThat(result.getDurationSeconds()).isBetween(600L + 7200, 600L + 7205);
         assertThat(testPlaythrough.getPauseCount()).isEqualTo(1);
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
-        verify(playthroughRepository).save(any(Playthrough.class));
+        verify(playthroughRepository).save(testPlaythrough);
     }
 
     @Test
     void pausePlaythrough_NotActive_ThrowsException() {
         testPlaythrough.setIsActive(false);
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
         assertThatThrownBy(() -> playthroughService.pausePlaythrough(testUser, 1L))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("not active");
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
         verify(playthroughRepository, never()).save(any());
     }
 
     @Test
     void stopPlaythrough_Success() {
         testPlaythrough.setIsActive(true);
-        testPlaythrough.setStartedAt(Instant.now().minus(2, ChronoUnit.HOURS));
+        testPlaythrough.setStartedAt(Instant.now().minus(1, ChronoUnit.HOURS));
         testPlaythrough.setDurationSeconds(7200L);
-
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
-        when(playthroughRepository.save(any(Playthrough.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
 
         PlaythroughDto result = playthroughService.stopPlaythrough(testUser, 1L);
 
-        assertThat(result).isNotNull();
         assertThat(result.getIsActive()).isFalse();
         assertThat(result.getIsCompleted()).isTrue();
         assertThat(result.getIsDropped()).isFalse();
-        assertThat(testPlaythrough.getStoppedAt()).isNotNull();
-        assertThat(testPlaythrough.getEndDate()).isNotNull();
-        assertThat(testPlaythrough.getDurationSeconds()).isGreaterThanOrEqualTo(7200L);
+        assertThat(result.getStoppedAt()).isNotNull();
+        assertThat(result.getStartedAt()).isNull();
+        assertThat(result.getEndDate()).isEqualTo(LocalDate.now());
+        assertThat(result.getDurationSeconds()).isBetween(7200L + 3600, 7200L + 3605);
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
-        verify(playthroughRepository).save(any(Playthrough.class));
+        verify(eventRepository).save(argThat(event -> event.getType() == PlaythroughEventType.STOP));
     }
 
     @Test
-    void dropPlaythrough_Success() {
-        testPlaythrough.setIsActive(true);
-        testPlaythrough.setStartedAt(Instant.now().minus(1, ChronoUnit.HOURS));
-        testPlaythrough.setDurationSeconds(3600L);
+    void stopPlaythrough_NoRecordedTime_ThrowsException() {
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
-        when(playthroughRepository.save(any(Playthrough.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertThatThrownBy(() -> playthroughService.stopPlaythrough(testUser, 1L))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("no recorded time");
+    }
+
+    @Test
+    void dropPlaythrough_Success() {
+        testPlaythrough.setIsPaused(true);
+        testPlaythrough.setDurationSeconds(7200L);
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.save(testPlaythrough)).thenReturn(testPlaythrough);
 
         PlaythroughDto result = playthroughService.dropPlaythrough(testUser, 1L);
 
-        assertThat(result).isNotNull();
         assertThat(result.getIsActive()).isFalse();
+        assertThat(result.getIsPaused()).isFalse();
         assertThat(result.getIsCompleted()).isFalse();
         assertThat(result.getIsDropped()).isTrue();
-        assertThat(testPlaythrough.getStoppedAt()).isNotNull();
-        assertThat(testPlaythrough.getEndDate()).isNotNull();
+        assertThat(result.getDroppedAt()).isEqualTo(result.getStoppedAt());
+        assertThat(result.getDurationSeconds()).isEqualTo(7200L);
+    }
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
-        verify(playthroughRepository).save(any(Playthrough.class));
+    @Test
+    void pickupPlaythrough_NotDropped_ThrowsException() {
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+
+        assertThatThrownBy(() -> playthroughService.pickupPlaythrough(testUser, 1L))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Only dropped playthroughs");
+        verify(playthroughRepository, never()).save(any());
     }
 
     @Test
@@ -266,11 +360,12 @@ class PlaythroughServiceTest {
         request.setStartedAt(sessionStart);
         request.setEndedAt(sessionEnd);
 
+        testPlaythrough.setStartDate(LocalDate.now().minusDays(1));
         testPlaythrough.setDurationSeconds(1000L);
         testPlaythrough.setSessionCount(1);
 
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
-        when(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(1L)).thenReturn(List.of());
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(sessionHistoryRepository.findLastSessionNumberStartedBy(1L, sessionStart)).thenReturn(1);
         when(playthroughRepository.save(any(Playthrough.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PlaythroughDto result = playthroughService.logManualSession(testUser, 1L, request);
@@ -279,12 +374,63 @@ class PlaythroughServiceTest {
         assertThat(testPlaythrough.getSessionCount()).isEqualTo(2);
         assertThat(testPlaythrough.getDurationSeconds()).isEqualTo(1000L + 3600L); // Original + 1 hour
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
-        verify(sessionHistoryRepository).findByPlaythroughIdOrderBySessionNumberAsc(1L);
-        verify(sessionHistoryRepository).saveAndFlush(any(SessionHistory.class));
+        InOrder locks = inOrder(userRepository, playthroughRepository);
+        locks.verify(userRepository).findForUpdateById(1L);
+        locks.verify(playthroughRepository).findForUpdateByIdAndUserId(1L, 1L);
+        verify(sessionHistoryRepository).shiftSessionNumbers(1L, 2, 1);
+        verify(sessionHistoryRepository).saveAndFlush(argThat(session -> session.getSessionNumber() == 2));
+        verify(sessionHistoryRepository, never()).findByPlaythroughIdOrderBySessionNumberAsc(anyLong());
         verify(playthroughRepository).save(any(Playthrough.class));
     }
 
+    @Test
+    void deleteSession_ShiftsLaterSessionsInOneStatement() {
+        testPlaythrough.setDurationSeconds(5000L);
+        testPlaythrough.setSessionCount(3);
+        SessionHistory session = SessionHistory.builder()
+            .id(7L)
+            .playthrough(testPlaythrough)
+            .sessionNumber(2)
+            .durationSeconds(1200L)
+            .build();
+
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(sessionHistoryRepository.findById(7L)).thenReturn(Optional.of(session));
+
+        playthroughService.deleteSession(testUser, 1L, 7L);
+
+        assertThat(testPlaythrough.getSessionCount()).isEqualTo(2);
+        assertThat(testPlaythrough.getDurationSeconds()).isEqualTo(3800L);
+        verify(sessionHistoryRepository).delete(session);
+        verify(sessionHistoryRepository).shiftSessionNumbers(1L, 3, -1);
+        verify(sessionHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void logManualSession_OverlappingSession_ThrowsException() {
+        Instant sessionStart = Instant.now().minus(2, ChronoUnit.HOURS);
+        Instant sessionEnd = Instant.now().minus(1, ChronoUnit.HOURS);
+        LogManualSessionRequest request = new LogManualSessionRequest();
+        request.setStartedAt(sessionStart);
+        request.setEndedAt(sessionEnd);
+
+        testPlaythrough.setStartDate(LocalDate.now().minusDays(1));
+        SessionHistory existing = SessionHistory.builder()
+            .startedAt(sessionStart.minus(30, ChronoUnit.MINUTES))
+            .endedAt(sessionStart.plus(30, ChronoUnit.MINUTES))
+            .build();
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(sessionHistoryRepository.findOverlapping(eq(1L), eq(sessionStart), eq(sessionEnd), any()))
+            .thenReturn(List.of(existing));
+
+        assertThatThrownBy(() -> playthroughService.logManualSession(testUser, 1L, request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("overlaps an existing session");
+
+        verify(sessionHistoryRepository, never()).shiftSessionNumbers(anyLong(), anyInt(), anyInt());
+        verify(sessionHistoryRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void logManualSession_WhileActive_ThrowsException() {
         testPlaythrough.setIsActive(true);
@@ -293,13 +439,13 @@ class PlaythroughServiceTest {
         request.setStartedAt(Instant.now().minus(2, ChronoUnit.HOURS));
         request.setEndedAt(Instant.now().minus(1, ChronoUnit.HOURS));
 
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
         assertThatThrownBy(() -> playthroughService.logManualSession(testUser, 1L, request))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("Cannot log manual session while a session is active");
 
-        verify(playthroughRepository).findByIdAndUserId(1L, 1L);
+        verify(playthroughRepository).findForUpdateByIdAndUserId(1L, 1L);
         verify(sessionHistoryRepository, never()).saveAndFlush(any());
     }
 
@@ -311,7 +457,7 @@ class PlaythroughServiceTest {
         request.setStartedAt(Instant.now().minus(2, ChronoUnit.HOURS));
         request.setEndedAt(Instant.now().minus(1, ChronoUnit.HOURS));
 
-        when(playthroughRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
+        when(playthroughRepository.findForUpdateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testPlaythrough));
 
         assertThatThrownBy(() -> playthroughService.logManualSession(testUser, 1L, request))
             .isInstanceOf(RuntimeException.class)
@@ -417,14 +563,27 @@ class PlaythroughServiceTest {
         verify(playthroughRepository, never()).save(any());
     }
 
+    @Test
+    void applyTimerEvents_DatabaseFailureIsNotReportedAsRejectedEvent() {
+        when(playthroughRepository.findWithGameByIdAndUserId(1L, 1L)).thenThrow(new QueryTimeoutException("timeout"));
+        TimerEventBatchRequest request = new TimerEventBatchRequest(List.of(TimerEventDto.builder()
+            .playthroughId(1L)
+            .type(TimerEventDto.Type.START)
+            .occurredAt(Instant.now().minusSeconds(60))
+            .build()));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(testUser, request))
+            .isInstanceOf(QueryTimeoutException.class);
+    }
+
     @Test
     void playthroughNotFound_ThrowsException() {
-        when(playthroughRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+        when(playthroughRepository.findWithGameByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> playthroughService.startPlaythrough(testUser, 999L))
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("not found or access denied");
 
-        verify(playthroughRepository).findByIdAndUserId(999L, 1L);
+        verify(playthroughRepository).findWithGameByIdAndUserId(999L, 1L);
     }
 }
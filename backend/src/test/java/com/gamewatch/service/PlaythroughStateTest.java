@@ -0,0 +1,85 @@
+package com.gamewatch.service;
+
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.PlaythroughEvent;
+import com.gamewatch.entity.PlaythroughEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PlaythroughStateTest {
+
+    private static final Instant BASE = Instant.parse("2024-03-01T18:00:00Z");
+
+    @Test
+    void replay_FoldsTimerEventsOverSnapshot() {
+        PlaythroughState initial = PlaythroughState.of(Playthrough.builder().durationSeconds(100L).sessionCount(2).build());
+
+        PlaythroughState state = PlaythroughState.replay(List.of(
+            snapshot(initial),
+            event(PlaythroughEventType.START, BASE),
+            event(PlaythroughEventType.PAUSE, BASE.plusSeconds(600)),
+            event(PlaythroughEventType.START, BASE.plusSeconds(900)),
+            PlaythroughEvent.builder().type(PlaythroughEventType.END_SESSION).occurredAt(BASE.plusSeconds(1500))
+                .startedAt(BASE).endedAt(BASE.plusSeconds(1500)).seconds(1200L).build(),
+            PlaythroughEvent.builder().type(PlaythroughEventType.SESSION_DELETED).occurredAt(BASE.plusSeconds(2000))
+                .seconds(100L).build()));
+
+        assertThat(state.getDurationSeconds()).isEqualTo(100L + 1200L - 100L);
+        assertThat(state.getSessionCount()).isEqualTo(2);
+        assertThat(state.isActive()).isFalse();
+        assertThat(state.isPaused()).isFalse();
+        assertThat(state.getLastPlayedAt()).isEqualTo(BASE.plusSeconds(1500));
+    }
+
+    @Test
+    void replay_DropKeepsRunningSegmentAndPickupReopens() {
+        PlaythroughState state = PlaythroughState.replay(List.of(
+            snapshot(new PlaythroughState()),
+            event(PlaythroughEventType.START, BASE),
+            event(PlaythroughEventType.DROP, BASE.plusSeconds(300))));
+
+        assertThat(state.getDurationSeconds()).isEqualTo(300L);
+        assertThat(state.isDropped()).isTrue();
+        assertThat(state.getEndDate()).isNotNull();
+
+        state.apply(event(PlaythroughEventType.PICKUP, BASE.plusSeconds(400)));
+        assertThat(state.isDropped()).isFalse();
+        assertThat(state.getEndDate()).isNull();
+        assertThat(state.getPickedUpAt()).isEqualTo(BASE.plusSeconds(400));
+    }
+
+    @Test
+    void snapshot_RoundTripsThroughJson() {
+        PlaythroughState state = PlaythroughState.replay(List.of(
+            snapshot(new PlaythroughState()),
+            event(PlaythroughEventType.START, BASE),
+            event(PlaythroughEventType.STOP, BASE.plusSeconds(60))));
+
+        assertThat(PlaythroughState.fromJson(state.toJson())).isEqualTo(state);
+    }
+
+    @Test
+    void replay_RequiresLeadingSnapshot() {
+        assertThatThrownBy(() -> PlaythroughState.replay(List.of(event(PlaythroughEventType.START, BASE))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> PlaythroughState.replay(List.of(
+                snapshot(new PlaythroughState()), snapshot(new PlaythroughState()))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static PlaythroughEvent snapshot(PlaythroughState state) {
+        return PlaythroughEvent.builder()
+            .type(PlaythroughEventType.SNAPSHOT)
+            .occurredAt(BASE.minusSeconds(3600))
+            .payload(state.toJson())
+            .build();
+    }
+
+    private static PlaythroughEvent event(PlaythroughEventType type, Instant at) {
+        return PlaythroughEvent.builder().type(type).occurredAt(at).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.gamewatch.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RawgClientMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RawgClientMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new RawgClientMetrics(registry);
+    }
+
+    @Test
+    void successfulCall_IsTimedPerEndpoint() {
+        String result = Mono.just("ok").transform(metrics.observe("search")).block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(registry.get("rawg.client.requests").tag("endpoint", "search").tag("outcome", "success")
+            .timer().count()).isEqualTo(1);
+        assertThat(registry.find("rawg.client.errors").counter()).isNull();
+    }
+
+    @Test
+    void errorResponse_IsCountedByStatus() {
+        Mono<String> call = Mono.error(WebClientResponseException.create(
+            HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", null, null, null));
+
+        assertThatThrownBy(() -> call.transform(metrics.observe("game_details")).block())
+            .isInstanceOf(WebClientResponseException.class);
+
+        assertThat(registry.get("rawg.client.errors").tag("endpoint", "game_details").tag("status", "429")
+            .counter().count()).isEqualTo(1);
+        assertThat(registry.get("rawg.client.requests").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timedOutCall_IsCountedAsTimeoutNotError() {
+        Mono<String> call = Mono.<String>never().timeout(Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> call.transform(metrics.observe("games_by_genre")).block());
+
+        assertThat(registry.get("rawg.client.timeouts").tag("endpoint", "games_by_genre").counter().count()).isEqualTo(1);
+        assertThat(registry.get("rawg.client.requests").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+        assertThat(registry.find("rawg.client.errors").counter()).isNull();
+    }
+
+    @Test
+    void cancelledCall_IsTimedAsCancelled() {
+        Mono.never().transform(metrics.observe("game_details")).subscribe().dispose();
+
+        assertThat(registry.get("rawg.client.requests").tag("outcome", "cancelled").timer().count()).isEqualTo(1);
+        assertThat(registry.find("rawg.client.errors").counter()).isNull();
+    }
+
+    @Test
+    void eachSubscription_IsMeteredSeparately() {
+        Mono<String> call = Mono.just("ok").transform(metrics.observe("search"));
+
+        call.block();
+        call.block();
+
+        assertThat(registry.get("rawg.client.requests").tag("endpoint", "search").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void call_IsRecordedAsFlightRecorderEventWithResponseSize(@TempDir Path dir) throws Exception {
+        String body = "{\"count\":1,\"results\":[]}";
+        WebClient client = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build()))
+            .filter(metrics.responseSize())
+            .build();
+
+        Path file = dir.resolve("rawg.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.gamewatch.RawgCall");
+            recording.start();
+            client.get().uri("https://api.rawg.io/api/games").retrieve().bodyToMono(String.class)
+                .transform(metrics.observe("search"))
+                .block();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("endpoint")).isEqualTo("search");
+            assertThat(event.getString("outcome")).isEqualTo("success");
+            assertThat(event.getLong("responseBytes")).isEqualTo(body.length());
+        });
+    }
+}
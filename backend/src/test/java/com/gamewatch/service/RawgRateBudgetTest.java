@@ -0,0 +1,91 @@
+package com.gamewatch.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+
+class RawgRateBudgetTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V36__Create_rawg_rate_budget.sql"))
+            .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void nodes_ShareOneBucket() {
+        RawgRateBudget first = new RawgRateBudget(jdbcTemplate, 10, 0.001, 4);
+        RawgRateBudget second = new RawgRateBudget(jdbcTemplate, 10, 0.001, 4);
+
+        long granted = IntStream.range(0, 20)
+            .filter(i -> (i % 2 == 0 ? first : second).tryAcquire())
+            .count();
+
+        assertThat(granted).isEqualTo(10);
+    }
+
+    @Test
+    void leasedTokens_AreSpentWithoutTheDatabase() {
+        RawgRateBudget budget = new RawgRateBudget(jdbcTemplate, 10, 0.001, 4);
+
+        assertThat(budget.tryTakeLeased()).isFalse();
+        assertThat(budget.tryAcquire()).isTrue();
+        long version = version();
+
+        assertThat(budget.tryTakeLeased()).isTrue();
+        assertThat(budget.tryTakeLeased()).isTrue();
+        assertThat(budget.tryTakeLeased()).isTrue();
+        assertThat(budget.tryTakeLeased()).isFalse();
+        assertThat(version()).isEqualTo(version);
+    }
+
+    @Test
+    void emptyBucket_IsNotAskedAgainBeforeATokenRefills() {
+        JdbcTemplate database = spy(jdbcTemplate);
+        RawgRateBudget budget = new RawgRateBudget(database, 2, 0.001, 2);
+        budget.tryAcquire();
+        budget.tryAcquire();
+
+        assertThat(budget.tryAcquire()).isFalse();
+        int statements = mockingDetails(database).getInvocations().size();
+
+        assertThat(budget.tryAcquire()).isFalse();
+        assertThat(mockingDetails(database).getInvocations()).hasSize(statements);
+    }
+
+    @Test
+    void bucket_RefillsOverTime() throws InterruptedException {
+        RawgRateBudget budget = new RawgRateBudget(jdbcTemplate, 1, 100, 1);
+        assertThat(budget.tryAcquire()).isTrue();
+
+        Thread.sleep(50);
+
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject("SELECT version FROM rawg_rate_budget WHERE name = ?", Long.class,
+            RawgRateBudget.BUCKET);
+    }
+}
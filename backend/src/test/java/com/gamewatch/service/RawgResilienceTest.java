@@ -0,0 +1,194 @@
+package com.gamewatch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RawgResilienceTest {
+
+    private static final JsonNode RESPONSE = TextNode.valueOf("games");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MovableClock clock = new MovableClock();
+    private CircuitBreakerRegistry circuitBreakers;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .recordException(RawgResilience.RAWG_FAILURE)
+            .ignoreExceptions(RawgResilience.RawgThrottledException.class, BulkheadFullException.class)
+            .build());
+        bulkhead = Bulkhead.of("rawg", BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+    }
+
+    @Test
+    void failingRawg_OpensTheEndpointFamilysBreaker() {
+        RawgResilience resilience = resilience(null);
+        for (int genre = 0; genre < 4; genre++) {
+            Mono<JsonNode> failing = Mono.<JsonNode>error(serverError()).transform(resilience.protect("games_by_genre", genre));
+            assertThatThrownBy(failing::block).isInstanceOf(WebClientResponseException.class);
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        Mono<JsonNode> call = Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return RESPONSE;
+        });
+
+        assertThatThrownBy(() -> call.transform(resilience.protect("games_by_tag", 1)).block())
+            .isInstanceOf(CallNotPermittedException.class);
+        assertThat(calls).hasValue(0);
+        assertThat(registry.get("rawg.client.shed").tag("endpoint", "games_by_tag").tag("reason", "circuit_open")
+            .counter().count()).isEqualTo(1);
+        // Other families keep calling
+        assertThat(call.transform(resilience.protect("search", "zelda")).block()).isEqualTo(RESPONSE);
+        assertThat(circuitBreakers.circuitBreaker("discovery").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void notFound_DoesNotCountAgainstTheBreaker() {
+        RawgResilience resilience = resilience(null);
+        for (int game = 0; game < 4; game++) {
+            Mono<JsonNode> missing = Mono.<JsonNode>error(WebClientResponseException.create(
+                HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null))
+                .transform(resilience.protect("game_details", game));
+            assertThatThrownBy(missing::block).isInstanceOf(WebClientResponseException.NotFound.class);
+        }
+
+        assertThat(circuitBreakers.circuitBreaker("details").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void openBreaker_AnswersWithTheLastResponse() {
+        RawgResilience resilience = resilience(null);
+        Mono.just(RESPONSE).transform(resilience.protect("game_details", 42)).block();
+        circuitBreakers.circuitBreaker("details").transitionToOpenState();
+
+        JsonNode answer = Mono.<JsonNode>error(new IllegalStateException("not called"))
+            .transform(resilience.protect("game_details", 42)).block();
+
+        assertThat(answer).isEqualTo(RESPONSE);
+        assertThat(registry.get("rawg.client.stale").tag("endpoint", "game_details").counter().count()).isEqualTo(1);
+        // No response of another game to fall back on
+        assertThatThrownBy(() -> Mono.<JsonNode>never().transform(resilience.protect("game_details", 7)).block())
+            .isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void timedOutCall_AnswersWithTheLastResponseUntilItIsTooOld() {
+        RawgResilience resilience = resilience(null);
+        Mono.just(RESPONSE).transform(resilience.protect("search", "zelda")).block();
+        Mono<JsonNode> timingOut = Mono.error(new TimeoutException());
+
+        assertThat(timingOut.transform(resilience.protect("search", "zelda")).block()).isEqualTo(RESPONSE);
+
+        clock.advance(Duration.ofHours(2));
+        assertThatThrownBy(() -> timingOut.transform(resilience.protect("search", "zelda")).block())
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void fullBulkhead_ShedsCalls() {
+        RawgResilience resilience = resilience(null);
+        Disposable inFlight = Mono.<JsonNode>never().transform(resilience.protect("search", "zelda")).subscribe();
+
+        assertThatThrownBy(() -> Mono.just(RESPONSE).transform(resilience.protect("search", "mario")).block())
+            .isInstanceOf(BulkheadFullException.class);
+        assertThat(registry.get("rawg.client.shed").tag("reason", "bulkhead_full").counter().count()).isEqualTo(1);
+
+        inFlight.dispose();
+        assertThat(Mono.just(RESPONSE).transform(resilience.protect("search", "mario")).block()).isEqualTo(RESPONSE);
+    }
+
+    @Test
+    void exhaustedRateBudget_ThrottlesWithoutCallingRawg() {
+        RawgRateBudget budget = mock(RawgRateBudget.class);
+        when(budget.tryAcquire()).thenReturn(false);
+        RawgResilience resilience = resilience(budget);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<JsonNode> call = Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return RESPONSE;
+        });
+
+        assertThatThrownBy(() -> call.transform(resilience.protect("games_by_developer", 3, 10)).block())
+            .isInstanceOf(RawgResilience.RawgThrottledException.class);
+        assertThat(calls).hasValue(0);
+        assertThat(registry.get("rawg.client.throttled").tag("endpoint", "games_by_developer").counter().count())
+            .isEqualTo(1);
+        assertThat(circuitBreakers.circuitBreaker("discovery").getMetrics().getNumberOfBufferedCalls()).isZero();
+    }
+
+    @Test
+    void unavailableRateBudget_LetsCallsThrough() {
+        RawgRateBudget budget = mock(RawgRateBudget.class);
+        when(budget.tryAcquire()).thenThrow(new IllegalStateException("database down"));
+        RawgResilience resilience = resilience(budget);
+
+        JsonNode answer = Mono.just(RESPONSE).transform(resilience.protect("search", "zelda")).block();
+
+        assertThat(answer).isEqualTo(RESPONSE);
+    }
+
+    private RawgResilience resilience(RawgRateBudget budget) {
+        return new RawgResilience(circuitBreakers, bulkhead, budget, registry, 10, Duration.ofHours(1), clock);
+    }
+
+    private static WebClientResponseException serverError() {
+        return WebClientResponseException.create(HttpStatus.BAD_GATEWAY.value(), "Bad Gateway", null, null, null);
+    }
+
+    private static class MovableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
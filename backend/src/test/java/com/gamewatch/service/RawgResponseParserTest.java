@@ -0,0 +1,131 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.GameSearchResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RawgResponseParserTest {
+
+    private static final String GAME = """
+        {
+          "id": 3328,
+          "slug": "the-witcher-3-wild-hunt",
+          "name": "The Witcher 3: Wild Hunt",
+          "released": "2015-05-18",
+          "tba": false,
+          "background_image": "https://media.rawg.io/witcher3.jpg",
+          "rating": 4.66,
+          "rating_top": 5,
+          "ratings": [{"id": 5, "title": "exceptional", "count": 5000, "percent": 77.1}],
+          "ratings_count": 6500,
+          "metacritic": 92,
+          "playtime": 43,
+          "updated": "2024-01-01T10:00:00",
+          "esrb_rating": {"id": 4, "name": "Mature", "slug": "mature"},
+          "platforms": [
+            {"platform": {"id": 4, "name": "PC", "slug": "pc"}, "released_at": "2015-05-18",
+             "requirements_en": {"minimum": "A lot of text"}},
+            {"platform": {"id": 187, "name": "PlayStation 5", "slug": "playstation5"}}
+          ],
+          "genres": [{"id": 4, "name": "Action", "games_count": 180000}, {"id": 5, "name": "RPG"}],
+          "tags": [{"id": 31, "name": "Singleplayer", "language": "eng"}, {"name": "Untagged"}],
+          "developers": [{"id": 9023, "name": "CD PROJEKT RED"}],
+          "alternative_names": ["Witcher 3", "Wiedzmin 3"],
+          "website": null,
+          "reddit_count": "12",
+          "short_screenshots": [{"id": 1, "image": "https://media.rawg.io/1.jpg"}],
+          "description": "<p>The third game in a series</p>"
+        }""";
+
+    private final RawgResponseParser parser = new RawgResponseParser();
+
+    @Test
+    void gamesPage_MapsEveryResult() {
+        List<GameSearchResultDto> games = parser.gamesPage(bytes("""
+            {"count": 2, "next": null, "description": "Page description",
+             "results": [%s, {"id": 1, "name": "Other"}],
+             "filters": {"years": [{"from": 2020, "to": 2024}]}}""".formatted(GAME)));
+
+        assertThat(games).hasSize(2);
+        GameSearchResultDto witcher = games.get(0);
+        assertThat(witcher.getId()).isEqualTo(3328);
+        assertThat(witcher.getName()).isEqualTo("The Witcher 3: Wild Hunt");
+        assertThat(witcher.getBannerImageUrl()).isEqualTo("https://media.rawg.io/witcher3.jpg");
+        assertThat(witcher.getReleaseDate()).isEqualTo("2015-05-18");
+        assertThat(witcher.getTba()).isFalse();
+        assertThat(witcher.getRating()).isEqualTo(4.66);
+        assertThat(witcher.getRatingTop()).isEqualTo(5);
+        assertThat(witcher.getRatingsCount()).isEqualTo(6500);
+        assertThat(witcher.getMetacritic()).isEqualTo(92);
+        assertThat(witcher.getEsrbRating()).isEqualTo("Mature");
+        assertThat(witcher.getPlatforms()).isEqualTo("PC, PlayStation 5");
+        assertThat(witcher.getPlatformIds()).containsExactly(4, 187);
+        assertThat(witcher.getGenres()).isEqualTo("Action, RPG");
+        assertThat(witcher.getGenreIds()).containsExactly(4, 5);
+        assertThat(witcher.getTagIds()).containsExactly(31, null);
+        assertThat(witcher.getDevelopers()).isEqualTo("CD PROJEKT RED");
+        assertThat(witcher.getAlternativeNames()).isEqualTo("Witcher 3, Wiedzmin 3");
+        assertThat(witcher.getRedditCount()).isEqualTo(12);
+        assertThat(witcher.getWebsite()).isNull();
+        // Descriptions are only read from details
+        assertThat(witcher.getDescription()).isNull();
+
+        GameSearchResultDto other = games.get(1);
+        assertThat(other.getName()).isEqualTo("Other");
+        assertThat(other.getGenres()).isNull();
+        assertThat(other.getGenreIds()).isEmpty();
+        assertThat(other.getPlatformIds()).isEmpty();
+    }
+
+    @Test
+    void gamesPage_WithoutResultsIsEmpty() {
+        assertThat(parser.gamesPage(bytes("{\"count\": 0, \"detail\": \"Not found.\"}"))).isEmpty();
+    }
+
+    @Test
+    void gameDetails_StripsTheHtmlDescription() {
+        GameSearchResultDto witcher = parser.gameDetails(bytes(GAME));
+
+        assertThat(witcher.getId()).isEqualTo(3328);
+        assertThat(witcher.getDescription()).isEqualTo("The third game in a series");
+    }
+
+    @Test
+    void gameDetails_PrefersTheRawDescription() {
+        GameSearchResultDto game = parser.gameDetails(bytes("""
+            {"id": 1, "name": "Game", "description": "<p>Html</p>", "description_raw": "Plain text"}"""));
+
+        assertThat(game.getDescription()).isEqualTo("Plain text");
+    }
+
+    @Test
+    void gameFeatures_KeepTermsWithIds() {
+        RawgGameFeatures features = parser.gameFeatures(bytes(GAME));
+
+        assertThat(features.name()).isEqualTo("The Witcher 3: Wild Hunt");
+        assertThat(features.genres()).containsExactly(
+            new RawgGameFeatures.Term(4, "Action"), new RawgGameFeatures.Term(5, "RPG"));
+        assertThat(features.tags()).containsExactly(new RawgGameFeatures.Term(31, "Singleplayer"));
+        assertThat(features.developers()).containsExactly(new RawgGameFeatures.Term(9023, "CD PROJEKT RED"));
+        assertThat(features.publishers()).isEmpty();
+        assertThat(features.platformIds()).containsExactly(4, 187);
+    }
+
+    @Test
+    void malformedBody_IsRejected() {
+        assertThatThrownBy(() -> parser.gameDetails(bytes("{\"id\": 1, \"name\": ")))
+            .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> parser.gameFeatures(bytes("[]")))
+            .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package com.gamewatch.service;
+
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.MoodEntry;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionDailySummary;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.SessionDailySummaryRepository;
+import com.gamewatch.repository.SessionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SessionArchiver.class)
+class SessionArchiverTest {
+
+    private static final Instant CUTOFF = Instant.parse("2020-01-01T00:00:00Z");
+    private static final Instant OLD_DAY = Instant.parse("2019-03-02T12:00:00Z");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SessionArchiver sessionArchiver;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    @Autowired
+    private SessionDailySummaryRepository summaryRepository;
+
+    private User user;
+    private Playthrough playthrough;
+    private MoodEntry mood;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|archive")
+            .email("archive@example.com")
+            .username("archive")
+            .build());
+        Game game = entityManager.persist(Game.builder().name("Archive Game").externalId(3030).build());
+        playthrough = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("story").build());
+
+        SessionHistory first = session(1, OLD_DAY, 1800L, 1);
+        session(2, OLD_DAY.plusSeconds(3600), 5400L, 0);
+        session(3, Instant.parse("2019-11-20T20:00:00Z"), 3600L, 2);
+        session(4, Instant.parse("2024-05-01T18:00:00Z"), 3600L, 0);
+        mood = entityManager.persist(MoodEntry.builder()
+            .user(user)
+            .sessionHistory(first)
+            .moodRating(4)
+            .recordedAt(OLD_DAY.plusSeconds(1800))
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void archiveSessionsBefore_RollsOldSessionsIntoDailySummaries() {
+        int archived = sessionArchiver.archiveSessionsBefore(CUTOFF);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(playthrough.getId()))
+            .extracting(SessionHistory::getSessionNumber)
+            .containsExactly(4);
+
+        List<SessionDailySummary> summaries = summaryRepository
+            .findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(List.of(playthrough.getId()));
+        assertThat(summaries).hasSize(2);
+        SessionDailySummary day = summaries.get(0);
+        assertThat(day.getSummaryDate()).isEqualTo(OLD_DAY.atZone(ZoneId.systemDefault()).toLocalDate());
+        assertThat(day.getUserId()).isEqualTo(user.getId());
+        assertThat(day.getSessionCount()).isEqualTo(2);
+        assertThat(day.getDurationSeconds()).isEqualTo(1800L + 5400L);
+        assertThat(day.getLongestSessionSeconds()).isEqualTo(5400L);
+        assertThat(day.getPauseCount()).isEqualTo(1);
+        assertThat(day.getFirstStartedAt()).isEqualTo(OLD_DAY);
+        assertThat(day.getLastEndedAt()).isEqualTo(OLD_DAY.plusSeconds(3600 + 5400));
+        assertThat(Arrays.stream(day.getHourlySeconds()).sum()).isEqualTo(1800L + 5400L);
+
+        MoodEntry keptMood = entityManager.find(MoodEntry.class, mood.getId());
+        assertThat(keptMood).isNotNull();
+        assertThat(keptMood.getSessionHistory()).isNull();
+    }
+
+    @Test
+    void archiveSessionsBefore_MergesIntoExistingSummaryAndIsIdempotent() {
+        sessionArchiver.archiveSessionsBefore(CUTOFF);
+        entityManager.flush();
+        entityManager.clear();
+
+        // A session backfilled onto an already archived day
+        session(5, OLD_DAY.plus(java.time.Duration.ofHours(6)), 600L, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(sessionArchiver.archiveSessionsBefore(CUTOFF)).isEqualTo(1);
+        assertThat(sessionArchiver.archiveSessionsBefore(CUTOFF)).isZero();
+        entityManager.flush();
+        entityManager.clear();
+
+        SessionDailySummary day = summaryRepository
+            .findByPlaythroughIdInOrderByPlaythroughIdAscSummaryDateAsc(List.of(playthrough.getId())).get(0);
+        assertThat(day.getSummaryDate()).isEqualTo(LocalDate.ofInstant(OLD_DAY, ZoneId.systemDefault()));
+        assertThat(day.getSessionCount()).isEqualTo(3);
+        assertThat(day.getDurationSeconds()).isEqualTo(1800L + 5400L + 600L);
+    }
+
+    @Test
+    void sessionsAddedAfterArchival_KeepCountingArchivedSessions() {
+        sessionArchiver.archiveSessionsBefore(CUTOFF);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = playthrough.getId();
+
+        assertThat(SessionNumbering.makeRoom(sessionHistoryRepository, summaryRepository, id,
+            Instant.parse("2024-06-01T18:00:00Z"))).isEqualTo(5);
+        assertThat(SessionNumbering.makeRoom(sessionHistoryRepository, summaryRepository, id,
+            Instant.parse("2023-01-01T18:00:00Z"))).isEqualTo(4);
+        entityManager.clear();
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(id))
+            .extracting(SessionHistory::getSessionNumber)
+            .containsExactly(5);
+    }
+
+    @Test
+    void sessionsAddedAfterArchivingEverything_FollowTheArchive() {
+        sessionArchiver.archiveSessionsBefore(Instant.parse("2030-01-01T00:00:00Z"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(SessionNumbering.makeRoom(sessionHistoryRepository, summaryRepository, playthrough.getId(),
+            Instant.parse("2029-01-01T18:00:00Z"))).isEqualTo(5);
+    }
+
+    private SessionHistory session(int number, Instant startedAt, long durationSeconds, int pauseCount) {
+        return entityManager.persist(SessionHistory.builder()
+            .playthrough(entityManager.find(Playthrough.class, playthrough.getId()))
+            .userId(user.getId())
+            .sessionNumber(number)
+            .durationSeconds(durationSeconds)
+            .pauseCount(pauseCount)
+            .startedAt(startedAt)
+            .endedAt(startedAt.plusSeconds(durationSeconds))
+            .build());
+    }
+}
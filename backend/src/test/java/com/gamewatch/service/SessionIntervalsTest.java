@@ -0,0 +1,83 @@
+package com.gamewatch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SessionIntervalsTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T18:00:00Z");
+
+    private static Instant at(int minutes) {
+        return T0.plusSeconds(minutes * 60L);
+    }
+
+    @Test
+    void add_RejectsOverlapsButAllowsTouchingIntervals() {
+        SessionIntervals intervals = new SessionIntervals();
+
+        assertThat(intervals.add(at(0), at(60))).isTrue();
+        assertThat(intervals.add(at(60), at(90))).isTrue();
+        assertThat(intervals.add(at(-30), at(0))).isTrue();
+
+        assertThat(intervals.add(at(30), at(45))).isFalse();
+        assertThat(intervals.add(at(89), at(120))).isFalse();
+        assertThat(intervals.add(at(-60), at(200))).isFalse();
+        assertThat(intervals.size()).isEqualTo(3);
+    }
+
+    @Test
+    void add_RejectsEmptyIntervals() {
+        SessionIntervals intervals = new SessionIntervals();
+        intervals.add(at(0), at(60));
+
+        assertThatThrownBy(() -> intervals.add(at(0), at(0))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> intervals.add(at(90), at(80))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> intervals.overlaps(at(0), at(0))).isInstanceOf(IllegalArgumentException.class);
+        // The existing interval starting at the same instant is still there
+        assertThat(intervals.overlaps(at(0), at(1))).isTrue();
+        assertThat(intervals.size()).isEqualTo(1);
+    }
+
+    @Test
+    void overlaps_FindsIntervalsOnEitherSide() {
+        SessionIntervals intervals = new SessionIntervals();
+        intervals.add(at(100), at(200));
+
+        assertThat(intervals.overlaps(at(50), at(101))).isTrue();
+        assertThat(intervals.overlaps(at(199), at(300))).isTrue();
+        assertThat(intervals.overlaps(at(0), at(100))).isFalse();
+        assertThat(intervals.overlaps(at(200), at(300))).isFalse();
+    }
+
+    @Test
+    void fromRows_MergesAlreadyOverlappingRows() {
+        SessionIntervals intervals = SessionIntervals.fromRows(List.of(
+            new Object[]{at(0), at(60)},
+            new Object[]{at(30), at(120)},
+            new Object[]{at(300), at(360)},
+            new Object[]{at(-10), at(5)},
+            new Object[]{at(300), at(300)}));
+
+        assertThat(intervals.size()).isEqualTo(2);
+        assertThat(intervals.overlaps(at(300), at(301))).isTrue();
+        assertThat(intervals.overlaps(at(100), at(110))).isTrue();
+        assertThat(intervals.add(at(120), at(300))).isTrue();
+    }
+
+    @Test
+    void record_MergesOverlapsAndIgnoresEmptyIntervals() {
+        SessionIntervals intervals = new SessionIntervals();
+        intervals.add(at(0), at(60));
+
+        intervals.record(at(30), at(90));
+        intervals.record(at(200), at(200));
+
+        assertThat(intervals.size()).isEqualTo(1);
+        assertThat(intervals.overlaps(at(80), at(100))).isTrue();
+        assertThat(intervals.add(at(200), at(201))).isTrue();
+    }
+}
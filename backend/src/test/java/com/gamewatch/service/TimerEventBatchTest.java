@@ -0,0 +1,223 @@
+package com.gamewatch.service;
+
+import com.gamewatch.dto.TimerEventBatchRequest;
+import com.gamewatch.dto.TimerEventBatchResultDto;
+import com.gamewatch.dto.TimerEventDto;
+import com.gamewatch.entity.Game;
+import com.gamewatch.entity.Playthrough;
+import com.gamewatch.entity.SessionHistory;
+import com.gamewatch.entity.User;
+import com.gamewatch.repository.SessionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PlaythroughService.class)
+@RecordApplicationEvents
+class TimerEventBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlaythroughService playthroughService;
+
+    @Autowired
+    private SessionHistoryRepository sessionHistoryRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @MockBean
+    private HealthService healthService;
+
+    @MockBean
+    private ColorExtractionService colorExtractionService;
+
+    private User user;
+    private Playthrough first;
+    private Playthrough second;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+            .auth0UserId("auth0|batch")
+            .email("batch@example.com")
+            .username("batch")
+            .build());
+        Game game = entityManager.persist(Game.builder()
+            .name("Batch Game")
+            .externalId(4242)
+            .build());
+        first = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("story").build());
+        second = entityManager.persist(Playthrough.builder().user(user).game(game).playthroughType("100%").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(2, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void applyTimerEvents_ReplaysOfflineSessionAndManualSessions() {
+        TimerEventBatchResultDto result = playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(List.of(
+            event(first, TimerEventDto.Type.START, base),
+            event(first, TimerEventDto.Type.PAUSE, base.plusSeconds(600)),
+            event(first, TimerEventDto.Type.START, base.plusSeconds(900)),
+            event(first, TimerEventDto.Type.END_SESSION, base.plusSeconds(1500)),
+            manual(second, base.plusSeconds(3600), base.plusSeconds(5400)),
+            manual(second, base.minus(1, ChronoUnit.HOURS), base.minusSeconds(60)))));
+
+        assertThat(result.getApplied()).isEqualTo(6);
+        assertThat(result.getPlaythroughs()).hasSize(2);
+
+        Playthrough replayed = entityManager.find(Playthrough.class, first.getId());
+        assertThat(replayed.getDurationSeconds()).isEqualTo(600L + 600L);
+        assertThat(replayed.getSessionCount()).isEqualTo(1);
+        assertThat(replayed.getIsActive()).isFalse();
+        assertThat(replayed.getLastPlayedAt()).isEqualTo(base.plusSeconds(1500));
+
+        Playthrough manual = entityManager.find(Playthrough.class, second.getId());
+        assertThat(manual.getDurationSeconds()).isEqualTo(1800L + 3540L);
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(second.getId()))
+            .extracting(SessionHistory::getStartedAt)
+            .containsExactly(base.minus(1, ChronoUnit.HOURS), base.plusSeconds(3600));
+
+        verify(healthService).saveMoodEntries(argThat(entries -> entries.size() == 2));
+        verify(healthService, never()).saveMoodEntry(any());
+        List<LocalDate> days = List.of(base.minus(1, ChronoUnit.HOURS), base, base.plusSeconds(5400)).stream()
+            .map(instant -> LocalDate.ofInstant(instant, ZoneId.systemDefault()))
+            .distinct()
+            .toList();
+        assertThat(applicationEvents.stream(PlaythroughActivityEvent.class))
+            .singleElement()
+            .satisfies(activity -> {
+                assertThat(activity.userId()).isEqualTo(user.getId());
+                assertThat(activity.days()).containsExactlyInAnyOrderElementsOf(days);
+            });
+        verify(healthService, never()).recalculateMetricsForDate(any(), any(), any());
+    }
+
+    @Test
+    void applyTimerEvents_RejectsInvalidTransitionWithEventIndex() {
+        List<TimerEventDto> events = List.of(
+            event(first, TimerEventDto.Type.START, base),
+            event(first, TimerEventDto.Type.START, base.plusSeconds(60)));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(events)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Event 1")
+            .hasMessageContaining("already active");
+        assertThat(applicationEvents.stream(PlaythroughActivityEvent.class)).isEmpty();
+    }
+
+    @Test
+    void applyTimerEvents_RejectsEventsOlderThanTheStoredState() {
+        // Another device already started and paused the playthrough
+        playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(List.of(
+            event(first, TimerEventDto.Type.START, base.plusSeconds(300)),
+            event(first, TimerEventDto.Type.PAUSE, base.plusSeconds(900)))));
+        List<TimerEventDto> stale = List.of(
+            event(first, TimerEventDto.Type.START, base),
+            event(first, TimerEventDto.Type.END_SESSION, base.plusSeconds(600)));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(stale)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Event 0")
+            .hasMessageContaining("older than the playthrough's last change");
+        assertThat(entityManager.find(Playthrough.class, first.getId()).getDurationSeconds()).isEqualTo(600L);
+    }
+
+    @Test
+    void applyTimerEvents_RejectsOverlappingManualSessionsWithinBatch() {
+        List<TimerEventDto> events = List.of(
+            manual(first, base, base.plusSeconds(3600)),
+            manual(second, base.plusSeconds(1800), base.plusSeconds(4000)));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(events)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Event 1")
+            .hasMessageContaining("overlaps");
+    }
+
+    @Test
+    void applyTimerEvents_RecordsEndedSessionsAsTheClockRan() {
+        // Ending a session is never rejected for overlap, in a batch or live, whatever else is in the batch
+        TimerEventBatchResultDto result = playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(List.of(
+            manual(second, base, base.plusSeconds(3600)),
+            event(first, TimerEventDto.Type.START, base.plusSeconds(600)),
+            event(first, TimerEventDto.Type.END_SESSION, base.plusSeconds(1200)))));
+
+        assertThat(result.getApplied()).isEqualTo(3);
+        assertThat(sessionHistoryRepository.findByPlaythroughIdOrderBySessionNumberAsc(first.getId()))
+            .extracting(SessionHistory::getEndedAt)
+            .containsExactly(base.plusSeconds(1200));
+    }
+
+    @Test
+    void applyTimerEvents_RejectsManualSessionOverlappingSessionEndedInBatch() {
+        List<TimerEventDto> events = List.of(
+            event(first, TimerEventDto.Type.START, base.plusSeconds(600)),
+            event(first, TimerEventDto.Type.END_SESSION, base.plusSeconds(1200)),
+            manual(second, base, base.plusSeconds(3600)));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(events)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Event 2")
+            .hasMessageContaining("overlaps");
+    }
+
+    @Test
+    void applyTimerEvents_RejectsOutOfOrderAndFutureEvents() {
+        List<TimerEventDto> outOfOrder = List.of(
+            event(first, TimerEventDto.Type.START, base.plusSeconds(60)),
+            event(first, TimerEventDto.Type.PAUSE, base));
+        List<TimerEventDto> future = List.of(
+            event(first, TimerEventDto.Type.START, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(outOfOrder)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("older than the previous event");
+        assertThatThrownBy(() -> playthroughService.applyTimerEvents(user, new TimerEventBatchRequest(future)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("future");
+        verify(healthService, never()).saveMoodEntries(anyList());
+    }
+
+    private static TimerEventDto event(Playthrough playthrough, TimerEventDto.Type type, Instant at) {
+        return TimerEventDto.builder()
+            .playthroughId(playthrough.getId())
+            .type(type)
+            .occurredAt(at)
+            .build();
+    }
+
+    private static TimerEventDto manual(Playthrough playthrough, Instant startedAt, Instant endedAt) {
+        return TimerEventDto.builder()
+            .playthroughId(playthrough.getId())
+            .type(TimerEventDto.Type.MANUAL_SESSION)
+            .startedAt(startedAt)
+            .endedAt(endedAt)
+            .build();
+    }
+}
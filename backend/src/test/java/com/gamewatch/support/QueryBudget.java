@@ -0,0 +1,43 @@
+package com.gamewatch.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bounds on what each request made by a test may cost, checked by {@link QueryBudgetExtension}
+ * against the usage {@link QueryBudgetFilter} measured. Declared on a test method or on the test class
+ * as the default of all its methods; limits left at {@link #UNLIMITED} are not checked.
+ *
+ * <p>Statement, entity load and collection fetch budgets need Hibernate, so they only apply to tests
+ * with a JPA context. Give the same budget to every size of a parameterized test to catch queries
+ * that grow with the data, such as N+1 selects.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    long UNLIMITED = -1;
+
+    /** JDBC statements prepared while serving the request. */
+    long statements() default UNLIMITED;
+
+    /** Entities loaded from the database, including lazy associations. */
+    long entityLoads() default UNLIMITED;
+
+    /** Lazy collections initialized. */
+    long collectionFetches() default UNLIMITED;
+
+    /** Bytes allocated on the request thread. */
+    long allocatedBytes() default UNLIMITED;
+
+    /**
+     * Leading requests of the test that are not checked. The first request to an endpoint builds
+     * Spring MVC and Jackson caches and allocates megabytes, so allocation budgets need a warm-up.
+     */
+    int warmups() default 0;
+}
@@ -0,0 +1,69 @@
+package com.gamewatch.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fails a test whose requests exceed its {@link QueryBudget}. Requests made in {@code @BeforeEach}
+ * methods and the budget's warm-ups are not checked; every other request made in the test body is,
+ * and at least one must be.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        filter(context).drain();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryBudgetFilter filter = filter(context);
+        List<QueryBudgetFilter.Usage> usages = filter.drain();
+        Optional<QueryBudget> budget = budget(context);
+        if (budget.isEmpty() || context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (!filter.measuresStatements() && (budget.get().statements() != QueryBudget.UNLIMITED
+                || budget.get().entityLoads() != QueryBudget.UNLIMITED
+                || budget.get().collectionFetches() != QueryBudget.UNLIMITED)) {
+            throw new IllegalStateException("Query budgets need a JPA context, only allocatedBytes applies here");
+        }
+        if (usages.size() <= budget.get().warmups()) {
+            throw new AssertionError("No request was measured against the query budget");
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (QueryBudgetFilter.Usage usage : usages.subList(budget.get().warmups(), usages.size())) {
+            List<String> violations = usage.violations(budget.get());
+            if (!violations.isEmpty()) {
+                failures.add(usage.request() + ": " + String.join(", ", violations) + " (" + usage + ")");
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Query budget exceeded by " + String.join("; ", failures));
+        }
+    }
+
+    private static QueryBudgetFilter filter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBeanProvider(QueryBudgetFilter.class)
+            .getIfAvailable(() -> {
+                throw new IllegalStateException("@QueryBudget needs a QueryBudgetFilter bean, add @Import(QueryBudgetFilter.class)");
+            });
+    }
+
+    private static Optional<QueryBudget> budget(ExtensionContext context) {
+        Optional<QueryBudget> budget = AnnotationSupport.findAnnotation(context.getElement(), QueryBudget.class);
+        for (Optional<Class<?>> type = context.getTestClass(); budget.isEmpty() && type.isPresent();
+                type = Optional.ofNullable(type.get().getEnclosingClass())) {
+            budget = AnnotationSupport.findAnnotation(type.get(), QueryBudget.class);
+        }
+        return budget;
+    }
+}
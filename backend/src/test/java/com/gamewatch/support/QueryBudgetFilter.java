@@ -0,0 +1,98 @@
+package com.gamewatch.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures what every request costs: statements, entity loads and collection fetches from the
+ * Hibernate {@link Statistics} (when the context has JPA) and the bytes allocated on the request
+ * thread. Import it into a {@code @WebMvcTest}, or add it to a standalone MockMvc, and declare
+ * {@link QueryBudget}s. Runs first so that requests rejected by security are measured too; work
+ * handed to other threads is not.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Statistics statistics;
+    private final List<Usage> usages = new ArrayList<>();
+
+    public record Usage(String request, long statements, long entityLoads, long collectionFetches, long allocatedBytes) {
+
+        List<String> violations(QueryBudget budget) {
+            List<String> violations = new ArrayList<>();
+            check(violations, "statements", statements, budget.statements());
+            check(violations, "entity loads", entityLoads, budget.entityLoads());
+            check(violations, "collection fetches", collectionFetches, budget.collectionFetches());
+            check(violations, "allocated bytes", allocatedBytes, budget.allocatedBytes());
+            return violations;
+        }
+
+        private static void check(List<String> violations, String name, long actual, long limit) {
+            if (limit != QueryBudget.UNLIMITED && actual > limit) {
+                violations.add(name + " " + actual + " > " + limit);
+            }
+        }
+    }
+
+    public QueryBudgetFilter(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory != null) {
+            statistics = factory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+        } else {
+            statistics = null;
+        }
+    }
+
+    boolean measuresStatements() {
+        return statistics != null;
+    }
+
+    /**
+     * Usage of the requests since the last call, oldest first.
+     */
+    synchronized List<Usage> drain() {
+        List<Usage> drained = List.copyOf(usages);
+        usages.clear();
+        return drained;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (statistics != null) {
+            statistics.clear();
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            String name = request.getMethod() + " " + request.getRequestURI();
+            Usage usage = statistics != null
+                ? new Usage(name, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(),
+                    statistics.getCollectionFetchCount(), allocated)
+                : new Usage(name, 0, 0, 0, allocated);
+            synchronized (this) {
+                usages.add(usage);
+            }
+        }
+    }
+}
@@ -804,6 +804,7 @@ function GameStatisticsPage() {
                           <TableCell align="center">
                             <IconButton
                               size="small"
+                              disabled={!session.sessionId}
                               onClick={() => setSessionToDelete({
                                 sessionId: session.sessionId,
                                 playthroughId: session.playthroughId,
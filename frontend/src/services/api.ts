@@ -44,8 +44,26 @@ export const getAuthToken = (): string | null => {
   return authToken
 }
 
+export interface LibraryPageParams {
+  limit: number
+  cursor?: string
+  status?: 'active' | 'paused' | 'completed' | 'dropped'
+  platform?: string
+  genre?: string
+  name?: string
+}
+
+export interface TimerEvent {
+  playthroughId: number
+  type: 'START' | 'PAUSE' | 'END_SESSION' | 'STOP' | 'DROP' | 'PICKUP' | 'MANUAL_SESSION'
+  occurredAt?: string
+  startedAt?: string
+  endedAt?: string
+}
+
 export const gamesApi = {
   getAll: () => apiClient.get('/games'),
+  getPage: (params: LibraryPageParams) => apiClient.get('/games', { params }),
   getById: (id: number) => apiClient.get(`/games/${id}`),
   create: (data: any) => apiClient.post('/games', data),
   delete: (id: number) => apiClient.delete(`/games/${id}`),
@@ -56,6 +74,7 @@ export const gamesApi = {
 
 export const playthroughsApi = {
   getAll: () => apiClient.get('/playthroughs'),
+  getPage: (params: LibraryPageParams) => apiClient.get('/playthroughs', { params }),
   getById: (id: number) => apiClient.get(`/playthroughs/${id}`),
   create: (data: any) => apiClient.post('/playthroughs', data),
   start: (id: number) => apiClient.post(`/playthroughs/${id}/start`),
@@ -77,6 +96,7 @@ export const playthroughsApi = {
     apiClient.post(`/playthroughs/${id}/log-manual-session`, { startedAt, endedAt }),
   importSessions: (id: number, sourcePlaythroughId: number) =>
     apiClient.post(`/playthroughs/${id}/import-sessions`, { sourcePlaythroughId }),
+  applyEvents: (events: TimerEvent[]) => apiClient.post('/playthroughs/events', { events }),
 }
 
 export const statisticsApi = {
@@ -126,6 +126,7 @@ export interface SessionDetail {
   pauseCount: number
   startedAt?: string
   endedAt?: string
+  archivedSessionCount?: number
 }
 
 export interface UserStatistics {
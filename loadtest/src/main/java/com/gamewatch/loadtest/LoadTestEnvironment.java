@@ -0,0 +1,190 @@
+package com.gamewatch.loadtest;
+
+import com.gamewatch.loadtest.stub.OidcStub;
+import com.gamewatch.loadtest.stub.RawgStub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything a load test run needs around the simulation: the RAWG and OIDC stubs, the backend
+ * started from its packaged jar against the local PostgreSQL, and a pool of users seeded with a
+ * synthetic history. Can also be run on its own ({@link #main}) to keep the environment up for manual
+ * testing or a profiler.
+ */
+public class LoadTestEnvironment implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestEnvironment.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicLong freshUsers = new AtomicLong();
+    private final List<String> pooledTokens = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private OidcStub oidc;
+    private RawgStub rawg;
+    private Process backend;
+    private ThreadSampler threadSampler;
+
+    public LoadTestEnvironment(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(LoadTestSettings.fromSystemProperties())) {
+            environment.start();
+            log.info("Environment is up, example token: {}", environment.pooledTokens().get(0));
+            log.info("Press Ctrl+C to stop");
+            Thread.currentThread().join();
+        }
+    }
+
+    public void start() throws IOException, InterruptedException {
+        oidc = new OidcStub(settings.oidcPort(), settings.audience());
+        oidc.start();
+        rawg = new RawgStub(settings.rawgPort(), new RawgStub.Settings(settings.rawgLatencyMs(),
+            settings.rawgJitterMs(), settings.rawgErrorRate(), settings.rawgSlowRate(), settings.rawgSlowMs()));
+        rawg.start();
+        log.info("RAWG stub on {} ({} ms + {} ms jitter, error rate {}, slow rate {}), OIDC stub on {}",
+            settings.rawgUrl(), settings.rawgLatencyMs(), settings.rawgJitterMs(), settings.rawgErrorRate(),
+            settings.rawgSlowRate(), settings.issuer());
+
+        if (settings.startBackend()) {
+            startBackend();
+        }
+        awaitHealthy();
+        seedUsers();
+        threadSampler = new ThreadSampler(settings.actuatorUrl(), httpClient);
+        threadSampler.start();
+    }
+
+    /**
+     * Tokens of the users seeded with a history, shared by the read-mostly scenarios.
+     */
+    public List<String> pooledTokens() {
+        return pooledTokens;
+    }
+
+    /**
+     * Token of a user that does not exist yet; the backend creates it on its first request.
+     */
+    public String freshToken() {
+        return oidc.mintToken("fresh-" + runId + "-" + freshUsers.incrementAndGet());
+    }
+
+    private void startBackend() throws IOException {
+        Path jar = settings.backendJar().toAbsolutePath().normalize();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Backend jar not found at " + jar + ", run mvn -DskipTests package in backend/ first");
+        }
+        Path logFile = Path.of("target", "backend.log").toAbsolutePath();
+        Files.createDirectories(logFile.getParent());
+
+        List<String> command = new ArrayList<>();
+        command.add(settings.backendJavaHome().resolve(Path.of("bin", "java")).toString());
+        command.addAll(List.of(settings.backendJvmArgs().trim().split("\\s+")));
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + settings.backendPort(),
+            "--management.server.port=" + settings.managementPort()));
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile());
+        builder.environment().put("DATABASE_URL", settings.databaseUrl());
+        builder.environment().put("DATABASE_USERNAME", settings.databaseUsername());
+        builder.environment().put("DATABASE_PASSWORD", settings.databasePassword());
+        builder.environment().put("AUTH0_ISSUER_URI", settings.issuer());
+        builder.environment().put("AUTH0_AUDIENCE", settings.audience());
+        builder.environment().put("RAWG_API_KEY", "loadtest");
+        builder.environment().put("RAWG_API_BASE_URL", settings.rawgUrl());
+        // The stand-in has no quota; the production plan's budget would throttle most of the load
+        builder.environment().put("RAWG_RATE_LIMIT_PER_SECOND", "1000");
+        builder.environment().put("RAWG_RATE_LIMIT_BURST", "1000");
+        // Only takes effect when backend.javaHome points at a Java 21 runtime
+        builder.environment().put("VIRTUAL_THREADS_ENABLED", Boolean.toString(settings.backendVirtualThreads()));
+        // Slow traces would otherwise flood the backend log for the whole run
+        builder.environment().put("TRACING_LOG_EXPORTER_ENABLED", "false");
+        backend = builder.start();
+        log.info("Started backend (pid {}) on {}{}, logging to {}", backend.pid(), settings.backendJavaHome(),
+            settings.backendVirtualThreads() ? " with virtual threads" : "", logFile);
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.backendUrl() + "/health"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+        while (Instant.now().isBefore(deadline)) {
+            if (backend != null && !backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + backend.exitValue() + ", see target/backend.log");
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("Backend is healthy at {}", settings.backendUrl());
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private void seedUsers() throws IOException, InterruptedException {
+        long started = System.currentTimeMillis();
+        for (int i = 0; i < settings.seedUsers(); i++) {
+            String token = oidc.mintToken("pooled-" + runId + "-" + i);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(settings.backendUrl() + "/backup/import"))
+                .timeout(Duration.ofMinutes(1))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(SyntheticBackup.generate(i, settings.seedSessions())))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding user " + i + " failed with " + response.statusCode() + ": " + response.body());
+            }
+            pooledTokens.add(token);
+        }
+        log.info("Seeded {} users with {} sessions each in {} ms", settings.seedUsers(), settings.seedSessions(),
+            System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public void close() {
+        if (threadSampler != null) {
+            threadSampler.close();
+        }
+        if (backend != null) {
+            backend.destroy();
+            try {
+                if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+                    backend.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                backend.destroyForcibly();
+            }
+        }
+        if (rawg != null) {
+            log.info("RAWG stub served {} requests, {} with injected errors", rawg.requests(), rawg.injectedErrors());
+            rawg.close();
+        }
+        if (oidc != null) {
+            oidc.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gamewatch.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Knobs of a load test run, read from system properties so they can be passed on the Maven
+ * command line, e.g. {@code mvn gatling:test -Dusers=400 -DdurationSeconds=900 -Drawg.errorRate=0.05}.
+ */
+public record LoadTestSettings(
+    int users,
+    Duration rampUp,
+    Duration duration,
+    int seedUsers,
+    int seedSessions,
+    Duration sessionLength,
+    Duration dashboardPollInterval,
+    boolean startBackend,
+    Path backendJar,
+    Path backendJavaHome,
+    String backendJvmArgs,
+    boolean backendVirtualThreads,
+    int backendPort,
+    int managementPort,
+    String databaseUrl,
+    String databaseUsername,
+    String databasePassword,
+    int oidcPort,
+    String audience,
+    int rawgPort,
+    long rawgLatencyMs,
+    long rawgJitterMs,
+    double rawgErrorRate,
+    double rawgSlowRate,
+    long rawgSlowMs) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger("users", 100),
+            Duration.ofSeconds(Long.getLong("rampUpSeconds", 60)),
+            Duration.ofSeconds(Long.getLong("durationSeconds", 600)),
+            Integer.getInteger("seedUsers", 50),
+            Integer.getInteger("seedSessions", 500),
+            Duration.ofSeconds(Long.getLong("sessionSeconds", 60)),
+            Duration.ofSeconds(Long.getLong("dashboardPollSeconds", 30)),
+            Boolean.parseBoolean(System.getProperty("backend.start", "true")),
+            Path.of(System.getProperty("backend.jar", "../backend/target/gamewatch-backend-0.0.1-SNAPSHOT.jar")),
+            Path.of(System.getProperty("backend.javaHome", System.getProperty("java.home"))),
+            System.getProperty("backend.jvmArgs", "-Xmx1g"),
+            Boolean.parseBoolean(System.getProperty("backend.virtualThreads", "false")),
+            Integer.getInteger("backend.port", 8080),
+            Integer.getInteger("backend.managementPort", 8081),
+            System.getProperty("database.url", "jdbc:postgresql://localhost:5432/gamewatch"),
+            System.getProperty("database.username", "postgres"),
+            System.getProperty("database.password", "postgres"),
+            Integer.getInteger("oidc.port", 9081),
+            System.getProperty("oidc.audience", "https://api.gamewatch.com"),
+            Integer.getInteger("rawg.port", 9082),
+            Long.getLong("rawg.latencyMs", 150),
+            Long.getLong("rawg.jitterMs", 100),
+            Double.parseDouble(System.getProperty("rawg.errorRate", "0.0")),
+            Double.parseDouble(System.getProperty("rawg.slowRate", "0.0")),
+            Long.getLong("rawg.slowMs", 15_000));
+    }
+
+    public String backendUrl() {
+        return "http://localhost:" + backendPort + "/api";
+    }
+
+    public String actuatorUrl() {
+        return "http://localhost:" + managementPort + "/actuator";
+    }
+
+    public String issuer() {
+        return "http://localhost:" + oidcPort + "/";
+    }
+
+    public String rawgUrl() {
+        return "http://localhost:" + rawgPort + "/api";
+    }
+}
@@ -0,0 +1,143 @@
+package com.gamewatch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gamewatch.loadtest.stub.RawgStub;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Backup document in the format of {@code GET /backup/export}, version 1.0, used to give the pooled
+ * load test users a realistic history through {@code POST /backup/import}. Sessions are laid out one
+ * after another going back from now, so none of them is skipped as overlapping, and the games
+ * reference ids of the RAWG stub so recommendations have features to weigh.
+ */
+public final class SyntheticBackup {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] TYPES = {"story", "story", "story", "100%", "speedrun"};
+    private static final String[] PLATFORMS = {"PC", "PlayStation 5", "Xbox Series S/X", "Nintendo Switch"};
+    private static final String[] GENRES = {"Action", "Adventure", "RPG", "Strategy", "Shooter", "Puzzle", "Indie"};
+
+    private SyntheticBackup() {
+    }
+
+    public static byte[] generate(long seed, int sessions) {
+        Random random = new Random(seed);
+        int gameCount = Math.max(1, Math.min(40, sessions / 12));
+        Instant now = Instant.now();
+
+        ObjectNode backup = JSON.createObjectNode();
+        backup.put("version", "1.0");
+        backup.put("timestamp", now.toString());
+        ObjectNode data = backup.putObject("data");
+
+        ArrayNode games = data.putArray("games");
+        for (long id = 1; id <= gameCount; id++) {
+            int externalId = 1 + random.nextInt(RawgStub.MAX_GAME_ID);
+            ObjectNode game = games.addObject();
+            game.put("originalId", id);
+            game.put("externalId", externalId);
+            game.put("name", "Seeded Saga " + externalId);
+            game.put("slug", "seeded-saga-" + externalId);
+            game.put("released", "2020-01-01");
+            game.put("rating", Math.round(random.nextDouble() * 500) / 100.0);
+            game.put("metacritic", 50 + random.nextInt(50));
+            game.put("playtime", random.nextInt(80));
+            game.put("platforms", String.join(", ", PLATFORMS[0], PLATFORMS[1 + random.nextInt(3)]));
+            game.put("genres", GENRES[random.nextInt(GENRES.length)] + ", " + GENRES[random.nextInt(GENRES.length)]);
+            game.put("tags", "Singleplayer, Story Rich");
+            game.put("developers", "Northwind Games");
+            game.put("publishers", "Ember Forge");
+            game.put("createdAt", now.toString());
+        }
+
+        // Sessions go back in time from an hour ago, 30 to 240 minutes each with a gap after them
+        Instant[] startedAt = new Instant[sessions];
+        long[] duration = new long[sessions];
+        long[] playthroughOf = new long[sessions];
+        Instant cursor = now.minus(Duration.ofHours(1));
+        for (int i = sessions - 1; i >= 0; i--) {
+            duration[i] = 60L * (30 + random.nextInt(210));
+            cursor = cursor.minusSeconds(duration[i] + 60L * (30 + random.nextInt(24 * 60)));
+            startedAt[i] = cursor;
+            playthroughOf[i] = 1 + random.nextInt(gameCount);
+        }
+
+        ArrayNode playthroughs = data.putArray("playthroughs");
+        long[] total = new long[gameCount + 1];
+        int[] count = new int[gameCount + 1];
+        Instant[] first = new Instant[gameCount + 1];
+        Instant[] last = new Instant[gameCount + 1];
+        for (int i = 0; i < sessions; i++) {
+            int p = (int) playthroughOf[i];
+            total[p] += duration[i];
+            count[p]++;
+            if (first[p] == null) {
+                first[p] = startedAt[i];
+            }
+            last[p] = startedAt[i].plusSeconds(duration[i]);
+        }
+        for (int p = 1; p <= gameCount; p++) {
+            Instant start = first[p] != null ? first[p] : now.minus(Duration.ofDays(1));
+            Instant end = last[p] != null ? last[p] : start;
+            boolean completed = random.nextInt(4) == 0;
+            ObjectNode playthrough = playthroughs.addObject();
+            playthrough.put("originalId", (long) p);
+            playthrough.put("gameOriginalId", (long) p);
+            playthrough.put("playthroughType", TYPES[random.nextInt(TYPES.length)]);
+            playthrough.put("platform", PLATFORMS[random.nextInt(PLATFORMS.length)]);
+            playthrough.put("startedAt", start.toString());
+            playthrough.put("stoppedAt", end.toString());
+            playthrough.put("durationSeconds", total[p]);
+            playthrough.put("isActive", false);
+            playthrough.put("isCompleted", completed);
+            playthrough.put("isDropped", !completed && random.nextInt(6) == 0);
+            playthrough.put("isPaused", false);
+            playthrough.put("startDate", start.atOffset(ZoneOffset.UTC).toLocalDate().toString());
+            if (completed) {
+                playthrough.put("endDate", end.atOffset(ZoneOffset.UTC).toLocalDate().toString());
+            }
+            playthrough.put("sessionCount", count[p]);
+            playthrough.put("pauseCount", 0);
+            playthrough.put("lastPlayedAt", end.toString());
+            playthrough.put("manualTimeSet", false);
+            playthrough.put("createdAt", start.toString());
+            playthrough.put("updatedAt", end.toString());
+        }
+
+        ArrayNode sessionArray = data.putArray("sessions");
+        ArrayNode moodEntries = data.putArray("moodEntries");
+        int[] sessionNumber = new int[gameCount + 1];
+        for (int i = 0; i < sessions; i++) {
+            Instant endedAt = startedAt[i].plusSeconds(duration[i]);
+            ObjectNode session = sessionArray.addObject();
+            session.put("originalId", (long) i + 1);
+            session.put("playthroughOriginalId", playthroughOf[i]);
+            session.put("sessionNumber", ++sessionNumber[(int) playthroughOf[i]]);
+            session.put("durationSeconds", duration[i]);
+            session.put("pauseCount", random.nextInt(3));
+            session.put("startedAt", startedAt[i].toString());
+            session.put("endedAt", endedAt.toString());
+            session.put("createdAt", endedAt.toString());
+            if (random.nextInt(3) == 0) {
+                ObjectNode mood = moodEntries.addObject();
+                mood.put("originalId", (long) i + 1);
+                mood.put("sessionHistoryOriginalId", (long) i + 1);
+                mood.put("moodRating", 1 + random.nextInt(5));
+                mood.put("recordedAt", endedAt.toString());
+                mood.put("createdAt", endedAt.toString());
+            }
+        }
+
+        try {
+            return JSON.writeValueAsBytes(backup);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize synthetic backup", e);
+        }
+    }
+}
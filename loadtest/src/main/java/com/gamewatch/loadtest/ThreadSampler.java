@@ -0,0 +1,109 @@
+package com.gamewatch.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the backend's platform thread counts from its actuator during a run and writes them to
+ * {@code target/backend-threads.csv}. Virtual threads are not counted by the JVM's thread metrics,
+ * so comparing a run with {@code -Dbackend.virtualThreads=true} against one without shows how many
+ * platform threads the blocking RAWG calls tie up.
+ */
+class ThreadSampler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadSampler.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final List<String> METRICS = List.of("jvm.threads.live", "jvm.threads.peak", "jvm.threads.daemon");
+    private static final Duration INTERVAL = Duration.ofSeconds(5);
+
+    private final String actuatorUrl;
+    private final HttpClient httpClient;
+    private final PrintWriter csv;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thread-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long started = System.nanoTime();
+    private long maxLive;
+    private long peak;
+    private int samples;
+
+    ThreadSampler(String actuatorUrl, HttpClient httpClient) throws IOException {
+        this.actuatorUrl = actuatorUrl;
+        this.httpClient = httpClient;
+        Path file = Path.of("target", "backend-threads.csv").toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        csv = new PrintWriter(Files.newBufferedWriter(file));
+        csv.println("seconds," + String.join(",", METRICS));
+        log.info("Sampling backend threads every {} s into {}", INTERVAL.toSeconds(), file);
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::sample, 0, INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        try {
+            long[] values = new long[METRICS.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = read(METRICS.get(i));
+            }
+            StringBuilder row = new StringBuilder().append(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+            for (long value : values) {
+                row.append(',').append(value);
+            }
+            csv.println(row);
+            csv.flush();
+            maxLive = Math.max(maxLive, values[0]);
+            peak = Math.max(peak, values[1]);
+            samples++;
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Could not sample backend threads: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long read(String metric) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(actuatorUrl + "/metrics/" + metric))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(metric + " returned " + response.statusCode());
+        }
+        JsonNode measurements = JSON.readTree(response.body()).path("measurements");
+        return measurements.path(0).path("value").asLong();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Samples ran on the scheduler's thread, which has terminated
+        csv.close();
+        log.info("Backend platform threads over {} samples: at most {} live, peak {}", samples, maxLive, peak);
+    }
+}
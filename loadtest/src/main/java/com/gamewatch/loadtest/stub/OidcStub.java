@@ -0,0 +1,94 @@
+package com.gamewatch.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stands in for the Auth0 tenant: serves the OpenID discovery document and a JWKS with a key
+ * generated at startup, and mints access tokens signed with that key. The backend validates them
+ * exactly like Auth0 tokens when {@code AUTH0_ISSUER_URI} points here.
+ */
+public class OidcStub implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(12);
+
+    private final String issuer;
+    private final String audience;
+    private final RSAKey key;
+    private final RSASSASigner signer;
+    private final HttpServer server;
+
+    public OidcStub(int port, String audience) throws IOException {
+        this.issuer = "http://localhost:" + port + "/";
+        this.audience = audience;
+        try {
+            this.key = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+            this.signer = new RSASSASigner(key);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate the signing key", e);
+        }
+
+        byte[] discovery = JSON.writeValueAsBytes(Map.of(
+            "issuer", issuer,
+            "jwks_uri", issuer + ".well-known/jwks.json",
+            "id_token_signing_alg_values_supported", List.of("RS256")));
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/.well-known/openid-configuration", exchange -> Responses.json(exchange, 200, discovery));
+        server.createContext("/.well-known/jwks.json", exchange -> Responses.json(exchange, 200, jwks));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Access token of the user {@code loadtest|<userId>}, with the email and nickname claims the
+     * backend copies into a new account.
+     */
+    public String mintToken(String userId) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .audience(audience)
+            .subject("loadtest|" + userId)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+            .claim("email", userId + "@loadtest.gamewatch.local")
+            .claim("nickname", userId)
+            .claim("permissions", List.of())
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign token", e);
+        }
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,240 @@
+package com.gamewatch.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the RAWG API, so a load test neither spends the API key quota nor measures
+ * RAWG's own latency. Games are generated deterministically from their id (and search pages from
+ * the query), cover images are served from {@code /media}, and every {@code /api} call can be
+ * delayed, slowed down or failed to see how the backend behaves when RAWG degrades.
+ */
+public class RawgStub implements AutoCloseable {
+
+    public static final int MAX_GAME_ID = 100_000;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int PAGE_SIZE = 20;
+    private static final List<String> GENRES = List.of(
+        "Action", "Adventure", "RPG", "Strategy", "Shooter", "Puzzle", "Racing", "Simulation", "Indie", "Platformer");
+    private static final List<String> TAGS = List.of(
+        "Singleplayer", "Multiplayer", "Open World", "Story Rich", "Co-op", "Atmospheric", "Difficult", "Sandbox");
+    private static final List<String> PLATFORMS = List.of("PC", "PlayStation 5", "Xbox Series S/X", "Nintendo Switch");
+    private static final List<String> STUDIOS = List.of(
+        "Northwind Games", "Ember Forge", "Quiet Harbor", "Iron Lantern", "Blue Meridian", "Copperline");
+
+    private final Settings settings;
+    private final String mediaUrl;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<Integer, byte[]> covers = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    /**
+     * @param latencyMs base delay of every {@code /api} response
+     * @param jitterMs  random delay added on top of the base latency
+     * @param errorRate share of {@code /api} calls answered with 429 or 503
+     * @param slowRate  share of {@code /api} calls delayed by {@code slowMs} instead
+     */
+    public record Settings(long latencyMs, long jitterMs, double errorRate, double slowRate, long slowMs) {
+    }
+
+    public RawgStub(int port, Settings settings) throws IOException {
+        this.settings = settings;
+        this.mediaUrl = "http://localhost:" + port + "/media/games/";
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/games", this::handleApi);
+        server.createContext("/media/games/", this::handleCover);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            if (random.nextDouble() < settings.slowRate()) {
+                Thread.sleep(settings.slowMs());
+            } else {
+                Thread.sleep(settings.latencyMs() + (settings.jitterMs() > 0 ? random.nextLong(settings.jitterMs()) : 0));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (random.nextDouble() < settings.errorRate()) {
+            injectedErrors.incrementAndGet();
+            int status = random.nextBoolean() ? 429 : 503;
+            Responses.json(exchange, status, "{\"error\":\"injected\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String idPart = path.substring("/api/games".length()).replace("/", "");
+        if (idPart.isEmpty()) {
+            Responses.json(exchange, 200, JSON.writeValueAsBytes(searchPage(query(exchange))));
+            return;
+        }
+        try {
+            Responses.json(exchange, 200, JSON.writeValueAsBytes(game(Integer.parseInt(idPart), true)));
+        } catch (NumberFormatException e) {
+            Responses.json(exchange, 404, "{\"detail\":\"Not found.\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void handleCover(HttpExchange exchange) throws IOException {
+        String file = exchange.getRequestURI().getPath().substring("/media/games/".length());
+        int id;
+        try {
+            id = Integer.parseInt(file.replace(".jpg", ""));
+        } catch (NumberFormatException e) {
+            Responses.send(exchange, 404, "text/plain", new byte[0]);
+            return;
+        }
+        Responses.send(exchange, 200, "image/jpeg", covers.computeIfAbsent(id, RawgStub::cover));
+    }
+
+    /**
+     * Query string of the request without its RAWG paging and key parameters, so the same search
+     * always yields the same page.
+     */
+    private static String query(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (String parameter : raw.split("&")) {
+            if (!parameter.startsWith("key=") && !parameter.startsWith("page")) {
+                query.append(URLDecoder.decode(parameter, StandardCharsets.UTF_8)).append('&');
+            }
+        }
+        return query.toString();
+    }
+
+    private ObjectNode searchPage(String query) {
+        Random random = new Random(query.hashCode());
+        ObjectNode page = JSON.createObjectNode();
+        page.put("count", 10_000);
+        ArrayNode results = page.putArray("results");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            results.add(game(1 + random.nextInt(MAX_GAME_ID), false));
+        }
+        return page;
+    }
+
+    private ObjectNode game(int id, boolean details) {
+        Random random = new Random(id);
+        String name = STUDIOS.get(random.nextInt(STUDIOS.size())).split(" ")[0] + " Saga " + id;
+        ObjectNode game = JSON.createObjectNode();
+        game.put("id", id);
+        game.put("slug", "saga-" + id);
+        game.put("name", name);
+        game.put("released", LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9000)).toString());
+        game.put("tba", false);
+        game.put("background_image", mediaUrl + id + ".jpg");
+        game.put("rating", Math.round(random.nextDouble() * 500) / 100.0);
+        game.put("rating_top", 5);
+        game.put("ratings_count", random.nextInt(5000));
+        game.put("metacritic", 50 + random.nextInt(50));
+        game.put("playtime", random.nextInt(80));
+        game.put("added", random.nextInt(20_000));
+        game.put("suggestions_count", random.nextInt(1000));
+        game.put("updated", "2024-01-01T00:00:00");
+        addNamed(game.putArray("genres"), GENRES, random, 3, 1);
+        addNamed(game.putArray("tags"), TAGS, random, 4, 100);
+        ArrayNode platforms = game.putArray("platforms");
+        for (int i = 0; i < PLATFORMS.size(); i++) {
+            if (i == 0 || random.nextBoolean()) {
+                ObjectNode platform = platforms.addObject().putObject("platform");
+                platform.put("id", 1 + i);
+                platform.put("name", PLATFORMS.get(i));
+            }
+        }
+        if (details) {
+            game.put("name_original", name);
+            game.put("description_raw", name + " is a generated game served by the load test RAWG stub.");
+            game.put("website", "https://example.com/games/" + id);
+            game.put("screenshots_count", random.nextInt(30));
+            game.put("achievements_count", random.nextInt(80));
+            game.putObject("esrb_rating").put("name", random.nextBoolean() ? "Teen" : "Mature");
+            addNamed(game.putArray("developers"), STUDIOS, random, 1, 1000);
+            addNamed(game.putArray("publishers"), STUDIOS, random, 1, 2000);
+        }
+        return game;
+    }
+
+    private static void addNamed(ArrayNode array, List<String> names, Random random, int max, int idOffset) {
+        int count = 1 + random.nextInt(max);
+        int first = random.nextInt(names.size());
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % names.size();
+            ObjectNode item = array.addObject();
+            item.put("id", idOffset + index);
+            item.put("name", names.get(index));
+        }
+    }
+
+    /**
+     * Small banner in a few colors derived from the id, enough for the backend's dominant color
+     * extraction to have real work to do.
+     */
+    private static byte[] cover(int id) {
+        Random random = new Random(id);
+        BufferedImage image = new BufferedImage(320, 180, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int band = 0; band < 4; band++) {
+            graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillRect(band * 80, 0, 80, 180);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.gamewatch.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+final class Responses {
+
+    private Responses() {
+    }
+
+    static void json(HttpExchange exchange, int status, byte[] body) throws IOException {
+        send(exchange, status, "application/json", body);
+    }
+
+    static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
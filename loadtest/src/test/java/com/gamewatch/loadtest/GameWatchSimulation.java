@@ -0,0 +1,175 @@
+package com.gamewatch.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Mix of the ways GameWatch is used, run against a backend on the local PostgreSQL with RAWG and
+ * Auth0 replaced by the stubs of {@link LoadTestEnvironment}. Every request is named after its
+ * endpoint, so the report gives p50/p99 latency and throughput per endpoint.
+ *
+ * <ul>
+ *   <li>40% time sessions: find a game, add it, then start, pause, resume and end sessions, rating
+ *       the mood after each</li>
+ *   <li>25% keep the health dashboard open, which polls it every 30 seconds</li>
+ *   <li>20% browse their statistics over each interval</li>
+ *   <li>10% search RAWG, open game details and look at recommendations</li>
+ *   <li>5% export their data and import it into a new account</li>
+ * </ul>
+ */
+public class GameWatchSimulation extends Simulation {
+
+    private static final List<String> QUERIES = List.of(
+        "zelda", "elden", "witcher", "hollow", "portal", "halo", "stardew", "celeste", "doom", "hades",
+        "mario", "persona", "skyrim", "minecraft", "factorio", "tetris", "baldur", "sekiro", "metroid", "diablo");
+    private static final List<String> INTERVALS = List.of("all", "week", "month", "year");
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final LoadTestEnvironment environment = new LoadTestEnvironment(settings);
+
+    // Feeders are only read once the run has started, after before() seeded the pooled users
+    private final Iterator<Map<String, Object>> pooledUsers = Stream.generate(() -> {
+        List<String> tokens = environment.pooledTokens();
+        return Map.<String, Object>of("token", tokens.get(ThreadLocalRandom.current().nextInt(tokens.size())));
+    }).iterator();
+
+    private final Iterator<Map<String, Object>> freshUsers = Stream.generate(
+        () -> Map.<String, Object>of("token", environment.freshToken())).iterator();
+
+    private final Iterator<Map<String, Object>> queries = Stream.generate(
+        () -> Map.<String, Object>of("query", QUERIES.get(ThreadLocalRandom.current().nextInt(QUERIES.size())))).iterator();
+
+    private final HttpProtocolBuilder protocol = http
+        .baseUrl(settings.backendUrl())
+        .acceptHeader("application/json")
+        .contentTypeHeader("application/json")
+        .authorizationHeader("Bearer #{token}")
+        .shareConnections();
+
+    private final ChainBuilder search = feed(queries)
+        .exec(http("GET /games/search").get("/games/search").queryParam("query", "#{query}")
+            .check(status().is(200))
+            .check(jmesPath("[0].id").ofInt().saveAs("externalId"))
+            .check(jmesPath("[0].name").saveAs("gameName"))
+            .check(jmesPath("[0].bannerImageUrl").saveAs("bannerImageUrl")));
+
+    private final ScenarioBuilder timerPlayers = scenario("Timer sessions")
+        .feed(freshUsers)
+        .exec(search)
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+        .exec(http("POST /games").post("/games")
+            .body(StringBody("{\"name\":\"#{gameName}\",\"externalId\":#{externalId},\"bannerImageUrl\":\"#{bannerImageUrl}\"}"))
+            .check(jmesPath("id").ofLong().saveAs("gameId")))
+        .exec(http("POST /playthroughs").post("/playthroughs")
+            .body(StringBody("{\"gameId\":#{gameId},\"playthroughType\":\"story\",\"platform\":\"PC\"}"))
+            .check(status().is(201))
+            .check(jmesPath("id").ofLong().saveAs("playthroughId")))
+        .repeat(3).on(
+            exec(http("POST /playthroughs/{id}/start").post("/playthroughs/#{playthroughId}/start"))
+                .pause(half(settings.sessionLength()))
+                .exec(http("POST /playthroughs/{id}/pause").post("/playthroughs/#{playthroughId}/pause"))
+                .pause(Duration.ofSeconds(5), Duration.ofSeconds(15))
+                .exec(http("POST /playthroughs/{id}/start").post("/playthroughs/#{playthroughId}/start"))
+                .pause(half(settings.sessionLength()))
+                .exec(http("POST /playthroughs/{id}/end-session").post("/playthroughs/#{playthroughId}/end-session")
+                    .check(jmesPath("lastSessionHistoryId").ofLong().saveAs("sessionHistoryId")))
+                .exec(http("POST /user-health/mood").post("/user-health/mood")
+                    .body(StringBody(session -> "{\"sessionHistoryId\":" + session.getLong("sessionHistoryId")
+                        + ",\"moodRating\":" + (1 + ThreadLocalRandom.current().nextInt(5)) + "}")))
+                .pause(Duration.ofSeconds(5), Duration.ofSeconds(20)));
+
+    private final ScenarioBuilder dashboardPollers = scenario("Dashboard polling")
+        .feed(pooledUsers)
+        .repeat(10).on(
+            exec(http("GET /user-health/dashboard").get("/user-health/dashboard").check(status().is(200)))
+                .pause(settings.dashboardPollInterval()));
+
+    private final ScenarioBuilder statsViewers = scenario("Statistics")
+        .feed(pooledUsers)
+        .foreach(INTERVALS, "interval").on(
+            exec(http("GET /statistics").get("/statistics").queryParam("interval", "#{interval}")
+                .check(status().is(200)))
+                .pause(Duration.ofSeconds(3), Duration.ofSeconds(10)));
+
+    private final ScenarioBuilder searchers = scenario("Search and recommendations")
+        .feed(pooledUsers)
+        .exec(search)
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(4))
+        .exec(http("GET /games/details/{externalId}").get("/games/details/#{externalId}").check(status().is(200)))
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(6))
+        .exec(http("GET /statistics/recommendations").get("/statistics/recommendations").queryParam("limit", 5)
+            .check(status().is(200)))
+        .pause(Duration.ofSeconds(5), Duration.ofSeconds(15));
+
+    private final ScenarioBuilder backups = scenario("Backup export and import")
+        .feed(pooledUsers)
+        .exec(http("GET /backup/export").get("/backup/export")
+            .check(status().is(200))
+            .check(bodyString().saveAs("backup")))
+        .pause(Duration.ofSeconds(5), Duration.ofSeconds(15))
+        .exec(session -> session.set("importToken", environment.freshToken()))
+        .exec(http("POST /backup/import").post("/backup/import")
+            .header("Authorization", "Bearer #{importToken}")
+            .body(StringBody("#{backup}"))
+            .check(status().is(200)))
+        .exec(session -> session.remove("backup"))
+        .pause(Duration.ofSeconds(30), Duration.ofSeconds(60));
+
+    public GameWatchSimulation() {
+        setUp(
+            inject(timerPlayers, 0.40),
+            inject(dashboardPollers, 0.25),
+            inject(statsViewers, 0.20),
+            inject(searchers, 0.10),
+            inject(backups, 0.05))
+            .protocols(protocol)
+            .maxDuration(settings.rampUp().plus(settings.duration()).plusMinutes(1))
+            .assertions(
+                global().failedRequests().percent().lt(1.0),
+                details("GET /user-health/dashboard").responseTime().percentile(99.0).lt(1000),
+                details("GET /statistics").responseTime().percentile(99.0).lt(2000));
+    }
+
+    /**
+     * Closed workload: each scenario keeps its share of the concurrent users busy, a new user
+     * starting whenever one finishes its journey.
+     */
+    private PopulationBuilder inject(ScenarioBuilder scenario, double share) {
+        int users = Math.max(1, (int) Math.round(settings.users() * share));
+        return scenario.injectClosed(
+            rampConcurrentUsers(0).to(users).during(settings.rampUp()),
+            constantConcurrentUsers(users).during(settings.duration()));
+    }
+
+    private static Duration half(Duration duration) {
+        return duration.dividedBy(2);
+    }
+
+    @Override
+    public void before() {
+        try {
+            environment.start();
+        } catch (Exception e) {
+            environment.close();
+            throw new IllegalStateException("Could not start the load test environment", e);
+        }
+    }
+
+    @Override
+    public void after() {
+        environment.close();
+    }
+}